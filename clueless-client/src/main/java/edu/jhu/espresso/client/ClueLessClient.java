@@ -1,34 +1,60 @@
 package edu.jhu.espresso.client;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.jhu.espresso.client.codec.WireFormat;
 import edu.jhu.espresso.client.domain.GameEvents.GameStart;
+import edu.jhu.espresso.client.domain.GameEvents.SeatClaim;
+import edu.jhu.espresso.client.domain.GameEvents.ServerBusy;
+import edu.jhu.espresso.client.domain.GameEvents.TableSizeChoice;
 import edu.jhu.espresso.client.domain.GameEvents.TurnStart;
 import edu.jhu.espresso.client.domain.GamePieces.*;
 import edu.jhu.espresso.client.fx.GameboardController;
 import edu.jhu.espresso.client.protocol.ProtocolFactory;
+import edu.jhu.espresso.client.transport.Frame;
+import edu.jhu.espresso.client.transport.FrameCodec;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
 import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ClueLessClient implements Runnable
 {
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final long ACKNOWLEDGEMENT_INTERVAL_MILLIS = 250;
     private final ProtocolFactory protocolFactory;
 
     private final String host;
     private final int port;
     private final Socket socket;
-    private final PrintWriter printWriter;
-    private final BufferedReader bufferedReader;
+    private final DataOutputStream outputStream;
+    private final DataInputStream inputStream;
+    private final WireFormat wireFormat;
+    private final int tableSize = Integer.getInteger("clueless.tableSize", 0);
     private final GameboardController gameboardController;
+    private final AtomicLong appliedSequence = new AtomicLong();
+    private final AtomicLong appliedBoardVersion = new AtomicLong();
+    private final AtomicLong acknowledgedSequence = new AtomicLong();
+    private final Map<Object, Integer> unansweredRequests = Collections.synchronizedMap(new IdentityHashMap<>());
+    private volatile boolean admitted;
+    private final ScheduledExecutorService acknowledgementTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "clueless-acknowledgements");
+        thread.setDaemon(true);
+        return thread;
+    });
     private Player player = new Player(0, 0);
+    private volatile SeatClaim seatClaim;
 
     public ClueLessClient(String host, int port, GameboardController gameboardController)
     {
@@ -43,36 +69,104 @@ public class ClueLessClient implements Runnable
         try
         {
             socket = new Socket(host, port);
-            printWriter = new PrintWriter(socket.getOutputStream(), true);
-            bufferedReader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            socket.setTcpNoDelay(true);
+            outputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            wireFormat = handshake(WireFormat.valueOf(System.getProperty("clueless.wireFormat", "BINARY").toUpperCase()));
         }
         catch (IOException e)
         {
             throw new IllegalStateException(e);
         }
+
+        acknowledgementTimer.scheduleWithFixedDelay(
+                this::flushAcknowledgement,
+                ACKNOWLEDGEMENT_INTERVAL_MILLIS,
+                ACKNOWLEDGEMENT_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS
+        );
     }
 
-    public void write(Object message)
+    /**
+     * Asks the server for a wire format and returns the one it settled on.  The server may only lower the request, so
+     * a client asking for JSON always gets JSON.
+     * **/
+    private WireFormat handshake(WireFormat requestedFormat) throws IOException
     {
-        try
-        {
-            String messageString = OBJECT_MAPPER.writeValueAsString(message);
-            ClientApplication.logMessage("Writing " + messageString + " at " + LocalDateTime.now());
-            printWriter.println(messageString);
+        FrameCodec.writeFrame(outputStream, Frame.HANDSHAKE, Frame.handshake(requestedFormat.getCode()).getPayload());
+        Frame reply = FrameCodec.readFrame(inputStream);
+        WireFormat negotiated = WireFormat.fromCode(reply.getWireFormatCode());
+        ClientApplication.logMessage("Using the " + negotiated + " wire format");
+        return negotiated;
+    }
 
-            //Add a menu kill switch here.
+    /**
+     * Writes a message that answers nothing, unless the message is itself a request read by waitForResponse, in which
+     * case it is written back as that request's response.  That is how echoes such as a GameStart or a TurnStart are
+     * returned.
+     * **/
+    public void write(Object message)
+    {
+        Integer correlationId = unansweredRequests.remove(message);
+        writePayload(correlationId, message);
+    }
 
+    /**
+     * Answers a request read by waitForResponse with the request's own correlation ID, so the answer reaches the right
+     * request however many others are outstanding or have gone unanswered.
+     * **/
+    public void respond(Object request, Object response)
+    {
+        Integer correlationId = unansweredRequests.remove(request);
+        if(correlationId == null)
+        {
+            throw new IllegalStateException(request + " is not an unanswered request");
         }
-        catch (JsonProcessingException e)
+        writePayload(correlationId, response);
+    }
+
+    private void writePayload(Integer correlationId, Object message)
+    {
+        if(ClientApplication.log)
         {
-            throw new IllegalStateException(e);
+            String json = new String(WireFormat.JSON.codec().encode(message), StandardCharsets.UTF_8);
+            ClientApplication.logMessage("Writing " + json + " at " + LocalDateTime.now());
         }
+        byte[] payload = wireFormat.codec().encode(message);
+        writeFrame(correlationId == null ? new Frame(Frame.MESSAGE, payload) : Frame.response(correlationId, payload));
+
+        //Add a menu kill switch here.
     }
 
+    /**
+     * Plays the game from the first GameStart.  A server at capacity sends a ServerBusy notice instead of its first
+     * request and hangs up, in which case the notice is shown and the client stops.
+     * **/
     @Override
     public void run()
     {
+        try
+        {
+            play();
+        }
+        catch (ServerBusyException e)
+        {
+            ServerBusy serverBusy = e.getServerBusy();
+            gameboardController.updateStatusBar(
+                    serverBusy.getReason() + ".  Try again in " + serverBusy.getRetryAfterSeconds() + " seconds."
+            );
+            close();
+        }
+    }
+
+    private void play()
+    {
+        if(tableSize > 0)
+        {
+            chooseTableSize();
+        }
         GameStart gameStart = waitForResponse(GameStart.class);
+        seatClaim = seatClaimFor(gameStart);
         gameboardController.setNumberOfPlayers(gameStart.getNumberOfPlayers());
         initializePlayer(gameStart);
         write(gameStart);
@@ -82,7 +176,7 @@ public class ClueLessClient implements Runnable
             TurnStart turnStart = waitForResponse(TurnStart.class);
 
             updateCharactersOnBoard(turnStart);
-            write(turnStart);
+            acknowledge(turnStart);
 
             protocolFactory.determineNextProtocol(
                     turnStart.getClueLessProtocolType(),
@@ -91,48 +185,116 @@ public class ClueLessClient implements Runnable
         }
     }
 
+    /**
+     * Answers the TableSizeChoice a matchmaking server asks before seating anyone.  Only a client started with the
+     * clueless.tableSize property expects it; any other client is seated from the first GameStart.
+     * **/
+    private void chooseTableSize()
+    {
+        TableSizeChoice tableSizeChoice = waitForResponse(TableSizeChoice.class);
+        tableSizeChoice.setTableSize(
+                Math.max(tableSizeChoice.getMinTableSize(), Math.min(tableSizeChoice.getMaxTableSize(), tableSize))
+        );
+        write(tableSizeChoice);
+    }
+
+    /**
+     * TurnStarts only carry the characters that moved since this client's last acknowledged board version, so the
+     * update is applied on top of what is already on the board.
+     * **/
     public void updateCharactersOnBoard(TurnStart turnStart)
     {
         turnStart.getLocationNamesMap().forEach(gameboardController::updateCharacterLocation);
     }
 
+    /**
+     * Confirms a TurnStart once it has been applied.  Echo mode servers get the TurnStart written back straight away;
+     * otherwise the sequence number is recorded and sent with the next periodic acknowledgement.
+     * **/
+    public void acknowledge(TurnStart turnStart)
+    {
+        if(turnStart.isEchoRequested())
+        {
+            write(turnStart);
+        }
+        else
+        {
+            appliedBoardVersion.accumulateAndGet(turnStart.getBoardVersion(), Math::max);
+            appliedSequence.accumulateAndGet(turnStart.getSequenceNumber(), Math::max);
+        }
+    }
+
+    private void flushAcknowledgement()
+    {
+        long applied = appliedSequence.get();
+        if(applied > acknowledgedSequence.get())
+        {
+            writeFrame(Frame.acknowledgement(applied, appliedBoardVersion.get()));
+            acknowledgedSequence.set(applied);
+        }
+    }
+
     public <T> T waitForResponse(Class<T> clazz)
     {
-        T response = null;
-        while (response == null)
+        T response;
+        try
         {
-            try
+            Frame frame = FrameCodec.readFrame(inputStream);
+            if(!admitted)
             {
-                bufferedReader.mark(1_000);
-                if (bufferedReader.readLine() != null)
+                //Once admitted the server always opens with a request; anything else is its busy notice.
+                if(!frame.isRequest())
                 {
-                    bufferedReader.reset();
-                    response = OBJECT_MAPPER.readValue(bufferedReader.readLine(), clazz);
+                    throw new ServerBusyException(wireFormat.codec().decode(frame.getPayload(), ServerBusy.class));
                 }
+                admitted = true;
             }
-            catch (IOException e)
+            response = wireFormat.codec().decode(frame.getPayload(), clazz);
+            if(frame.isRequest())
             {
-                throw new IllegalStateException(e);
+                unansweredRequests.put(response, frame.getCorrelationId());
             }
         }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
         ClientApplication.logMessage("Reading " + response + " at " + LocalDateTime.now());
         return response;
     }
 
-    public <I, O> CompletableFuture<O> write(I input, Class<O> responseClass)
+    private void writeFrame(Frame frame)
     {
-        CompletableFuture<O> response;
         try
         {
-            printWriter.println(OBJECT_MAPPER.writeValueAsString(input));
-            response = CompletableFuture.supplyAsync(() -> waitForResponse(responseClass));
+            synchronized (outputStream)
+            {
+                FrameCodec.writeFrame(outputStream, frame);
+            }
         }
-        catch (JsonProcessingException e)
+        catch (IOException e)
         {
             throw new IllegalStateException(e);
         }
+    }
 
-        return response;
+    public <I, O> CompletableFuture<O> write(I input, Class<O> responseClass)
+    {
+        write(input);
+        return CompletableFuture.supplyAsync(() -> waitForResponse(responseClass));
+    }
+
+    private void close()
+    {
+        acknowledgementTimer.shutdown();
+        try
+        {
+            socket.close();
+        }
+        catch (IOException e)
+        {
+            ClientApplication.logMessage("Failed to close the connection: " + e.getMessage());
+        }
     }
 
     public Player getPlayer()
@@ -140,6 +302,32 @@ public class ClueLessClient implements Runnable
         return player;
     }
 
+    /**
+     * The claim that takes this client's seat back on a new connection if this one drops, or null before the game has
+     * started.
+     * **/
+    public SeatClaim getSeatClaim()
+    {
+        return seatClaim;
+    }
+
+    /**
+     * Asks for a seat the server's bot has been playing since an earlier connection dropped.  It answers no request,
+     * so it is sent from the foyer as a plain message; if the claim stands the server sends the GameStart again.
+     * **/
+    public void claimSeat(SeatClaim seatClaim)
+    {
+        writeFrame(new Frame(Frame.MESSAGE, wireFormat.codec().encode(seatClaim)));
+    }
+
+    private static SeatClaim seatClaimFor(GameStart gameStart)
+    {
+        SeatClaim seatClaim = new SeatClaim();
+        seatClaim.setPlayerID(gameStart.getPlayerID());
+        seatClaim.setReconnectToken(gameStart.getReconnectToken());
+        return seatClaim;
+    }
+
     private void initializePlayer(GameStart gameStart)
     {
         gameStart.getCharacterNamesList().forEach(
@@ -167,4 +355,20 @@ public class ClueLessClient implements Runnable
 
         gameboardController.updateNotebookObservables();
     }
+
+    private static final class ServerBusyException extends RuntimeException
+    {
+        private final ServerBusy serverBusy;
+
+        private ServerBusyException(ServerBusy serverBusy)
+        {
+            super(serverBusy.toString());
+            this.serverBusy = serverBusy;
+        }
+
+        private ServerBusy getServerBusy()
+        {
+            return serverBusy;
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package edu.jhu.espresso.client.codec;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Writes and reads one message class in the binary wire format.  Field order is the wire layout, so the server's codec
+ * for the same message must write and read its fields in exactly the same order.
+ * **/
+public interface BinaryCodec<T>
+{
+    void write(BinaryWriter writer, T message);
+
+    T read(BinaryReader reader);
+
+    static <T> BinaryCodec<T> of(BiConsumer<BinaryWriter, T> writer, Function<BinaryReader, T> reader)
+    {
+        return new BinaryCodec<T>()
+        {
+            @Override
+            public void write(BinaryWriter binaryWriter, T message)
+            {
+                writer.accept(binaryWriter, message);
+            }
+
+            @Override
+            public T read(BinaryReader binaryReader)
+            {
+                return reader.apply(binaryReader);
+            }
+        };
+    }
+}
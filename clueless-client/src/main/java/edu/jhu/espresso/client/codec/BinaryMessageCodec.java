@@ -0,0 +1,79 @@
+package edu.jhu.espresso.client.codec;
+
+import java.nio.BufferUnderflowException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * BinaryMessageCodec encodes every registered message class with its BinaryCodec.  The first payload byte says how
+ * the rest is encoded, so a class without a binary codec still travels as JSON on a binary connection.
+ * **/
+public final class BinaryMessageCodec implements MessageCodec
+{
+    static final byte JSON_BODY = 0;
+    static final byte BINARY_BODY = 1;
+
+    private final Map<Class<?>, BinaryCodec<?>> codecs = new HashMap<>();
+    private final JsonMessageCodec jsonFallback = new JsonMessageCodec();
+
+    public <T> BinaryMessageCodec register(Class<T> type, BinaryCodec<T> codec)
+    {
+        codecs.put(type, codec);
+        return this;
+    }
+
+    public boolean hasBinaryCodec(Class<?> type)
+    {
+        return codecs.containsKey(type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] encode(Object message)
+    {
+        BinaryCodec<Object> codec = (BinaryCodec<Object>) codecs.get(message.getClass());
+        if(codec == null)
+        {
+            byte[] json = jsonFallback.encode(message);
+            byte[] payload = new byte[json.length + 1];
+            payload[0] = JSON_BODY;
+            System.arraycopy(json, 0, payload, 1, json.length);
+            return payload;
+        }
+
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeByte(BINARY_BODY);
+        codec.write(writer, message);
+        return writer.toByteArray();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T decode(byte[] buffer, int offset, int length, Class<T> type)
+    {
+        if(length == 0)
+        {
+            throw new IllegalArgumentException("Empty binary payload");
+        }
+        if(buffer[offset] == JSON_BODY)
+        {
+            return jsonFallback.decode(buffer, offset + 1, length - 1, type);
+        }
+
+        BinaryCodec<T> codec = (BinaryCodec<T>) codecs.get(type);
+        if(codec == null)
+        {
+            throw new IllegalArgumentException(type.getName() + " has no binary codec");
+        }
+        try
+        {
+            BinaryReader reader = new BinaryReader(buffer, offset, length);
+            reader.readByte();
+            return codec.read(reader);
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw new IllegalArgumentException("Truncated " + type.getSimpleName() + " payload", e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package edu.jhu.espresso.client.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+
+/**
+ * BinaryReader reads back what BinaryWriter wrote, in the same order.  Collections come back as mutable lists in wire
+ * code order.
+ * **/
+public final class BinaryReader
+{
+    private final ByteBuffer buffer;
+
+    public BinaryReader(byte[] payload)
+    {
+        this(payload, 0, payload.length);
+    }
+
+    public BinaryReader(byte[] buffer, int offset, int length)
+    {
+        this.buffer = ByteBuffer.wrap(buffer, offset, length).slice();
+    }
+
+    public byte readByte()
+    {
+        return buffer.get();
+    }
+
+    public boolean readBoolean()
+    {
+        return buffer.get() != 0;
+    }
+
+    public int readInt()
+    {
+        return buffer.getInt();
+    }
+
+    public long readLong()
+    {
+        return buffer.getLong();
+    }
+
+    public String readString()
+    {
+        int length = buffer.getInt();
+        if(length < 0)
+        {
+            return null;
+        }
+        if(length > buffer.remaining())
+        {
+            throw new IllegalArgumentException(length + " byte string overruns the payload");
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    public ArrayList<String> readStringList()
+    {
+        int count = buffer.getInt();
+        if(count < 0)
+        {
+            return null;
+        }
+        ArrayList<String> values = new ArrayList<>(Math.min(count, buffer.remaining()));
+        for(int i = 0; i < count; i++)
+        {
+            values.add(readString());
+        }
+        return values;
+    }
+
+    public <E extends Enum<E>> E readEnum(WireEnum<E> table)
+    {
+        return table.valueOf(buffer.get());
+    }
+
+    public String readName(WireNames table)
+    {
+        return table.nameOf(buffer.get());
+    }
+
+    public <E extends Enum<E>> ArrayList<E> readEnumSet(WireEnum<E> table)
+    {
+        if(!readBoolean())
+        {
+            return null;
+        }
+        long mask = buffer.getLong();
+        ArrayList<E> values = new ArrayList<>(Long.bitCount(mask));
+        for(long remaining = mask; remaining != 0; remaining &= remaining - 1)
+        {
+            values.add(table.valueOf(Long.numberOfTrailingZeros(remaining)));
+        }
+        return values;
+    }
+
+    public ArrayList<String> readNameSet(WireNames table)
+    {
+        if(!readBoolean())
+        {
+            return null;
+        }
+        long mask = buffer.getLong();
+        ArrayList<String> names = new ArrayList<>(Long.bitCount(mask));
+        for(long remaining = mask; remaining != 0; remaining &= remaining - 1)
+        {
+            names.add(table.nameOf(Long.numberOfTrailingZeros(remaining)));
+        }
+        return names;
+    }
+
+    public <K extends Enum<K>, V extends Enum<V>> EnumMap<K, V> readEnumMap(WireEnum<K> keys, WireEnum<V> values)
+    {
+        int size = buffer.get();
+        if(size < 0)
+        {
+            return null;
+        }
+        EnumMap<K, V> map = new EnumMap<>(keys.getType());
+        for(int i = 0; i < size; i++)
+        {
+            map.put(readEnum(keys), readEnum(values));
+        }
+        return map;
+    }
+
+    public <T> T readNested(BinaryCodec<T> codec)
+    {
+        return readBoolean() ? codec.read(this) : null;
+    }
+}
@@ -0,0 +1,153 @@
+package edu.jhu.espresso.client.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BinaryWriter builds a binary payload.  Enums are written as one byte wire codes, enum and card collections as a
+ * presence byte and a long bitmask, and strings as UTF-8 with an int length.  Every nullable value has a null form so
+ * a payload always reads back to the same message.
+ * **/
+public final class BinaryWriter
+{
+    private byte[] buffer;
+    private int size;
+
+    public BinaryWriter()
+    {
+        this(64);
+    }
+
+    public BinaryWriter(int initialCapacity)
+    {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public void writeByte(int value)
+    {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value)
+    {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeInt(int value)
+    {
+        ensureCapacity(Integer.BYTES);
+        buffer[size++] = (byte) (value >>> 24);
+        buffer[size++] = (byte) (value >>> 16);
+        buffer[size++] = (byte) (value >>> 8);
+        buffer[size++] = (byte) value;
+    }
+
+    public void writeLong(long value)
+    {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    public void writeString(String value)
+    {
+        if(value == null)
+        {
+            writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    public void writeStringList(List<String> values)
+    {
+        if(values == null)
+        {
+            writeInt(-1);
+            return;
+        }
+        writeInt(values.size());
+        values.forEach(this::writeString);
+    }
+
+    public <E extends Enum<E>> void writeEnum(WireEnum<E> table, E value)
+    {
+        writeByte(table.codeOf(value));
+    }
+
+    public void writeName(WireNames table, String name)
+    {
+        writeByte(table.codeOfName(name));
+    }
+
+    public <E extends Enum<E>> void writeEnumSet(WireEnum<E> table, Collection<E> values)
+    {
+        writeBoolean(values != null);
+        if(values != null)
+        {
+            long mask = 0;
+            for(E value : values)
+            {
+                mask |= 1L << table.codeOf(value);
+            }
+            writeLong(mask);
+        }
+    }
+
+    public void writeNameSet(WireNames table, Collection<String> names)
+    {
+        writeBoolean(names != null);
+        if(names != null)
+        {
+            long mask = 0;
+            for(String name : names)
+            {
+                mask |= 1L << table.codeOfName(name);
+            }
+            writeLong(mask);
+        }
+    }
+
+    public <K extends Enum<K>, V extends Enum<V>> void writeEnumMap(WireEnum<K> keys, WireEnum<V> values, Map<K, V> map)
+    {
+        if(map == null)
+        {
+            writeByte(-1);
+            return;
+        }
+        writeByte(map.size());
+        map.forEach((key, value) -> {
+            writeEnum(keys, key);
+            writeEnum(values, value);
+        });
+    }
+
+    public <T> void writeNested(BinaryCodec<T> codec, T message)
+    {
+        writeBoolean(message != null);
+        if(message != null)
+        {
+            codec.write(this, message);
+        }
+    }
+
+    public byte[] toByteArray()
+    {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensureCapacity(int extra)
+    {
+        if(size + extra > buffer.length)
+        {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package edu.jhu.espresso.client.codec;
+
+import edu.jhu.espresso.client.domain.ClueLessProtocolType;
+import edu.jhu.espresso.client.domain.GameEvents.Accusation;
+import edu.jhu.espresso.client.domain.GameEvents.AccusationStatus;
+import edu.jhu.espresso.client.domain.GameEvents.GameStart;
+import edu.jhu.espresso.client.domain.GameEvents.GameState;
+import edu.jhu.espresso.client.domain.GameEvents.MoveChoice;
+import edu.jhu.espresso.client.domain.GameEvents.MoveOptions;
+import edu.jhu.espresso.client.domain.GameEvents.NewGame;
+import edu.jhu.espresso.client.domain.GameEvents.SeatClaim;
+import edu.jhu.espresso.client.domain.GameEvents.ServerBusy;
+import edu.jhu.espresso.client.domain.GameEvents.Suggestion;
+import edu.jhu.espresso.client.domain.GameEvents.SuggestionStatus;
+import edu.jhu.espresso.client.domain.GameEvents.SuggestionTestimonyResponse;
+import edu.jhu.espresso.client.domain.GameEvents.TableSizeChoice;
+import edu.jhu.espresso.client.domain.GameEvents.TurnStart;
+import edu.jhu.espresso.client.domain.GamePieces.CaseDetails;
+import edu.jhu.espresso.client.domain.GamePieces.Character;
+import edu.jhu.espresso.client.domain.GamePieces.CharacterNames;
+import edu.jhu.espresso.client.domain.GamePieces.LocationNames;
+import edu.jhu.espresso.client.domain.GamePieces.RoomNames;
+import edu.jhu.espresso.client.domain.GamePieces.Weapon;
+import edu.jhu.espresso.client.protocol.ActivePlayerProtocolSelector;
+import edu.jhu.espresso.client.protocol.ServerActivePlayerProtocolOfferer;
+
+/**
+ * GameEventCodecs is the binary wire layout of every protocol message.  The tables fix the wire code of each name and
+ * the codecs fix the field order; the server's GameEventCodecs must match both exactly.  The client's enums are
+ * declared in a different order from the server's, and LocationNames has a CELLAR the server does not know about, so
+ * only the names listed here can cross the wire.
+ * **/
+public final class GameEventCodecs
+{
+    private static final String[] CHARACTER_NAMES = {
+            "MISS_SCARLET", "COLONEL_MUSTARD", "MRS_WHITE", "MR_GREEN", "MRS_PEACOCK", "PROFESSOR_PLUM"
+    };
+
+    public static final WireEnum<CharacterNames> CHARACTERS = new WireEnum<>(CharacterNames.class, CHARACTER_NAMES);
+
+    /**
+     * The same names as CHARACTERS, for the messages that carry the older Character enum.
+     * **/
+    public static final WireEnum<Character> CHARACTER_PIECES = new WireEnum<>(Character.class, CHARACTER_NAMES);
+
+    public static final WireEnum<RoomNames> ROOMS = new WireEnum<>(
+            RoomNames.class,
+            "KITCHEN", "HALL", "BALLROOM", "CONSERVATORY", "DINING_ROOM", "BILLIARD_ROOM", "LIBRARY", "LOUNGE", "STUDY"
+    );
+
+    public static final WireEnum<Weapon> WEAPONS = new WireEnum<>(
+            Weapon.class,
+            "REVOLVER", "DAGGER", "LEAD_PIPE", "ROPE", "CANDLESTICK", "WRENCH"
+    );
+
+    public static final WireEnum<LocationNames> LOCATIONS = new WireEnum<>(
+            LocationNames.class,
+            "PROFESSOR_PLUM_HS", "MRS_PEACOCK_HS", "MR_GREEN_HS", "MRS_WHITE_HS", "COLONEL_MUSTARD_HS", "MISS_SCARLET_HS",
+            "KITCHEN", "HALL", "BALLROOM", "CONSERVATORY", "DINING_ROOM", "BILLIARD_ROOM", "LIBRARY", "LOUNGE", "STUDY",
+            "H1", "H2", "H3", "H4", "H5", "H6", "H7", "H8", "H9", "H10", "H11", "H12"
+    );
+
+    /**
+     * Card names: rooms, then characters, then weapons.
+     * **/
+    public static final WireNames CARDS = new WireNames(
+            "KITCHEN", "HALL", "BALLROOM", "CONSERVATORY", "DINING_ROOM", "BILLIARD_ROOM", "LIBRARY", "LOUNGE", "STUDY",
+            "MISS_SCARLET", "COLONEL_MUSTARD", "MRS_WHITE", "MR_GREEN", "MRS_PEACOCK", "PROFESSOR_PLUM",
+            "REVOLVER", "DAGGER", "LEAD_PIPE", "ROPE", "CANDLESTICK", "WRENCH"
+    );
+
+    public static final WireEnum<ClueLessProtocolType> PROTOCOL_TYPES = new WireEnum<>(
+            ClueLessProtocolType.class,
+            "ACTIVE_PLAYER", "WAITING_PLAYER", "SUGGESTION", "ACCUSATION", "INFORMATIONAL"
+    );
+
+    public static final WireEnum<SuggestionStatus> SUGGESTION_STATUSES = new WireEnum<>(
+            SuggestionStatus.class,
+            "OFFER_SUGGESTION", "MAKING_SUGGESTION", "PROVING_SUGGESTION_FALSE", "CANNOT_DISPROVE"
+    );
+
+    public static final WireEnum<AccusationStatus> ACCUSATION_STATUSES = new WireEnum<>(
+            AccusationStatus.class,
+            "OFFER_ACCUSATION", "MAKING_ACCUSATION", "ACCUSATION_TRUE", "ACCUSATION_FALSE"
+    );
+
+    public static final BinaryCodec<CaseDetails> CASE_DETAILS = BinaryCodec.of(
+            (writer, caseDetails) -> {
+                writer.writeEnum(WEAPONS, caseDetails.getWeapon());
+                writer.writeEnum(ROOMS, caseDetails.getRoom());
+                writer.writeEnum(CHARACTERS, caseDetails.getCharacterNames());
+            },
+            reader -> {
+                CaseDetails caseDetails = new CaseDetails();
+                caseDetails.setWeapon(reader.readEnum(WEAPONS));
+                caseDetails.setRoom(reader.readEnum(ROOMS));
+                caseDetails.setCharacterNames(reader.readEnum(CHARACTERS));
+                return caseDetails;
+            }
+    );
+
+    public static final BinaryCodec<TurnStart> TURN_START = BinaryCodec.of(
+            (writer, turnStart) -> {
+                writer.writeEnum(PROTOCOL_TYPES, turnStart.getClueLessProtocolType());
+                writer.writeEnumMap(CHARACTERS, LOCATIONS, turnStart.getLocationNamesMap());
+                writer.writeString(turnStart.getAnnouncement());
+                writer.writeEnum(CHARACTERS, turnStart.getCharacterMovedFromSuggestion());
+                writer.writeLong(turnStart.getSequenceNumber());
+                writer.writeBoolean(turnStart.isEchoRequested());
+                writer.writeLong(turnStart.getBoardVersion());
+            },
+            reader -> {
+                TurnStart turnStart = new TurnStart();
+                turnStart.setClueLessProtocolType(reader.readEnum(PROTOCOL_TYPES));
+                turnStart.setLocationNamesMap(reader.readEnumMap(CHARACTERS, LOCATIONS));
+                turnStart.setAnnouncement(reader.readString());
+                turnStart.setCharacterMovedFromSuggestion(reader.readEnum(CHARACTERS));
+                turnStart.setSequenceNumber(reader.readLong());
+                turnStart.setEchoRequested(reader.readBoolean());
+                turnStart.setBoardVersion(reader.readLong());
+                return turnStart;
+            }
+    );
+
+    public static final BinaryCodec<GameStart> GAME_START = BinaryCodec.of(
+            (writer, gameStart) -> {
+                writer.writeEnumSet(ROOMS, gameStart.getRoomNamesList());
+                writer.writeEnumSet(WEAPONS, gameStart.getWeapons());
+                writer.writeEnumSet(CHARACTERS, gameStart.getCharacterNamesList());
+                writer.writeNameSet(CARDS, gameStart.getExtraCardsNames());
+                writer.writeEnum(CHARACTERS, gameStart.getCharacterNames());
+                writer.writeInt(gameStart.getNumberOfPlayers());
+                writer.writeInt(gameStart.getPlayerID());
+                writer.writeLong(gameStart.getReconnectToken());
+            },
+            reader -> {
+                GameStart gameStart = new GameStart();
+                gameStart.setRoomNamesList(reader.readEnumSet(ROOMS));
+                gameStart.setWeapons(reader.readEnumSet(WEAPONS));
+                gameStart.setCharacterNamesList(reader.readEnumSet(CHARACTERS));
+                gameStart.setExtraCardsNames(reader.readNameSet(CARDS));
+                gameStart.setCharacterNames(reader.readEnum(CHARACTERS));
+                gameStart.setNumberOfPlayers(reader.readInt());
+                gameStart.setPlayerID(reader.readInt());
+                gameStart.setReconnectToken(reader.readLong());
+                return gameStart;
+            }
+    );
+
+    public static final BinaryCodec<Suggestion> SUGGESTION = BinaryCodec.of(
+            (writer, suggestion) -> {
+                writer.writeEnum(SUGGESTION_STATUSES, suggestion.getSuggestionStatus());
+                writer.writeEnum(WEAPONS, suggestion.getWeapon());
+                writer.writeEnum(ROOMS, suggestion.getRoomNames());
+                writer.writeEnum(CHARACTERS, suggestion.getCharacter());
+                writer.writeNested(CASE_DETAILS, suggestion.getCaseDetails());
+                writer.writeNameSet(CHARACTERS, suggestion.getValidCharacters());
+                writer.writeNameSet(WEAPONS, suggestion.getValidWeapons());
+                writer.writeName(CARDS, suggestion.getResponseValue());
+            },
+            reader -> {
+                Suggestion suggestion = new Suggestion();
+                suggestion.setSuggestionStatus(reader.readEnum(SUGGESTION_STATUSES));
+                suggestion.setWeapon(reader.readEnum(WEAPONS));
+                suggestion.setRoomNames(reader.readEnum(ROOMS));
+                suggestion.setCharacter(reader.readEnum(CHARACTERS));
+                suggestion.setCaseDetails(reader.readNested(CASE_DETAILS));
+                suggestion.setValidCharacters(reader.readNameSet(CHARACTERS));
+                suggestion.setValidWeapons(reader.readNameSet(WEAPONS));
+                suggestion.setResponseValue(reader.readName(CARDS));
+                return suggestion;
+            }
+    );
+
+    public static final BinaryCodec<Accusation> ACCUSATION = BinaryCodec.of(
+            (writer, accusation) -> {
+                writer.writeEnum(ACCUSATION_STATUSES, accusation.getAccusationStatus());
+                writer.writeEnum(WEAPONS, accusation.getWeapon());
+                writer.writeEnum(ROOMS, accusation.getRoomNames());
+                writer.writeEnum(CHARACTER_PIECES, accusation.getCharacter());
+                writer.writeNameSet(CHARACTERS, accusation.getValidCharacters());
+                writer.writeNameSet(ROOMS, accusation.getValidRooms());
+                writer.writeNameSet(WEAPONS, accusation.getValidWeapons());
+                writer.writeNested(CASE_DETAILS, accusation.getCaseDetails());
+            },
+            reader -> {
+                Accusation accusation = new Accusation();
+                accusation.setAccusationStatus(reader.readEnum(ACCUSATION_STATUSES));
+                accusation.setWeapon(reader.readEnum(WEAPONS));
+                accusation.setRoomNames(reader.readEnum(ROOMS));
+                accusation.setCharacter(reader.readEnum(CHARACTER_PIECES));
+                accusation.setValidCharacters(reader.readNameSet(CHARACTERS));
+                accusation.setValidRooms(reader.readNameSet(ROOMS));
+                accusation.setValidWeapons(reader.readNameSet(WEAPONS));
+                accusation.setCaseDetails(reader.readNested(CASE_DETAILS));
+                return accusation;
+            }
+    );
+
+    public static final BinaryCodec<MoveOptions> MOVE_OPTIONS = BinaryCodec.of(
+            (writer, moveOptions) -> {
+                writer.writeEnumSet(LOCATIONS, moveOptions.getValidMoves());
+                writer.writeEnum(PROTOCOL_TYPES, moveOptions.getTurnIndicator());
+                writer.writeInt(moveOptions.getHandlerNumber());
+            },
+            reader -> {
+                MoveOptions moveOptions = new MoveOptions();
+                moveOptions.setValidMoves(reader.readEnumSet(LOCATIONS));
+                moveOptions.setTurnIndicator(reader.readEnum(PROTOCOL_TYPES));
+                moveOptions.setHandlerNumber(reader.readInt());
+                return moveOptions;
+            }
+    );
+
+    public static final BinaryCodec<MoveChoice> MOVE_CHOICE = BinaryCodec.of(
+            (writer, moveChoice) -> writer.writeEnum(LOCATIONS, moveChoice.getMove()),
+            reader -> new MoveChoice(reader.readEnum(LOCATIONS))
+    );
+
+    public static final BinaryCodec<ServerActivePlayerProtocolOfferer> PROTOCOL_OFFERER = BinaryCodec.of(
+            (writer, offerer) -> {
+                writer.writeNested(MOVE_OPTIONS, offerer.getOfferMoveOptions().orElse(null));
+                writer.writeNested(SUGGESTION, offerer.getOfferSuggestion().orElse(null));
+                writer.writeNested(ACCUSATION, offerer.getOfferAccusation().orElse(null));
+            },
+            reader -> {
+                ServerActivePlayerProtocolOfferer offerer = new ServerActivePlayerProtocolOfferer();
+                offerer.setOfferMoveOptions(reader.readNested(MOVE_OPTIONS));
+                offerer.setOfferSuggestion(reader.readNested(SUGGESTION));
+                offerer.setOfferAccusation(reader.readNested(ACCUSATION));
+                return offerer;
+            }
+    );
+
+    public static final BinaryCodec<ActivePlayerProtocolSelector> PROTOCOL_SELECTOR = BinaryCodec.of(
+            (writer, selector) -> {
+                writer.writeNested(MOVE_CHOICE, selector.getMoveChoice());
+                writer.writeNested(SUGGESTION, selector.getSuggestion());
+                writer.writeNested(ACCUSATION, selector.getAccusation());
+            },
+            reader -> new ActivePlayerProtocolSelector(
+                    reader.readNested(MOVE_CHOICE),
+                    reader.readNested(SUGGESTION),
+                    reader.readNested(ACCUSATION)
+            )
+    );
+
+    public static final BinaryCodec<SuggestionTestimonyResponse> SUGGESTION_TESTIMONY_RESPONSE = BinaryCodec.of(
+            (writer, response) -> writer.writeName(CARDS, response.getResponse()),
+            reader -> {
+                SuggestionTestimonyResponse response = new SuggestionTestimonyResponse();
+                response.setResponse(reader.readName(CARDS));
+                return response;
+            }
+    );
+
+    public static final BinaryCodec<GameState> GAME_STATE = BinaryCodec.of(
+            (writer, gameState) -> {
+                writer.writeEnumSet(ROOMS, gameState.getRooms());
+                writer.writeNameSet(LOCATIONS, gameState.getHallways());
+                writer.writeEnumMap(CHARACTER_PIECES, ROOMS, gameState.getCharacterPositions());
+            },
+            reader -> {
+                GameState gameState = new GameState();
+                gameState.setRooms(reader.readEnumSet(ROOMS));
+                gameState.setHallways(reader.readNameSet(LOCATIONS));
+                gameState.setCharacterPositions(reader.readEnumMap(CHARACTER_PIECES, ROOMS));
+                return gameState;
+            }
+    );
+
+    public static final BinaryCodec<NewGame> NEW_GAME = BinaryCodec.of(
+            (writer, newGame) -> {
+                writer.writeStringList(newGame.getPlayerIds());
+                writer.writeString(newGame.getGameId());
+            },
+            reader -> {
+                NewGame newGame = new NewGame();
+                newGame.setPlayerIds(reader.readStringList());
+                newGame.setGameId(reader.readString());
+                return newGame;
+            }
+    );
+
+    public static final BinaryCodec<ServerBusy> SERVER_BUSY = BinaryCodec.of(
+            (writer, serverBusy) -> {
+                writer.writeString(serverBusy.getReason());
+                writer.writeInt(serverBusy.getRetryAfterSeconds());
+            },
+            reader -> {
+                ServerBusy serverBusy = new ServerBusy();
+                serverBusy.setReason(reader.readString());
+                serverBusy.setRetryAfterSeconds(reader.readInt());
+                return serverBusy;
+            }
+    );
+
+    public static final BinaryCodec<SeatClaim> SEAT_CLAIM = BinaryCodec.of(
+            (writer, seatClaim) -> {
+                writer.writeInt(seatClaim.getPlayerID());
+                writer.writeLong(seatClaim.getReconnectToken());
+            },
+            reader -> {
+                SeatClaim seatClaim = new SeatClaim();
+                seatClaim.setPlayerID(reader.readInt());
+                seatClaim.setReconnectToken(reader.readLong());
+                return seatClaim;
+            }
+    );
+
+    public static final BinaryCodec<TableSizeChoice> TABLE_SIZE_CHOICE = BinaryCodec.of(
+            (writer, tableSizeChoice) -> {
+                writer.writeInt(tableSizeChoice.getMinTableSize());
+                writer.writeInt(tableSizeChoice.getMaxTableSize());
+                writer.writeInt(tableSizeChoice.getTableSize());
+            },
+            reader -> {
+                TableSizeChoice tableSizeChoice = new TableSizeChoice();
+                tableSizeChoice.setMinTableSize(reader.readInt());
+                tableSizeChoice.setMaxTableSize(reader.readInt());
+                tableSizeChoice.setTableSize(reader.readInt());
+                return tableSizeChoice;
+            }
+    );
+
+    private GameEventCodecs()
+    {
+    }
+
+    static BinaryMessageCodec binaryMessageCodec()
+    {
+        return new BinaryMessageCodec()
+                .register(CaseDetails.class, CASE_DETAILS)
+                .register(TurnStart.class, TURN_START)
+                .register(GameStart.class, GAME_START)
+                .register(Suggestion.class, SUGGESTION)
+                .register(Accusation.class, ACCUSATION)
+                .register(MoveOptions.class, MOVE_OPTIONS)
+                .register(MoveChoice.class, MOVE_CHOICE)
+                .register(ServerActivePlayerProtocolOfferer.class, PROTOCOL_OFFERER)
+                .register(ActivePlayerProtocolSelector.class, PROTOCOL_SELECTOR)
+                .register(SuggestionTestimonyResponse.class, SUGGESTION_TESTIMONY_RESPONSE)
+                .register(GameState.class, GAME_STATE)
+                .register(NewGame.class, NEW_GAME)
+                .register(ServerBusy.class, SERVER_BUSY)
+                .register(SeatClaim.class, SEAT_CLAIM)
+                .register(TableSizeChoice.class, TABLE_SIZE_CHOICE);
+    }
+}
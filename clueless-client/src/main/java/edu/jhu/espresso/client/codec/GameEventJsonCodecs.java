@@ -0,0 +1,430 @@
+package edu.jhu.espresso.client.codec;
+
+import edu.jhu.espresso.client.domain.ClueLessProtocolType;
+import edu.jhu.espresso.client.domain.GameEvents.Accusation;
+import edu.jhu.espresso.client.domain.GameEvents.AccusationStatus;
+import edu.jhu.espresso.client.domain.GameEvents.GameStart;
+import edu.jhu.espresso.client.domain.GameEvents.MoveChoice;
+import edu.jhu.espresso.client.domain.GameEvents.MoveOptions;
+import edu.jhu.espresso.client.domain.GameEvents.Suggestion;
+import edu.jhu.espresso.client.domain.GameEvents.SuggestionStatus;
+import edu.jhu.espresso.client.domain.GameEvents.SuggestionTestimonyResponse;
+import edu.jhu.espresso.client.domain.GameEvents.TurnStart;
+import edu.jhu.espresso.client.domain.GamePieces.CaseDetails;
+import edu.jhu.espresso.client.domain.GamePieces.Character;
+import edu.jhu.espresso.client.domain.GamePieces.CharacterNames;
+import edu.jhu.espresso.client.domain.GamePieces.LocationNames;
+import edu.jhu.espresso.client.domain.GamePieces.RoomNames;
+import edu.jhu.espresso.client.domain.GamePieces.Weapon;
+import edu.jhu.espresso.client.protocol.ActivePlayerProtocolSelector;
+import edu.jhu.espresso.client.protocol.ServerActivePlayerProtocolOfferer;
+
+import static edu.jhu.espresso.client.codec.JsonFields.readEnum;
+import static edu.jhu.espresso.client.codec.JsonFields.readEnumList;
+import static edu.jhu.espresso.client.codec.JsonFields.readEnumMap;
+import static edu.jhu.espresso.client.codec.JsonFields.readFields;
+import static edu.jhu.espresso.client.codec.JsonFields.readObject;
+import static edu.jhu.espresso.client.codec.JsonFields.readString;
+import static edu.jhu.espresso.client.codec.JsonFields.readStringList;
+import static edu.jhu.espresso.client.codec.JsonFields.writeEnum;
+import static edu.jhu.espresso.client.codec.JsonFields.writeEnumList;
+import static edu.jhu.espresso.client.codec.JsonFields.writeEnumMap;
+import static edu.jhu.espresso.client.codec.JsonFields.writeObject;
+import static edu.jhu.espresso.client.codec.JsonFields.writeString;
+import static edu.jhu.espresso.client.codec.JsonFields.writeStringList;
+
+/**
+ * GameEventJsonCodecs are the streaming JSON codecs for the messages exchanged on every turn.  Field names are the
+ * property names ObjectMapper derives from each class's getters, and the server's GameEventJsonCodecs use the same
+ * names.  Anything not registered here, such as the lobby list, is still bound reflectively.
+ * **/
+public final class GameEventJsonCodecs
+{
+    public static final JsonCodec<CaseDetails> CASE_DETAILS = JsonCodec.of(
+            (generator, caseDetails) -> {
+                generator.writeStartObject();
+                writeEnum(generator, "weapon", caseDetails.getWeapon());
+                writeEnum(generator, "room", caseDetails.getRoom());
+                writeEnum(generator, "characterNames", caseDetails.getCharacterNames());
+                generator.writeEndObject();
+            },
+            parser -> {
+                CaseDetails caseDetails = new CaseDetails();
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "weapon":
+                            caseDetails.setWeapon(readEnum(value, Weapon.class));
+                            return true;
+                        case "room":
+                            caseDetails.setRoom(readEnum(value, RoomNames.class));
+                            return true;
+                        case "characterNames":
+                            caseDetails.setCharacterNames(readEnum(value, CharacterNames.class));
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return caseDetails;
+            }
+    );
+
+    public static final JsonCodec<TurnStart> TURN_START = JsonCodec.of(
+            (generator, turnStart) -> {
+                generator.writeStartObject();
+                writeEnum(generator, "clueLessProtocolType", turnStart.getClueLessProtocolType());
+                writeEnumMap(generator, "locationNamesMap", turnStart.getLocationNamesMap());
+                writeString(generator, "announcement", turnStart.getAnnouncement());
+                writeEnum(generator, "characterMovedFromSuggestion", turnStart.getCharacterMovedFromSuggestion());
+                generator.writeNumberField("sequenceNumber", turnStart.getSequenceNumber());
+                generator.writeBooleanField("echoRequested", turnStart.isEchoRequested());
+                generator.writeNumberField("boardVersion", turnStart.getBoardVersion());
+                generator.writeEndObject();
+            },
+            parser -> {
+                TurnStart turnStart = new TurnStart();
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "clueLessProtocolType":
+                            turnStart.setClueLessProtocolType(readEnum(value, ClueLessProtocolType.class));
+                            return true;
+                        case "locationNamesMap":
+                            turnStart.setLocationNamesMap(readEnumMap(value, CharacterNames.class, LocationNames.class));
+                            return true;
+                        case "announcement":
+                            turnStart.setAnnouncement(readString(value));
+                            return true;
+                        case "characterMovedFromSuggestion":
+                            turnStart.setCharacterMovedFromSuggestion(readEnum(value, CharacterNames.class));
+                            return true;
+                        case "sequenceNumber":
+                            turnStart.setSequenceNumber(value.getLongValue());
+                            return true;
+                        case "echoRequested":
+                            turnStart.setEchoRequested(value.getBooleanValue());
+                            return true;
+                        case "boardVersion":
+                            turnStart.setBoardVersion(value.getLongValue());
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return turnStart;
+            }
+    );
+
+    public static final JsonCodec<GameStart> GAME_START = JsonCodec.of(
+            (generator, gameStart) -> {
+                generator.writeStartObject();
+                writeEnumList(generator, "roomNamesList", gameStart.getRoomNamesList());
+                writeEnumList(generator, "weapons", gameStart.getWeapons());
+                writeEnumList(generator, "characterNamesList", gameStart.getCharacterNamesList());
+                writeStringList(generator, "extraCardsNames", gameStart.getExtraCardsNames());
+                writeEnum(generator, "characterNames", gameStart.getCharacterNames());
+                generator.writeNumberField("numberOfPlayers", gameStart.getNumberOfPlayers());
+                generator.writeNumberField("playerID", gameStart.getPlayerID());
+                generator.writeNumberField("reconnectToken", gameStart.getReconnectToken());
+                generator.writeEndObject();
+            },
+            parser -> {
+                GameStart gameStart = new GameStart();
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "roomNamesList":
+                            gameStart.setRoomNamesList(readEnumList(value, RoomNames.class));
+                            return true;
+                        case "weapons":
+                            gameStart.setWeapons(readEnumList(value, Weapon.class));
+                            return true;
+                        case "characterNamesList":
+                            gameStart.setCharacterNamesList(readEnumList(value, CharacterNames.class));
+                            return true;
+                        case "extraCardsNames":
+                            gameStart.setExtraCardsNames(readStringList(value));
+                            return true;
+                        case "characterNames":
+                            gameStart.setCharacterNames(readEnum(value, CharacterNames.class));
+                            return true;
+                        case "numberOfPlayers":
+                            gameStart.setNumberOfPlayers(value.getIntValue());
+                            return true;
+                        case "playerID":
+                            gameStart.setPlayerID(value.getIntValue());
+                            return true;
+                        case "reconnectToken":
+                            gameStart.setReconnectToken(value.getLongValue());
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return gameStart;
+            }
+    );
+
+    public static final JsonCodec<Suggestion> SUGGESTION = JsonCodec.of(
+            (generator, suggestion) -> {
+                generator.writeStartObject();
+                writeEnum(generator, "suggestionStatus", suggestion.getSuggestionStatus());
+                writeObject(generator, "caseDetails", CASE_DETAILS, suggestion.getCaseDetails());
+                writeStringList(generator, "validCharacters", suggestion.getValidCharacters());
+                writeStringList(generator, "validWeapons", suggestion.getValidWeapons());
+                writeEnum(generator, "weapon", suggestion.getWeapon());
+                writeEnum(generator, "roomNames", suggestion.getRoomNames());
+                writeEnum(generator, "character", suggestion.getCharacter());
+                writeString(generator, "responseValue", suggestion.getResponseValue());
+                generator.writeEndObject();
+            },
+            parser -> {
+                Suggestion suggestion = new Suggestion();
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "suggestionStatus":
+                            suggestion.setSuggestionStatus(readEnum(value, SuggestionStatus.class));
+                            return true;
+                        case "caseDetails":
+                            suggestion.setCaseDetails(readObject(value, CASE_DETAILS));
+                            return true;
+                        case "validCharacters":
+                            suggestion.setValidCharacters(readStringList(value));
+                            return true;
+                        case "validWeapons":
+                            suggestion.setValidWeapons(readStringList(value));
+                            return true;
+                        case "weapon":
+                            suggestion.setWeapon(readEnum(value, Weapon.class));
+                            return true;
+                        case "roomNames":
+                            suggestion.setRoomNames(readEnum(value, RoomNames.class));
+                            return true;
+                        case "character":
+                            suggestion.setCharacter(readEnum(value, CharacterNames.class));
+                            return true;
+                        case "responseValue":
+                            suggestion.setResponseValue(readString(value));
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return suggestion;
+            }
+    );
+
+    public static final JsonCodec<Accusation> ACCUSATION = JsonCodec.of(
+            (generator, accusation) -> {
+                generator.writeStartObject();
+                writeEnum(generator, "accusationStatus", accusation.getAccusationStatus());
+                writeObject(generator, "caseDetails", CASE_DETAILS, accusation.getCaseDetails());
+                writeEnum(generator, "weapon", accusation.getWeapon());
+                writeEnum(generator, "roomNames", accusation.getRoomNames());
+                writeEnum(generator, "character", accusation.getCharacter());
+                writeStringList(generator, "validCharacters", accusation.getValidCharacters());
+                writeStringList(generator, "validRooms", accusation.getValidRooms());
+                writeStringList(generator, "validWeapons", accusation.getValidWeapons());
+                generator.writeEndObject();
+            },
+            parser -> {
+                Accusation accusation = new Accusation();
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "accusationStatus":
+                            accusation.setAccusationStatus(readEnum(value, AccusationStatus.class));
+                            return true;
+                        case "caseDetails":
+                            accusation.setCaseDetails(readObject(value, CASE_DETAILS));
+                            return true;
+                        case "weapon":
+                            accusation.setWeapon(readEnum(value, Weapon.class));
+                            return true;
+                        case "roomNames":
+                            accusation.setRoomNames(readEnum(value, RoomNames.class));
+                            return true;
+                        case "character":
+                            accusation.setCharacter(readEnum(value, Character.class));
+                            return true;
+                        case "validCharacters":
+                            accusation.setValidCharacters(readStringList(value));
+                            return true;
+                        case "validRooms":
+                            accusation.setValidRooms(readStringList(value));
+                            return true;
+                        case "validWeapons":
+                            accusation.setValidWeapons(readStringList(value));
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return accusation;
+            }
+    );
+
+    /**
+     * location is the client's own pick from validMoves.  The server never sends it but ObjectMapper has always
+     * written it, so it is kept.
+     * **/
+    public static final JsonCodec<MoveOptions> MOVE_OPTIONS = JsonCodec.of(
+            (generator, moveOptions) -> {
+                generator.writeStartObject();
+                writeEnumList(generator, "validMoves", moveOptions.getValidMoves());
+                writeEnum(generator, "location", moveOptions.getLocation());
+                writeEnum(generator, "turnIndicator", moveOptions.getTurnIndicator());
+                generator.writeNumberField("handlerNumber", moveOptions.getHandlerNumber());
+                generator.writeEndObject();
+            },
+            parser -> {
+                MoveOptions moveOptions = new MoveOptions();
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "validMoves":
+                            moveOptions.setValidMoves(readEnumList(value, LocationNames.class));
+                            return true;
+                        case "location":
+                            moveOptions.setMove(readEnum(value, LocationNames.class));
+                            return true;
+                        case "turnIndicator":
+                            moveOptions.setTurnIndicator(readEnum(value, ClueLessProtocolType.class));
+                            return true;
+                        case "handlerNumber":
+                            moveOptions.setHandlerNumber(value.getIntValue());
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return moveOptions;
+            }
+    );
+
+    public static final JsonCodec<MoveChoice> MOVE_CHOICE = JsonCodec.of(
+            (generator, moveChoice) -> {
+                generator.writeStartObject();
+                writeEnum(generator, "move", moveChoice.getMove());
+                generator.writeEndObject();
+            },
+            parser -> {
+                LocationNames[] move = new LocationNames[1];
+                readFields(parser, (field, value) -> {
+                    if("move".equals(field))
+                    {
+                        move[0] = readEnum(value, LocationNames.class);
+                        return true;
+                    }
+                    return false;
+                });
+                return new MoveChoice(move[0]);
+            }
+    );
+
+    /**
+     * Written the way the server sends it, as plain nested objects, rather than as the client's Optional getters.
+     * **/
+    public static final JsonCodec<ServerActivePlayerProtocolOfferer> PROTOCOL_OFFERER = JsonCodec.of(
+            (generator, offerer) -> {
+                generator.writeStartObject();
+                writeObject(generator, "offerMoveOptions", MOVE_OPTIONS, offerer.getOfferMoveOptions().orElse(null));
+                writeObject(generator, "offerSuggestion", SUGGESTION, offerer.getOfferSuggestion().orElse(null));
+                writeObject(generator, "offerAccusation", ACCUSATION, offerer.getOfferAccusation().orElse(null));
+                generator.writeEndObject();
+            },
+            parser -> {
+                ServerActivePlayerProtocolOfferer offerer = new ServerActivePlayerProtocolOfferer();
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "offerMoveOptions":
+                            offerer.setOfferMoveOptions(readObject(value, MOVE_OPTIONS));
+                            return true;
+                        case "offerSuggestion":
+                            offerer.setOfferSuggestion(readObject(value, SUGGESTION));
+                            return true;
+                        case "offerAccusation":
+                            offerer.setOfferAccusation(readObject(value, ACCUSATION));
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return offerer;
+            }
+    );
+
+    public static final JsonCodec<ActivePlayerProtocolSelector> PROTOCOL_SELECTOR = JsonCodec.of(
+            (generator, selector) -> {
+                generator.writeStartObject();
+                writeObject(generator, "moveChoice", MOVE_CHOICE, selector.getMoveChoice());
+                writeObject(generator, "suggestion", SUGGESTION, selector.getSuggestion());
+                writeObject(generator, "accusation", ACCUSATION, selector.getAccusation());
+                generator.writeEndObject();
+            },
+            parser -> {
+                MoveChoice[] moveChoice = new MoveChoice[1];
+                Suggestion[] suggestion = new Suggestion[1];
+                Accusation[] accusation = new Accusation[1];
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "moveChoice":
+                            moveChoice[0] = readObject(value, MOVE_CHOICE);
+                            return true;
+                        case "suggestion":
+                            suggestion[0] = readObject(value, SUGGESTION);
+                            return true;
+                        case "accusation":
+                            accusation[0] = readObject(value, ACCUSATION);
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return new ActivePlayerProtocolSelector(moveChoice[0], suggestion[0], accusation[0]);
+            }
+    );
+
+    public static final JsonCodec<SuggestionTestimonyResponse> SUGGESTION_TESTIMONY_RESPONSE = JsonCodec.of(
+            (generator, response) -> {
+                generator.writeStartObject();
+                writeString(generator, "response", response.getResponse());
+                generator.writeEndObject();
+            },
+            parser -> {
+                SuggestionTestimonyResponse response = new SuggestionTestimonyResponse();
+                readFields(parser, (field, value) -> {
+                    if("response".equals(field))
+                    {
+                        response.setResponse(readString(value));
+                        return true;
+                    }
+                    return false;
+                });
+                return response;
+            }
+    );
+
+    private GameEventJsonCodecs()
+    {
+    }
+
+    static JsonMessageCodec jsonMessageCodec()
+    {
+        return new JsonMessageCodec()
+                .register(CaseDetails.class, CASE_DETAILS)
+                .register(TurnStart.class, TURN_START)
+                .register(GameStart.class, GAME_START)
+                .register(Suggestion.class, SUGGESTION)
+                .register(Accusation.class, ACCUSATION)
+                .register(MoveOptions.class, MOVE_OPTIONS)
+                .register(MoveChoice.class, MOVE_CHOICE)
+                .register(ServerActivePlayerProtocolOfferer.class, PROTOCOL_OFFERER)
+                .register(ActivePlayerProtocolSelector.class, PROTOCOL_SELECTOR)
+                .register(SuggestionTestimonyResponse.class, SUGGESTION_TESTIMONY_RESPONSE);
+    }
+}
@@ -0,0 +1,206 @@
+package edu.jhu.espresso.client.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Field helpers shared by the streaming JSON codecs.  Writers always emit the field, writing null where ObjectMapper
+ * would; readers accept null for any object, list or enum field.
+ * **/
+public final class JsonFields
+{
+    /**
+     * Handles one field of an object.  Returning false skips the field's value, so fields a codec does not know about
+     * are ignored rather than failing the message.
+     * **/
+    public interface FieldReader
+    {
+        boolean read(String field, JsonParser parser) throws IOException;
+    }
+
+    private JsonFields()
+    {
+    }
+
+    public static void writeEnum(JsonGenerator generator, String field, Enum<?> value) throws IOException
+    {
+        if(value == null)
+        {
+            generator.writeNullField(field);
+        }
+        else
+        {
+            generator.writeStringField(field, value.name());
+        }
+    }
+
+    public static void writeString(JsonGenerator generator, String field, String value) throws IOException
+    {
+        if(value == null)
+        {
+            generator.writeNullField(field);
+        }
+        else
+        {
+            generator.writeStringField(field, value);
+        }
+    }
+
+    public static void writeStringList(JsonGenerator generator, String field, List<String> values) throws IOException
+    {
+        generator.writeFieldName(field);
+        if(values == null)
+        {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        for(String value : values)
+        {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+
+    public static void writeEnumList(
+            JsonGenerator generator,
+            String field,
+            List<? extends Enum<?>> values
+    ) throws IOException {
+        generator.writeFieldName(field);
+        if(values == null)
+        {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        for(Enum<?> value : values)
+        {
+            generator.writeString(value.name());
+        }
+        generator.writeEndArray();
+    }
+
+    public static void writeEnumMap(
+            JsonGenerator generator,
+            String field,
+            Map<? extends Enum<?>, ? extends Enum<?>> map
+    ) throws IOException {
+        generator.writeFieldName(field);
+        if(map == null)
+        {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        for(Map.Entry<? extends Enum<?>, ? extends Enum<?>> entry : map.entrySet())
+        {
+            writeEnum(generator, entry.getKey().name(), entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    public static <T> void writeObject(
+            JsonGenerator generator,
+            String field,
+            JsonCodec<T> codec,
+            T value
+    ) throws IOException {
+        generator.writeFieldName(field);
+        if(value == null)
+        {
+            generator.writeNull();
+        }
+        else
+        {
+            codec.write(generator, value);
+        }
+    }
+
+    /**
+     * Walks the fields of the object the parser is on, leaving the parser on its END_OBJECT.
+     * **/
+    public static void readFields(JsonParser parser, FieldReader reader) throws IOException
+    {
+        if(parser.currentToken() != JsonToken.START_OBJECT)
+        {
+            throw new IllegalArgumentException("Expected an object but found " + parser.currentToken());
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if(!reader.read(field, parser))
+            {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    public static String readString(JsonParser parser) throws IOException
+    {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    public static <E extends Enum<E>> E readEnum(JsonParser parser, Class<E> type) throws IOException
+    {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : Enum.valueOf(type, parser.getText());
+    }
+
+    public static ArrayList<String> readStringList(JsonParser parser) throws IOException
+    {
+        if(parser.currentToken() == JsonToken.VALUE_NULL)
+        {
+            return null;
+        }
+        ArrayList<String> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY)
+        {
+            values.add(readString(parser));
+        }
+        return values;
+    }
+
+    public static <E extends Enum<E>> ArrayList<E> readEnumList(JsonParser parser, Class<E> type) throws IOException
+    {
+        if(parser.currentToken() == JsonToken.VALUE_NULL)
+        {
+            return null;
+        }
+        ArrayList<E> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY)
+        {
+            values.add(readEnum(parser, type));
+        }
+        return values;
+    }
+
+    public static <K extends Enum<K>, V extends Enum<V>> EnumMap<K, V> readEnumMap(
+            JsonParser parser,
+            Class<K> keyType,
+            Class<V> valueType
+    ) throws IOException {
+        if(parser.currentToken() == JsonToken.VALUE_NULL)
+        {
+            return null;
+        }
+        EnumMap<K, V> map = new EnumMap<>(keyType);
+        readFields(parser, (field, valueParser) -> {
+            map.put(Enum.valueOf(keyType, field), readEnum(valueParser, valueType));
+            return true;
+        });
+        return map;
+    }
+
+    public static <T> T readObject(JsonParser parser, JsonCodec<T> codec) throws IOException
+    {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : codec.read(parser);
+    }
+}
@@ -0,0 +1,44 @@
+package edu.jhu.espresso.client.codec;
+
+/**
+ * The payload encodings a connection can use, from the most readable to the most compact.  Each client asks for one in
+ * its handshake and the server settles on the less compact of that and the format it allows, so JSON can always be
+ * forced for debugging.  The server keeps an identical copy of this enum.
+ * **/
+public enum WireFormat
+{
+    JSON(GameEventJsonCodecs.jsonMessageCodec()),
+    BINARY(GameEventCodecs.binaryMessageCodec());
+
+    private final MessageCodec codec;
+
+    WireFormat(MessageCodec codec)
+    {
+        this.codec = codec;
+    }
+
+    public MessageCodec codec()
+    {
+        return codec;
+    }
+
+    public byte getCode()
+    {
+        return (byte) ordinal();
+    }
+
+    public static WireFormat fromCode(int code)
+    {
+        WireFormat[] formats = values();
+        if(code < 0 || code >= formats.length)
+        {
+            throw new IllegalArgumentException(code + " is not a known wire format");
+        }
+        return formats[code];
+    }
+
+    public static WireFormat negotiate(WireFormat requested, WireFormat allowed)
+    {
+        return requested.ordinal() <= allowed.ordinal() ? requested : allowed;
+    }
+}
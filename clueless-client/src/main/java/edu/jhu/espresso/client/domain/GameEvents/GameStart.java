@@ -14,6 +14,8 @@ public class GameStart
     private List<String> extraCardsNames;
     private CharacterNames characterNames;
     private int numberOfPlayers;
+    private int playerID;
+    private long reconnectToken;
 
     public List<RoomNames> getRoomNamesList()
     {
@@ -74,4 +76,28 @@ public class GameStart
     {
         this.numberOfPlayers = numberOfPlayers;
     }
+
+    /**
+     * The player ID and reconnect token to send back in a SeatClaim to take this seat over again if the connection
+     * drops.
+     * **/
+    public int getPlayerID()
+    {
+        return playerID;
+    }
+
+    public void setPlayerID(int playerID)
+    {
+        this.playerID = playerID;
+    }
+
+    public long getReconnectToken()
+    {
+        return reconnectToken;
+    }
+
+    public void setReconnectToken(long reconnectToken)
+    {
+        this.reconnectToken = reconnectToken;
+    }
 }
@@ -0,0 +1,37 @@
+package edu.jhu.espresso.client.domain.GameEvents;
+
+/**
+ * Sent unasked from the foyer to take back a seat the server's bot has been playing since this client's connection
+ * dropped.  The player ID and reconnect token are the ones from the seat's latest GameStart.
+ * **/
+public final class SeatClaim
+{
+    private int playerID;
+    private long reconnectToken;
+
+    public int getPlayerID()
+    {
+        return playerID;
+    }
+
+    public void setPlayerID(int playerID)
+    {
+        this.playerID = playerID;
+    }
+
+    public long getReconnectToken()
+    {
+        return reconnectToken;
+    }
+
+    public void setReconnectToken(long reconnectToken)
+    {
+        this.reconnectToken = reconnectToken;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SeatClaim{playerID=" + playerID + '}';
+    }
+}
@@ -0,0 +1,49 @@
+package edu.jhu.espresso.client.domain.GameEvents;
+
+/**
+ * Asked by a server whose foyer matches players by table size rather than offering lobbies.  The server fills in the
+ * table sizes it deals for and the client sends the message back with the size it wants.
+ * **/
+public final class TableSizeChoice
+{
+    private int minTableSize;
+    private int maxTableSize;
+    private int tableSize;
+
+    public int getMinTableSize()
+    {
+        return minTableSize;
+    }
+
+    public void setMinTableSize(int minTableSize)
+    {
+        this.minTableSize = minTableSize;
+    }
+
+    public int getMaxTableSize()
+    {
+        return maxTableSize;
+    }
+
+    public void setMaxTableSize(int maxTableSize)
+    {
+        this.maxTableSize = maxTableSize;
+    }
+
+    public int getTableSize()
+    {
+        return tableSize;
+    }
+
+    public void setTableSize(int tableSize)
+    {
+        this.tableSize = tableSize;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TableSizeChoice{minTableSize=" + minTableSize + ", maxTableSize=" + maxTableSize + ", tableSize=" +
+                tableSize + '}';
+    }
+}
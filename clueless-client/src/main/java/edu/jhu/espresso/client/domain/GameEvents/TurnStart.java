@@ -14,6 +14,9 @@ public class TurnStart
     private Map<CharacterNames, LocationNames> locationNamesMap;
     private String announcement;
     private CharacterNames characterMovedFromSuggestion;
+    private long sequenceNumber;
+    private boolean echoRequested = true;
+    private long boardVersion;
 
     public void setClueLessProtocolType(ClueLessProtocolType clueLessProtocolType)
     {
@@ -55,6 +58,43 @@ public class TurnStart
         return characterMovedFromSuggestion;
     }
 
+    public long getSequenceNumber()
+    {
+        return sequenceNumber;
+    }
+
+    public void setSequenceNumber(long sequenceNumber)
+    {
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    /**
+     * Servers in echo mode expect every TurnStart to be written back.  Otherwise the client only acknowledges the
+     * sequence number.
+     * **/
+    public boolean isEchoRequested()
+    {
+        return echoRequested;
+    }
+
+    public void setEchoRequested(boolean echoRequested)
+    {
+        this.echoRequested = echoRequested;
+    }
+
+    /**
+     * The board version reached once locationNamesMap, which only holds the characters that moved, is applied.
+     * **/
+    public long getBoardVersion()
+    {
+        return boardVersion;
+    }
+
+    public void setBoardVersion(long boardVersion)
+    {
+        this.boardVersion = boardVersion;
+    }
+
     @JsonIgnore
     public Optional<CharacterNames> getCharacterMovedFromSuggestionOptional()
     {
@@ -84,7 +84,7 @@ public class ActivePlayerProtocol implements ClueLessProtocol
                     throw new IllegalStateException("cannot handle game board status " + status);
             }
 
-            client.write(selector);
+            client.respond(gameOptions, selector);
 
             if(status == GameboardControllerStatus.MOVE){this.client.getPlayer().setHasMoved(true);}
 
@@ -94,7 +94,7 @@ public class ActivePlayerProtocol implements ClueLessProtocol
                 TurnStart gameUpdateTurnStart = client.waitForResponse(TurnStart.class);
                 gameboardController.updateStatusBar(gameUpdateTurnStart.getAnnouncement());
                 client.updateCharactersOnBoard(gameUpdateTurnStart);
-                client.write(gameUpdateTurnStart);
+                client.acknowledge(gameUpdateTurnStart);
                 SuggestionTestimonyResponse suggestionTestimonyResponse = client.waitForResponse(SuggestionTestimonyResponse.class);
                 //System.out.println("testimony response: " + suggestionTestimonyResponse);
                 updateNotebook(suggestionTestimonyResponse);
@@ -111,7 +111,8 @@ public class ActivePlayerProtocol implements ClueLessProtocol
                 }
                 gameboardController.updateStatusBar(gameUpdateTurnStart.getAnnouncement());
                // System.out.println(gameUpdateTurnStart.getAnnouncement());
-                client.write(gameUpdateTurnStart);
+                client.updateCharactersOnBoard(gameUpdateTurnStart);
+                client.acknowledge(gameUpdateTurnStart);
             }
 
             gameboardController.resetStatus();
@@ -246,7 +247,7 @@ public class ActivePlayerProtocol implements ClueLessProtocol
     public void EndTurn()
     {
         this.endTurn = true;
-        client.write(new ActivePlayerProtocolSelector(null, null, null));
+        client.respond(gameOptions, new ActivePlayerProtocolSelector(null, null, null));
     }
 
 
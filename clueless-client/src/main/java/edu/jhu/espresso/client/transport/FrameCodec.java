@@ -0,0 +1,180 @@
+package edu.jhu.espresso.client.transport;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * FrameCodec is the framing both ends of the wire agree on: every message is a 4 byte big-endian payload length and
+ * a 1 byte frame type, followed by the payload itself.  Requests and responses put a 4 byte correlation ID at the
+ * front of the payload, and the length covers it.  The server keeps an identical copy of this class.
+ * **/
+public final class FrameCodec
+{
+    public static final int HEADER_LENGTH = Integer.BYTES + 1;
+    public static final int MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+
+    private FrameCodec()
+    {
+    }
+
+    /**
+     * Returns a buffer holding the header and payload, ready to be written.
+     * **/
+    public static ByteBuffer encode(byte[] payload)
+    {
+        return encode(Frame.MESSAGE, payload);
+    }
+
+    public static ByteBuffer encode(byte type, byte[] payload)
+    {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_LENGTH + checkLength(payload.length));
+        frame.putInt(payload.length);
+        frame.put(type);
+        frame.put(payload);
+        frame.flip();
+        return frame;
+    }
+
+    /**
+     * Returns a buffer holding the header and correlation ID of a request or response.  The payload follows it
+     * unchanged, so a payload shared between recipients never has to be copied to be sent as a request.
+     * **/
+    public static ByteBuffer encodeCorrelatedHeader(byte type, int correlationId, int payloadLength)
+    {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH + Frame.CORRELATION_ID_LENGTH);
+        header.putInt(checkLength(Frame.CORRELATION_ID_LENGTH + payloadLength));
+        header.put(type);
+        header.putInt(correlationId);
+        header.flip();
+        return header;
+    }
+
+    public static void writeFrame(DataOutputStream outputStream, Frame frame) throws IOException
+    {
+        if(!Frame.isCorrelated(frame.getType()))
+        {
+            writeFrame(outputStream, frame.getType(), frame.getPayload());
+            return;
+        }
+        outputStream.write(
+                encodeCorrelatedHeader(frame.getType(), frame.getCorrelationId(), frame.getPayload().length).array()
+        );
+        outputStream.write(frame.getPayload());
+        outputStream.flush();
+    }
+
+    public static void writeFrame(DataOutputStream outputStream, byte[] payload) throws IOException
+    {
+        writeFrame(outputStream, Frame.MESSAGE, payload);
+    }
+
+    public static void writeFrame(DataOutputStream outputStream, byte type, byte[] payload) throws IOException
+    {
+        outputStream.writeInt(checkLength(payload.length));
+        outputStream.writeByte(type);
+        outputStream.write(payload);
+        outputStream.flush();
+    }
+
+    /**
+     * Blocks until a whole frame has been read.
+     * **/
+    public static Frame readFrame(DataInputStream inputStream) throws IOException
+    {
+        return readFrame(inputStream, null);
+    }
+
+    /**
+     * Blocks until a whole frame has been read, reading its payload into scratch when it fits so that a reading loop
+     * allocates nothing per frame.  A frame read into scratch is a view of it, valid until the next read.
+     * **/
+    public static Frame readFrame(DataInputStream inputStream, byte[] scratch) throws IOException
+    {
+        int length = checkLength(inputStream.readInt());
+        byte type = inputStream.readByte();
+        int correlationId = 0;
+        if(Frame.isCorrelated(type))
+        {
+            length = checkCorrelatedLength(length);
+            correlationId = inputStream.readInt();
+        }
+        if(scratch == null || length > scratch.length)
+        {
+            byte[] payload = new byte[length];
+            inputStream.readFully(payload);
+            return new Frame(type, correlationId, payload);
+        }
+        inputStream.readFully(scratch, 0, length);
+        return new Frame(type, correlationId, scratch, 0, length);
+    }
+
+    /**
+     * Takes the next complete frame out of a buffer in read mode.  Returns null and leaves the buffer untouched when
+     * the frame has not fully arrived yet.  The payload of a heap buffer is not copied: the frame is a view of the
+     * buffer, valid until it is compacted or read into again.
+     * **/
+    public static Frame nextFrame(ByteBuffer buffer)
+    {
+        if(buffer.remaining() < HEADER_LENGTH)
+        {
+            return null;
+        }
+
+        int length = checkLength(buffer.getInt(buffer.position()));
+        if(buffer.remaining() < HEADER_LENGTH + length)
+        {
+            return null;
+        }
+
+        buffer.position(buffer.position() + Integer.BYTES);
+        byte type = buffer.get();
+        int correlationId = 0;
+        if(Frame.isCorrelated(type))
+        {
+            length = checkCorrelatedLength(length);
+            correlationId = buffer.getInt();
+        }
+        if(!buffer.hasArray())
+        {
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            return new Frame(type, correlationId, payload);
+        }
+        Frame frame = new Frame(type, correlationId, buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        return frame;
+    }
+
+    /**
+     * Returns the number of bytes a buffer must hold to contain the frame starting at its position, or 0 if the
+     * header itself has not arrived.
+     * **/
+    public static int pendingFrameSize(ByteBuffer buffer)
+    {
+        if(buffer.remaining() < HEADER_LENGTH)
+        {
+            return 0;
+        }
+        return HEADER_LENGTH + checkLength(buffer.getInt(buffer.position()));
+    }
+
+    private static int checkCorrelatedLength(int length)
+    {
+        if(length < Frame.CORRELATION_ID_LENGTH)
+        {
+            throw new IllegalArgumentException(length + " is too short to hold a correlation ID");
+        }
+        return length - Frame.CORRELATION_ID_LENGTH;
+    }
+
+    private static int checkLength(int length)
+    {
+        if(length < 0 || length > MAX_FRAME_LENGTH)
+        {
+            throw new IllegalArgumentException(length + " is not a valid frame length");
+        }
+        return length;
+    }
+}
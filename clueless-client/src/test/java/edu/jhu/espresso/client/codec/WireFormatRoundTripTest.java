@@ -0,0 +1,306 @@
+package edu.jhu.espresso.client.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.jhu.espresso.client.domain.ClueLessProtocolType;
+import edu.jhu.espresso.client.domain.GameEvents.Accusation;
+import edu.jhu.espresso.client.domain.GameEvents.AccusationStatus;
+import edu.jhu.espresso.client.domain.GameEvents.GameStart;
+import edu.jhu.espresso.client.domain.GameEvents.GameState;
+import edu.jhu.espresso.client.domain.GameEvents.MoveChoice;
+import edu.jhu.espresso.client.domain.GameEvents.MoveOptions;
+import edu.jhu.espresso.client.domain.GameEvents.NewGame;
+import edu.jhu.espresso.client.domain.GameEvents.SeatClaim;
+import edu.jhu.espresso.client.domain.GameEvents.ServerBusy;
+import edu.jhu.espresso.client.domain.GameEvents.Suggestion;
+import edu.jhu.espresso.client.domain.GameEvents.SuggestionStatus;
+import edu.jhu.espresso.client.domain.GameEvents.SuggestionTestimonyResponse;
+import edu.jhu.espresso.client.domain.GameEvents.TableSizeChoice;
+import edu.jhu.espresso.client.domain.GameEvents.TurnStart;
+import edu.jhu.espresso.client.domain.GamePieces.CaseDetails;
+import edu.jhu.espresso.client.domain.GamePieces.Character;
+import edu.jhu.espresso.client.domain.GamePieces.CharacterNames;
+import edu.jhu.espresso.client.domain.GamePieces.LocationNames;
+import edu.jhu.espresso.client.domain.GamePieces.RoomNames;
+import edu.jhu.espresso.client.domain.GamePieces.Weapon;
+import edu.jhu.espresso.client.protocol.ActivePlayerProtocolSelector;
+import edu.jhu.espresso.client.protocol.ServerActivePlayerProtocolOfferer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every message class that crosses the wire must survive a round trip through every wire format, compared through
+ * its JSON tree.  List fields that the binary format carries as sets are filled in wire-table order.  GameLobby,
+ * DummyPlayer, SuggestionBuilder, SuggestionResponse and SuggestionResponseDriver never cross the wire as game
+ * events and have no codec.
+ * **/
+class WireFormatRoundTripTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private CaseDetails caseDetails()
+    {
+        CaseDetails caseDetails = new CaseDetails();
+        caseDetails.setWeapon(Weapon.ROPE);
+        caseDetails.setRoom(RoomNames.LIBRARY);
+        caseDetails.setCharacterNames(CharacterNames.MRS_PEACOCK);
+        return caseDetails;
+    }
+
+    private Suggestion suggestion()
+    {
+        Suggestion suggestion = new Suggestion();
+        suggestion.setSuggestionStatus(SuggestionStatus.PROVING_SUGGESTION_FALSE);
+        suggestion.setWeapon(Weapon.CANDLESTICK);
+        suggestion.setRoomNames(RoomNames.BALLROOM);
+        suggestion.setCharacter(CharacterNames.COLONEL_MUSTARD);
+        suggestion.setCaseDetails(caseDetails());
+        suggestion.setValidCharacters(new ArrayList<>(Arrays.asList("MISS_SCARLET", "MR_GREEN", "PROFESSOR_PLUM")));
+        suggestion.setValidWeapons(new ArrayList<>(Arrays.asList("REVOLVER", "WRENCH")));
+        suggestion.setResponseValue("BALLROOM");
+        return suggestion;
+    }
+
+    private Accusation accusation()
+    {
+        Accusation accusation = new Accusation();
+        accusation.setAccusationStatus(AccusationStatus.MAKING_ACCUSATION);
+        accusation.setWeapon(Weapon.DAGGER);
+        accusation.setRoomNames(RoomNames.STUDY);
+        accusation.setCharacter(Character.MRS_WHITE);
+        accusation.setValidCharacters(new ArrayList<>(Arrays.asList("COLONEL_MUSTARD", "MRS_WHITE")));
+        accusation.setValidRooms(new ArrayList<>(Arrays.asList("KITCHEN", "HALL", "STUDY")));
+        accusation.setValidWeapons(new ArrayList<>(Arrays.asList("DAGGER", "LEAD_PIPE")));
+        accusation.setCaseDetails(caseDetails());
+        return accusation;
+    }
+
+    private MoveOptions moveOptions()
+    {
+        MoveOptions moveOptions = new MoveOptions();
+        moveOptions.setValidMoves(Arrays.asList(LocationNames.KITCHEN, LocationNames.H3, LocationNames.H12));
+        moveOptions.setTurnIndicator(ClueLessProtocolType.ACTIVE_PLAYER);
+        moveOptions.setHandlerNumber(7);
+        return moveOptions;
+    }
+
+    private void assertRoundTrip(Object message, Class<?> type)
+    {
+        for(WireFormat wireFormat : WireFormat.values())
+        {
+            Object decoded = wireFormat.codec().decode(wireFormat.codec().encode(message), type);
+            assertEquals(OBJECT_MAPPER.valueToTree(message), OBJECT_MAPPER.valueToTree(decoded), wireFormat.name());
+        }
+        assertStreamedJsonMatchesObjectMapper(message);
+    }
+
+    /**
+     * A peer that still binds reflectively must see exactly the JSON it always has.
+     * **/
+    private void assertStreamedJsonMatchesObjectMapper(Object message)
+    {
+        try
+        {
+            assertEquals(
+                    OBJECT_MAPPER.readTree(OBJECT_MAPPER.writeValueAsBytes(message)),
+                    OBJECT_MAPPER.readTree(WireFormat.JSON.codec().encode(message))
+            );
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void caseDetailsRoundTrips()
+    {
+        assertRoundTrip(caseDetails(), CaseDetails.class);
+    }
+
+    @Test
+    void turnStartRoundTrips()
+    {
+        Map<CharacterNames, LocationNames> locations = new EnumMap<>(CharacterNames.class);
+        locations.put(CharacterNames.MISS_SCARLET, LocationNames.H2);
+        locations.put(CharacterNames.PROFESSOR_PLUM, LocationNames.CONSERVATORY);
+
+        TurnStart turnStart = new TurnStart();
+        turnStart.setClueLessProtocolType(ClueLessProtocolType.WAITING_PLAYER);
+        turnStart.setLocationNamesMap(locations);
+        turnStart.setAnnouncement("Miss Scarlet moved to hallway 2");
+        turnStart.setCharacterMovedFromSuggestion(CharacterNames.PROFESSOR_PLUM);
+        turnStart.setSequenceNumber(42);
+        turnStart.setEchoRequested(false);
+        turnStart.setBoardVersion(17);
+
+        assertRoundTrip(turnStart, TurnStart.class);
+    }
+
+    @Test
+    void gameStartRoundTrips()
+    {
+        GameStart gameStart = new GameStart();
+        gameStart.setRoomNamesList(Arrays.asList(RoomNames.HALL, RoomNames.LOUNGE));
+        gameStart.setWeapons(Arrays.asList(Weapon.REVOLVER, Weapon.ROPE));
+        gameStart.setCharacterNamesList(Arrays.asList(CharacterNames.MRS_WHITE));
+        gameStart.setExtraCardsNames(Arrays.asList("STUDY", "MR_GREEN", "WRENCH"));
+        gameStart.setCharacterNames(CharacterNames.MR_GREEN);
+        gameStart.setNumberOfPlayers(4);
+        gameStart.setPlayerID(17);
+        gameStart.setReconnectToken(-6_917_529_027_641_081_856L);
+
+        assertRoundTrip(gameStart, GameStart.class);
+    }
+
+    @Test
+    void suggestionRoundTrips()
+    {
+        assertRoundTrip(suggestion(), Suggestion.class);
+    }
+
+    @Test
+    void accusationRoundTrips()
+    {
+        assertRoundTrip(accusation(), Accusation.class);
+    }
+
+    @Test
+    void moveOptionsAndChoiceRoundTrip()
+    {
+        assertRoundTrip(moveOptions(), MoveOptions.class);
+        assertRoundTrip(new MoveChoice(LocationNames.H4), MoveChoice.class);
+    }
+
+    /**
+     * The client's offerer getters return Optionals, so its JSON is compared against the plain objects the server
+     * sends rather than against ObjectMapper's view of the client class.
+     * **/
+    @Test
+    void protocolOffererRoundTrips() throws Exception
+    {
+        ServerActivePlayerProtocolOfferer offerer = new ServerActivePlayerProtocolOfferer();
+        offerer.setOfferMoveOptions(moveOptions());
+        offerer.setOfferSuggestion(suggestion());
+
+        Map<String, Object> serverOfferer = new LinkedHashMap<>();
+        serverOfferer.put("offerMoveOptions", moveOptions());
+        serverOfferer.put("offerSuggestion", suggestion());
+        serverOfferer.put("offerAccusation", null);
+
+        assertEquals(
+                OBJECT_MAPPER.readTree(OBJECT_MAPPER.writeValueAsBytes(serverOfferer)),
+                OBJECT_MAPPER.readTree(WireFormat.JSON.codec().encode(offerer))
+        );
+
+        for(WireFormat wireFormat : WireFormat.values())
+        {
+            ServerActivePlayerProtocolOfferer decoded = wireFormat.codec()
+                    .decode(wireFormat.codec().encode(offerer), ServerActivePlayerProtocolOfferer.class);
+
+            assertEquals(
+                    OBJECT_MAPPER.valueToTree(offerer.getOfferMoveOptions().get()),
+                    OBJECT_MAPPER.valueToTree(decoded.getOfferMoveOptions().get()),
+                    wireFormat.name()
+            );
+            assertEquals(
+                    OBJECT_MAPPER.valueToTree(offerer.getOfferSuggestion().get()),
+                    OBJECT_MAPPER.valueToTree(decoded.getOfferSuggestion().get()),
+                    wireFormat.name()
+            );
+            assertFalse(decoded.getOfferAccusation().isPresent(), wireFormat.name());
+        }
+    }
+
+    @Test
+    void protocolSelectorRoundTrips()
+    {
+        assertRoundTrip(ActivePlayerProtocolSelector.FromAccusation(accusation()), ActivePlayerProtocolSelector.class);
+        assertRoundTrip(new ActivePlayerProtocolSelector(null, null, null), ActivePlayerProtocolSelector.class);
+    }
+
+    @Test
+    void suggestionTestimonyResponseRoundTrips()
+    {
+        SuggestionTestimonyResponse response = new SuggestionTestimonyResponse();
+        response.setResponse("LEAD_PIPE");
+
+        assertRoundTrip(response, SuggestionTestimonyResponse.class);
+    }
+
+    @Test
+    void gameStateRoundTrips()
+    {
+        GameState gameState = new GameState();
+        gameState.setRooms(Arrays.asList(RoomNames.KITCHEN, RoomNames.STUDY));
+        gameState.setHallways(Arrays.asList("H1", "H7"));
+        Map<Character, RoomNames> positions = new EnumMap<>(Character.class);
+        positions.put(Character.MRS_PEACOCK, RoomNames.DINING_ROOM);
+        gameState.setCharacterPositions(positions);
+
+        assertRoundTrip(gameState, GameState.class);
+    }
+
+    @Test
+    void newGameRoundTrips()
+    {
+        NewGame newGame = new NewGame();
+        newGame.setPlayerIds(Arrays.asList("0", "1", "2"));
+        newGame.setGameId("lobby-3");
+
+        assertRoundTrip(newGame, NewGame.class);
+    }
+
+    @Test
+    void serverBusyRoundTrips()
+    {
+        ServerBusy serverBusy = new ServerBusy();
+        serverBusy.setReason("The server has reached its connection limit");
+        serverBusy.setRetryAfterSeconds(5);
+
+        assertRoundTrip(serverBusy, ServerBusy.class);
+        assertTrue(((BinaryMessageCodec) WireFormat.BINARY.codec()).hasBinaryCodec(ServerBusy.class));
+    }
+
+    @Test
+    void seatClaimRoundTrips()
+    {
+        SeatClaim seatClaim = new SeatClaim();
+        seatClaim.setPlayerID(17);
+        seatClaim.setReconnectToken(-6_917_529_027_641_081_856L);
+
+        assertRoundTrip(seatClaim, SeatClaim.class);
+        assertTrue(((BinaryMessageCodec) WireFormat.BINARY.codec()).hasBinaryCodec(SeatClaim.class));
+    }
+
+    @Test
+    void tableSizeChoiceRoundTrips()
+    {
+        TableSizeChoice tableSizeChoice = new TableSizeChoice();
+        tableSizeChoice.setMinTableSize(3);
+        tableSizeChoice.setMaxTableSize(6);
+        tableSizeChoice.setTableSize(4);
+
+        assertRoundTrip(tableSizeChoice, TableSizeChoice.class);
+        assertTrue(((BinaryMessageCodec) WireFormat.BINARY.codec()).hasBinaryCodec(TableSizeChoice.class));
+    }
+
+    @Test
+    void locationsTheServerDoesNotKnowCannotBeWritten()
+    {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> WireFormat.BINARY.codec().encode(new MoveChoice(LocationNames.CELLAR))
+        );
+    }
+}
@@ -1,101 +1,172 @@
 package edu.jhu.espresso.server;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.jhu.espresso.server.execution.ServerExecutors;
+import edu.jhu.espresso.server.session.SessionRegistry;
+import edu.jhu.espresso.server.transport.ClueLessConnection;
+import edu.jhu.espresso.server.transport.EncodedMessage;
+import edu.jhu.espresso.server.transport.SocketClueLessConnection;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
 import java.net.Socket;
 import java.time.LocalDateTime;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 public class ClueLessClientHandler
 {
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
-    private static int NUM_HANDLERS = 0;
-
-    private final PrintWriter printWriter;
-    private final BufferedReader bufferedReader;
+    private final ClueLessConnection connection;
     private final int handlerNumber;
-    private final Socket socket;
 
     public ClueLessClientHandler(Socket socket) throws IOException
     {
-        this.printWriter = new PrintWriter(socket.getOutputStream(), true);
-        this.bufferedReader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-        this.socket = socket;
-        handlerNumber = NUM_HANDLERS;
-        NUM_HANDLERS++;
+        this(new SocketClueLessConnection(socket, ClueLessServerConfiguration.active().getWireFormat()));
     }
 
-    private <T> T waitForClientResponse(Class<T> clazz)
+    public ClueLessClientHandler(ClueLessConnection connection)
     {
-        T response = null;
-        while (response == null)
-        {
-            try
-            {
-                bufferedReader.mark(1_000);
-                if(bufferedReader.readLine() != null)
-                {
-                    bufferedReader.reset();
-                    response = OBJECT_MAPPER.readValue(bufferedReader.readLine(), clazz);
-                }
-            }
-            catch (IOException e)
-            {
-                throw new IllegalStateException(e);
-            }
-        }
-        return response;
+        this.connection = connection;
+        this.handlerNumber = SessionRegistry.get().nextHandlerNumber();
+    }
+
+    /**
+     * Wraps a message so it is serialized at most once per wire format, however many handlers it is written to.
+     * **/
+    public static EncodedMessage encode(Object message)
+    {
+        return EncodedMessage.of(message);
     }
 
     public <I,O> O writeInstanceAndExpectType(I input, Class<O> responseClass)
     {
-        O response;
+        return writeEncodedAndExpectType(encode(input), responseClass);
+    }
+
+    /**
+     * Writes a message and blocks for the reply.
+     * **/
+    public <O> O writeEncodedAndExpectType(EncodedMessage message, Class<O> responseClass)
+    {
         try
         {
-            String message = OBJECT_MAPPER.writeValueAsString(input);
-            ClueLessServerApplication.logMessage("Writing " + message + " at " + LocalDateTime.now());
-            printWriter.println(OBJECT_MAPPER.writeValueAsString(input));
-            response = waitForClientResponse(responseClass);
-            ClueLessServerApplication.logMessage("Reading " + response + " at " + LocalDateTime.now());
+            return asyncWriteEncodedAndExpectType(message, responseClass).join();
         }
-        catch (JsonProcessingException e)
+        catch (CompletionException e)
         {
-            throw new IllegalStateException(e);
+            if(e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
-
-        return response;
     }
 
     public <I,O> CompletableFuture<O> asyncWriteInstanceAndExpectType(I input, Class<O> responseClass)
     {
-        return CompletableFuture.supplyAsync(() -> writeInstanceAndExpectType(input, responseClass));
+        return asyncWriteEncodedAndExpectType(encode(input), responseClass);
+    }
+
+    /**
+     * Sends the message as a request and completes with the client's reply.  Any number of requests may be
+     * outstanding on one handler; each reply is matched to its request by correlation ID, so a reply that arrives after
+     * a broadcast deadline never answers a later message.  The reply is decoded on a protocol thread rather than the
+     * connection's reading thread, so callers may chain blocking work onto the future.  Cancelling the returned future
+     * withdraws the request, so the connection stops waiting for its reply.
+     * **/
+    public <O> CompletableFuture<O> asyncWriteEncodedAndExpectType(EncodedMessage message, Class<O> responseClass)
+    {
+        ClueLessServerApplication.logMessage(() -> "Writing " + message.payloadAsString() + " at " + LocalDateTime.now());
+        CompletableFuture<byte[]> request = connection.request(message);
+        CompletableFuture<O> reply = request.thenApplyAsync(
+                payload -> {
+                    O response = connection.getWireFormat().codec().decode(payload, responseClass);
+                    ClueLessServerApplication.logMessage(() -> "Reading " + response + " at " + LocalDateTime.now());
+                    return response;
+                },
+                ServerExecutors.get().getProtocolExecutor()
+        );
+        reply.whenComplete((response, e) -> {
+            if(reply.isCancelled())
+            {
+                request.cancel(false);
+            }
+        });
+        return reply;
     }
 
     public void write(Object message)
     {
-        try
-        {
-            printWriter.println(OBJECT_MAPPER.writeValueAsString(message));
-        }
-        catch (JsonProcessingException e)
-        {
-            throw new IllegalStateException(e);
-        }
+        writeEncoded(encode(message));
+    }
+
+    /**
+     * Writes a message the client does not answer.  It may be written while requests to the same client are pending.
+     * **/
+    public void writeEncoded(EncodedMessage message)
+    {
+        connection.send(message);
+    }
+
+    /**
+     * Hands every message the client sends without being asked to the consumer, decoded as the given type.  The
+     * consumer runs on the connection's reading thread and must not block; messages that do not decode are dropped.
+     * **/
+    public <O> void onUnsolicited(Class<O> messageClass, Consumer<O> consumer)
+    {
+        connection.setUnsolicitedMessageHandler(frame -> {
+            O message;
+            try
+            {
+                message = connection.getWireFormat().codec().decode(
+                        frame.getPayloadBuffer(),
+                        frame.getPayloadOffset(),
+                        frame.getPayloadLength(),
+                        messageClass
+                );
+            }
+            catch (RuntimeException e)
+            {
+                ClueLessServerApplication.logMessage("Dropped an unsolicited message from handler " + handlerNumber + ": " + e);
+                return;
+            }
+            consumer.accept(message);
+        });
+    }
+
+    /**
+     * The highest update sequence number this client has applied, as far as the server has heard.
+     * **/
+    public long getAcknowledgedSequence()
+    {
+        return connection.getAcknowledgedSequence();
+    }
+
+    /**
+     * The highest board version this client has applied, which is the base for the location deltas it is sent.
+     * **/
+    public long getAcknowledgedBoardVersion()
+    {
+        return connection.getAcknowledgedBoardVersion();
+    }
+
+    public void recordAcknowledgement(long sequenceNumber, long boardVersion)
+    {
+        connection.recordAcknowledgement(sequenceNumber, boardVersion);
+    }
+
+    public ClueLessConnection getConnection()
+    {
+        return connection;
     }
 
-    public PrintWriter getPrintWriter()
+    public int getHandlerNumber()
     {
-        return printWriter;
+        return handlerNumber;
     }
 
-    public BufferedReader getBufferedReader()
+    public void close()
     {
-        return bufferedReader;
+        connection.close();
+        SessionRegistry.get().unregister(connection);
     }
 }
@@ -1,27 +1,57 @@
 package edu.jhu.espresso.server;
 
+import edu.jhu.espresso.server.execution.ServerExecutors;
+import edu.jhu.espresso.server.transport.BlockingConnectionAcceptor;
+import edu.jhu.espresso.server.transport.ClueLessConnectionAcceptor;
+import edu.jhu.espresso.server.transport.NioClueLessServer;
+
 import java.io.IOException;
-import java.net.ServerSocket;
 
 public class ClueLessServer
 {
-    private final ServerSocket serverSocket;
+    private final ClueLessConnectionAcceptor connectionAcceptor;
 
     public ClueLessServer()
     {
-        try
-        {
-            this.serverSocket = new ServerSocket(8080);
-        }
-        catch (IOException e)
+        this(ClueLessServerConfiguration.fromSystemProperties());
+    }
+
+    public ClueLessServer(ClueLessServerConfiguration configuration)
+    {
+        ClueLessServerConfiguration.activate(configuration);
+        ServerExecutors.configure(
+                configuration.getThreadMode(),
+                configuration.getCarrierThreads(),
+                configuration.getMaxConcurrentGames()
+        );
+
+        switch (configuration.getTransportMode())
         {
-            throw new IllegalStateException(e);
+            case NIO:
+                this.connectionAcceptor = new NioClueLessServer(
+                        configuration.getPort(),
+                        configuration.getIoThreads(),
+                        configuration.getWireFormat()
+                );
+                break;
+            case BLOCKING:
+                this.connectionAcceptor = new BlockingConnectionAcceptor(
+                        configuration.getPort(),
+                        configuration.getWireFormat()
+                );
+                break;
+            default:
+                throw new IllegalArgumentException(configuration.getTransportMode() + " is not a supported transport");
         }
     }
 
     public ClueLessClientHandler accept() throws IOException
     {
-        return new ClueLessClientHandler(serverSocket.accept());
+        return new ClueLessClientHandler(connectionAcceptor.accept());
     }
-}
 
+    public void close()
+    {
+        connectionAcceptor.close();
+    }
+}
@@ -4,10 +4,12 @@ import edu.jhu.espresso.server.domain.gamepieces.Character;
 import edu.jhu.espresso.server.domain.gamepieces.CharacterNames;
 import edu.jhu.espresso.server.domain.Game;
 import edu.jhu.espresso.server.domain.gamepieces.Player;
+import edu.jhu.espresso.server.execution.ServerExecutors;
 import edu.jhu.espresso.server.protocol.ClueLessServerGameProtocol;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Hello world!
@@ -20,21 +22,33 @@ public class ClueLessServerApplication
         //TODO: Change clueLessServer to new class.
         ClueLessServer clueLessServer = new ClueLessServer();
 
+        //TODO: Remove this later.
+        ArrayList<Player> players = seatPlayers(clueLessServer, 4);
+
+        Game game = new Game(0, players);
+
+        ClueLessServerGameProtocol clueLessServerGameProtocol = new ClueLessServerGameProtocol(players, game);
+        ServerExecutors.get().getGameScheduler().submitAsync(game.getGameID(), clueLessServerGameProtocol::play);
+    }
+
+    /**
+     * Accepts the players of the one game main runs, in character order.  Nothing here turns a connection away, so
+     * each one is read from as soon as it is accepted; a blocking connection that is never started would leave every
+     * reply to the game unread.
+     * **/
+    static ArrayList<Player> seatPlayers(ClueLessServer clueLessServer, int numberOfPlayers) throws IOException
+    {
         List<CharacterNames> characterNames = new ArrayList<>(Arrays.asList(CharacterNames.values()));
         characterNames.sort(Comparator.comparingInt(CharacterNames::getOrderNumber));
 
-        //TODO: Remove this later.
         ArrayList<Player> players = new ArrayList<>();
-        for(int i = 0; i < 4; i++)
+        for(int i = 0; i < numberOfPlayers; i++)
         {
             ClueLessClientHandler handler = clueLessServer.accept();
+            handler.getConnection().startReading();
             players.add(new Player(0, i, new Character(characterNames.get(i)), handler));
         }
-
-        Game game = new Game(0, players);
-
-        ClueLessServerGameProtocol clueLessServerGameProtocol = new ClueLessServerGameProtocol(players, game);
-        clueLessServerGameProtocol.playGame();
+        return players;
     }
 
     public static boolean log = true;
@@ -46,4 +60,15 @@ public class ClueLessServerApplication
             System.out.println(message);
         }
     }
+
+    /**
+     * Only builds the message when logging is on, for log lines that are expensive to render.
+     * **/
+    public static void logMessage(Supplier<String> message)
+    {
+        if(log)
+        {
+            System.out.println(message.get());
+        }
+    }
 }
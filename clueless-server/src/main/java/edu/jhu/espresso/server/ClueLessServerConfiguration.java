@@ -0,0 +1,268 @@
+package edu.jhu.espresso.server;
+
+import edu.jhu.espresso.server.codec.WireFormat;
+import edu.jhu.espresso.server.domain.PreGame.FoyerMode;
+import edu.jhu.espresso.server.domain.builder.ClueLessServerConfigurationBuilder;
+import edu.jhu.espresso.server.execution.ThreadMode;
+import edu.jhu.espresso.server.protocol.AcknowledgementMode;
+import edu.jhu.espresso.server.protocol.TimeoutPolicy;
+import edu.jhu.espresso.server.transport.TransportMode;
+
+import java.util.OptionalLong;
+
+/**
+ * Runtime settings for a ClueLessServer.  fromSystemProperties reads the -Dclueless.* flags so the same jar can be
+ * started in any transport and thread mode, which is how the modes are compared under the same load.
+ * **/
+public final class ClueLessServerConfiguration
+{
+    private static volatile ClueLessServerConfiguration active =
+            ClueLessServerConfigurationBuilder.aClueLessServerConfiguration().build();
+
+    private final int port;
+    private final TransportMode transportMode;
+    private final int ioThreads;
+    private final ThreadMode threadMode;
+    private final int carrierThreads;
+    private final long broadcastDeadlineMillis;
+    private final AcknowledgementMode acknowledgementMode;
+    private final WireFormat wireFormat;
+    private final int maxConcurrentGames;
+    private final FoyerMode foyerMode;
+    private final int turnLengthSeconds;
+    private final TimeoutPolicy timeoutPolicy;
+    private final int maxConnections;
+    private final int maxHeapPercent;
+    private final int retryAfterSeconds;
+    private final Long dealSeed;
+
+    public ClueLessServerConfiguration(
+            int port,
+            TransportMode transportMode,
+            int ioThreads,
+            ThreadMode threadMode,
+            int carrierThreads,
+            long broadcastDeadlineMillis,
+            AcknowledgementMode acknowledgementMode,
+            WireFormat wireFormat,
+            int maxConcurrentGames,
+            FoyerMode foyerMode,
+            int turnLengthSeconds,
+            TimeoutPolicy timeoutPolicy,
+            int maxConnections,
+            int maxHeapPercent,
+            int retryAfterSeconds,
+            Long dealSeed
+    ) {
+        this.port = port;
+        this.transportMode = transportMode;
+        this.ioThreads = ioThreads;
+        this.threadMode = threadMode;
+        this.carrierThreads = carrierThreads;
+        this.broadcastDeadlineMillis = broadcastDeadlineMillis;
+        this.acknowledgementMode = acknowledgementMode;
+        this.wireFormat = wireFormat;
+        this.maxConcurrentGames = maxConcurrentGames;
+        this.foyerMode = foyerMode;
+        this.turnLengthSeconds = turnLengthSeconds;
+        this.timeoutPolicy = timeoutPolicy;
+        this.maxConnections = maxConnections;
+        this.maxHeapPercent = maxHeapPercent;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.dealSeed = dealSeed;
+    }
+
+    /**
+     * The configuration of the running server, for protocol code that has no server reference.
+     * **/
+    public static ClueLessServerConfiguration active()
+    {
+        return active;
+    }
+
+    static void activate(ClueLessServerConfiguration configuration)
+    {
+        active = configuration;
+    }
+
+    public static ClueLessServerConfiguration fromSystemProperties()
+    {
+        ClueLessServerConfigurationBuilder builder = ClueLessServerConfigurationBuilder.aClueLessServerConfiguration();
+
+        builder.withPort(Integer.getInteger("clueless.port", ClueLessServerConfigurationBuilder.DEFAULT_PORT));
+        builder.withIoThreads(Integer.getInteger("clueless.ioThreads", ClueLessServerConfigurationBuilder.DEFAULT_IO_THREADS));
+        builder.withCarrierThreads(Integer.getInteger("clueless.carrierThreads", 0));
+        builder.withBroadcastDeadlineMillis(Long.getLong(
+                "clueless.broadcastDeadlineMillis",
+                ClueLessServerConfigurationBuilder.DEFAULT_BROADCAST_DEADLINE_MILLIS
+        ));
+        builder.withMaxConcurrentGames(Integer.getInteger(
+                "clueless.maxConcurrentGames",
+                ClueLessServerConfigurationBuilder.DEFAULT_MAX_CONCURRENT_GAMES
+        ));
+        builder.withTurnLengthSeconds(Integer.getInteger(
+                "clueless.turnLengthSeconds",
+                ClueLessServerConfigurationBuilder.DEFAULT_TURN_LENGTH_SECONDS
+        ));
+        builder.withMaxConnections(Integer.getInteger(
+                "clueless.maxConnections",
+                ClueLessServerConfigurationBuilder.DEFAULT_MAX_CONNECTIONS
+        ));
+        builder.withMaxHeapPercent(Integer.getInteger(
+                "clueless.maxHeapPercent",
+                ClueLessServerConfigurationBuilder.DEFAULT_MAX_HEAP_PERCENT
+        ));
+        builder.withRetryAfterSeconds(Integer.getInteger(
+                "clueless.retryAfterSeconds",
+                ClueLessServerConfigurationBuilder.DEFAULT_RETRY_AFTER_SECONDS
+        ));
+        builder.withDealSeed(Long.getLong("clueless.dealSeed"));
+
+        String transportMode = System.getProperty("clueless.transport");
+        if(transportMode != null)
+        {
+            builder.withTransportMode(TransportMode.valueOf(transportMode.toUpperCase()));
+        }
+
+        String threadMode = System.getProperty("clueless.threads");
+        if(threadMode != null)
+        {
+            builder.withThreadMode(ThreadMode.valueOf(threadMode.toUpperCase()));
+        }
+
+        String acknowledgementMode = System.getProperty("clueless.acknowledgement");
+        if(acknowledgementMode != null)
+        {
+            builder.withAcknowledgementMode(AcknowledgementMode.valueOf(acknowledgementMode.toUpperCase()));
+        }
+
+        String wireFormat = System.getProperty("clueless.wireFormat");
+        if(wireFormat != null)
+        {
+            builder.withWireFormat(WireFormat.valueOf(wireFormat.toUpperCase()));
+        }
+
+        String foyerMode = System.getProperty("clueless.foyerMode");
+        if(foyerMode != null)
+        {
+            builder.withFoyerMode(FoyerMode.valueOf(foyerMode.toUpperCase()));
+        }
+
+        String timeoutPolicy = System.getProperty("clueless.timeoutPolicy");
+        if(timeoutPolicy != null)
+        {
+            builder.withTimeoutPolicy(TimeoutPolicy.valueOf(timeoutPolicy.toUpperCase()));
+        }
+
+        return builder.build();
+    }
+
+    public int getPort()
+    {
+        return port;
+    }
+
+    public TransportMode getTransportMode()
+    {
+        return transportMode;
+    }
+
+    public int getIoThreads()
+    {
+        return ioThreads;
+    }
+
+    public ThreadMode getThreadMode()
+    {
+        return threadMode;
+    }
+
+    /**
+     * Number of carrier threads backing virtual threads, or 0 to leave the JDK default.
+     * **/
+    public int getCarrierThreads()
+    {
+        return carrierThreads;
+    }
+
+    /**
+     * How long a broadcast waits for every recipient to acknowledge before reporting the stragglers as late.
+     * **/
+    public long getBroadcastDeadlineMillis()
+    {
+        return broadcastDeadlineMillis;
+    }
+
+    public AcknowledgementMode getAcknowledgementMode()
+    {
+        return acknowledgementMode;
+    }
+
+    /**
+     * The most compact wire format clients may negotiate.  JSON forces every connection onto readable payloads.
+     * **/
+    public WireFormat getWireFormat()
+    {
+        return wireFormat;
+    }
+
+    /**
+     * How many games may be open at once, counting lobbies that have not started yet.  The foyer turns away players
+     * who would open another, and games the matchmaker starts beyond it wait in the game scheduler's queue.
+     * **/
+    public int getMaxConcurrentGames()
+    {
+        return maxConcurrentGames;
+    }
+
+    public FoyerMode getFoyerMode()
+    {
+        return foyerMode;
+    }
+
+    /**
+     * How long a player has to act on a turn or answer a disprove prompt when the lobby host did not choose a turn
+     * length.  0 turns deadlines off.
+     * **/
+    public int getTurnLengthSeconds()
+    {
+        return turnLengthSeconds;
+    }
+
+    public TimeoutPolicy getTimeoutPolicy()
+    {
+        return timeoutPolicy;
+    }
+
+    /**
+     * How many players may be connected at once.  Connections past it are told the server is busy and closed.
+     * **/
+    public int getMaxConnections()
+    {
+        return maxConnections;
+    }
+
+    /**
+     * How full the heap may be, as a percentage of its maximum size, before new players and games are turned away.
+     * **/
+    public int getMaxHeapPercent()
+    {
+        return maxHeapPercent;
+    }
+
+    /**
+     * How long players who are turned away are asked to wait before trying again.
+     * **/
+    public int getRetryAfterSeconds()
+    {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * The seed every game's deal is derived from, if deals should be reproducible.  Unset, each game draws its own.
+     * **/
+    public OptionalLong getDealSeed()
+    {
+        return dealSeed == null ? OptionalLong.empty() : OptionalLong.of(dealSeed);
+    }
+}
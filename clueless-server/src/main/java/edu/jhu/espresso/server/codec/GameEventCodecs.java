@@ -0,0 +1,338 @@
+package edu.jhu.espresso.server.codec;
+
+import edu.jhu.espresso.server.domain.ClueLessProtocolType;
+import edu.jhu.espresso.server.domain.TurnStart;
+import edu.jhu.espresso.server.domain.builder.AccusationBuilder;
+import edu.jhu.espresso.server.domain.builder.CaseDetailsBuilder;
+import edu.jhu.espresso.server.domain.builder.GameStartBuilder;
+import edu.jhu.espresso.server.domain.builder.SuggestionBuilder;
+import edu.jhu.espresso.server.domain.builder.SuggestionTestimonyResponseBuilder;
+import edu.jhu.espresso.server.domain.builder.TurnStartBuilder;
+import edu.jhu.espresso.server.domain.gameEvents.Accusation;
+import edu.jhu.espresso.server.domain.gameEvents.AccusationStatus;
+import edu.jhu.espresso.server.domain.gameEvents.GameStart;
+import edu.jhu.espresso.server.domain.gameEvents.GameState;
+import edu.jhu.espresso.server.domain.gameEvents.MoveChoice;
+import edu.jhu.espresso.server.domain.gameEvents.MoveOptions;
+import edu.jhu.espresso.server.domain.gameEvents.NewGame;
+import edu.jhu.espresso.server.domain.gameEvents.SeatClaim;
+import edu.jhu.espresso.server.domain.gameEvents.ServerBusy;
+import edu.jhu.espresso.server.domain.gameEvents.Suggestion;
+import edu.jhu.espresso.server.domain.gameEvents.SuggestionStatus;
+import edu.jhu.espresso.server.domain.gameEvents.SuggestionTestimonyResponse;
+import edu.jhu.espresso.server.domain.gameEvents.TableSizeChoice;
+import edu.jhu.espresso.server.domain.gamepieces.CaseDetails;
+import edu.jhu.espresso.server.domain.gamepieces.CharacterNames;
+import edu.jhu.espresso.server.domain.gamepieces.LocationNames;
+import edu.jhu.espresso.server.domain.gamepieces.RoomNames;
+import edu.jhu.espresso.server.domain.gamepieces.Weapon;
+import edu.jhu.espresso.server.protocol.ActivePlayerProtocolSelector;
+import edu.jhu.espresso.server.protocol.ServerActivePlayerProtocolOfferer;
+
+/**
+ * GameEventCodecs is the binary wire layout of every protocol message.  The tables fix the wire code of each name and
+ * the codecs fix the field order; the client's GameEventCodecs must match both exactly.
+ * **/
+public final class GameEventCodecs
+{
+    public static final WireEnum<CharacterNames> CHARACTERS = new WireEnum<>(
+            CharacterNames.class,
+            "MISS_SCARLET", "COLONEL_MUSTARD", "MRS_WHITE", "MR_GREEN", "MRS_PEACOCK", "PROFESSOR_PLUM"
+    );
+
+    public static final WireEnum<RoomNames> ROOMS = new WireEnum<>(
+            RoomNames.class,
+            "KITCHEN", "HALL", "BALLROOM", "CONSERVATORY", "DINING_ROOM", "BILLIARD_ROOM", "LIBRARY", "LOUNGE", "STUDY"
+    );
+
+    public static final WireEnum<Weapon> WEAPONS = new WireEnum<>(
+            Weapon.class,
+            "REVOLVER", "DAGGER", "LEAD_PIPE", "ROPE", "CANDLESTICK", "WRENCH"
+    );
+
+    public static final WireEnum<LocationNames> LOCATIONS = new WireEnum<>(
+            LocationNames.class,
+            "PROFESSOR_PLUM_HS", "MRS_PEACOCK_HS", "MR_GREEN_HS", "MRS_WHITE_HS", "COLONEL_MUSTARD_HS", "MISS_SCARLET_HS",
+            "KITCHEN", "HALL", "BALLROOM", "CONSERVATORY", "DINING_ROOM", "BILLIARD_ROOM", "LIBRARY", "LOUNGE", "STUDY",
+            "H1", "H2", "H3", "H4", "H5", "H6", "H7", "H8", "H9", "H10", "H11", "H12"
+    );
+
+    /**
+     * Card names: rooms, then characters, then weapons.
+     * **/
+    public static final WireNames CARDS = new WireNames(
+            "KITCHEN", "HALL", "BALLROOM", "CONSERVATORY", "DINING_ROOM", "BILLIARD_ROOM", "LIBRARY", "LOUNGE", "STUDY",
+            "MISS_SCARLET", "COLONEL_MUSTARD", "MRS_WHITE", "MR_GREEN", "MRS_PEACOCK", "PROFESSOR_PLUM",
+            "REVOLVER", "DAGGER", "LEAD_PIPE", "ROPE", "CANDLESTICK", "WRENCH"
+    );
+
+    public static final WireEnum<ClueLessProtocolType> PROTOCOL_TYPES = new WireEnum<>(
+            ClueLessProtocolType.class,
+            "ACTIVE_PLAYER", "WAITING_PLAYER", "SUGGESTION", "ACCUSATION", "INFORMATIONAL"
+    );
+
+    public static final WireEnum<SuggestionStatus> SUGGESTION_STATUSES = new WireEnum<>(
+            SuggestionStatus.class,
+            "OFFER_SUGGESTION", "MAKING_SUGGESTION", "PROVING_SUGGESTION_FALSE", "CANNOT_DISPROVE"
+    );
+
+    public static final WireEnum<AccusationStatus> ACCUSATION_STATUSES = new WireEnum<>(
+            AccusationStatus.class,
+            "OFFER_ACCUSATION", "MAKING_ACCUSATION", "ACCUSATION_TRUE", "ACCUSATION_FALSE"
+    );
+
+    public static final BinaryCodec<CaseDetails> CASE_DETAILS = BinaryCodec.of(
+            (writer, caseDetails) -> {
+                writer.writeEnum(WEAPONS, caseDetails.getWeapon());
+                writer.writeEnum(ROOMS, caseDetails.getRoom());
+                writer.writeEnum(CHARACTERS, caseDetails.getCharacterNames());
+            },
+            reader -> CaseDetailsBuilder.aCaseDetails()
+                    .withWeapon(reader.readEnum(WEAPONS))
+                    .withRoom(reader.readEnum(ROOMS))
+                    .withCharacterNames(reader.readEnum(CHARACTERS))
+                    .build()
+    );
+
+    public static final BinaryCodec<TurnStart> TURN_START = BinaryCodec.of(
+            (writer, turnStart) -> {
+                writer.writeEnum(PROTOCOL_TYPES, turnStart.getClueLessProtocolType());
+                writer.writeEnumMap(CHARACTERS, LOCATIONS, turnStart.getLocationNamesMap());
+                writer.writeString(turnStart.getAnnouncement());
+                writer.writeEnum(CHARACTERS, turnStart.getCharacterMovedFromSuggestion());
+                writer.writeLong(turnStart.getSequenceNumber());
+                writer.writeBoolean(turnStart.isEchoRequested());
+                writer.writeLong(turnStart.getBoardVersion());
+            },
+            reader -> TurnStartBuilder.aTurnStart()
+                    .withClueLessProtocolType(reader.readEnum(PROTOCOL_TYPES))
+                    .withLocationNamesMap(reader.readEnumMap(CHARACTERS, LOCATIONS))
+                    .withAnnouncement(reader.readString())
+                    .withCharacterMovedFromSuggestion(reader.readEnum(CHARACTERS))
+                    .withSequenceNumber(reader.readLong())
+                    .withEchoRequested(reader.readBoolean())
+                    .withBoardVersion(reader.readLong())
+                    .build()
+    );
+
+    public static final BinaryCodec<GameStart> GAME_START = BinaryCodec.of(
+            (writer, gameStart) -> {
+                writer.writeEnumSet(ROOMS, gameStart.getRoomNamesList());
+                writer.writeEnumSet(WEAPONS, gameStart.getWeapons());
+                writer.writeEnumSet(CHARACTERS, gameStart.getCharacterNamesList());
+                writer.writeNameSet(CARDS, gameStart.getExtraCardsNames());
+                writer.writeEnum(CHARACTERS, gameStart.getCharacterNames());
+                writer.writeInt(gameStart.getNumberOfPlayers());
+                writer.writeInt(gameStart.getPlayerID());
+                writer.writeLong(gameStart.getReconnectToken());
+            },
+            reader -> GameStartBuilder.aGameStart()
+                    .withRoomNamesList(reader.readEnumSet(ROOMS))
+                    .withWeapons(reader.readEnumSet(WEAPONS))
+                    .withCharacterNamesList(reader.readEnumSet(CHARACTERS))
+                    .withExtraCardsNames(reader.readNameSet(CARDS))
+                    .withCharacterNames(reader.readEnum(CHARACTERS))
+                    .withNumberOfPlayers(reader.readInt())
+                    .withPlayerID(reader.readInt())
+                    .withReconnectToken(reader.readLong())
+                    .build()
+    );
+
+    public static final BinaryCodec<Suggestion> SUGGESTION = BinaryCodec.of(
+            (writer, suggestion) -> {
+                writer.writeEnum(SUGGESTION_STATUSES, suggestion.getSuggestionStatus());
+                writer.writeEnum(WEAPONS, suggestion.getWeapon());
+                writer.writeEnum(ROOMS, suggestion.getRoomNames());
+                writer.writeEnum(CHARACTERS, suggestion.getCharacter());
+                writer.writeNested(CASE_DETAILS, suggestion.getCaseDetails());
+                writer.writeNameSet(CHARACTERS, suggestion.getValidCharacters());
+                writer.writeNameSet(WEAPONS, suggestion.getValidWeapons());
+                writer.writeName(CARDS, suggestion.getResponseValue());
+            },
+            reader -> SuggestionBuilder.aSuggestion()
+                    .withSuggestionStatus(reader.readEnum(SUGGESTION_STATUSES))
+                    .withWeapon(reader.readEnum(WEAPONS))
+                    .withRoomNames(reader.readEnum(ROOMS))
+                    .withCharacter(reader.readEnum(CHARACTERS))
+                    .withCaseDetails(reader.readNested(CASE_DETAILS))
+                    .withValidCharacters(reader.readNameSet(CHARACTERS))
+                    .withValidWeapons(reader.readNameSet(WEAPONS))
+                    .withResponseValue(reader.readName(CARDS))
+                    .build()
+    );
+
+    public static final BinaryCodec<Accusation> ACCUSATION = BinaryCodec.of(
+            (writer, accusation) -> {
+                writer.writeEnum(ACCUSATION_STATUSES, accusation.getAccusationStatus());
+                writer.writeEnum(WEAPONS, accusation.getWeapon());
+                writer.writeEnum(ROOMS, accusation.getRoomNames());
+                writer.writeEnum(CHARACTERS, accusation.getCharacter());
+                writer.writeNameSet(CHARACTERS, accusation.getValidCharacters());
+                writer.writeNameSet(ROOMS, accusation.getValidRooms());
+                writer.writeNameSet(WEAPONS, accusation.getValidWeapons());
+                writer.writeNested(CASE_DETAILS, accusation.getCaseDetails());
+            },
+            reader -> AccusationBuilder.anAccusation()
+                    .withAccusationStatus(reader.readEnum(ACCUSATION_STATUSES))
+                    .withWeapon(reader.readEnum(WEAPONS))
+                    .withRoomNames(reader.readEnum(ROOMS))
+                    .withCharacter(reader.readEnum(CHARACTERS))
+                    .withValidCharacters(reader.readNameSet(CHARACTERS))
+                    .withValidRooms(reader.readNameSet(ROOMS))
+                    .withValidWeapons(reader.readNameSet(WEAPONS))
+                    .withCaseDetails(reader.readNested(CASE_DETAILS))
+                    .build()
+    );
+
+    public static final BinaryCodec<MoveOptions> MOVE_OPTIONS = BinaryCodec.of(
+            (writer, moveOptions) -> {
+                writer.writeEnumSet(LOCATIONS, moveOptions.getValidMoves());
+                writer.writeEnum(PROTOCOL_TYPES, moveOptions.getTurnIndicator());
+                writer.writeInt(moveOptions.getHandlerNumber());
+            },
+            reader -> {
+                MoveOptions moveOptions = new MoveOptions();
+                moveOptions.setValidMoves(reader.readEnumSet(LOCATIONS));
+                moveOptions.setTurnIndicator(reader.readEnum(PROTOCOL_TYPES));
+                moveOptions.setHandlerNumber(reader.readInt());
+                return moveOptions;
+            }
+    );
+
+    public static final BinaryCodec<MoveChoice> MOVE_CHOICE = BinaryCodec.of(
+            (writer, moveChoice) -> writer.writeEnum(LOCATIONS, moveChoice.getMove()),
+            reader -> {
+                MoveChoice moveChoice = new MoveChoice();
+                moveChoice.setMove(reader.readEnum(LOCATIONS));
+                return moveChoice;
+            }
+    );
+
+    public static final BinaryCodec<ServerActivePlayerProtocolOfferer> PROTOCOL_OFFERER = BinaryCodec.of(
+            (writer, offerer) -> {
+                writer.writeNested(MOVE_OPTIONS, offerer.getOfferMoveOptions());
+                writer.writeNested(SUGGESTION, offerer.getOfferSuggestion());
+                writer.writeNested(ACCUSATION, offerer.getOfferAccusation());
+            },
+            reader -> new ServerActivePlayerProtocolOfferer(
+                    reader.readNested(MOVE_OPTIONS),
+                    reader.readNested(SUGGESTION),
+                    reader.readNested(ACCUSATION)
+            )
+    );
+
+    public static final BinaryCodec<ActivePlayerProtocolSelector> PROTOCOL_SELECTOR = BinaryCodec.of(
+            (writer, selector) -> {
+                writer.writeNested(MOVE_CHOICE, selector.getMoveChoice().orElse(null));
+                writer.writeNested(SUGGESTION, selector.getSuggestion().orElse(null));
+                writer.writeNested(ACCUSATION, selector.getAccusation().orElse(null));
+            },
+            reader -> {
+                ActivePlayerProtocolSelector selector = new ActivePlayerProtocolSelector();
+                selector.setMoveChoice(reader.readNested(MOVE_CHOICE));
+                selector.setSuggestion(reader.readNested(SUGGESTION));
+                selector.setAccusation(reader.readNested(ACCUSATION));
+                return selector;
+            }
+    );
+
+    public static final BinaryCodec<SuggestionTestimonyResponse> SUGGESTION_TESTIMONY_RESPONSE = BinaryCodec.of(
+            (writer, response) -> writer.writeName(CARDS, response.getResponse()),
+            reader -> SuggestionTestimonyResponseBuilder.aSuggestionTestimonyResponse()
+                    .withResponse(reader.readName(CARDS))
+                    .build()
+    );
+
+    public static final BinaryCodec<GameState> GAME_STATE = BinaryCodec.of(
+            (writer, gameState) -> {
+                writer.writeEnumSet(ROOMS, gameState.getRooms());
+                writer.writeNameSet(LOCATIONS, gameState.getHallways());
+                writer.writeEnumMap(CHARACTERS, ROOMS, gameState.getCharacterPositions());
+            },
+            reader -> {
+                GameState gameState = new GameState();
+                gameState.setRooms(reader.readEnumSet(ROOMS));
+                gameState.setHallways(reader.readNameSet(LOCATIONS));
+                gameState.setCharacterPositions(reader.readEnumMap(CHARACTERS, ROOMS));
+                return gameState;
+            }
+    );
+
+    public static final BinaryCodec<NewGame> NEW_GAME = BinaryCodec.of(
+            (writer, newGame) -> {
+                writer.writeStringList(newGame.getPlayerIds());
+                writer.writeString(newGame.getGameId());
+            },
+            reader -> {
+                NewGame newGame = new NewGame();
+                newGame.setPlayerIds(reader.readStringList());
+                newGame.setGameId(reader.readString());
+                return newGame;
+            }
+    );
+
+    public static final BinaryCodec<ServerBusy> SERVER_BUSY = BinaryCodec.of(
+            (writer, serverBusy) -> {
+                writer.writeString(serverBusy.getReason());
+                writer.writeInt(serverBusy.getRetryAfterSeconds());
+            },
+            reader -> {
+                ServerBusy serverBusy = new ServerBusy();
+                serverBusy.setReason(reader.readString());
+                serverBusy.setRetryAfterSeconds(reader.readInt());
+                return serverBusy;
+            }
+    );
+
+    public static final BinaryCodec<SeatClaim> SEAT_CLAIM = BinaryCodec.of(
+            (writer, seatClaim) -> {
+                writer.writeInt(seatClaim.getPlayerID());
+                writer.writeLong(seatClaim.getReconnectToken());
+            },
+            reader -> {
+                SeatClaim seatClaim = new SeatClaim();
+                seatClaim.setPlayerID(reader.readInt());
+                seatClaim.setReconnectToken(reader.readLong());
+                return seatClaim;
+            }
+    );
+
+    public static final BinaryCodec<TableSizeChoice> TABLE_SIZE_CHOICE = BinaryCodec.of(
+            (writer, tableSizeChoice) -> {
+                writer.writeInt(tableSizeChoice.getMinTableSize());
+                writer.writeInt(tableSizeChoice.getMaxTableSize());
+                writer.writeInt(tableSizeChoice.getTableSize());
+            },
+            reader -> {
+                TableSizeChoice tableSizeChoice = new TableSizeChoice();
+                tableSizeChoice.setMinTableSize(reader.readInt());
+                tableSizeChoice.setMaxTableSize(reader.readInt());
+                tableSizeChoice.setTableSize(reader.readInt());
+                return tableSizeChoice;
+            }
+    );
+
+    private GameEventCodecs()
+    {
+    }
+
+    static BinaryMessageCodec binaryMessageCodec()
+    {
+        return new BinaryMessageCodec()
+                .register(CaseDetails.class, CASE_DETAILS)
+                .register(TurnStart.class, TURN_START)
+                .register(GameStart.class, GAME_START)
+                .register(Suggestion.class, SUGGESTION)
+                .register(Accusation.class, ACCUSATION)
+                .register(MoveOptions.class, MOVE_OPTIONS)
+                .register(MoveChoice.class, MOVE_CHOICE)
+                .register(ServerActivePlayerProtocolOfferer.class, PROTOCOL_OFFERER)
+                .register(ActivePlayerProtocolSelector.class, PROTOCOL_SELECTOR)
+                .register(SuggestionTestimonyResponse.class, SUGGESTION_TESTIMONY_RESPONSE)
+                .register(GameState.class, GAME_STATE)
+                .register(NewGame.class, NEW_GAME)
+                .register(ServerBusy.class, SERVER_BUSY)
+                .register(SeatClaim.class, SEAT_CLAIM)
+                .register(TableSizeChoice.class, TABLE_SIZE_CHOICE);
+    }
+}
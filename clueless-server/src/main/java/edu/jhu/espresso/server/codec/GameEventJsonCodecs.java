@@ -0,0 +1,428 @@
+package edu.jhu.espresso.server.codec;
+
+import edu.jhu.espresso.server.domain.ClueLessProtocolType;
+import edu.jhu.espresso.server.domain.TurnStart;
+import edu.jhu.espresso.server.domain.builder.AccusationBuilder;
+import edu.jhu.espresso.server.domain.builder.CaseDetailsBuilder;
+import edu.jhu.espresso.server.domain.builder.GameStartBuilder;
+import edu.jhu.espresso.server.domain.builder.SuggestionBuilder;
+import edu.jhu.espresso.server.domain.builder.SuggestionTestimonyResponseBuilder;
+import edu.jhu.espresso.server.domain.builder.TurnStartBuilder;
+import edu.jhu.espresso.server.domain.gameEvents.Accusation;
+import edu.jhu.espresso.server.domain.gameEvents.AccusationStatus;
+import edu.jhu.espresso.server.domain.gameEvents.GameStart;
+import edu.jhu.espresso.server.domain.gameEvents.MoveChoice;
+import edu.jhu.espresso.server.domain.gameEvents.MoveOptions;
+import edu.jhu.espresso.server.domain.gameEvents.Suggestion;
+import edu.jhu.espresso.server.domain.gameEvents.SuggestionStatus;
+import edu.jhu.espresso.server.domain.gameEvents.SuggestionTestimonyResponse;
+import edu.jhu.espresso.server.domain.gamepieces.CaseDetails;
+import edu.jhu.espresso.server.domain.gamepieces.CharacterNames;
+import edu.jhu.espresso.server.domain.gamepieces.LocationNames;
+import edu.jhu.espresso.server.domain.gamepieces.RoomNames;
+import edu.jhu.espresso.server.domain.gamepieces.Weapon;
+import edu.jhu.espresso.server.protocol.ActivePlayerProtocolSelector;
+import edu.jhu.espresso.server.protocol.ServerActivePlayerProtocolOfferer;
+
+import static edu.jhu.espresso.server.codec.JsonFields.readEnum;
+import static edu.jhu.espresso.server.codec.JsonFields.readEnumList;
+import static edu.jhu.espresso.server.codec.JsonFields.readEnumMap;
+import static edu.jhu.espresso.server.codec.JsonFields.readFields;
+import static edu.jhu.espresso.server.codec.JsonFields.readObject;
+import static edu.jhu.espresso.server.codec.JsonFields.readString;
+import static edu.jhu.espresso.server.codec.JsonFields.readStringList;
+import static edu.jhu.espresso.server.codec.JsonFields.writeEnum;
+import static edu.jhu.espresso.server.codec.JsonFields.writeEnumList;
+import static edu.jhu.espresso.server.codec.JsonFields.writeEnumMap;
+import static edu.jhu.espresso.server.codec.JsonFields.writeObject;
+import static edu.jhu.espresso.server.codec.JsonFields.writeString;
+import static edu.jhu.espresso.server.codec.JsonFields.writeStringList;
+
+/**
+ * GameEventJsonCodecs are the streaming JSON codecs for the messages exchanged on every turn.  Field names are the
+ * property names ObjectMapper derives from each class's getters, and the client's GameEventJsonCodecs use the same
+ * names.  Anything not registered here, such as the lobby list, is still bound reflectively.
+ * **/
+public final class GameEventJsonCodecs
+{
+    public static final JsonCodec<CaseDetails> CASE_DETAILS = JsonCodec.of(
+            (generator, caseDetails) -> {
+                generator.writeStartObject();
+                writeEnum(generator, "weapon", caseDetails.getWeapon());
+                writeEnum(generator, "room", caseDetails.getRoom());
+                writeEnum(generator, "characterNames", caseDetails.getCharacterNames());
+                generator.writeEndObject();
+            },
+            parser -> {
+                CaseDetailsBuilder builder = CaseDetailsBuilder.aCaseDetails();
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "weapon":
+                            builder.withWeapon(readEnum(value, Weapon.class));
+                            return true;
+                        case "room":
+                            builder.withRoom(readEnum(value, RoomNames.class));
+                            return true;
+                        case "characterNames":
+                            builder.withCharacterNames(readEnum(value, CharacterNames.class));
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return builder.build();
+            }
+    );
+
+    public static final JsonCodec<TurnStart> TURN_START = JsonCodec.of(
+            (generator, turnStart) -> {
+                generator.writeStartObject();
+                writeEnum(generator, "clueLessProtocolType", turnStart.getClueLessProtocolType());
+                writeEnumMap(generator, "locationNamesMap", turnStart.getLocationNamesMap());
+                writeString(generator, "announcement", turnStart.getAnnouncement());
+                writeEnum(generator, "characterMovedFromSuggestion", turnStart.getCharacterMovedFromSuggestion());
+                generator.writeNumberField("sequenceNumber", turnStart.getSequenceNumber());
+                generator.writeBooleanField("echoRequested", turnStart.isEchoRequested());
+                generator.writeNumberField("boardVersion", turnStart.getBoardVersion());
+                generator.writeEndObject();
+            },
+            parser -> {
+                TurnStartBuilder builder = TurnStartBuilder.aTurnStart();
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "clueLessProtocolType":
+                            builder.withClueLessProtocolType(readEnum(value, ClueLessProtocolType.class));
+                            return true;
+                        case "locationNamesMap":
+                            builder.withLocationNamesMap(readEnumMap(value, CharacterNames.class, LocationNames.class));
+                            return true;
+                        case "announcement":
+                            builder.withAnnouncement(readString(value));
+                            return true;
+                        case "characterMovedFromSuggestion":
+                            builder.withCharacterMovedFromSuggestion(readEnum(value, CharacterNames.class));
+                            return true;
+                        case "sequenceNumber":
+                            builder.withSequenceNumber(value.getLongValue());
+                            return true;
+                        case "echoRequested":
+                            builder.withEchoRequested(value.getBooleanValue());
+                            return true;
+                        case "boardVersion":
+                            builder.withBoardVersion(value.getLongValue());
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return builder.build();
+            }
+    );
+
+    public static final JsonCodec<GameStart> GAME_START = JsonCodec.of(
+            (generator, gameStart) -> {
+                generator.writeStartObject();
+                writeEnumList(generator, "roomNamesList", gameStart.getRoomNamesList());
+                writeEnumList(generator, "weapons", gameStart.getWeapons());
+                writeEnumList(generator, "characterNamesList", gameStart.getCharacterNamesList());
+                writeStringList(generator, "extraCardsNames", gameStart.getExtraCardsNames());
+                writeEnum(generator, "characterNames", gameStart.getCharacterNames());
+                generator.writeNumberField("numberOfPlayers", gameStart.getNumberOfPlayers());
+                generator.writeNumberField("playerID", gameStart.getPlayerID());
+                generator.writeNumberField("reconnectToken", gameStart.getReconnectToken());
+                generator.writeEndObject();
+            },
+            parser -> {
+                GameStartBuilder builder = GameStartBuilder.aGameStart();
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "roomNamesList":
+                            builder.withRoomNamesList(readEnumList(value, RoomNames.class));
+                            return true;
+                        case "weapons":
+                            builder.withWeapons(readEnumList(value, Weapon.class));
+                            return true;
+                        case "characterNamesList":
+                            builder.withCharacterNamesList(readEnumList(value, CharacterNames.class));
+                            return true;
+                        case "extraCardsNames":
+                            builder.withExtraCardsNames(readStringList(value));
+                            return true;
+                        case "characterNames":
+                            builder.withCharacterNames(readEnum(value, CharacterNames.class));
+                            return true;
+                        case "numberOfPlayers":
+                            builder.withNumberOfPlayers(value.getIntValue());
+                            return true;
+                        case "playerID":
+                            builder.withPlayerID(value.getIntValue());
+                            return true;
+                        case "reconnectToken":
+                            builder.withReconnectToken(value.getLongValue());
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return builder.build();
+            }
+    );
+
+    public static final JsonCodec<Suggestion> SUGGESTION = JsonCodec.of(
+            (generator, suggestion) -> {
+                generator.writeStartObject();
+                writeEnum(generator, "suggestionStatus", suggestion.getSuggestionStatus());
+                writeObject(generator, "caseDetails", CASE_DETAILS, suggestion.getCaseDetails());
+                writeStringList(generator, "validCharacters", suggestion.getValidCharacters());
+                writeStringList(generator, "validWeapons", suggestion.getValidWeapons());
+                writeEnum(generator, "weapon", suggestion.getWeapon());
+                writeEnum(generator, "roomNames", suggestion.getRoomNames());
+                writeEnum(generator, "character", suggestion.getCharacter());
+                writeString(generator, "responseValue", suggestion.getResponseValue());
+                generator.writeEndObject();
+            },
+            parser -> {
+                SuggestionBuilder builder = SuggestionBuilder.aSuggestion();
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "suggestionStatus":
+                            builder.withSuggestionStatus(readEnum(value, SuggestionStatus.class));
+                            return true;
+                        case "caseDetails":
+                            builder.withCaseDetails(readObject(value, CASE_DETAILS));
+                            return true;
+                        case "validCharacters":
+                            builder.withValidCharacters(readStringList(value));
+                            return true;
+                        case "validWeapons":
+                            builder.withValidWeapons(readStringList(value));
+                            return true;
+                        case "weapon":
+                            builder.withWeapon(readEnum(value, Weapon.class));
+                            return true;
+                        case "roomNames":
+                            builder.withRoomNames(readEnum(value, RoomNames.class));
+                            return true;
+                        case "character":
+                            builder.withCharacter(readEnum(value, CharacterNames.class));
+                            return true;
+                        case "responseValue":
+                            builder.withResponseValue(readString(value));
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return builder.build();
+            }
+    );
+
+    public static final JsonCodec<Accusation> ACCUSATION = JsonCodec.of(
+            (generator, accusation) -> {
+                generator.writeStartObject();
+                writeEnum(generator, "accusationStatus", accusation.getAccusationStatus());
+                writeObject(generator, "caseDetails", CASE_DETAILS, accusation.getCaseDetails());
+                writeEnum(generator, "weapon", accusation.getWeapon());
+                writeEnum(generator, "roomNames", accusation.getRoomNames());
+                writeEnum(generator, "character", accusation.getCharacter());
+                writeStringList(generator, "validCharacters", accusation.getValidCharacters());
+                writeStringList(generator, "validRooms", accusation.getValidRooms());
+                writeStringList(generator, "validWeapons", accusation.getValidWeapons());
+                generator.writeEndObject();
+            },
+            parser -> {
+                AccusationBuilder builder = AccusationBuilder.anAccusation();
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "accusationStatus":
+                            builder.withAccusationStatus(readEnum(value, AccusationStatus.class));
+                            return true;
+                        case "caseDetails":
+                            builder.withCaseDetails(readObject(value, CASE_DETAILS));
+                            return true;
+                        case "weapon":
+                            builder.withWeapon(readEnum(value, Weapon.class));
+                            return true;
+                        case "roomNames":
+                            builder.withRoomNames(readEnum(value, RoomNames.class));
+                            return true;
+                        case "character":
+                            builder.withCharacter(readEnum(value, CharacterNames.class));
+                            return true;
+                        case "validCharacters":
+                            builder.withValidCharacters(readStringList(value));
+                            return true;
+                        case "validRooms":
+                            builder.withValidRooms(readStringList(value));
+                            return true;
+                        case "validWeapons":
+                            builder.withValidWeapons(readStringList(value));
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return builder.build();
+            }
+    );
+
+    public static final JsonCodec<MoveOptions> MOVE_OPTIONS = JsonCodec.of(
+            (generator, moveOptions) -> {
+                generator.writeStartObject();
+                writeEnumList(generator, "validMoves", moveOptions.getValidMoves());
+                writeEnum(generator, "turnIndicator", moveOptions.getTurnIndicator());
+                generator.writeNumberField("handlerNumber", moveOptions.getHandlerNumber());
+                generator.writeEndObject();
+            },
+            parser -> {
+                MoveOptions moveOptions = new MoveOptions();
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "validMoves":
+                            moveOptions.setValidMoves(readEnumList(value, LocationNames.class));
+                            return true;
+                        case "turnIndicator":
+                            moveOptions.setTurnIndicator(readEnum(value, ClueLessProtocolType.class));
+                            return true;
+                        case "handlerNumber":
+                            moveOptions.setHandlerNumber(value.getIntValue());
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return moveOptions;
+            }
+    );
+
+    public static final JsonCodec<MoveChoice> MOVE_CHOICE = JsonCodec.of(
+            (generator, moveChoice) -> {
+                generator.writeStartObject();
+                writeEnum(generator, "move", moveChoice.getMove());
+                generator.writeEndObject();
+            },
+            parser -> {
+                MoveChoice moveChoice = new MoveChoice();
+                readFields(parser, (field, value) -> {
+                    if("move".equals(field))
+                    {
+                        moveChoice.setMove(readEnum(value, LocationNames.class));
+                        return true;
+                    }
+                    return false;
+                });
+                return moveChoice;
+            }
+    );
+
+    public static final JsonCodec<ServerActivePlayerProtocolOfferer> PROTOCOL_OFFERER = JsonCodec.of(
+            (generator, offerer) -> {
+                generator.writeStartObject();
+                writeObject(generator, "offerMoveOptions", MOVE_OPTIONS, offerer.getOfferMoveOptions());
+                writeObject(generator, "offerSuggestion", SUGGESTION, offerer.getOfferSuggestion());
+                writeObject(generator, "offerAccusation", ACCUSATION, offerer.getOfferAccusation());
+                generator.writeEndObject();
+            },
+            parser -> {
+                MoveOptions[] moveOptions = new MoveOptions[1];
+                Suggestion[] suggestion = new Suggestion[1];
+                Accusation[] accusation = new Accusation[1];
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "offerMoveOptions":
+                            moveOptions[0] = readObject(value, MOVE_OPTIONS);
+                            return true;
+                        case "offerSuggestion":
+                            suggestion[0] = readObject(value, SUGGESTION);
+                            return true;
+                        case "offerAccusation":
+                            accusation[0] = readObject(value, ACCUSATION);
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return new ServerActivePlayerProtocolOfferer(moveOptions[0], suggestion[0], accusation[0]);
+            }
+    );
+
+    /**
+     * Written the way the client sends it, as plain nested objects, rather than as the server's Optional getters.
+     * **/
+    public static final JsonCodec<ActivePlayerProtocolSelector> PROTOCOL_SELECTOR = JsonCodec.of(
+            (generator, selector) -> {
+                generator.writeStartObject();
+                writeObject(generator, "moveChoice", MOVE_CHOICE, selector.getMoveChoice().orElse(null));
+                writeObject(generator, "suggestion", SUGGESTION, selector.getSuggestion().orElse(null));
+                writeObject(generator, "accusation", ACCUSATION, selector.getAccusation().orElse(null));
+                generator.writeEndObject();
+            },
+            parser -> {
+                ActivePlayerProtocolSelector selector = new ActivePlayerProtocolSelector();
+                readFields(parser, (field, value) -> {
+                    switch (field)
+                    {
+                        case "moveChoice":
+                            selector.setMoveChoice(readObject(value, MOVE_CHOICE));
+                            return true;
+                        case "suggestion":
+                            selector.setSuggestion(readObject(value, SUGGESTION));
+                            return true;
+                        case "accusation":
+                            selector.setAccusation(readObject(value, ACCUSATION));
+                            return true;
+                        default:
+                            return false;
+                    }
+                });
+                return selector;
+            }
+    );
+
+    public static final JsonCodec<SuggestionTestimonyResponse> SUGGESTION_TESTIMONY_RESPONSE = JsonCodec.of(
+            (generator, response) -> {
+                generator.writeStartObject();
+                writeString(generator, "response", response.getResponse());
+                generator.writeEndObject();
+            },
+            parser -> {
+                SuggestionTestimonyResponseBuilder builder =
+                        SuggestionTestimonyResponseBuilder.aSuggestionTestimonyResponse();
+                readFields(parser, (field, value) -> {
+                    if("response".equals(field))
+                    {
+                        builder.withResponse(readString(value));
+                        return true;
+                    }
+                    return false;
+                });
+                return builder.build();
+            }
+    );
+
+    private GameEventJsonCodecs()
+    {
+    }
+
+    static JsonMessageCodec jsonMessageCodec()
+    {
+        return new JsonMessageCodec()
+                .register(CaseDetails.class, CASE_DETAILS)
+                .register(TurnStart.class, TURN_START)
+                .register(GameStart.class, GAME_START)
+                .register(Suggestion.class, SUGGESTION)
+                .register(Accusation.class, ACCUSATION)
+                .register(MoveOptions.class, MOVE_OPTIONS)
+                .register(MoveChoice.class, MOVE_CHOICE)
+                .register(ServerActivePlayerProtocolOfferer.class, PROTOCOL_OFFERER)
+                .register(ActivePlayerProtocolSelector.class, PROTOCOL_SELECTOR)
+                .register(SuggestionTestimonyResponse.class, SUGGESTION_TESTIMONY_RESPONSE);
+    }
+}
@@ -0,0 +1,46 @@
+package edu.jhu.espresso.server.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Writes and reads one message class with Jackson's streaming API instead of ObjectMapper's reflective binding.  The
+ * JSON must match what ObjectMapper produces for the class field for field, so a peer still binding reflectively
+ * reads it unchanged.  read is called with the parser on the object's START_OBJECT and must consume its END_OBJECT.
+ * **/
+public interface JsonCodec<T>
+{
+    void write(JsonGenerator generator, T message) throws IOException;
+
+    T read(JsonParser parser) throws IOException;
+
+    interface Writer<T>
+    {
+        void write(JsonGenerator generator, T message) throws IOException;
+    }
+
+    interface Reader<T>
+    {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    static <T> JsonCodec<T> of(Writer<T> writer, Reader<T> reader)
+    {
+        return new JsonCodec<T>()
+        {
+            @Override
+            public void write(JsonGenerator generator, T message) throws IOException
+            {
+                writer.write(generator, message);
+            }
+
+            @Override
+            public T read(JsonParser parser) throws IOException
+            {
+                return reader.read(parser);
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package edu.jhu.espresso.server.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JsonMessageCodec writes registered message classes with their streaming JsonCodec and falls back to ObjectMapper's
+ * reflective binding for everything else.  Both paths produce the same JSON, so which one a peer uses never matters.
+ * **/
+public final class JsonMessageCodec implements MessageCodec
+{
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = OBJECT_MAPPER.getFactory();
+    //Most messages fit in one segment of this size, so the builder seldom grows.
+    private static final int INITIAL_PAYLOAD_CAPACITY = 256;
+
+    private final Map<Class<?>, JsonCodec<?>> codecs = new HashMap<>();
+
+    public <T> JsonMessageCodec register(Class<T> type, JsonCodec<T> codec)
+    {
+        codecs.put(type, codec);
+        return this;
+    }
+
+    public boolean hasStreamingCodec(Class<?> type)
+    {
+        return codecs.containsKey(type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] encode(Object message)
+    {
+        JsonCodec<Object> codec = (JsonCodec<Object>) codecs.get(message.getClass());
+        try
+        {
+            if(codec == null)
+            {
+                return OBJECT_MAPPER.writeValueAsBytes(message);
+            }
+
+            ByteArrayBuilder output = new ByteArrayBuilder(INITIAL_PAYLOAD_CAPACITY);
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(output))
+            {
+                codec.write(generator, message);
+            }
+            return output.toByteArray();
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T decode(byte[] payload, int offset, int length, Class<T> type)
+    {
+        JsonCodec<T> codec = (JsonCodec<T>) codecs.get(type);
+        try
+        {
+            if(codec == null)
+            {
+                return OBJECT_MAPPER.readValue(payload, offset, length, type);
+            }
+
+            try (JsonParser parser = JSON_FACTORY.createParser(payload, offset, length))
+            {
+                parser.nextToken();
+                return JsonFields.readObject(parser, codec);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
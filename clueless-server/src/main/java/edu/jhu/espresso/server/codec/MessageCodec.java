@@ -0,0 +1,20 @@
+package edu.jhu.espresso.server.codec;
+
+/**
+ * A MessageCodec turns protocol messages into frame payloads and back.  The receiving side always knows which class
+ * it expects next, so payloads carry no type information.
+ * **/
+public interface MessageCodec
+{
+    byte[] encode(Object message);
+
+    default <T> T decode(byte[] payload, Class<T> type)
+    {
+        return decode(payload, 0, payload.length, type);
+    }
+
+    /**
+     * Decodes the length bytes of buffer from offset, so a payload can be decoded in the buffer it was read into.
+     * **/
+    <T> T decode(byte[] buffer, int offset, int length, Class<T> type);
+}
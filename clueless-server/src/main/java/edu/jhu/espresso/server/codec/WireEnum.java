@@ -0,0 +1,63 @@
+package edu.jhu.espresso.server.codec;
+
+import java.util.Arrays;
+
+/**
+ * A WireNames table bound to an enum.  Constants that are not in the table, such as ones only one side knows about,
+ * cannot be written.
+ * **/
+public final class WireEnum<E extends Enum<E>> extends WireNames
+{
+    private final Class<E> type;
+    private final E[] valuesByCode;
+    private final int[] codesByOrdinal;
+
+    @SuppressWarnings("unchecked")
+    public WireEnum(Class<E> type, String... names)
+    {
+        super(names);
+        this.type = type;
+        this.valuesByCode = (E[]) new Enum[names.length];
+        this.codesByOrdinal = new int[type.getEnumConstants().length];
+        Arrays.fill(codesByOrdinal, NULL_CODE);
+
+        for(int code = 0; code < names.length; code++)
+        {
+            E value = Enum.valueOf(type, names[code]);
+            valuesByCode[code] = value;
+            codesByOrdinal[value.ordinal()] = code;
+        }
+    }
+
+    public int codeOf(E value)
+    {
+        if(value == null)
+        {
+            return NULL_CODE;
+        }
+        int code = codesByOrdinal[value.ordinal()];
+        if(code == NULL_CODE)
+        {
+            throw new IllegalArgumentException(value + " has no wire code");
+        }
+        return code;
+    }
+
+    public E valueOf(int code)
+    {
+        if(code == NULL_CODE)
+        {
+            return null;
+        }
+        if(code < 0 || code >= valuesByCode.length)
+        {
+            throw new IllegalArgumentException(code + " is not a valid " + type.getSimpleName() + " wire code");
+        }
+        return valuesByCode[code];
+    }
+
+    public Class<E> getType()
+    {
+        return type;
+    }
+}
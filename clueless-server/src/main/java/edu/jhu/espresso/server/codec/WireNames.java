@@ -0,0 +1,62 @@
+package edu.jhu.espresso.server.codec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A WireNames table gives every name in a fixed vocabulary, such as card names, a small wire code.  Codes are the
+ * position in the table rather than any Java ordinal, because the client and server declare their enums in different
+ * orders.  A table holds at most 64 names so any subset fits in one long bitmask.
+ * **/
+public class WireNames
+{
+    public static final int NULL_CODE = -1;
+
+    private final String[] names;
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    public WireNames(String... names)
+    {
+        if(names.length > Long.SIZE)
+        {
+            throw new IllegalArgumentException("A wire table holds at most " + Long.SIZE + " names");
+        }
+        this.names = names.clone();
+        for(int i = 0; i < names.length; i++)
+        {
+            codes.put(names[i], i);
+        }
+    }
+
+    public int codeOfName(String name)
+    {
+        if(name == null)
+        {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(name);
+        if(code == null)
+        {
+            throw new IllegalArgumentException(name + " has no wire code");
+        }
+        return code;
+    }
+
+    public String nameOf(int code)
+    {
+        if(code == NULL_CODE)
+        {
+            return null;
+        }
+        if(code < 0 || code >= names.length)
+        {
+            throw new IllegalArgumentException(code + " is not a valid wire code");
+        }
+        return names[code];
+    }
+
+    public int size()
+    {
+        return names.length;
+    }
+}
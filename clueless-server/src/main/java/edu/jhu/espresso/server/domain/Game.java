@@ -1,9 +1,14 @@
 package edu.jhu.espresso.server.domain;
+import edu.jhu.espresso.server.ClueLessServerConfiguration;
 import edu.jhu.espresso.server.domain.gameEvents.GameTimer;
 import edu.jhu.espresso.server.domain.gameEvents.MoveChoice;
 import edu.jhu.espresso.server.domain.gamepieces.*;
+import edu.jhu.espresso.server.execution.GameMailbox;
+import edu.jhu.espresso.server.execution.ServerExecutors;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 public class Game {
 
     public int GameID;
@@ -11,15 +16,28 @@ public class Game {
     private GameBoard gameBoard;
     public ArrayList<Player> playerList;
     public GameTimer gameTimer;
+    private final AtomicLong updateSequence = new AtomicLong();
+    private volatile GameResult result;
+    private final GameMailbox mailbox;
+    private volatile boolean released;
 
     public Game(int gameID, ArrayList<Player> playerListy) {
+        this(gameID, playerListy, ClueLessServerConfiguration.active().getTurnLengthSeconds());
+    }
+
+    //turnLengthSeconds is how long each player has to act before the timeout policy acts for them, 0 for no limit.
+    public Game(int gameID, ArrayList<Player> playerListy, int turnLengthSeconds) {
         GameID = gameID;
+        mailbox = ServerExecutors.get().newMailbox("Game " + gameID);
 
-        //Instantiate objects
-        cardPlayer = new CardPlayer();
+        //Instantiate objects.  A configured deal seed makes every game's deal reproducible.
+        long dealSeed = ClueLessServerConfiguration.active().getDealSeed().isPresent()
+                ? DealingEngine.seedForGame(ClueLessServerConfiguration.active().getDealSeed().getAsLong(), gameID)
+                : ThreadLocalRandom.current().nextLong();
+        cardPlayer = new CardPlayer(dealSeed);
         playerList = playerListy;
         this.gameBoard = new GameBoard();
-        gameTimer = new GameTimer(1, playerListy);
+        gameTimer = new GameTimer(turnLengthSeconds, playerListy);
     }
 
 
@@ -37,7 +55,62 @@ public class Game {
 
     public boolean isOver()
     {
-        return false;
+        return result != null;
+    }
+
+    public GameMailbox getMailbox()
+    {
+        return mailbox;
+    }
+
+    //update runs a change to the game's state.  The protocol only touches a game from inside its mailbox, so only one
+    //change happens at a time, and a change from anywhere else is a bug rather than something to wait for.
+    public void update(Runnable change)
+    {
+        if(!mailbox.isCurrent())
+        {
+            throw new IllegalStateException("Game " + GameID + " was changed outside its mailbox");
+        }
+        change.run();
+    }
+
+    //finish records how the game ended.  Only the first result counts.
+    public void finish(GameResult gameResult)
+    {
+        update(() -> {
+            if(result == null)
+            {
+                result = gameResult;
+            }
+        });
+    }
+
+    public GameResult getResult()
+    {
+        return result;
+    }
+
+    //release marks the game released and closes its mailbox, so callbacks and deadlines still queued for it are dropped
+    //rather than run against a finished game.  Only then are the board, cards, timer and the links between players
+    //dropped, so nothing that still holds the Game or a Player keeps a finished game's state alive.
+    public void release()
+    {
+        update(() -> {
+            released = true;
+            mailbox.close();
+            for (Player p : playerList){
+                p.setNextPlayer(null);
+            }
+            playerList = new ArrayList<>();
+            cardPlayer = null;
+            gameBoard = null;
+            gameTimer = null;
+        });
+    }
+
+    public boolean isReleased()
+    {
+        return released;
     }
 
     public ArrayList<Player> getPlayerList() {
@@ -48,10 +121,15 @@ public class Game {
         return gameTimer;
     }
 
+    //nextUpdateSequence numbers every TurnStart sent in this game, starting at 1.
+    public long nextUpdateSequence() {
+        return updateSequence.incrementAndGet();
+    }
+
     //Startgame creates notebooks, deals cards, and starts the turn of the first active player.
     public void startGame(){
         for (Player p : playerList){
-            p.makeNotebook(this.getCardPlayer().getCardDeck());
+            p.makeNotebook();
         }
 
         this.getCardPlayer().dealCards(this.getPlayerList());
@@ -60,7 +138,7 @@ public class Game {
 
     //confirmAccusation returns true if accusation is accurate and false if not.
     public boolean confirmAccusation(ArrayList<Card> Accusation){
-        return Accusation.containsAll(cardPlayer.getCaseFile());
+        return CardSet.contains(CardSet.of(Accusation), cardPlayer.getCaseFileSet());
     }
 
 
@@ -94,14 +172,20 @@ public class Game {
         return gameBoard.getLocationMappingNames();
     }
 
-    public void applyMoveChoice(MoveChoice moveChoice, CharacterNames characterNames)
+    //getLocationChangesSince returns only the characters that moved after the given board version.
+    public Map<CharacterNames, LocationNames> getLocationChangesSince(long boardVersion)
     {
-        gameBoard.moveCharacter(characterNames, Location.fromLocationName(moveChoice.getMove()));
-
-        Location thisLoc = gameBoard.getCharacterLocation(characterNames);
+        return gameBoard.getLocationChangesSince(boardVersion);
+    }
 
-        this.gameBoard.setHallwayFullByName(thisLoc.getLocationName());
+    public long getBoardVersion()
+    {
+        return gameBoard.getVersion();
+    }
 
+    public void applyMoveChoice(MoveChoice moveChoice, CharacterNames characterNames)
+    {
+        gameBoard.moveCharacter(characterNames, moveChoice.getMove());
     }
 
 
@@ -0,0 +1,76 @@
+package edu.jhu.espresso.server.domain;
+
+import edu.jhu.espresso.server.domain.gamepieces.CharacterNames;
+
+import java.util.Optional;
+
+/**
+ * GameResult is how a finished game reports its end.  A game is over as soon as it has one, and the protocol tears
+ * the game down instead of stopping the whole server.
+ * **/
+public final class GameResult
+{
+    public enum Outcome
+    {
+        SOLVED,
+        LAST_PLAYER_STANDING,
+        ABANDONED
+    }
+
+    private final int gameID;
+    private final Outcome outcome;
+    private final CharacterNames winner;
+    private final String caseDetails;
+
+    private GameResult(int gameID, Outcome outcome, CharacterNames winner, String caseDetails)
+    {
+        this.gameID = gameID;
+        this.outcome = outcome;
+        this.winner = winner;
+        this.caseDetails = caseDetails;
+    }
+
+    public static GameResult solved(int gameID, CharacterNames winner, String caseDetails)
+    {
+        return new GameResult(gameID, Outcome.SOLVED, winner, caseDetails);
+    }
+
+    public static GameResult lastPlayerStanding(int gameID, CharacterNames winner, String caseDetails)
+    {
+        return new GameResult(gameID, Outcome.LAST_PLAYER_STANDING, winner, caseDetails);
+    }
+
+    /**
+     * The game could not be played to the end, usually because a player's connection failed.
+     * **/
+    public static GameResult abandoned(int gameID)
+    {
+        return new GameResult(gameID, Outcome.ABANDONED, null, null);
+    }
+
+    public int getGameID()
+    {
+        return gameID;
+    }
+
+    public Outcome getOutcome()
+    {
+        return outcome;
+    }
+
+    public Optional<CharacterNames> getWinner()
+    {
+        return Optional.ofNullable(winner);
+    }
+
+    public String getCaseDetails()
+    {
+        return caseDetails;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Game " + gameID + " " + outcome + (winner == null ? "" : " won by " + winner);
+    }
+}
@@ -0,0 +1,111 @@
+package edu.jhu.espresso.server.domain.PreGame;
+
+import edu.jhu.espresso.server.ClueLessServerConfiguration;
+import edu.jhu.espresso.server.domain.gameEvents.ServerBusy;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * AdmissionController decides at the door whether the server can take on more work.  A new connection is admitted
+ * while fewer than maxConnections players are connected, and a new game while fewer than maxConcurrentGames are open,
+ * counting lobbies still filling and games waiting for a thread; neither is admitted once the heap is fuller than
+ * maxHeapPercent.  Each check is a couple of counter reads, so turning a burst away is cheap and games that are
+ * already running never wait behind it.  Heap use is read as it stood after the last collection where the JVM
+ * reports it, so garbage that has not been collected yet does not trip the limit.
+ * **/
+public class AdmissionController
+{
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .collect(Collectors.toList());
+
+    private final int maxConnections;
+    private final int maxGames;
+    private final int maxHeapPercent;
+    private final int retryAfterSeconds;
+    private final IntSupplier connections;
+    private final IntSupplier openGames;
+    private final AtomicLong rejectedConnections = new AtomicLong();
+    private final AtomicLong rejectedGames = new AtomicLong();
+
+    public AdmissionController(ClueLessServerConfiguration configuration, IntSupplier connections, IntSupplier openGames)
+    {
+        this.maxConnections = configuration.getMaxConnections();
+        this.maxGames = configuration.getMaxConcurrentGames();
+        this.maxHeapPercent = configuration.getMaxHeapPercent();
+        this.retryAfterSeconds = configuration.getRetryAfterSeconds();
+        this.connections = connections;
+        this.openGames = openGames;
+    }
+
+    /**
+     * Returns the notice to send a new connection if it must be turned away, or empty if it may come in.
+     * **/
+    public Optional<ServerBusy> admitConnection()
+    {
+        Optional<ServerBusy> busy = connections.getAsInt() >= maxConnections
+                ? Optional.of(busy("The server has no room for more players"))
+                : heapCheck();
+        busy.ifPresent(ignored -> rejectedConnections.incrementAndGet());
+        return busy;
+    }
+
+    /**
+     * Returns the notice to send a player whose new game must be turned away, or empty if it may be opened.
+     * **/
+    public Optional<ServerBusy> admitGame()
+    {
+        Optional<ServerBusy> busy = openGames.getAsInt() >= maxGames
+                ? Optional.of(busy("The server has no room for more games"))
+                : heapCheck();
+        busy.ifPresent(ignored -> rejectedGames.incrementAndGet());
+        return busy;
+    }
+
+    public long getRejectedConnections()
+    {
+        return rejectedConnections.get();
+    }
+
+    public long getRejectedGames()
+    {
+        return rejectedGames.get();
+    }
+
+    private Optional<ServerBusy> heapCheck()
+    {
+        long maxHeap = Runtime.getRuntime().maxMemory();
+        if(maxHeap == Long.MAX_VALUE || usedHeap() * 100 < maxHeap * maxHeapPercent)
+        {
+            return Optional.empty();
+        }
+        return Optional.of(busy("The server is short of memory"));
+    }
+
+    private static long usedHeap()
+    {
+        long used = 0;
+        for(MemoryPoolMXBean pool : HEAP_POOLS)
+        {
+            MemoryUsage afterCollection = pool.getCollectionUsage();
+            used += afterCollection != null ? afterCollection.getUsed() : pool.getUsage().getUsed();
+        }
+        return used;
+    }
+
+    private ServerBusy busy(String reason)
+    {
+        ServerBusy serverBusy = new ServerBusy();
+        serverBusy.setReason(reason);
+        serverBusy.setRetryAfterSeconds(retryAfterSeconds);
+        return serverBusy;
+    }
+}
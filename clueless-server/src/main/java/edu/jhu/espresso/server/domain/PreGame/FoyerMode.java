@@ -0,0 +1,12 @@
+package edu.jhu.espresso.server.domain.PreGame;
+
+/**
+ * How the foyer seats new players.  LOBBY_CHOICE sends them the open lobbies to pick from; MATCHMAKING sends only a
+ * TableSizeChoice and lets the Matchmaker form and start games.  Clients answer it when started with the
+ * clueless.tableSize property.
+ * **/
+public enum FoyerMode
+{
+    LOBBY_CHOICE,
+    MATCHMAKING
+}
@@ -2,54 +2,185 @@ package edu.jhu.espresso.server.domain.PreGame;
 
 import edu.jhu.espresso.server.ClueLessClientHandler;
 import edu.jhu.espresso.server.ClueLessServer;
+import edu.jhu.espresso.server.ClueLessServerApplication;
+import edu.jhu.espresso.server.ClueLessServerConfiguration;
+import edu.jhu.espresso.server.domain.GameResult;
+import edu.jhu.espresso.server.domain.gameEvents.SeatClaim;
+import edu.jhu.espresso.server.domain.gameEvents.ServerBusy;
+import edu.jhu.espresso.server.domain.gameEvents.TableSizeChoice;
 import edu.jhu.espresso.server.domain.gamepieces.Player;
+import edu.jhu.espresso.server.execution.GameScheduler;
+import edu.jhu.espresso.server.execution.ServerExecutors;
+import edu.jhu.espresso.server.session.SessionRegistry;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class GameFoyer {
+public class GameFoyer implements LobbyListener {
 
     private static GameFoyer gameFoyer = null;
-    public ArrayList<GameLobby> gameLobbyList;
+
+    /** Open lobbies by game number, so a player's choice is found and a started lobby removed without a scan. **/
+    private final Map<Integer, GameLobby> openLobbies = new ConcurrentHashMap<>();
 
     ClueLessServer clueLessServer;
 
-    private static int nextGameNumber = 0;
+    private final FoyerMode foyerMode;
+
+    private final Matchmaker matchmaker;
+
+    private final SessionRegistry sessionRegistry = SessionRegistry.get();
+
+    private final AdmissionController admissionController;
 
     /**
      * GameFoyer is a singleton object.
+     * The accept loop only hands each new player their lobby choices and the answer is routed when it arrives, so no
+     * lobby or slow player ever holds up the next connection.  Lobbies leave the list as soon as their game starts,
+     * and players still connected when a game ends come back here to choose again.  In MATCHMAKING mode players are
+     * only sent a TableSizeChoice and the Matchmaker starts their game once the table is full.  A player who dropped
+     * out of a game can send a SeatClaim with the player ID and reconnect token from their GameStart at any point while
+     * in the foyer, and is given their seat back from the bot that is playing it unless they are already waiting for
+     * another game.  New connections and new games are only let in while the AdmissionController says the
+     * server has room; anyone turned away is sent a ServerBusy notice and disconnected at once.
      * **/
 
     private GameFoyer(){
-        this.gameLobbyList = new ArrayList<>();
         this.clueLessServer = new ClueLessServer();
-        int nextPlayerID = 0;
+        this.foyerMode = ClueLessServerConfiguration.active().getFoyerMode();
+        this.matchmaker = new Matchmaker(this.clueLessServer, sessionRegistry::nextGameNumber, this);
+        this.admissionController = new AdmissionController(
+                ClueLessServerConfiguration.active(),
+                sessionRegistry::getSessionCount,
+                this::getOpenGameCount
+        );
 
         while(true){
             try {
-                ClueLessClientHandler handler = clueLessServer.accept();
+                admit(clueLessServer.accept());
+            }
+            catch(IOException ie){
+                System.out.println("IO Exception");
+            }
+        }
 
-                Player newPlayer = new Player(nextPlayerID, 0, null, handler);
+    }
 
-                nextPlayerID += 1;
+    private void admit(ClueLessClientHandler handler){
+        Optional<ServerBusy> busy = admissionController.admitConnection();
+        if(busy.isPresent()){
+            turnAway(handler, busy.get());
+            return;
+        }
+        handler.getConnection().startReading();
+        sessionRegistry.register(handler);
+        welcome(handler);
+    }
 
-                GameLobby gameLobbyChoice = newPlayer.writeInstanceAndExpectType(gameLobbyList, GameLobby.class);
+    private void welcome(ClueLessClientHandler handler){
+        sessionRegistry.stopWaiting(handler);
+        handler.onUnsolicited(SeatClaim.class, seatClaim -> reclaimSeat(handler, seatClaim));
 
-                if(gameLobbyList.contains(gameLobbyChoice)) {
-                    gameLobbyChoice.addPlayer(newPlayer);
-                }
+        if(foyerMode == FoyerMode.MATCHMAKING){
+            handler.asyncWriteInstanceAndExpectType(tableSizeChoice(), TableSizeChoice.class)
+                    .thenAccept(tableSizeChoice -> queueForTable(handler, tableSizeChoice.getTableSize()))
+                    .whenComplete((ignored, e) -> leaveIfFailed(handler, e));
+            return;
+        }
 
-                else {
-                    addToGameLobbyList(newPlayer);
-                    gameLobbyList.get(gameLobbyList.size()-1).execute();
-                }
+        Player newPlayer = newPlayer(handler);
 
-            }
-            catch(IOException ie){
-                System.out.println("IO Exception");
-            }
+        newPlayer.asyncWriteInstanceAndExpectType(lobbySnapshot(), GameLobby.class)
+                .thenAccept(gameLobbyChoice -> routePlayer(newPlayer, gameLobbyChoice))
+                .whenComplete((ignored, e) -> leaveIfFailed(handler, e));
+    }
+
+    private static TableSizeChoice tableSizeChoice(){
+        TableSizeChoice tableSizeChoice = new TableSizeChoice();
+        tableSizeChoice.setMinTableSize(Matchmaker.MIN_TABLE_SIZE);
+        tableSizeChoice.setMaxTableSize(Matchmaker.MAX_TABLE_SIZE);
+        return tableSizeChoice;
+    }
+
+    private void queueForTable(ClueLessClientHandler handler, int tableSize){
+        //A player who reclaimed a seat while choosing is already back in a game.
+        if(!sessionRegistry.waitForGame(handler)){
+            return;
+        }
+        Optional<ServerBusy> busy = admissionController.admitGame();
+        if(busy.isPresent()){
+            turnAway(handler, busy.get());
+            return;
+        }
+        matchmaker.enqueue(handler, tableSize);
+    }
+
+    /**
+     * Sends the notice and drops the connection without waiting for the client, so a burst costs one short write each.
+     * **/
+    private void turnAway(ClueLessClientHandler handler, ServerBusy busy){
+        ClueLessServerApplication.logMessage(() -> "Turned away handler " + handler.getHandlerNumber() + ": " + busy.getReason());
+        try {
+            handler.write(busy);
+        }
+        catch(IllegalStateException e){
+            //The client has already gone.
+        }
+        handler.getConnection().closeAfterFlush();
+        sessionRegistry.unregister(handler.getConnection());
+    }
+
+    //A player who never answers the foyer, or whose answer could not be read, gives up their place on the server.
+    private void leaveIfFailed(ClueLessClientHandler handler, Throwable e){
+        if(e != null){
+            ClueLessServerApplication.logMessage("Handler " + handler.getHandlerNumber() + " left the foyer: " + e);
+            handler.close();
+        }
+    }
+
+    private Player newPlayer(ClueLessClientHandler handler){
+        return new Player(SessionRegistry.NO_GAME, sessionRegistry.register(handler).getPlayerID(), null, handler);
+    }
+
+    private void reclaimSeat(ClueLessClientHandler handler, SeatClaim seatClaim){
+        int playerID = seatClaim.getPlayerID();
+        if(sessionRegistry.reclaimSeat(playerID, seatClaim.getReconnectToken(), handler)){
+            ClueLessServerApplication.logMessage("Player " + playerID + " reclaimed their seat on handler " + handler.getHandlerNumber());
         }
+        else {
+            ClueLessServerApplication.logMessage("Handler " + handler.getHandlerNumber() + " could not claim the seat of player " + playerID);
+        }
+    }
 
+    private List<GameLobby> lobbySnapshot(){
+        return new ArrayList<>(openLobbies.values());
+    }
+
+    /**
+     * Runs on a protocol thread once the player has answered, so routing is serialized on the foyer.
+     * **/
+    private synchronized void routePlayer(Player newPlayer, GameLobby gameLobbyChoice){
+        //A player who reclaimed a seat while choosing is already back in a game.
+        if(!sessionRegistry.waitForGame(newPlayer.getClueLessClientHandler())){
+            return;
+        }
+        //A lobby that filled, started or closed since the choices were sent turns the player down; they open a new one.
+        GameLobby chosenLobby = gameLobbyChoice == null ? null : openLobbies.get(gameLobbyChoice.getGameNumber());
+        if(chosenLobby != null && chosenLobby.addPlayer(newPlayer) != null) {
+            return;
+        }
+
+        Optional<ServerBusy> busy = admissionController.admitGame();
+        if(busy.isPresent()) {
+            turnAway(newPlayer.getClueLessClientHandler(), busy.get());
+        }
+        else {
+            addToGameLobbyList(newPlayer).open();
+        }
     }
 
     public static GameFoyer makeGameFoyer(){
@@ -58,16 +189,60 @@ public class GameFoyer {
     }
 
     public ArrayList<GameLobby> getGameLobbyList() {
-        return gameLobbyList;
+        return new ArrayList<>(openLobbies.values());
+    }
+
+    public Matchmaker getMatchmaker() {
+        return matchmaker;
     }
 
-    public void addToGameLobbyList(Player player) {
-        this.gameLobbyList.add(new GameLobby(nextGameNumber, this.clueLessServer, player));
-        nextGameNumber += 1;
+    public AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    //Open lobbies, running games and games waiting for a game thread all count against the limit.  Lobbies leave the
+    //list when they start or close, so only live ones are counted.
+    private int getOpenGameCount(){
+        GameScheduler gameScheduler = ServerExecutors.get().getGameScheduler();
+        return openLobbies.size() + gameScheduler.getRunningGames() + gameScheduler.getQueuedGames();
+    }
+
+    public GameLobby addToGameLobbyList(Player player) {
+        GameLobby gameLobby = new GameLobby(sessionRegistry.nextGameNumber(), this.clueLessServer, player, this);
+        openLobbies.put(gameLobby.getGameNumber(), gameLobby);
+        return gameLobby;
     }
 
     public void removeGameFromList(GameLobby gameLobby){
-        this.getGameLobbyList().remove(gameLobby);
+        openLobbies.remove(gameLobby.getGameNumber());
+    }
+
+    @Override
+    public void gameStarted(GameLobby gameLobby){
+        removeGameFromList(gameLobby);
+    }
+
+    @Override
+    public void lobbyClosed(GameLobby gameLobby){
+        removeGameFromList(gameLobby);
+    }
+
+    @Override
+    public void gameFinished(GameLobby gameLobby, GameResult gameResult){
+        ClueLessServerApplication.logMessage("Lobby " + gameLobby.getGameNumber() + " finished: " + gameResult);
+        if(foyerMode == FoyerMode.MATCHMAKING){
+            ClueLessServerApplication.logMessage(() -> "Matchmaking " + matchmaker.getWaitTimes());
+        }
+    }
+
+    @Override
+    public void connectionReleased(ClueLessClientHandler clueLessClientHandler){
+        if(clueLessClientHandler.getConnection().isOpen()){
+            welcome(clueLessClientHandler);
+        }
+        else {
+            sessionRegistry.unregister(clueLessClientHandler.getConnection());
+        }
     }
 
     public void sendPlayertoGame(Player player, GameLobby lobby){
@@ -79,5 +254,3 @@ public class GameFoyer {
 
 
 }
-
-
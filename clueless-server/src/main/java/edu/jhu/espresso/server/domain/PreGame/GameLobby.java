@@ -1,16 +1,19 @@
 package edu.jhu.espresso.server.domain.PreGame;
 
 import edu.jhu.espresso.server.ClueLessServer;
+import edu.jhu.espresso.server.ClueLessServerApplication;
 import edu.jhu.espresso.server.domain.Game;
 import edu.jhu.espresso.server.domain.gamepieces.Character;
 import edu.jhu.espresso.server.domain.gamepieces.CharacterNames;
 import edu.jhu.espresso.server.domain.gamepieces.Player;
+import edu.jhu.espresso.server.execution.ServerExecutors;
 import edu.jhu.espresso.server.protocol.ClueLessServerGameProtocol;
+import edu.jhu.espresso.server.session.SessionRegistry;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 
 
 /**
@@ -18,11 +21,16 @@ import java.util.concurrent.ExecutionException;
  * It receives players from the Foyer and adds them to the game.
  * It creates a character list and offers the characters to players in the order that they join the game.
  * It offers the gametimer object to the players and allows them to choose the turn length.
+ * Nothing waits while the lobby is open: the host's answers arrive as callbacks, and the game starts either when the
+ * host asks for it or when the lobby fills, whichever comes first.  Only then is the game handed to the GameScheduler.
+ * A lobby whose host leaves or declines to start is closed and its players are given back to the LobbyListener.
  * ***/
 
 
 public class GameLobby {
 
+    public static final int MAX_PLAYERS = 6;
+
     private Game thisGame;
     private ArrayList<Player> thisGamePlayerList;
     private Player host;
@@ -30,58 +38,128 @@ public class GameLobby {
     private int gameNumber;
     private int turnLengthTimer;
 
-    private CompletableFuture<Boolean> startGame;
+    private boolean started;
+
+    private boolean closed;
 
-    private boolean isStartGame;
+    private final LobbyListener lobbyListener;
 
     private ClueLessServer server;
 
     public GameLobby(
             int gameNumber,
             ClueLessServer server,
-            Player firstPlayer)
+            Player firstPlayer,
+            LobbyListener lobbyListener)
     {
         this.gameNumber = gameNumber;
         this.server = server;
         this.host = firstPlayer;
+        this.lobbyListener = lobbyListener;
+        this.thisGamePlayerList = new ArrayList<>();
+        this.thisGamePlayerList.add(firstPlayer);
+        this.unusedCharacters = new ArrayList<>();
         this.makeUnusedCharacters();
     }
 
-
-
-    public void execute()
+    /**
+     * Seats a whole table at once for the Matchmaker, which starts it straight away.  The first player hosts.
+     * **/
+    GameLobby(
+            int gameNumber,
+            ClueLessServer server,
+            List<Player> players,
+            LobbyListener lobbyListener)
     {
-        this.setPlayerCharacter(this.host);
-
-        this.askHostForTimer();
+        this(gameNumber, server, players.get(0), lobbyListener);
+        this.thisGamePlayerList.addAll(players.subList(1, players.size()));
+    }
 
-        this.startGame = this.askHostForStartGame();
 
-        while (this.thisGamePlayerList.size() <= 6){
 
-            //listen for players being added.
+    /**
+     * Asks the host for the turn length and then whether to start, and returns straight away.  A host who declines,
+     * or who cannot be reached, closes the lobby unless it has filled and started in the meantime.
+     * **/
+    public void open()
+    {
+        this.setPlayerCharacter(this.host);
 
-            try {
-                if (this.startGame.isDone()) {
-                    if (this.startGame.get()) {
-                        this.isStartGame = true;
+        this.askHostForTimer()
+                .thenCompose(turnLength -> {
+                    this.setTurnLengthTimer(turnLength);
+                    return this.askHostForStartGame();
+                })
+                .thenAccept(startGame -> {
+                    if (startGame) {
+                        this.start();
+                    }
+                    else {
+                        this.close("its host declined to start");
                     }
-                }
-            } catch(InterruptedException | ExecutionException ex){
-                System.out.println("Interrupted exception!");
+                })
+                .exceptionally(ex -> {
+                    this.close("it lost its host: " + ex);
+                    return null;
+                });
+    }
+
+    /**
+     * Closes the lobby at most once, and never after its game has started.  The players are handed back outside the
+     * lock, since the listener may write to them.
+     * **/
+    private void close(String reason)
+    {
+        ArrayList<Player> players;
+        synchronized (this) {
+            if (this.started || this.closed) {
+                return;
             }
-        if(this.isStartGame){
-            break;
+            this.closed = true;
+            players = new ArrayList<>(this.thisGamePlayerList);
         }
+        ClueLessServerApplication.logMessage("Lobby " + gameNumber + " closed because " + reason);
+        this.lobbyListener.lobbyClosed(this);
+        players.forEach(player -> this.lobbyListener.connectionReleased(player.getClueLessClientHandler()));
+    }
 
+    /**
+     * Starts the game at most once, from whichever callback gets here first.  The Matchmaker calls it directly on the
+     * lobby it seated.
+     * **/
+    public synchronized void start()
+    {
+        if (this.started || this.closed) {
+            return;
         }
+        this.started = true;
+
+        this.thisGame = this.turnLengthTimer > 0
+                ? new Game(gameNumber, this.thisGamePlayerList, this.turnLengthTimer)
+                : new Game(gameNumber, this.thisGamePlayerList);
+
+        SessionRegistry sessionRegistry = SessionRegistry.get();
+        this.thisGamePlayerList.forEach(player ->
+                sessionRegistry.joinGame(player.getClueLessClientHandler(), gameNumber));
+
+        ClueLessServerGameProtocol clueLessServerGameProtocol = new ClueLessServerGameProtocol(
+                this.thisGamePlayerList,
+                this.thisGame,
+                this.lobbyListener::connectionReleased
+        );
+
+        this.lobbyListener.gameStarted(this);
+
+        ServerExecutors.get().getGameScheduler().submitAsync(gameNumber, () -> clueLessServerGameProtocol.play()
+                .thenAccept(gameResult -> {
+                    this.thisGame = null;
+                    sessionRegistry.endGame(gameNumber);
+                    this.lobbyListener.gameFinished(this, gameResult);
+                }));
+    }
 
-        this.thisGame = new Game(gameNumber, this.thisGamePlayerList);
-
-        ClueLessServerGameProtocol clueLessServerGameProtocol = new ClueLessServerGameProtocol(this.thisGamePlayerList, this.thisGame);
-
-        clueLessServerGameProtocol.playGame();
-
+    public synchronized boolean isStarted() {
+        return started;
     }
 
     /**
@@ -92,12 +170,18 @@ public class GameLobby {
         return thisGamePlayerList;
     }
 
-    public Object addPlayer(Player p){
-        if(this.getThisGamePlayerList().size() <= 6){
+    public synchronized Object addPlayer(Player p){
+        if(!this.started && !this.closed && this.getThisGamePlayerList().size() < MAX_PLAYERS){
 
             this.setPlayerCharacter(p);
 
-            return getThisGamePlayerList().add(p);
+            boolean added = getThisGamePlayerList().add(p);
+
+            if(this.getThisGamePlayerList().size() == MAX_PLAYERS){
+                this.start();
+            }
+
+            return added;
         }
         else return null;
     }
@@ -147,8 +231,8 @@ public class GameLobby {
      * End getters and setters.
      * **/
 
-    private void askHostForTimer(){
-        this.setTurnLengthTimer(this.host.writeInstanceAndExpectType("Choose turn length.", int.class));
+    private CompletableFuture<Integer> askHostForTimer(){
+        return this.host.asyncWriteInstanceAndExpectType("Choose turn length.", int.class);
     }
 
     private CompletableFuture<Boolean> askHostForStartGame(){
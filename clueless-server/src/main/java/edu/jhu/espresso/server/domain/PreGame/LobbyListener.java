@@ -0,0 +1,37 @@
+package edu.jhu.espresso.server.domain.PreGame;
+
+import edu.jhu.espresso.server.ClueLessClientHandler;
+import edu.jhu.espresso.server.domain.GameResult;
+
+/**
+ * LobbyListener hears about a lobby's game from the moment it starts until its players' connections are given back.
+ * gameStarted is called from whichever callback started the game; the rest are called on the game's thread once the
+ * game has been torn down.  A lobby that closes without starting calls lobbyClosed and then connectionReleased from
+ * the host's callback instead.
+ * **/
+public interface LobbyListener
+{
+    default void gameStarted(GameLobby gameLobby)
+    {
+    }
+
+    /**
+     * Called when a lobby closes without starting its game.  Its players' connections follow through
+     * connectionReleased.
+     * **/
+    default void lobbyClosed(GameLobby gameLobby)
+    {
+    }
+
+    default void gameFinished(GameLobby gameLobby, GameResult gameResult)
+    {
+    }
+
+    /**
+     * Receives every player's connection after the game.  Closes it unless the listener has a use for it.
+     * **/
+    default void connectionReleased(ClueLessClientHandler clueLessClientHandler)
+    {
+        clueLessClientHandler.close();
+    }
+}
@@ -0,0 +1,129 @@
+package edu.jhu.espresso.server.domain.PreGame;
+
+import edu.jhu.espresso.server.ClueLessClientHandler;
+import edu.jhu.espresso.server.ClueLessServer;
+import edu.jhu.espresso.server.domain.gamepieces.Character;
+import edu.jhu.espresso.server.domain.gamepieces.CharacterNames;
+import edu.jhu.espresso.server.domain.gamepieces.Player;
+import edu.jhu.espresso.server.session.SessionRegistry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * The Matchmaker seats players by the table size they asked for instead of having them pick a lobby.  Each size from
+ * MIN_TABLE_SIZE to MAX_TABLE_SIZE has its own first-come first-served queue, and as soon as a queue holds a full
+ * table those players are dealt characters in turn order and their lobby starts at once.  Connections that closed
+ * while queued are dropped when their table would have formed.
+ * **/
+public class Matchmaker
+{
+    public static final int MIN_TABLE_SIZE = 3;
+    public static final int MAX_TABLE_SIZE = GameLobby.MAX_PLAYERS;
+
+    private static final List<CharacterNames> TURN_ORDER = turnOrder();
+
+    private final List<Deque<WaitingPlayer>> queues = new ArrayList<>();
+    private final WaitTimeHistogram waitTimes = new WaitTimeHistogram();
+    private final ClueLessServer server;
+    private final IntSupplier gameNumbers;
+    private final LobbyListener lobbyListener;
+
+    public Matchmaker(ClueLessServer server, IntSupplier gameNumbers, LobbyListener lobbyListener)
+    {
+        this.server = server;
+        this.gameNumbers = gameNumbers;
+        this.lobbyListener = lobbyListener;
+        for(int tableSize = 0; tableSize <= MAX_TABLE_SIZE; tableSize++)
+        {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Queues a player for a table of the given size, which is clamped to the sizes the card deal supports.  If the
+     * player completes a table, its lobby is started before this returns.
+     * **/
+    public void enqueue(ClueLessClientHandler clueLessClientHandler, int tableSize)
+    {
+        int size = Math.max(MIN_TABLE_SIZE, Math.min(MAX_TABLE_SIZE, tableSize));
+        List<WaitingPlayer> table = queue(new WaitingPlayer(clueLessClientHandler, System.nanoTime()), size);
+        if(table != null)
+        {
+            seat(table).start();
+        }
+    }
+
+    private synchronized List<WaitingPlayer> queue(WaitingPlayer waitingPlayer, int tableSize)
+    {
+        Deque<WaitingPlayer> queue = queues.get(tableSize);
+        queue.addLast(waitingPlayer);
+        queue.removeIf(queued -> !queued.clueLessClientHandler.getConnection().isOpen());
+        if(queue.size() < tableSize)
+        {
+            return null;
+        }
+
+        List<WaitingPlayer> table = new ArrayList<>(tableSize);
+        for(int seat = 0; seat < tableSize; seat++)
+        {
+            table.add(queue.pollFirst());
+        }
+        return table;
+    }
+
+    private GameLobby seat(List<WaitingPlayer> table)
+    {
+        int gameNumber = gameNumbers.getAsInt();
+        long now = System.nanoTime();
+
+        List<Player> players = new ArrayList<>(table.size());
+        for(int seat = 0; seat < table.size(); seat++)
+        {
+            WaitingPlayer waitingPlayer = table.get(seat);
+            waitTimes.record((now - waitingPlayer.enqueuedAtNanos) / 1_000_000);
+            players.add(new Player(
+                    gameNumber,
+                    SessionRegistry.get().register(waitingPlayer.clueLessClientHandler).getPlayerID(),
+                    new Character(TURN_ORDER.get(seat)),
+                    waitingPlayer.clueLessClientHandler
+            ));
+        }
+
+        return new GameLobby(gameNumber, server, players, lobbyListener);
+    }
+
+    public synchronized int getQueuedPlayers(int tableSize)
+    {
+        return queues.get(tableSize).size();
+    }
+
+    public WaitTimeHistogram getWaitTimes()
+    {
+        return waitTimes;
+    }
+
+    private static List<CharacterNames> turnOrder()
+    {
+        List<CharacterNames> characterNames = new ArrayList<>(Arrays.asList(CharacterNames.values()));
+        characterNames.sort(Comparator.comparingInt(CharacterNames::getOrderNumber));
+        return characterNames;
+    }
+
+    private static final class WaitingPlayer
+    {
+        private final ClueLessClientHandler clueLessClientHandler;
+        private final long enqueuedAtNanos;
+
+        private WaitingPlayer(ClueLessClientHandler clueLessClientHandler, long enqueuedAtNanos)
+        {
+            this.clueLessClientHandler = clueLessClientHandler;
+            this.enqueuedAtNanos = enqueuedAtNanos;
+        }
+    }
+}
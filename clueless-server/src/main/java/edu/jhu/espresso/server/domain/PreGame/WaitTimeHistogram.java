@@ -0,0 +1,99 @@
+package edu.jhu.espresso.server.domain.PreGame;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * WaitTimeHistogram counts how long players waited to be matched, in power-of-two millisecond buckets: bucket 0 holds
+ * waits under 1ms, bucket n holds waits from 2^(n-1) up to 2^n ms, and the last bucket holds everything longer.
+ * Recording is a single atomic increment, so it can be done from any thread without a lock.
+ * **/
+public final class WaitTimeHistogram
+{
+    private static final int BUCKETS = 24;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void record(long waitMillis)
+    {
+        counts.incrementAndGet(bucketFor(waitMillis));
+    }
+
+    public long getCount()
+    {
+        long count = 0;
+        for(int bucket = 0; bucket < BUCKETS; bucket++)
+        {
+            count += counts.get(bucket);
+        }
+        return count;
+    }
+
+    public long getBucketCount(int bucket)
+    {
+        return counts.get(bucket);
+    }
+
+    /**
+     * The exclusive upper bound, in milliseconds, of the waits counted in the given bucket.  The last bucket is open.
+     * **/
+    public static long bucketUpperBoundMillis(int bucket)
+    {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    public static int getBucketTotal()
+    {
+        return BUCKETS;
+    }
+
+    /**
+     * An upper bound on the given percentile of recorded waits, accurate to the bucket it falls in.
+     * **/
+    public long percentileUpperBoundMillis(double percentile)
+    {
+        long count = getCount();
+        if(count == 0)
+        {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(percentile / 100 * count);
+        long seen = 0;
+        for(int bucket = 0; bucket < BUCKETS; bucket++)
+        {
+            seen += counts.get(bucket);
+            if(seen >= rank)
+            {
+                return bucketUpperBoundMillis(bucket);
+            }
+        }
+        return bucketUpperBoundMillis(BUCKETS - 1);
+    }
+
+    private static int bucketFor(long waitMillis)
+    {
+        if(waitMillis < 1)
+        {
+            return 0;
+        }
+        int bucket = 64 - Long.numberOfLeadingZeros(waitMillis);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder description = new StringBuilder("waits=").append(getCount());
+        for(int bucket = 0; bucket < BUCKETS; bucket++)
+        {
+            long bucketCount = counts.get(bucket);
+            if(bucketCount > 0)
+            {
+                description.append(bucket == BUCKETS - 1 ? " >=" + (1L << (bucket - 1)) : " <" + (1L << bucket))
+                        .append("ms:")
+                        .append(bucketCount);
+            }
+        }
+        return description.toString();
+    }
+}
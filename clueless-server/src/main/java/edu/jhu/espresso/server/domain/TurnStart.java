@@ -14,13 +14,31 @@ public class TurnStart
     private final Map<CharacterNames, LocationNames> locationNamesMap;
     private final String announcement;
     private final CharacterNames characterMovedFromSuggestion;
+    private final long sequenceNumber;
+    private final boolean echoRequested;
+    private final long boardVersion;
 
     public TurnStart(ClueLessProtocolType clueLessProtocolType, Map<CharacterNames, LocationNames> locationNamesMap, String announcement, CharacterNames characterMovedFromSuggestion)
     {
+        this(clueLessProtocolType, locationNamesMap, announcement, characterMovedFromSuggestion, 0, true, 0);
+    }
+
+    public TurnStart(
+            ClueLessProtocolType clueLessProtocolType,
+            Map<CharacterNames, LocationNames> locationNamesMap,
+            String announcement,
+            CharacterNames characterMovedFromSuggestion,
+            long sequenceNumber,
+            boolean echoRequested,
+            long boardVersion
+    ) {
         this.clueLessProtocolType = clueLessProtocolType;
         this.locationNamesMap = locationNamesMap;
         this.announcement = announcement;
         this.characterMovedFromSuggestion = characterMovedFromSuggestion;
+        this.sequenceNumber = sequenceNumber;
+        this.echoRequested = echoRequested;
+        this.boardVersion = boardVersion;
     }
 
     public ClueLessProtocolType getClueLessProtocolType()
@@ -28,6 +46,10 @@ public class TurnStart
         return clueLessProtocolType;
     }
 
+    /**
+     * Locations of the characters that moved since the board version the recipients last acknowledged.  A recipient
+     * with no board state gets every character.
+     * **/
     public Map<CharacterNames, LocationNames> getLocationNamesMap()
     {
         return locationNamesMap;
@@ -42,4 +64,28 @@ public class TurnStart
     {
         return characterMovedFromSuggestion;
     }
+
+    /**
+     * Position of this update in the game's update stream.  Clients report the highest one they have applied.
+     * **/
+    public long getSequenceNumber()
+    {
+        return sequenceNumber;
+    }
+
+    /**
+     * True when the client must write this TurnStart back before the game continues.
+     * **/
+    public boolean isEchoRequested()
+    {
+        return echoRequested;
+    }
+
+    /**
+     * The board version the client is at once it has applied locationNamesMap.
+     * **/
+    public long getBoardVersion()
+    {
+        return boardVersion;
+    }
 }
@@ -0,0 +1,165 @@
+package edu.jhu.espresso.server.domain.builder;
+
+import edu.jhu.espresso.server.ClueLessServerConfiguration;
+import edu.jhu.espresso.server.codec.WireFormat;
+import edu.jhu.espresso.server.domain.PreGame.FoyerMode;
+import edu.jhu.espresso.server.execution.ThreadMode;
+import edu.jhu.espresso.server.protocol.AcknowledgementMode;
+import edu.jhu.espresso.server.protocol.TimeoutPolicy;
+import edu.jhu.espresso.server.transport.TransportMode;
+
+public final class ClueLessServerConfigurationBuilder
+{
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_IO_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    public static final long DEFAULT_BROADCAST_DEADLINE_MILLIS = 5_000;
+    public static final int DEFAULT_MAX_CONCURRENT_GAMES = 256;
+    public static final int DEFAULT_TURN_LENGTH_SECONDS = 120;
+    public static final int DEFAULT_MAX_CONNECTIONS = 4_096;
+    public static final int DEFAULT_MAX_HEAP_PERCENT = 90;
+    public static final int DEFAULT_RETRY_AFTER_SECONDS = 5;
+
+    private int port = DEFAULT_PORT;
+    private TransportMode transportMode = TransportMode.BLOCKING;
+    private int ioThreads = DEFAULT_IO_THREADS;
+    private ThreadMode threadMode = ThreadMode.PLATFORM;
+    private int carrierThreads = 0;
+    private long broadcastDeadlineMillis = DEFAULT_BROADCAST_DEADLINE_MILLIS;
+    private AcknowledgementMode acknowledgementMode = AcknowledgementMode.ECHO;
+    private WireFormat wireFormat = WireFormat.BINARY;
+    private int maxConcurrentGames = DEFAULT_MAX_CONCURRENT_GAMES;
+    private FoyerMode foyerMode = FoyerMode.LOBBY_CHOICE;
+    private int turnLengthSeconds = DEFAULT_TURN_LENGTH_SECONDS;
+    private TimeoutPolicy timeoutPolicy = TimeoutPolicy.END_TURN;
+    private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+    private int maxHeapPercent = DEFAULT_MAX_HEAP_PERCENT;
+    private int retryAfterSeconds = DEFAULT_RETRY_AFTER_SECONDS;
+    private Long dealSeed;
+
+    private ClueLessServerConfigurationBuilder()
+    {
+    }
+
+    public static ClueLessServerConfigurationBuilder aClueLessServerConfiguration()
+    {
+        return new ClueLessServerConfigurationBuilder();
+    }
+
+    public ClueLessServerConfigurationBuilder withPort(int port)
+    {
+        this.port = port;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withTransportMode(TransportMode transportMode)
+    {
+        this.transportMode = transportMode;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withIoThreads(int ioThreads)
+    {
+        this.ioThreads = ioThreads;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withThreadMode(ThreadMode threadMode)
+    {
+        this.threadMode = threadMode;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withCarrierThreads(int carrierThreads)
+    {
+        this.carrierThreads = carrierThreads;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withBroadcastDeadlineMillis(long broadcastDeadlineMillis)
+    {
+        this.broadcastDeadlineMillis = broadcastDeadlineMillis;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withAcknowledgementMode(AcknowledgementMode acknowledgementMode)
+    {
+        this.acknowledgementMode = acknowledgementMode;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withWireFormat(WireFormat wireFormat)
+    {
+        this.wireFormat = wireFormat;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withMaxConcurrentGames(int maxConcurrentGames)
+    {
+        this.maxConcurrentGames = maxConcurrentGames;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withFoyerMode(FoyerMode foyerMode)
+    {
+        this.foyerMode = foyerMode;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withTurnLengthSeconds(int turnLengthSeconds)
+    {
+        this.turnLengthSeconds = turnLengthSeconds;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withTimeoutPolicy(TimeoutPolicy timeoutPolicy)
+    {
+        this.timeoutPolicy = timeoutPolicy;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withMaxConnections(int maxConnections)
+    {
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withMaxHeapPercent(int maxHeapPercent)
+    {
+        this.maxHeapPercent = maxHeapPercent;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withRetryAfterSeconds(int retryAfterSeconds)
+    {
+        this.retryAfterSeconds = retryAfterSeconds;
+        return this;
+    }
+
+    public ClueLessServerConfigurationBuilder withDealSeed(Long dealSeed)
+    {
+        this.dealSeed = dealSeed;
+        return this;
+    }
+
+    public ClueLessServerConfiguration build()
+    {
+        return new ClueLessServerConfiguration(
+                port,
+                transportMode,
+                ioThreads,
+                threadMode,
+                carrierThreads,
+                broadcastDeadlineMillis,
+                acknowledgementMode,
+                wireFormat,
+                maxConcurrentGames,
+                foyerMode,
+                turnLengthSeconds,
+                timeoutPolicy,
+                maxConnections,
+                maxHeapPercent,
+                retryAfterSeconds,
+                dealSeed
+        );
+    }
+}
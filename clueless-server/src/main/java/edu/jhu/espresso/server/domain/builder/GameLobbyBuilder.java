@@ -3,6 +3,7 @@ package edu.jhu.espresso.server.domain.builder;
 import edu.jhu.espresso.server.ClueLessServer;
 import edu.jhu.espresso.server.domain.Game;
 import edu.jhu.espresso.server.domain.PreGame.GameLobby;
+import edu.jhu.espresso.server.domain.PreGame.LobbyListener;
 import edu.jhu.espresso.server.domain.gamepieces.Player;
 
 import java.util.ArrayList;
@@ -16,6 +17,8 @@ public final class GameLobbyBuilder {
 
     private Game thisGame;
 
+    private LobbyListener lobbyListener = new LobbyListener() {};
+
     private GameLobbyBuilder() {
     }
 
@@ -53,9 +56,14 @@ public final class GameLobbyBuilder {
         return this;
     }
 
+    public GameLobbyBuilder withLobbyListener(LobbyListener lobbyListener) {
+        this.lobbyListener = lobbyListener;
+        return this;
+    }
+
 
     public GameLobby build() {
-        GameLobby gameLobby = new GameLobby(gameNumber, server, host);
+        GameLobby gameLobby = new GameLobby(gameNumber, server, host, lobbyListener);
         return gameLobby;
     }
 }
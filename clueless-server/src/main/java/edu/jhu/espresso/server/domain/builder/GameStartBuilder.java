@@ -15,6 +15,8 @@ public final class GameStartBuilder
     private List<String> extraCardsNames;
     private CharacterNames characterNames;
     private int numberOfPlayers;
+    private int playerID;
+    private long reconnectToken;
 
     private GameStartBuilder()
     {
@@ -61,8 +63,20 @@ public final class GameStartBuilder
         return this;
     }
 
+    public GameStartBuilder withPlayerID(int playerID)
+    {
+        this.playerID = playerID;
+        return this;
+    }
+
+    public GameStartBuilder withReconnectToken(long reconnectToken)
+    {
+        this.reconnectToken = reconnectToken;
+        return this;
+    }
+
     public GameStart build()
     {
-        return new GameStart(roomNamesList, weapons, characterNamesList, extraCardsNames, characterNames, numberOfPlayers);
+        return new GameStart(roomNamesList, weapons, characterNamesList, extraCardsNames, characterNames, numberOfPlayers, playerID, reconnectToken);
     }
 }
@@ -13,6 +13,9 @@ public final class TurnStartBuilder
     private Map<CharacterNames, LocationNames> locationNamesMap;
     private String announcement;
     private CharacterNames characterMovedFromSuggestion;
+    private long sequenceNumber;
+    private boolean echoRequested = true;
+    private long boardVersion;
 
     private TurnStartBuilder()
     {
@@ -47,8 +50,34 @@ public final class TurnStartBuilder
         return this;
     }
 
+    public TurnStartBuilder withSequenceNumber(long sequenceNumber)
+    {
+        this.sequenceNumber = sequenceNumber;
+        return this;
+    }
+
+    public TurnStartBuilder withEchoRequested(boolean echoRequested)
+    {
+        this.echoRequested = echoRequested;
+        return this;
+    }
+
+    public TurnStartBuilder withBoardVersion(long boardVersion)
+    {
+        this.boardVersion = boardVersion;
+        return this;
+    }
+
     public TurnStart build()
     {
-        return new TurnStart(clueLessProtocolType, locationNamesMap, announcement, characterMovedFromSuggestion);
+        return new TurnStart(
+                clueLessProtocolType,
+                locationNamesMap,
+                announcement,
+                characterMovedFromSuggestion,
+                sequenceNumber,
+                echoRequested,
+                boardVersion
+        );
     }
 }
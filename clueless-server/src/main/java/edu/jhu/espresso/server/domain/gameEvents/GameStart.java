@@ -17,8 +17,10 @@ public class GameStart
     private final List<String> extraCardsNames;
     private final CharacterNames characterNames;
     private final int numberOfPlayers;
+    private final int playerID;
+    private final long reconnectToken;
 
-    public GameStart(List<RoomNames> roomNamesList, List<Weapon> weapons, List<CharacterNames> characterNamesList, List<String> extraCardsNames, CharacterNames characterNames, int numberOfPlayers)
+    public GameStart(List<RoomNames> roomNamesList, List<Weapon> weapons, List<CharacterNames> characterNamesList, List<String> extraCardsNames, CharacterNames characterNames, int numberOfPlayers, int playerID, long reconnectToken)
     {
         this.roomNamesList = roomNamesList;
         this.weapons = weapons;
@@ -26,6 +28,8 @@ public class GameStart
         this.extraCardsNames = extraCardsNames;
         this.characterNames = characterNames;
         this.numberOfPlayers = numberOfPlayers;
+        this.playerID = playerID;
+        this.reconnectToken = reconnectToken;
     }
 
     public CharacterNames getCharacterNames()
@@ -57,4 +61,18 @@ public class GameStart
     {
         return extraCardsNames;
     }
+
+    /**
+     * The player ID and reconnect token the player sends back in a SeatClaim to take this seat over again if their
+     * connection drops.
+     * **/
+    public int getPlayerID()
+    {
+        return playerID;
+    }
+
+    public long getReconnectToken()
+    {
+        return reconnectToken;
+    }
 }
@@ -16,7 +16,7 @@ public class GameTimer {
     }
 
     public GameTimer(int turnLength, ArrayList<Player> playerList){
-        turnLength = turnLength;
+        this.turnLength = turnLength;
         turn = 0;
 
         //Create a random order for players to play in.
@@ -0,0 +1,38 @@
+package edu.jhu.espresso.server.domain.gameEvents;
+
+/**
+ * Sent by a player in the foyer, unasked, to take back the seat a bot has been playing since their connection
+ * dropped.  The player ID and reconnect token are the ones from the seat's latest GameStart; a claim with any other
+ * token is ignored.
+ * **/
+public final class SeatClaim
+{
+    private int playerID;
+    private long reconnectToken;
+
+    public int getPlayerID()
+    {
+        return playerID;
+    }
+
+    public void setPlayerID(int playerID)
+    {
+        this.playerID = playerID;
+    }
+
+    public long getReconnectToken()
+    {
+        return reconnectToken;
+    }
+
+    public void setReconnectToken(long reconnectToken)
+    {
+        this.reconnectToken = reconnectToken;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SeatClaim{playerID=" + playerID + '}';
+    }
+}
@@ -0,0 +1,37 @@
+package edu.jhu.espresso.server.domain.gameEvents;
+
+/**
+ * Sent instead of the usual foyer prompt when the server is at capacity.  The connection is closed straight after,
+ * and the player should try again once retryAfterSeconds have passed.
+ * **/
+public final class ServerBusy
+{
+    private String reason;
+    private int retryAfterSeconds;
+
+    public String getReason()
+    {
+        return reason;
+    }
+
+    public void setReason(String reason)
+    {
+        this.reason = reason;
+    }
+
+    public int getRetryAfterSeconds()
+    {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(int retryAfterSeconds)
+    {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ServerBusy{reason='" + reason + "', retryAfterSeconds=" + retryAfterSeconds + '}';
+    }
+}
@@ -0,0 +1,49 @@
+package edu.jhu.espresso.server.domain.gameEvents;
+
+/**
+ * Asked of a player in a MATCHMAKING foyer instead of the lobby list.  The server fills in the table sizes it deals
+ * for and the player sends the message back with the size they want; a size outside that range is clamped to it.
+ * **/
+public final class TableSizeChoice
+{
+    private int minTableSize;
+    private int maxTableSize;
+    private int tableSize;
+
+    public int getMinTableSize()
+    {
+        return minTableSize;
+    }
+
+    public void setMinTableSize(int minTableSize)
+    {
+        this.minTableSize = minTableSize;
+    }
+
+    public int getMaxTableSize()
+    {
+        return maxTableSize;
+    }
+
+    public void setMaxTableSize(int maxTableSize)
+    {
+        this.maxTableSize = maxTableSize;
+    }
+
+    public int getTableSize()
+    {
+        return tableSize;
+    }
+
+    public void setTableSize(int tableSize)
+    {
+        this.tableSize = tableSize;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TableSizeChoice{minTableSize=" + minTableSize + ", maxTableSize=" + maxTableSize + ", tableSize=" +
+                tableSize + '}';
+    }
+}
@@ -0,0 +1,88 @@
+package edu.jhu.espresso.server.domain.gamepieces;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BoardGraph is the Clue-Less board compiled once into bitmasks indexed by LocationNames ordinal.  Bit i of a mask
+ * stands for the location whose ordinal is i, so every location's neighbours fit in one long and the legal moves
+ * from a location are its neighbours less the occupied hallways: two bitwise operations and no allocation.  The
+ * adjacency is read from the destination lists the Room, Hallway and HomeSquare constructors declare, so the board
+ * is still described in one place.  The graph is immutable and shared by every game.
+ * **/
+public final class BoardGraph
+{
+    private static final LocationNames[] LOCATIONS = LocationNames.values();
+    private static final BoardGraph STANDARD = new BoardGraph();
+
+    private final long[] adjacency = new long[LOCATIONS.length];
+    private final long hallways;
+
+    private BoardGraph()
+    {
+        long hallwayMask = 0;
+        for (LocationNames location : LOCATIONS)
+        {
+            Location square = Location.fromLocationName(location);
+            for (String destination : square.getPossibleDestinations())
+            {
+                adjacency[location.ordinal()] |= bit(LocationNames.fromStringName(destination));
+            }
+            if (square instanceof Hallway)
+            {
+                hallwayMask |= bit(location);
+            }
+        }
+        this.hallways = hallwayMask;
+    }
+
+    public static BoardGraph standard()
+    {
+        return STANDARD;
+    }
+
+    public static long bit(LocationNames location)
+    {
+        return 1L << location.ordinal();
+    }
+
+    /**
+     * Every location one move from the given one, occupied or not.
+     * **/
+    public long neighbours(LocationNames from)
+    {
+        return adjacency[from.ordinal()];
+    }
+
+    /**
+     * The locations a character standing on from may move to.  Only hallways hold a single character, so occupied
+     * rooms and home squares in the mask never block a move.
+     * **/
+    public long legalMoves(LocationNames from, long occupied)
+    {
+        return adjacency[from.ordinal()] & ~(occupied & hallways);
+    }
+
+    public boolean isHallway(LocationNames location)
+    {
+        return (hallways & bit(location)) != 0;
+    }
+
+    public long getHallways()
+    {
+        return hallways;
+    }
+
+    /**
+     * Expands a mask into its locations in ordinal order, for callers that need a list.
+     * **/
+    public static List<LocationNames> toLocationNames(long mask)
+    {
+        List<LocationNames> locationNames = new ArrayList<>(Long.bitCount(mask));
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1)
+        {
+            locationNames.add(LOCATIONS[Long.numberOfTrailingZeros(remaining)]);
+        }
+        return locationNames;
+    }
+}
@@ -9,6 +9,9 @@ public interface Card {
 
     public String getName();
 
+    //The card's bit in a CardSet.
+    int getCardIndex();
+
     Optional<RoomNames> getRoomName();
     Optional<Weapon> getWeapon();
     Optional<CharacterNames> getCharacterName();
@@ -1,64 +1,67 @@
 package edu.jhu.espresso.server.domain.gamepieces;
 
+import edu.jhu.espresso.server.ClueLessServerApplication;
+
 import java.util.*;
 
 public class CardPlayer {
 
-    private CardDeck cardDeck;
-    private ArrayList<Card> caseFile;
+    private DealingEngine dealingEngine;
+    private int caseFile;
+    private DisproveTable disproveTable;
 
-    //Constructor generates a cardDeck and a casefile.
-    public CardPlayer() {
-        this.cardDeck = new CardDeck();
+    //Constructor generates the casefile, fixed by the seed.
+    public CardPlayer(long seed) {
+        this.dealingEngine = new DealingEngine(seed);
 
         //MAKE CASEFILE
-        this.caseFile = new ArrayList<Card>();
-        //Use index 0-8 to get a room card, 9-14 for a random Character Card, 15-20 for a random Weapon Card, but account for one card being removed each time.
-        Card randomRoomCard = this.cardDeck.dealRandomCard(0,8 );
-        Card randomCharacterCard = this.cardDeck.dealRandomCard(8,13 );
-        Card randomWeaponCard = this.cardDeck.dealRandomCard(13,18 );
-
-        this.caseFile.add(randomCharacterCard);
-        this.caseFile.add(randomRoomCard);
-        this.caseFile.add(randomWeaponCard);
+        this.caseFile = this.dealingEngine.getCaseFile();
 
-        for(Card card : caseFile)
+        ClueLessServerApplication.logMessage("Dealing from seed " + seed);
+        for(Card card : getCaseFile())
         {
-            System.out.println(card.getName());
+            ClueLessServerApplication.logMessage(card.getName());
         }
     }
 
     //DealCards finds the number of shared cards, shows them to all players, and generates a random hand for each player
     public void dealCards(List<Player> playerList){
         int numPlayers = playerList.size();
-        int cardsPerPlayer = cardsPerPlayer(numPlayers);
-        int commonCardNumber = 18 - cardsPerPlayer * numPlayers;
-
-        //Deal common cards
-        for(int i = 0; i < commonCardNumber; i++) {
-            Card thisCard = this.cardDeck.dealRandomCard();
-            for (Player pl : playerList) {
-                pl.notebook.makeKnownCard(thisCard);
-            }
+        int[] hands = new int[numPlayers];
+        int commonCards = this.dealingEngine.deal(cardsPerPlayer(numPlayers), hands);
+
+        for (int i = 0; i < numPlayers; i++) {
+            Player pl = playerList.get(i);
+            pl.setSeatIndex(i);
+            pl.notebook.makeKnownCards(commonCards);
+            pl.notebook.makeHandCards(hands[i]);
         }
 
-        //While cards are remaining, deal hands sequentially.
-        while (this.cardDeck.getCardsListCopy().size() > 0){
-            for (Player pl : playerList) {
-                pl.notebook.makeHandCard(this.cardDeck.dealRandomCard());
-            }
-       }
+        //Every suggestion is answered now, while the hands are at hand, so testimony never searches a hand again.
+        this.disproveTable = new DisproveTable(hands);
+    }
 
+    public DisproveTable getDisproveTable() {
+        return disproveTable;
     }
 
-    public CardDeck getCardDeck() {
-        return cardDeck;
+    public long getSeed() {
+        return dealingEngine.getSeed();
     }
 
     public ArrayList<Card> getCaseFile() {
+        return CardSet.toCards(caseFile);
+    }
+
+    public int getCaseFileSet() {
         return caseFile;
     }
 
+    //An accusation is right when it names exactly the case file.
+    public boolean isCaseFile(int accusation) {
+        return accusation == caseFile;
+    }
+
     public int cardsPerPlayer(int numberOfPlayers)
     {
         int cardsPerPlayer;
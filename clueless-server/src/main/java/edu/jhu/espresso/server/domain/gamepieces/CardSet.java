@@ -0,0 +1,159 @@
+package edu.jhu.espresso.server.domain.gamepieces;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * CardSet packs a set of Clue-Less cards into one int.  Each of the 21 cards owns a bit: rooms take bits 0-8 by
+ * RoomNames ordinal, characters 9-14 by CharacterNames ordinal and weapons 15-20 by Weapon ordinal.  Hands, notebooks,
+ * the case file and suggestions are all CardSets, so intersecting, testing and counting them are single instructions
+ * and a query never allocates.  The cards themselves are shared, immutable instances, one per bit.
+ * **/
+public final class CardSet
+{
+    public static final int EMPTY = 0;
+    public static final int SIZE = 21;
+
+    private static final int CHARACTER_OFFSET = 9;
+    private static final int WEAPON_OFFSET = 15;
+
+    public static final int ROOMS = (1 << CHARACTER_OFFSET) - 1;
+    public static final int CHARACTERS = ((1 << (WEAPON_OFFSET - CHARACTER_OFFSET)) - 1) << CHARACTER_OFFSET;
+    public static final int WEAPONS = ((1 << (SIZE - WEAPON_OFFSET)) - 1) << WEAPON_OFFSET;
+    public static final int ALL = ROOMS | CHARACTERS | WEAPONS;
+
+    private static final Card[] CARDS = new Card[SIZE];
+
+    static
+    {
+        for (RoomNames roomNames : RoomNames.values())
+        {
+            CARDS[indexOf(roomNames)] = new RoomCard(roomNames);
+        }
+        for (CharacterNames characterNames : CharacterNames.values())
+        {
+            CARDS[indexOf(characterNames)] = new CharacterCard(characterNames);
+        }
+        for (Weapon weapon : Weapon.values())
+        {
+            CARDS[indexOf(weapon)] = new WeaponCard(weapon);
+        }
+    }
+
+    private CardSet()
+    {
+    }
+
+    public static int indexOf(RoomNames roomNames)
+    {
+        return roomNames.ordinal();
+    }
+
+    public static int indexOf(CharacterNames characterNames)
+    {
+        return CHARACTER_OFFSET + characterNames.ordinal();
+    }
+
+    public static int indexOf(Weapon weapon)
+    {
+        return WEAPON_OFFSET + weapon.ordinal();
+    }
+
+    /**
+     * The index of the card with the given name, or -1 if no card has it.
+     * **/
+    public static int indexOf(String cardName)
+    {
+        for (int index = 0; index < SIZE; index++)
+        {
+            if (CARDS[index].getName().equals(cardName))
+            {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    public static int of(RoomNames roomNames)
+    {
+        return 1 << indexOf(roomNames);
+    }
+
+    public static int of(CharacterNames characterNames)
+    {
+        return 1 << indexOf(characterNames);
+    }
+
+    public static int of(Weapon weapon)
+    {
+        return 1 << indexOf(weapon);
+    }
+
+    public static int of(Card card)
+    {
+        return 1 << card.getCardIndex();
+    }
+
+    /**
+     * The three cards of a suggestion or an accusation.
+     * **/
+    public static int of(RoomNames roomNames, CharacterNames characterNames, Weapon weapon)
+    {
+        return of(roomNames) | of(characterNames) | of(weapon);
+    }
+
+    public static int of(Collection<? extends Card> cards)
+    {
+        int set = EMPTY;
+        for (Card card : cards)
+        {
+            set |= of(card);
+        }
+        return set;
+    }
+
+    public static boolean contains(int set, int cards)
+    {
+        return (set & cards) == cards;
+    }
+
+    public static int size(int set)
+    {
+        return Integer.bitCount(set);
+    }
+
+    /**
+     * The index of the nth card of the set in index order, counting from zero.
+     * **/
+    public static int nth(int set, int n)
+    {
+        int remaining = set;
+        for (int skipped = 0; skipped < n; skipped++)
+        {
+            remaining &= remaining - 1;
+        }
+        if (remaining == 0)
+        {
+            throw new IndexOutOfBoundsException(n + " is past the end of a set of " + size(set) + " cards");
+        }
+        return Integer.numberOfTrailingZeros(remaining);
+    }
+
+    public static Card card(int index)
+    {
+        return CARDS[index];
+    }
+
+    /**
+     * Expands a set into its cards in index order, for callers that still want a list.
+     * **/
+    public static ArrayList<Card> toCards(int set)
+    {
+        ArrayList<Card> cards = new ArrayList<>(size(set));
+        for (int remaining = set; remaining != 0; remaining &= remaining - 1)
+        {
+            cards.add(CARDS[Integer.numberOfTrailingZeros(remaining)]);
+        }
+        return cards;
+    }
+}
@@ -19,6 +19,11 @@ public class CharacterCard implements Card {
         return name;
     }
 
+    @Override
+    public int getCardIndex() {
+        return CardSet.indexOf(characterNames);
+    }
+
     @Override
     public Optional<RoomNames> getRoomName()
     {
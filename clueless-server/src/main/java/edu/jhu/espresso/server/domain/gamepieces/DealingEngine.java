@@ -0,0 +1,99 @@
+package edu.jhu.espresso.server.domain.gamepieces;
+
+import java.util.SplittableRandom;
+
+/**
+ * DealingEngine deals a whole game from one seed.  It shuffles the 21 card indexes once, Fisher-Yates over a byte
+ * array, and reads everything off that order: the first room, character and weapon make up the case file, and the
+ * eighteen cards left are laid out as common cards first and then hands round the table.  The same seed always gives
+ * the same deal, so a logged seed is enough to replay a game or to rerun a simulation exactly.
+ * **/
+public final class DealingEngine
+{
+    //The golden-ratio increment SplittableRandom itself uses, which spreads consecutive game IDs far apart.
+    private static final long GAME_SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final byte[] order = new byte[CardSet.SIZE];
+    private final int caseFile;
+
+    public DealingEngine(long seed)
+    {
+        this.seed = seed;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < order.length; i++)
+        {
+            order[i] = (byte) i;
+        }
+        for (int i = order.length - 1; i > 0; i--)
+        {
+            int j = random.nextInt(i + 1);
+            byte swapped = order[i];
+            order[i] = order[j];
+            order[j] = swapped;
+        }
+
+        this.caseFile = first(CardSet.ROOMS) | first(CardSet.CHARACTERS) | first(CardSet.WEAPONS);
+    }
+
+    /**
+     * The seed for one game of a run started from baseSeed, so every game of a seeded run deals differently.
+     * **/
+    public static long seedForGame(long baseSeed, int gameID)
+    {
+        return baseSeed + GAME_SEED_GAMMA * gameID;
+    }
+
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    public int getCaseFile()
+    {
+        return caseFile;
+    }
+
+    /**
+     * Deals the cards outside the case file, filling in one hand per element of hands.  Whatever cannot be shared out
+     * evenly is returned as the common cards every player sees.
+     * **/
+    public int deal(int cardsPerPlayer, int[] hands)
+    {
+        int commonCardNumber = CardSet.SIZE - 3 - cardsPerPlayer * hands.length;
+        int commonCards = CardSet.EMPTY;
+        int dealt = 0;
+
+        for (byte index : order)
+        {
+            int card = 1 << index;
+            if ((caseFile & card) != 0)
+            {
+                continue;
+            }
+            if (dealt < commonCardNumber)
+            {
+                commonCards |= card;
+            }
+            else
+            {
+                hands[(dealt - commonCardNumber) % hands.length] |= card;
+            }
+            dealt++;
+        }
+        return commonCards;
+    }
+
+    private int first(int category)
+    {
+        for (byte index : order)
+        {
+            if ((category & (1 << index)) != 0)
+            {
+                return 1 << index;
+            }
+        }
+        throw new IllegalStateException("No card of the category was shuffled");
+    }
+}
@@ -0,0 +1,107 @@
+package edu.jhu.espresso.server.domain.gamepieces;
+
+import java.util.Arrays;
+
+/**
+ * DisproveTable answers every possible suggestion for every seat, worked out once when the cards are dealt.  There are
+ * only 9 x 6 x 6 = 324 suggestions, so for each seat it keeps the CardSet of that seat's cards that disprove each one,
+ * and for each seat making a suggestion it keeps the first seat round the table that can disprove it.  Settling a
+ * suggestion for a bot, an eliminated player or a simulation is then an array lookup.  Seats are numbered in turn
+ * order, the order of the player list the cards were dealt to.
+ * **/
+public final class DisproveTable
+{
+    private static final int CHARACTER_COUNT = CharacterNames.values().length;
+    private static final int WEAPON_COUNT = Weapon.values().length;
+
+    public static final int SUGGESTIONS = RoomNames.values().length * CHARACTER_COUNT * WEAPON_COUNT;
+    public static final int NO_DISPROVER = -1;
+
+    private static final int[] SUGGESTION_CARDS = new int[SUGGESTIONS];
+
+    static
+    {
+        for (RoomNames roomNames : RoomNames.values())
+        {
+            for (CharacterNames characterNames : CharacterNames.values())
+            {
+                for (Weapon weapon : Weapon.values())
+                {
+                    SUGGESTION_CARDS[suggestionIndex(roomNames, characterNames, weapon)] =
+                            CardSet.of(roomNames, characterNames, weapon);
+                }
+            }
+        }
+    }
+
+    private final int seats;
+    private final int[] disprovingCards;
+    private final byte[] firstDisprover;
+
+    /**
+     * Builds the table from each seat's hand, in turn order.
+     * **/
+    public DisproveTable(int[] hands)
+    {
+        this.seats = hands.length;
+        this.disprovingCards = new int[seats * SUGGESTIONS];
+        this.firstDisprover = new byte[seats * SUGGESTIONS];
+        Arrays.fill(firstDisprover, (byte) NO_DISPROVER);
+
+        for (int seat = 0; seat < seats; seat++)
+        {
+            for (int suggestion = 0; suggestion < SUGGESTIONS; suggestion++)
+            {
+                disprovingCards[seat * SUGGESTIONS + suggestion] = SUGGESTION_CARDS[suggestion] & hands[seat];
+            }
+        }
+
+        for (int asker = 0; asker < seats; asker++)
+        {
+            for (int suggestion = 0; suggestion < SUGGESTIONS; suggestion++)
+            {
+                for (int step = 1; step < seats; step++)
+                {
+                    int seat = (asker + step) % seats;
+                    if (disprovingCards[seat * SUGGESTIONS + suggestion] != CardSet.EMPTY)
+                    {
+                        firstDisprover[asker * SUGGESTIONS + suggestion] = (byte) seat;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    public static int suggestionIndex(RoomNames roomNames, CharacterNames characterNames, Weapon weapon)
+    {
+        return (roomNames.ordinal() * CHARACTER_COUNT + characterNames.ordinal()) * WEAPON_COUNT + weapon.ordinal();
+    }
+
+    public static int suggestionCards(int suggestion)
+    {
+        return SUGGESTION_CARDS[suggestion];
+    }
+
+    public int getSeats()
+    {
+        return seats;
+    }
+
+    /**
+     * The cards in the seat's hand that disprove the suggestion, as a CardSet; empty if it cannot.
+     * **/
+    public int disprovingCards(int seat, int suggestion)
+    {
+        return disprovingCards[seat * SUGGESTIONS + suggestion];
+    }
+
+    /**
+     * The first seat after the asker, going round in turn order, that holds a card disproving the suggestion, or
+     * NO_DISPROVER if nobody does.
+     * **/
+    public int firstDisprover(int askerSeat, int suggestion)
+    {
+        return firstDisprover[askerSeat * SUGGESTIONS + suggestion];
+    }
+}
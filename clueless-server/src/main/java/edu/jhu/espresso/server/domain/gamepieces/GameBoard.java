@@ -8,126 +8,165 @@ public class GameBoard
 
     private ArrayList<Location> locationList;
     private ArrayList<Room> roomList;
-    private EnumMap<CharacterNames, Location> characterLocationMap;
-    private HashMap<String, Location> stringLocationHashMap;
+    //One instance per square, indexed by LocationNames ordinal, so occupancy always lives on the board's own squares.
+    private final Location[] locations = new Location[LocationNames.values().length];
     public ArrayList<Hallway> hallwayList;
     private ArrayList<HomeSquare> homeSquareList;
 
+    //Location names are kept alongside characterLocationMap so broadcasts never re-parse location strings.
+    private final EnumMap<CharacterNames, LocationNames> characterLocationNames;
+    private final long[] characterChangedVersion;
+    private long version;
+
+    //Every square a character stands on, as a BoardGraph mask, so hallway occupancy follows every move however it was made.
+    private final BoardGraph boardGraph = BoardGraph.standard();
+    private long occupiedLocations;
+
     //private ArrayList<Location> legalMovesList;
 
     public GameBoard()
     {
 
-        //Create hashmap to translate String names to Location Objects
-        this.stringLocationHashMap = new HashMap<String, Location>();
-
         // Loop over RoomName values and create rooms.
         this.roomList = new ArrayList<Room>();
         for (RoomNames rooms : RoomNames.values())
         {
             Room thisRoom = new Room(rooms);
             roomList.add(thisRoom);
-            this.stringLocationHashMap.put(rooms.name(), thisRoom);
+            this.register(thisRoom);
         }
 
         this.hallwayList = new ArrayList<Hallway>();
         for (int i = 1; i < 13; i++)
         {
-            String newName = "H" + String.valueOf(i);
             Hallway thisHallway = new Hallway("H" + String.valueOf(i));
             this.hallwayList.add(thisHallway);
-            this.stringLocationHashMap.put(newName, thisHallway);
+            this.register(thisHallway);
         }
 
         //Create HomeSquare Objects and enumMap
-        this.characterLocationMap = new EnumMap<>(CharacterNames.class);
+        this.characterLocationNames = new EnumMap<>(CharacterNames.class);
         this.homeSquareList = new ArrayList<HomeSquare>();
 
+        //The starting layout is version 1, so changes since version 0 are always a full snapshot.
+        this.version = 1;
+        this.characterChangedVersion = new long[CharacterNames.values().length];
+
         //Loop over character names, create new homesquare for each, and add to homesquare list and map.
         for (CharacterNames cn : CharacterNames.values())
         {
             HomeSquare thisHomeSquare = new HomeSquare(cn);
             this.homeSquareList.add(thisHomeSquare);
-            this.characterLocationMap.put(cn, (Location) thisHomeSquare);
+            this.register(thisHomeSquare);
+            this.characterLocationNames.put(cn, LocationNames.fromStringName(thisHomeSquare.getLocationName()));
+            this.characterChangedVersion[cn.ordinal()] = version;
+            this.occupiedLocations |= BoardGraph.bit(this.characterLocationNames.get(cn));
         }
     }
 
+    private void register(Location location)
+    {
+        this.locations[LocationNames.fromStringName(location.getLocationName()).ordinal()] = location;
+    }
+
+    /**
+     * The board's own instance of the given square.  Every lookup of the same name returns the same object.
+     * **/
+    public Location getLocation(LocationNames locationNames)
+    {
+        return this.locations[locationNames.ordinal()];
+    }
+
+    /**
+     * Kept for callers holding a Location of their own; the move always lands on the board's instance of that square.
+     * **/
     public void moveCharacter(CharacterNames ch, Location newLoc)
     {
-        this.characterLocationMap.get(ch).setEmpty();
-        this.characterLocationMap.remove(ch);
-        this.characterLocationMap.put(ch, newLoc);
+        this.moveCharacter(ch, LocationNames.fromStringName(newLoc.getLocationName()));
+    }
+
+    public void moveCharacter(CharacterNames ch, LocationNames to)
+    {
+        this.version++;
+        LocationNames from = this.characterLocationNames.put(ch, to);
+        this.characterChangedVersion[ch.ordinal()] = version;
+
+        //Clear the old square only once nobody is left on it; rooms can hold everyone at once.
+        if (!this.characterLocationNames.containsValue(from))
+        {
+            this.occupiedLocations &= ~BoardGraph.bit(from);
+            this.getLocation(from).setEmpty();
+        }
+        this.occupiedLocations |= BoardGraph.bit(to);
         //The setFull method for Room doesn't do anything, but for Hallway it makes it full.
-        newLoc.setFull();
+        this.getLocation(to).setFull();
     }
 
     public Location getCharacterLocation(CharacterNames ch)
     {
-        return this.characterLocationMap.get(ch);
+        return this.getLocation(this.characterLocationNames.get(ch));
+    }
+
+    /**
+     * The character's legal moves as a BoardGraph mask.  This is what bots and simulations should call; it allocates
+     * nothing.
+     * **/
+    public long getLegalMoveMask(CharacterNames ch)
+    {
+        return boardGraph.legalMoves(characterLocationNames.get(ch), occupiedLocations);
+    }
+
+    public List<LocationNames> getLegalMoveNames(CharacterNames ch)
+    {
+        return BoardGraph.toLocationNames(getLegalMoveMask(ch));
     }
 
     public ArrayList<Location> getLegalMoves(CharacterNames ch)
     {
-        Location startingLoc = getCharacterLocation(ch);
-        ArrayList<String> possibleMoves = startingLoc.getPossibleDestinations();
         ArrayList<Location> locationList = new ArrayList<>();
-
-        //Change from a string list to a location list.
-        for (String loc : possibleMoves)
+        for (LocationNames locationNames : getLegalMoveNames(ch))
         {
-
-            Optional<Hallway> thisHall = this.getUniqueHallwayByName(loc);
-
-            if (thisHall.isPresent())
-            {
-                if (!thisHall.get().isFull())
-                {
-                    locationList.add(stringLocationHashMap.get(loc));
-                }
-            }
-            else
-            {
-                locationList.add(stringLocationHashMap.get(loc));
-            }
+            locationList.add(getLocation(locationNames));
         }
         return locationList;
     }
 
-    public Map<CharacterNames, LocationNames> getLocationMappingNames()
+    public boolean isOccupied(LocationNames locationNames)
     {
-        Map<CharacterNames, LocationNames> namesEnumMap = new EnumMap<>(CharacterNames.class);
-        characterLocationMap.keySet()
-                .forEach(characterNames -> namesEnumMap.put(
-                        characterNames,
-                        LocationNames.fromStringName(characterLocationMap.get(characterNames).getLocationName()))
-                );
-
-        return namesEnumMap;
+        return (occupiedLocations & BoardGraph.bit(locationNames)) != 0;
     }
 
-    public Optional<Hallway> getUniqueHallwayByName(String searchValue){
-
-        return hallwayList.stream()
-                .filter(Hallway -> Hallway.getLocationName().equals(searchValue))
-                .findFirst();
-
+    public Map<CharacterNames, LocationNames> getLocationMappingNames()
+    {
+        return new EnumMap<>(characterLocationNames);
     }
 
-    public void setHallwayFullByName(String searchValue){
-
-        hallwayList.stream()
-                .filter(Hallway -> Hallway.getLocationName().equals(searchValue))
-                .forEach(Hallway::setFull);
+    /**
+     * Returns the location of every character that has moved after the given board version.  Version 0 returns every
+     * character, which is the snapshot a client with no board state needs.
+     * **/
+    public Map<CharacterNames, LocationNames> getLocationChangesSince(long sinceVersion)
+    {
+        Map<CharacterNames, LocationNames> changes = new EnumMap<>(CharacterNames.class);
+        characterLocationNames.forEach((characterNames, locationNames) -> {
+            if(characterChangedVersion[characterNames.ordinal()] > sinceVersion)
+            {
+                changes.put(characterNames, locationNames);
+            }
+        });
+        return changes;
     }
 
-    public void setHallwayEmptyByName(String searchValue){
-
-        hallwayList.stream()
-                .filter(Hallway -> Hallway.getLocationName().equals(searchValue))
-                .forEach(Hallway::setEmpty);
+    /**
+     * The board version goes up by one on every character move.
+     * **/
+    public long getVersion()
+    {
+        return version;
     }
 
 
+
 }
 
 
@@ -19,6 +19,9 @@ public interface Location
 
 
 
+    /**
+     * Builds a fresh, unattached square.  Game code should use GameBoard.getLocation, which returns the board's own.
+     * **/
     static Location fromLocationName(LocationNames locationNames)
     {
         switch (locationNames)
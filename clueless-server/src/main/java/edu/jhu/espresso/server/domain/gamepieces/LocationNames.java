@@ -122,6 +122,11 @@ public enum LocationNames
         return result;
     }
 
+    public static LocationNames fromRoomNames(RoomNames roomNames)
+    {
+        return fromStringName(roomNames.name());
+    }
+
     public static String StringLocationTypeFromStringName(String thisName)
     {
         String result;
@@ -1,51 +1,75 @@
 package edu.jhu.espresso.server.domain.gamepieces;
 
 import edu.jhu.espresso.server.domain.gamepieces.Card;
-import edu.jhu.espresso.server.domain.gamepieces.CardDeck;
 
 import java.util.ArrayList;
 
 public class Notebook {
-    private ArrayList<Card> handCards;
-    private ArrayList<Card> knownCards;
-    private ArrayList<Card> unknownCards;
+    //Each list is a CardSet, so checking a suggestion against a hand is one AND.
+    private int handCards;
+    private int knownCards;
+    private int unknownCards;
 
-    public Notebook(CardDeck cd) {
-        this.unknownCards = (ArrayList<Card>) cd.getCardsList().clone();
-        //Generate blank arrayLists of cards for hand cards and known cards.
-        this.handCards = new ArrayList<Card>();
-        this.knownCards = new ArrayList<Card>();
+    //A new notebook has every card still unknown.
+    public Notebook() {
+        this.unknownCards = CardSet.ALL;
+        //Start with no hand cards and no known cards.
+        this.handCards = CardSet.EMPTY;
+        this.knownCards = CardSet.EMPTY;
     }
 
     public void makeKnownCard(Card c){
-        this.unknownCards.remove(c);
-        this.knownCards.add(c);
+        this.makeKnownCards(CardSet.of(c));
+        }
+
+    //Cards already in the hand stay hand cards, so a card is never both.
+    public void makeKnownCards(int cards){
+        int newlyKnown = cards & ~this.handCards;
+        this.unknownCards &= ~newlyKnown;
+        this.knownCards |= newlyKnown;
         }
 
     public void makeHandCard(Card c){
-        this.unknownCards.remove(c);
-        this.handCards.add(c);
+        this.makeHandCards(CardSet.of(c));
         }
 
-    //Returns all cards in a notebook which can disprove the current suggestion.  If none are present, it returns null.
-    public ArrayList<Card> canDisproveSuggestion (ArrayList<Card> suggestionCards){
+    public void makeHandCards(int cards){
+        this.unknownCards &= ~cards;
+        this.knownCards &= ~cards;
+        this.handCards |= cards;
+        }
 
-        //Use the following if we can pass in the exact same object - not sure how it will work with getting object references from Server.
-        ArrayList<Card> retList = (ArrayList<Card>) suggestionCards.clone();
-        retList.retainAll(this.handCards);
+    //Returns all cards in a notebook which can disprove the current suggestion.  If none are present, the list is empty.
+    public ArrayList<Card> canDisproveSuggestion (ArrayList<Card> suggestionCards){
+        return CardSet.toCards(this.canDisprove(CardSet.of(suggestionCards)));
+    }
 
-         return retList;
+    //Returns the hand cards which can disprove a suggestion given as a CardSet.
+    public int canDisprove(int suggestion){
+        return suggestion & this.handCards;
     }
 
     public ArrayList<Card> getHandCards() {
-        return handCards;
+        return CardSet.toCards(handCards);
     }
 
     public ArrayList<Card> getKnownCards() {
-        return knownCards;
+        return CardSet.toCards(knownCards);
     }
 
     public ArrayList<Card> getUnknownCards() {
+        return CardSet.toCards(unknownCards);
+    }
+
+    public int getHandCardSet() {
+        return handCards;
+    }
+
+    public int getKnownCardSet() {
+        return knownCards;
+    }
+
+    public int getUnknownCardSet() {
         return unknownCards;
     }
 }
@@ -1,19 +1,25 @@
 package edu.jhu.espresso.server.domain.gamepieces;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import edu.jhu.espresso.server.ClueLessClientHandler;
+import edu.jhu.espresso.server.transport.EncodedMessage;
 
-import java.io.BufferedReader;
-import java.io.PrintWriter;
+import java.security.SecureRandom;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
 public class Player {
+    private static final SecureRandom RECONNECT_TOKENS = new SecureRandom();
+
     private final Character character;
     private boolean activeStatus;
     public Notebook notebook;
     private final int playerID;
     private final int gameID;
-    private final ClueLessClientHandler clueLessClientHandler;
+    private volatile ClueLessClientHandler clueLessClientHandler;
+    private volatile boolean botControlled;
+    private volatile long reconnectToken = RECONNECT_TOKENS.nextLong();
+    private int seatIndex = -1;
     private Player nextPlayer;
 
     public Player(int gID, int pID, Character ch, ClueLessClientHandler clueLessClientHandler) {
@@ -22,11 +28,11 @@ public class Player {
         this.gameID = gID;
         this.clueLessClientHandler = Objects.requireNonNull(clueLessClientHandler);
         this.activeStatus = true;
-        notebook = new Notebook(new CardDeck());
+        notebook = new Notebook();
     }
 
-    public void makeNotebook(CardDeck c) {
-        this.notebook = new Notebook(c);
+    public void makeNotebook() {
+        this.notebook = new Notebook();
     }
 
     public Notebook getNotebook() {
@@ -49,6 +55,39 @@ public class Player {
         this.activeStatus = activeStatus;
     }
 
+    //A bot-controlled seat is played in-process by the server and is sent nothing until its human reclaims it.
+    public boolean isBotControlled() {
+        return botControlled;
+    }
+
+    public void setBotControlled(boolean botControlled) {
+        this.botControlled = botControlled;
+    }
+
+    //The reconnect token is sent to the player with their hand and must be shown to take the seat back from a bot.
+    //It is never serialized with the player, since lobby listings go to everyone in the foyer.
+    @JsonIgnore
+    public long getReconnectToken() {
+        return reconnectToken;
+    }
+
+    //reclaim hands the seat back to a human on a new connection and issues a fresh token, so the old one is spent.
+    public void reclaim(ClueLessClientHandler clueLessClientHandler) {
+        this.clueLessClientHandler = Objects.requireNonNull(clueLessClientHandler);
+        this.reconnectToken = RECONNECT_TOKENS.nextLong();
+        this.botControlled = false;
+    }
+
+    //The seat is the player's place in turn order, and their row of the game's DisproveTable, once cards are dealt.
+    @JsonIgnore
+    public int getSeatIndex() {
+        return seatIndex;
+    }
+
+    public void setSeatIndex(int seatIndex) {
+        this.seatIndex = seatIndex;
+    }
+
     public Player getNextPlayer() {
         return nextPlayer;
     }
@@ -72,18 +111,33 @@ public class Player {
         return clueLessClientHandler.asyncWriteInstanceAndExpectType(input, responseClass);
     }
 
+    public <O> CompletableFuture<O> asyncWriteEncodedAndExpectType(EncodedMessage message, Class<O> responseClass)
+    {
+        return clueLessClientHandler.asyncWriteEncodedAndExpectType(message, responseClass);
+    }
+
     public void write(Object message)
     {
         clueLessClientHandler.write(message);
     }
 
-    public PrintWriter getPrintWriter()
+    public void writeEncoded(EncodedMessage message)
+    {
+        clueLessClientHandler.writeEncoded(message);
+    }
+
+    public long getAcknowledgedSequence()
+    {
+        return clueLessClientHandler.getAcknowledgedSequence();
+    }
+
+    public long getAcknowledgedBoardVersion()
     {
-        return clueLessClientHandler.getPrintWriter();
+        return clueLessClientHandler.getAcknowledgedBoardVersion();
     }
 
-    public BufferedReader getBufferedReader()
+    public void recordAcknowledgement(long sequenceNumber, long boardVersion)
     {
-        return clueLessClientHandler.getBufferedReader();
+        clueLessClientHandler.recordAcknowledgement(sequenceNumber, boardVersion);
     }
 }
@@ -19,6 +19,11 @@ public class RoomCard implements Card {
         return name;
     }
 
+    @Override
+    public int getCardIndex() {
+        return CardSet.indexOf(roomNames);
+    }
+
     @Override
     public Optional<RoomNames> getRoomName()
     {
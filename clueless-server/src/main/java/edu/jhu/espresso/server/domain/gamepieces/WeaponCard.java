@@ -19,6 +19,11 @@ public class WeaponCard implements Card {
         return name;
     }
 
+    @Override
+    public int getCardIndex() {
+        return CardSet.indexOf(weapon);
+    }
+
     @Override
     public Optional<RoomNames> getRoomName()
     {
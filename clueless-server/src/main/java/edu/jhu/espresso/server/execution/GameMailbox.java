@@ -0,0 +1,135 @@
+package edu.jhu.espresso.server.execution;
+
+import edu.jhu.espresso.server.ClueLessServerApplication;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * GameMailbox runs one game's messages one at a time, in the order they were posted, on a small pool of workers
+ * shared by every game.  At most one worker drains a mailbox at any moment, so code that only touches a game from
+ * inside its mailbox needs no locks, and because a worker runs a batch of one game's messages before moving on, that
+ * game's state stays warm in its cache.  A message that throws is logged and the mailbox carries on.  Once the game
+ * is over the mailbox is closed, and anything still queued or posted afterwards is dropped unrun.
+ * **/
+public final class GameMailbox implements Executor
+{
+    private static final int MAX_BATCH = 64;
+
+    private static final ThreadLocal<GameMailbox> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final Executor workers;
+    private final Queue<Runnable> messages = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    GameMailbox(String name, Executor workers)
+    {
+        this.name = name;
+        this.workers = workers;
+    }
+
+    /**
+     * Posts a message.  It runs after every message posted before it, never at the same time as any of them.
+     * **/
+    @Override
+    public void execute(Runnable message)
+    {
+        if(closed)
+        {
+            return;
+        }
+        messages.add(message);
+        schedule();
+    }
+
+    /**
+     * Drops every message still queued and every message posted from now on.  The message that is running finishes.
+     * **/
+    public void close()
+    {
+        closed = true;
+        messages.clear();
+    }
+
+    public boolean isClosed()
+    {
+        return closed;
+    }
+
+    /**
+     * Posts a message and completes with what it returns, or with what it threw.
+     * **/
+    public <T> CompletableFuture<T> call(Supplier<T> message)
+    {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        execute(() -> {
+            try
+            {
+                result.complete(message.get());
+            }
+            catch (RuntimeException e)
+            {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * True on the worker that is draining this mailbox right now.
+     * **/
+    public boolean isCurrent()
+    {
+        return CURRENT.get() == this;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    private void schedule()
+    {
+        if(!messages.isEmpty() && scheduled.compareAndSet(false, true))
+        {
+            workers.execute(this::drain);
+        }
+    }
+
+    private void drain()
+    {
+        GameMailbox previous = CURRENT.get();
+        CURRENT.set(this);
+        try
+        {
+            for(int processed = 0; processed < MAX_BATCH; processed++)
+            {
+                Runnable message = messages.poll();
+                if(message == null || closed)
+                {
+                    break;
+                }
+                try
+                {
+                    message.run();
+                }
+                catch (RuntimeException e)
+                {
+                    ClueLessServerApplication.logMessage(name + " dropped a message that failed: " + e);
+                }
+            }
+        }
+        finally
+        {
+            CURRENT.set(previous);
+            scheduled.set(false);
+            schedule();
+        }
+    }
+}
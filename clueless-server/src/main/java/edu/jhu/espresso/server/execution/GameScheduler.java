@@ -0,0 +1,152 @@
+package edu.jhu.espresso.server.execution;
+
+import edu.jhu.espresso.server.ClueLessServerApplication;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * GameScheduler runs every started game as its own task on a bounded pool of game threads, so the foyer never waits
+ * on a game and a burst of new games cannot start an unbounded number of threads.  Games started while every slot is
+ * taken queue in order and start as running games finish.  Idle game threads are released after a minute.  A game
+ * submitted with submitAsync holds its slot until it finishes but a thread only while it starts.
+ * **/
+public final class GameScheduler
+{
+    private static final long IDLE_THREAD_SECONDS = 60;
+
+    private final int maxConcurrentGames;
+    private final ThreadPoolExecutor executor;
+    private final Queue<Runnable> waitingGames = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedGames = new AtomicInteger();
+    private final AtomicInteger runningGames = new AtomicInteger();
+    private final AtomicLong finishedGames = new AtomicLong();
+
+    GameScheduler(int maxConcurrentGames, ThreadFactory gameThreadFactory)
+    {
+        if(maxConcurrentGames < 1)
+        {
+            throw new IllegalArgumentException(maxConcurrentGames + " is not a valid number of concurrent games");
+        }
+        this.maxConcurrentGames = maxConcurrentGames;
+        //Games only reach the executor once they have a slot, so it never has more than maxConcurrentGames tasks and
+        //the hand-off queue never rejects.  Idle threads are reused before new ones are started.
+        this.executor = new ThreadPoolExecutor(
+                0,
+                maxConcurrentGames,
+                IDLE_THREAD_SECONDS,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                gameThreadFactory
+        );
+    }
+
+    /**
+     * Queues a game to be played on the next free game thread.  A game that throws is logged and counted as finished;
+     * it never takes the scheduler or any other game down with it.
+     * **/
+    public Future<?> submit(int gameNumber, Runnable game)
+    {
+        return submitAsync(gameNumber, () -> {
+            game.run();
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    /**
+     * Queues a game that plays itself through callbacks.  The game keeps its slot until the stage it returns
+     * completes, but only holds a game thread while it is being started, so a running game that is waiting on its
+     * players costs no thread at all.
+     * **/
+    public CompletableFuture<Void> submitAsync(int gameNumber, Supplier<? extends CompletionStage<?>> game)
+    {
+        CompletableFuture<Void> finished = new CompletableFuture<>();
+        queuedGames.incrementAndGet();
+        waitingGames.add(() -> {
+            queuedGames.decrementAndGet();
+            CompletionStage<?> playing;
+            try
+            {
+                playing = game.get();
+            }
+            catch (RuntimeException e)
+            {
+                playing = failed(e);
+            }
+            playing.whenComplete((ignored, e) -> {
+                if(e != null)
+                {
+                    ClueLessServerApplication.logMessage("Game " + gameNumber + " failed: " + e);
+                }
+                finishedGames.incrementAndGet();
+                releaseSlot();
+                finished.complete(null);
+            });
+        });
+        startWaitingGames();
+        return finished;
+    }
+
+    private synchronized void startWaitingGames()
+    {
+        while(runningGames.get() < maxConcurrentGames && !waitingGames.isEmpty())
+        {
+            runningGames.incrementAndGet();
+            executor.execute(waitingGames.poll());
+        }
+    }
+
+    private void releaseSlot()
+    {
+        runningGames.decrementAndGet();
+        startWaitingGames();
+    }
+
+    private static CompletionStage<?> failed(Throwable e)
+    {
+        CompletableFuture<?> failed = new CompletableFuture<>();
+        failed.completeExceptionally(e);
+        return failed;
+    }
+
+    public int getMaxConcurrentGames()
+    {
+        return maxConcurrentGames;
+    }
+
+    public int getRunningGames()
+    {
+        return runningGames.get();
+    }
+
+    /**
+     * Games that have been started but are waiting for a free game thread.
+     * **/
+    public int getQueuedGames()
+    {
+        return queuedGames.get();
+    }
+
+    public long getFinishedGames()
+    {
+        return finishedGames.get();
+    }
+
+    /**
+     * Stops taking new games.  Games already running or queued are played to the end.
+     * **/
+    public void shutdown()
+    {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,286 @@
+package edu.jhu.espresso.server.execution;
+
+import edu.jhu.espresso.server.ClueLessServerApplication;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HashedWheelTimer fires turn, response and broadcast deadlines for every game from a single thread.  Deadlines are
+ * hashed into a ring of buckets by the tick they expire on; each tick the worker expires one bucket and moves on, so
+ * adding and cancelling a deadline are O(1) however many are pending, and the cost per tick only depends on how many
+ * deadlines share that bucket.  Deadlines fire up to one tick late, which is plenty for deadlines measured in seconds.
+ * Tasks run on the timer thread and should only hand work off, typically by posting it to a game's mailbox.
+ * **/
+public final class HashedWheelTimer
+{
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingTimeouts = new AtomicInteger();
+    private final long startNanos = System.nanoTime();
+    private final Thread worker;
+
+    private volatile boolean stopped;
+    private long tick;
+
+    HashedWheelTimer(ThreadFactory threadFactory, long tickDuration, TimeUnit unit, int ticksPerWheel)
+    {
+        if(tickDuration <= 0 || Integer.bitCount(ticksPerWheel) != 1)
+        {
+            throw new IllegalArgumentException("The tick must be positive and the wheel a power of two");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[ticksPerWheel];
+        for(int i = 0; i < ticksPerWheel; i++)
+        {
+            wheel[i] = new Bucket();
+        }
+        this.mask = ticksPerWheel - 1;
+        this.worker = threadFactory.newThread(this::run);
+        this.worker.start();
+    }
+
+    /**
+     * Runs the task once the delay has passed, unless the returned Timeout is cancelled first.
+     * **/
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit)
+    {
+        Timeout timeout = new Timeout(this, task, System.nanoTime() - startNanos + unit.toNanos(Math.max(0, delay)));
+        pendingTimeouts.incrementAndGet();
+        added.add(timeout);
+        return timeout;
+    }
+
+    public int getPendingTimeouts()
+    {
+        return pendingTimeouts.get();
+    }
+
+    /**
+     * Stops the timer.  Deadlines that have not fired yet never will.
+     * **/
+    public void stop()
+    {
+        stopped = true;
+        worker.interrupt();
+    }
+
+    private void run()
+    {
+        while(!stopped)
+        {
+            long tickDeadline = (tick + 1) * tickNanos;
+            if(!sleepUntil(tickDeadline))
+            {
+                return;
+            }
+            removeCancelled();
+            transferAdded();
+            wheel[(int) (tick & mask)].expire(tickDeadline);
+            tick++;
+        }
+    }
+
+    private boolean sleepUntil(long tickDeadline)
+    {
+        long sleepNanos = tickDeadline - (System.nanoTime() - startNanos);
+        while(sleepNanos > 0)
+        {
+            try
+            {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            }
+            catch (InterruptedException e)
+            {
+                if(stopped)
+                {
+                    return false;
+                }
+            }
+            sleepNanos = tickDeadline - (System.nanoTime() - startNanos);
+        }
+        return true;
+    }
+
+    private void transferAdded()
+    {
+        for(int transferred = 0; transferred < MAX_TRANSFERS_PER_TICK; transferred++)
+        {
+            Timeout timeout = added.poll();
+            if(timeout == null)
+            {
+                return;
+            }
+            if(timeout.isCancelled())
+            {
+                continue;
+            }
+
+            long expiryTick = timeout.deadlineNanos / tickNanos;
+            timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+            wheel[(int) (Math.max(expiryTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled()
+    {
+        Timeout timeout;
+        while((timeout = cancelled.poll()) != null)
+        {
+            if(timeout.bucket != null)
+            {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * A pending deadline.  Cancelling it is O(1); the timer thread unlinks it from its bucket on the next tick.
+     * **/
+    public static final class Timeout
+    {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout previous;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadlineNanos)
+        {
+            this.timer = timer;
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Returns false if the deadline has already fired or been cancelled.
+         * **/
+        public boolean cancel()
+        {
+            if(!state.compareAndSet(PENDING, CANCELLED))
+            {
+                return false;
+            }
+            timer.pendingTimeouts.decrementAndGet();
+            timer.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled()
+        {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired()
+        {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire()
+        {
+            if(!state.compareAndSet(PENDING, EXPIRED))
+            {
+                return;
+            }
+            timer.pendingTimeouts.decrementAndGet();
+            try
+            {
+                task.run();
+            }
+            catch (RuntimeException e)
+            {
+                ClueLessServerApplication.logMessage("A timer task failed: " + e);
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of the deadlines hashed to one slot of the wheel, only ever touched by the timer thread.
+     * **/
+    private static final class Bucket
+    {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout)
+        {
+            timeout.bucket = this;
+            if(head == null)
+            {
+                head = tail = timeout;
+            }
+            else
+            {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expire(long tickDeadline)
+        {
+            Timeout timeout = head;
+            while(timeout != null)
+            {
+                Timeout next = timeout.next;
+                if(timeout.remainingRounds <= 0 && timeout.deadlineNanos <= tickDeadline)
+                {
+                    remove(timeout);
+                    timeout.expire();
+                }
+                else if(timeout.isCancelled())
+                {
+                    remove(timeout);
+                }
+                else
+                {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout)
+        {
+            if(timeout.bucket != this)
+            {
+                return;
+            }
+            if(timeout.previous != null)
+            {
+                timeout.previous.next = timeout.next;
+            }
+            else
+            {
+                head = timeout.next;
+            }
+            if(timeout.next != null)
+            {
+                timeout.next.previous = timeout.previous;
+            }
+            else
+            {
+                tail = timeout.previous;
+            }
+            timeout.next = null;
+            timeout.previous = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package edu.jhu.espresso.server.execution;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import edu.jhu.espresso.server.ClueLessServerApplication;
+import edu.jhu.espresso.server.domain.builder.ClueLessServerConfigurationBuilder;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ServerExecutors decides which kind of thread runs the blocking protocol code.  In PLATFORM mode connection work
+ * and game loops get ordinary named threads; in VIRTUAL mode every task gets its own virtual thread, so a player
+ * waiting on a human only parks a virtual thread.  The server is compiled for Java 8, so virtual threads are looked up
+ * reflectively and VIRTUAL falls back to PLATFORM on runtimes older than 21.  Either way games are played through
+ * the GameScheduler, which bounds how many run at once.  Game state itself only changes inside each game's
+ * GameMailbox, and every mailbox shares one fixed pool of platform workers, one per core.
+ * **/
+public final class ServerExecutors
+{
+    private static final long TIMER_TICK_MILLIS = 10;
+    private static final int TIMER_TICKS_PER_WHEEL = 1024;
+
+    private static volatile ServerExecutors current = new ServerExecutors(
+            ThreadMode.PLATFORM,
+            0,
+            ClueLessServerConfigurationBuilder.DEFAULT_MAX_CONCURRENT_GAMES
+    );
+
+    private final ThreadMode threadMode;
+    private final ThreadFactory connectionThreadFactory;
+    private final Executor protocolExecutor;
+    private final GameScheduler gameScheduler;
+    private final ExecutorService mailboxWorkers = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            new ThreadFactoryBuilder()
+                    .setNameFormat("clueless-mailbox-%d")
+                    .setDaemon(true)
+                    .build()
+    );
+
+    private final HashedWheelTimer timer = new HashedWheelTimer(
+            new ThreadFactoryBuilder()
+                    .setNameFormat("clueless-timer-%d")
+                    .setDaemon(true)
+                    .build(),
+            TIMER_TICK_MILLIS,
+            TimeUnit.MILLISECONDS,
+            TIMER_TICKS_PER_WHEEL
+    );
+
+    private ServerExecutors(ThreadMode requestedMode, int carrierParallelism, int maxConcurrentGames)
+    {
+        ThreadFactory virtualConnectionFactory = null;
+        ThreadFactory virtualGameFactory = null;
+
+        if(requestedMode == ThreadMode.VIRTUAL)
+        {
+            configureCarrierThreads(carrierParallelism);
+            virtualConnectionFactory = virtualThreadFactory("clueless-connection-");
+            virtualGameFactory = virtualThreadFactory("clueless-game-");
+        }
+
+        if(virtualConnectionFactory != null && virtualGameFactory != null)
+        {
+            this.threadMode = ThreadMode.VIRTUAL;
+            this.connectionThreadFactory = virtualConnectionFactory;
+            this.gameScheduler = new GameScheduler(maxConcurrentGames, virtualGameFactory);
+            ThreadFactory factory = virtualConnectionFactory;
+            this.protocolExecutor = command -> factory.newThread(command).start();
+        }
+        else
+        {
+            if(requestedMode == ThreadMode.VIRTUAL)
+            {
+                ClueLessServerApplication.logMessage("Virtual threads are not available on this JVM, using platform threads");
+            }
+            this.threadMode = ThreadMode.PLATFORM;
+            this.connectionThreadFactory = new ThreadFactoryBuilder()
+                    .setNameFormat("clueless-connection-%d")
+                    .setDaemon(true)
+                    .build();
+            this.gameScheduler = new GameScheduler(
+                    maxConcurrentGames,
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("clueless-game-%d")
+                            .build()
+            );
+            this.protocolExecutor = Executors.newCachedThreadPool(connectionThreadFactory);
+        }
+    }
+
+    /**
+     * Replaces the server-wide executors.  Called once by ClueLessServer before any connection is accepted.
+     * **/
+    public static synchronized void configure(ThreadMode threadMode, int carrierParallelism, int maxConcurrentGames)
+    {
+        current.gameScheduler.shutdown();
+        current.mailboxWorkers.shutdown();
+        current.timer.stop();
+        current = new ServerExecutors(threadMode, carrierParallelism, maxConcurrentGames);
+        ClueLessServerApplication.logMessage("Running protocols on " + current.threadMode + " threads");
+    }
+
+    public static ServerExecutors get()
+    {
+        return current;
+    }
+
+    public ThreadMode getThreadMode()
+    {
+        return threadMode;
+    }
+
+    /**
+     * Executor for per-connection request/response work such as asyncWriteInstanceAndExpectType.
+     * **/
+    public Executor getProtocolExecutor()
+    {
+        return protocolExecutor;
+    }
+
+    public ThreadFactory getConnectionThreadFactory()
+    {
+        return connectionThreadFactory;
+    }
+
+    public GameScheduler getGameScheduler()
+    {
+        return gameScheduler;
+    }
+
+    /**
+     * Fires broadcast, turn and response deadlines for every game.
+     * **/
+    public HashedWheelTimer getTimer()
+    {
+        return timer;
+    }
+
+    /**
+     * A new mailbox for one game, drained by the shared mailbox workers.
+     * **/
+    public GameMailbox newMailbox(String name)
+    {
+        return new GameMailbox(name, mailboxWorkers);
+    }
+
+    /**
+     * The JDK reads the carrier pool settings when the first virtual thread is created, so they are only applied if
+     * the operator has not already passed them on the command line.
+     * **/
+    private static void configureCarrierThreads(int carrierParallelism)
+    {
+        if(carrierParallelism > 0 && System.getProperty("jdk.virtualThreadScheduler.parallelism") == null)
+        {
+            System.setProperty("jdk.virtualThreadScheduler.parallelism", String.valueOf(carrierParallelism));
+            System.setProperty("jdk.virtualThreadScheduler.maxPoolSize", String.valueOf(carrierParallelism));
+        }
+    }
+
+    private static ThreadFactory virtualThreadFactory(String namePrefix)
+    {
+        try
+        {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method name = builderClass.getMethod("name", String.class, long.class);
+            builder = name.invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            return null;
+        }
+    }
+}
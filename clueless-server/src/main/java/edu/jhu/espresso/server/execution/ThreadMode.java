@@ -0,0 +1,7 @@
+package edu.jhu.espresso.server.execution;
+
+public enum ThreadMode
+{
+    PLATFORM,
+    VIRTUAL
+}
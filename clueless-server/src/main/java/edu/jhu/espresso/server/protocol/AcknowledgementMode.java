@@ -0,0 +1,12 @@
+package edu.jhu.espresso.server.protocol;
+
+/**
+ * How informational and state update TurnStarts are confirmed.  ECHO is the original protocol, where every TurnStart
+ * is written back before the game continues.  SEQUENCED sends them without waiting and relies on the client's
+ * periodic acknowledgement of the highest sequence number it has applied.
+ * **/
+public enum AcknowledgementMode
+{
+    ECHO,
+    SEQUENCED
+}
@@ -0,0 +1,177 @@
+package edu.jhu.espresso.server.protocol;
+
+import edu.jhu.espresso.server.ClueLessServerApplication;
+import edu.jhu.espresso.server.ClueLessServerConfiguration;
+import edu.jhu.espresso.server.domain.gamepieces.Player;
+import edu.jhu.espresso.server.execution.HashedWheelTimer;
+import edu.jhu.espresso.server.execution.ServerExecutors;
+import edu.jhu.espresso.server.transport.EncodedMessage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * BroadcastFanOut writes to every recipient before waiting on any of them, so a broadcast takes as long as the slowest
+ * client rather than the sum of every client's round trip.  Acknowledgements are gathered against a single deadline;
+ * recipients that miss it are reported as late and their exchange is left to finish in the background.  The async
+ * form waits on a timer rather than a thread, so a game waiting on a broadcast holds nothing but the callbacks.
+ * Recipients whose exchange fails are reported rather than failing the broadcast, and seats played by a SeatBot are
+ * skipped altogether.
+ * **/
+public final class BroadcastFanOut
+{
+    private BroadcastFanOut()
+    {
+    }
+
+    public static <O> BroadcastResult<O> sendToAll(
+            List<Player> recipients,
+            EncodedMessage message,
+            Class<O> responseClass
+    ) {
+        return sendToAll(recipients, player -> message, responseClass);
+    }
+
+    public static <O> BroadcastResult<O> sendToAll(
+            List<Player> recipients,
+            Function<Player, EncodedMessage> messageForPlayer,
+            Class<O> responseClass
+    ) {
+        return sendToAll(
+                recipients,
+                messageForPlayer,
+                responseClass,
+                ClueLessServerConfiguration.active().getBroadcastDeadlineMillis()
+        );
+    }
+
+    public static <O> BroadcastResult<O> sendToAll(
+            List<Player> recipients,
+            Function<Player, EncodedMessage> messageForPlayer,
+            Class<O> responseClass,
+            long deadlineMillis
+    ) {
+        try
+        {
+            return sendToAllAsync(recipients, messageForPlayer, responseClass, deadlineMillis).join();
+        }
+        catch (CompletionException e)
+        {
+            if(e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public static <O> CompletableFuture<BroadcastResult<O>> sendToAllAsync(
+            List<Player> recipients,
+            Function<Player, EncodedMessage> messageForPlayer,
+            Class<O> responseClass
+    ) {
+        return sendToAllAsync(
+                recipients,
+                messageForPlayer,
+                responseClass,
+                ClueLessServerConfiguration.active().getBroadcastDeadlineMillis()
+        );
+    }
+
+    /**
+     * Completes once every recipient has answered or the deadline has passed, whichever is first, without holding a
+     * thread in the meantime.
+     * **/
+    public static <O> CompletableFuture<BroadcastResult<O>> sendToAllAsync(
+            List<Player> recipients,
+            Function<Player, EncodedMessage> messageForPlayer,
+            Class<O> responseClass,
+            long deadlineMillis
+    ) {
+        Map<Player, CompletableFuture<O>> pending = new LinkedHashMap<>();
+        for(Player player : recipients)
+        {
+            if(!player.isBotControlled())
+            {
+                pending.put(player, player.asyncWriteEncodedAndExpectType(messageForPlayer.apply(player), responseClass));
+            }
+        }
+
+        CompletableFuture<BroadcastResult<O>> result = new CompletableFuture<>();
+        HashedWheelTimer.Timeout deadline = ServerExecutors.get().getTimer().newTimeout(
+                () -> collect(pending, deadlineMillis, result),
+                deadlineMillis,
+                TimeUnit.MILLISECONDS
+        );
+
+        CompletableFuture.allOf(pending.values().toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, e) -> {
+                    deadline.cancel();
+                    collect(pending, deadlineMillis, result);
+                });
+
+        return result;
+    }
+
+    /**
+     * Runs once when every answer is in and possibly again at the deadline; only the first call completes the result.
+     * **/
+    private static <O> void collect(
+            Map<Player, CompletableFuture<O>> pending,
+            long deadlineMillis,
+            CompletableFuture<BroadcastResult<O>> result
+    ) {
+        Map<Player, O> responses = new LinkedHashMap<>();
+        List<Player> lateRecipients = new ArrayList<>();
+        List<Player> failedRecipients = new ArrayList<>();
+        for(Map.Entry<Player, CompletableFuture<O>> entry : pending.entrySet())
+        {
+            CompletableFuture<O> future = entry.getValue();
+            if(!future.isDone())
+            {
+                lateRecipients.add(entry.getKey());
+            }
+            else if(future.isCompletedExceptionally())
+            {
+                failedRecipients.add(entry.getKey());
+            }
+            else
+            {
+                responses.put(entry.getKey(), future.join());
+            }
+        }
+
+        if(!result.complete(new BroadcastResult<>(responses, lateRecipients, failedRecipients)))
+        {
+            return;
+        }
+        if(!lateRecipients.isEmpty())
+        {
+            ClueLessServerApplication.logMessage(() -> "Broadcast deadline of " + deadlineMillis + "ms missed by " +
+                    lateRecipients.stream()
+                            .map(BroadcastFanOut::describe)
+                            .collect(Collectors.joining(", ")));
+        }
+        if(!failedRecipients.isEmpty())
+        {
+            ClueLessServerApplication.logMessage(() -> "Broadcast failed for " +
+                    failedRecipients.stream()
+                            .map(BroadcastFanOut::describe)
+                            .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private static String describe(Player player)
+    {
+        return player.getCharacter() == null
+                ? "player " + player.getPlayerID()
+                : player.getCharacter().getName().name();
+    }
+}
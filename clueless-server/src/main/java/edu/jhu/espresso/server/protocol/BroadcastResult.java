@@ -0,0 +1,52 @@
+package edu.jhu.espresso.server.protocol;
+
+import edu.jhu.espresso.server.domain.gamepieces.Player;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public final class BroadcastResult<O>
+{
+    private final Map<Player, O> responses;
+    private final List<Player> lateRecipients;
+    private final List<Player> failedRecipients;
+
+    public BroadcastResult(Map<Player, O> responses, List<Player> lateRecipients)
+    {
+        this(responses, lateRecipients, Collections.emptyList());
+    }
+
+    public BroadcastResult(Map<Player, O> responses, List<Player> lateRecipients, List<Player> failedRecipients)
+    {
+        this.responses = Collections.unmodifiableMap(responses);
+        this.lateRecipients = Collections.unmodifiableList(lateRecipients);
+        this.failedRecipients = Collections.unmodifiableList(failedRecipients);
+    }
+
+    /**
+     * Responses from every recipient that acknowledged before the deadline, in broadcast order.
+     * **/
+    public Map<Player, O> getResponses()
+    {
+        return responses;
+    }
+
+    public List<Player> getLateRecipients()
+    {
+        return lateRecipients;
+    }
+
+    /**
+     * Recipients whose exchange failed outright, usually because their connection is gone.
+     * **/
+    public List<Player> getFailedRecipients()
+    {
+        return failedRecipients;
+    }
+
+    public boolean isComplete()
+    {
+        return lateRecipients.isEmpty() && failedRecipients.isEmpty();
+    }
+}
@@ -1,89 +1,213 @@
 package edu.jhu.espresso.server.protocol;
 
+import edu.jhu.espresso.server.ClueLessClientHandler;
+import edu.jhu.espresso.server.ClueLessServerApplication;
+import edu.jhu.espresso.server.ClueLessServerConfiguration;
 import edu.jhu.espresso.server.domain.*;
 import edu.jhu.espresso.server.domain.builder.GameStartBuilder;
+import edu.jhu.espresso.server.domain.builder.TurnStartBuilder;
 import edu.jhu.espresso.server.domain.gameEvents.GameStart;
 import edu.jhu.espresso.server.domain.gamepieces.Weapon;
 import edu.jhu.espresso.server.domain.gamepieces.*;
+import edu.jhu.espresso.server.transport.EncodedMessage;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class ClueLessServerGameProtocol
 {
     private final List<Player> players;
     private final Game game;
+    private final Consumer<ClueLessClientHandler> releaseConnection;
 
     private int activePlayerIndex = 0;
 
     public ClueLessServerGameProtocol(List<Player> players, Game game)
+    {
+        this(players, game, ClueLessClientHandler::close);
+    }
+
+    /**
+     * releaseConnection is handed every player's handler once the game is over.  By default the connections are
+     * closed; the foyer passes its own so players who are still connected can join another game.
+     * **/
+    public ClueLessServerGameProtocol(List<Player> players, Game game, Consumer<ClueLessClientHandler> releaseConnection)
     {
         this.players = players;
         this.game = game;
+        this.releaseConnection = releaseConnection;
     }
 
-    public void playGame()
+    /**
+     * Plays the game to its end and tears it down, whatever the outcome, blocking the calling thread until it is over.
+     * **/
+    public GameResult playGame()
     {
-        notifyPlayersOfCharacters();
+        return play().join();
+    }
 
-        boolean playing = true;
-        while(playing)
-        {
-            Player activePlayer = players.get(activePlayerIndex);
-            List<Player> waitingPlayers = players.stream()
-                    .filter(handler -> !handler.equals(activePlayer))
-                    .collect(Collectors.toList());
+    /**
+     * Starts the game and returns straight away.  Every step runs as a message on the game's mailbox and every wait
+     * for a player is a callback, so between replies the game holds no thread.  A game whose players can no longer be
+     * reached completes as abandoned rather than exceptionally, and is torn down either way.
+     * **/
+    public CompletableFuture<GameResult> play()
+    {
+        Executor mailbox = game.getMailbox();
+
+        return CompletableFuture.supplyAsync(this::notifyPlayersOfCharacters, mailbox)
+                .thenCompose(Function.identity())
+                .thenComposeAsync(ignored -> playTurn(), mailbox)
+                .handleAsync((ignored, e) -> {
+                    if(e != null)
+                    {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        ClueLessServerApplication.logMessage("Game " + game.getGameID() + " abandoned: " + cause.getMessage());
+                        game.finish(GameResult.abandoned(game.getGameID()));
+                    }
+                    tearDown();
+
+                    GameResult result = game.getResult();
+                    ClueLessServerApplication.logMessage(result::toString);
+                    return result;
+                }, mailbox);
+    }
 
-            playing = new ClueLessTurnProtocol(waitingPlayers, activePlayer, game).executeTurn();
+    private CompletableFuture<Void> playTurn()
+    {
+        Player activePlayer = players.get(activePlayerIndex);
+        List<Player> waitingPlayers = players.stream()
+                .filter(handler -> !handler.equals(activePlayer))
+                .collect(Collectors.toList());
 
-            //Increment active player index using do/while to skip inactive players.
-            do {
-                activePlayerIndex = (activePlayerIndex + 1) % players.size();
-            }
-            while(!players.get(activePlayerIndex).getActiveStatus());
+        return new ClueLessTurnProtocol(waitingPlayers, activePlayer, game).executeTurn()
+                .thenComposeAsync(playing -> {
+                    if(!playing)
+                    {
+                        return CompletableFuture.completedFuture(null);
+                    }
+
+                    //Increment active player index using do/while to skip inactive players.
+                    do {
+                        activePlayerIndex = (activePlayerIndex + 1) % players.size();
+                    }
+                    while(!players.get(activePlayerIndex).getActiveStatus());
+
+                    return playTurn();
+                }, game.getMailbox());
+    }
 
-        }
+    private void tearDown()
+    {
+        game.finish(GameResult.abandoned(game.getGameID()));
+        players.forEach(player -> releaseConnection.accept(player.getClueLessClientHandler()));
+        game.release();
     }
 
-    private void notifyPlayersOfCharacters()
+    private CompletableFuture<Void> notifyPlayersOfCharacters()
     {
-        List<CompletableFuture<GameStart>> responses = new ArrayList<>();
-        CardPlayer cardPlayer = game.getCardPlayer();
-        cardPlayer.dealCards(players);
+        game.update(() -> game.getCardPlayer().dealCards(players));
+
+        return BroadcastFanOut.sendToAllAsync(
+                players,
+                player -> ClueLessClientHandler.encode(gameStartForPlayer(player)),
+                GameStart.class
+        ).thenAcceptAsync(result -> result.getFailedRecipients().forEach(
+                player -> TurnDeadlines.takeOver(game, player, "lost their connection")
+        ), game.getMailbox());
+    }
 
-        for(Player player : players)
+    public static CompletableFuture<Void> broadcastSuggestedPlayer(Game game, String announcement, List<Player> players, CharacterNames characterNames)
+    {
+        return publish(game, players, turnStarts(game, ClueLessProtocolType.INFORMATIONAL, announcement, characterNames));
+    }
+
+    public static CompletableFuture<Void> broadcast(Game game, String announcement, List<Player> players)
+    {
+        return broadcastSuggestedPlayer(game, announcement, players, null);
+    }
+
+    /**
+     * Builds the TurnStarts for one update, all stamped with the same update sequence number.  Each recipient gets only
+     * the characters that moved since the board version it has acknowledged, so a seat that lags or has stopped
+     * acknowledging never makes anyone else's update bigger.  Recipients at the same version share one encoded
+     * message.  An echo is only requested when the server runs in ECHO acknowledgement mode.  Call it, and apply the
+     * result, on the game's mailbox.
+     * **/
+    public static Function<Player, EncodedMessage> turnStarts(
+            Game game,
+            ClueLessProtocolType clueLessProtocolType,
+            String announcement,
+            CharacterNames characterMovedFromSuggestion
+    ) {
+        long sequenceNumber = game.nextUpdateSequence();
+        long boardVersion = game.getBoardVersion();
+        Map<Long, EncodedMessage> byAcknowledgedVersion = new HashMap<>();
+
+        return player -> byAcknowledgedVersion.computeIfAbsent(
+                player.getAcknowledgedBoardVersion(),
+                acknowledgedBoardVersion -> ClueLessClientHandler.encode(TurnStartBuilder.aTurnStart()
+                        .withClueLessProtocolType(clueLessProtocolType)
+                        .withLocationNamesMap(game.getLocationChangesSince(acknowledgedBoardVersion))
+                        .withBoardVersion(boardVersion)
+                        .withAnnouncement(announcement)
+                        .withCharacterMovedFromSuggestion(characterMovedFromSuggestion)
+                        .withSequenceNumber(sequenceNumber)
+                        .withEchoRequested(acknowledgementMode() == AcknowledgementMode.ECHO)
+                        .build())
+        );
+    }
+
+    /**
+     * Delivers TurnStarts built by turnStarts.  In ECHO mode the returned future completes once every recipient has
+     * written its TurnStart back; in SEQUENCED mode the messages are written and it is already complete, and the
+     * clients report what they have applied through acknowledgement frames.  Bot-controlled seats are sent nothing,
+     * and a seat that can no longer be reached is handed to a bot.
+     * **/
+    public static CompletableFuture<Void> publish(Game game, List<Player> players, Function<Player, EncodedMessage> messageForPlayer)
+    {
+        if(acknowledgementMode() == AcknowledgementMode.ECHO)
         {
-            GameStart gameStart = gameStartForPlayer(player);
-            responses.add(
-                    player.asyncWriteInstanceAndExpectType(
-                            gameStart,
-                            GameStart.class
-                    )
-            );
+            return BroadcastFanOut.sendToAllAsync(players, messageForPlayer, TurnStart.class)
+                    .thenAcceptAsync(result -> {
+                        result.getResponses().forEach(
+                                (player, echo) -> player.recordAcknowledgement(echo.getSequenceNumber(), echo.getBoardVersion())
+                        );
+                        result.getFailedRecipients().forEach(
+                                player -> TurnDeadlines.takeOver(game, player, "lost their connection")
+                        );
+                    }, game.getMailbox());
         }
 
-        responses.forEach(CompletableFuture::join);
+        players.stream()
+                .filter(player -> !player.isBotControlled())
+                .forEach(player -> TurnDeadlines.tell(game, player, messageForPlayer.apply(player)));
+        return CompletableFuture.completedFuture(null);
     }
 
-    public static void broadcastSuggestedPlayer(Game game, String announcement, List<Player> players, CharacterNames characterNames)
+    private static AcknowledgementMode acknowledgementMode()
     {
-        TurnStart turnStart = new TurnStart(ClueLessProtocolType.INFORMATIONAL, game.getLocations(), announcement, characterNames);
-        players.stream().map(player -> player.asyncWriteInstanceAndExpectType(
-                        turnStart,
-                        TurnStart.class)
-                )
-                .map(CompletableFuture::join)
-                .collect(Collectors.toList());
+        return ClueLessServerConfiguration.active().getAcknowledgementMode();
     }
 
-    public static void broadcast(Game game, String announcement, List<Player> players)
+    public GameStart gameStartForPlayer(Player player)
     {
-        broadcastSuggestedPlayer(game, announcement, players, null);
+        return gameStart(player, players.size());
     }
 
-    public GameStart gameStartForPlayer(Player player)
+    /**
+     * The player's hand, the cards every player was shown, and the ID and reconnect token that let them reclaim the
+     * seat if they drop.
+     * **/
+    static GameStart gameStart(Player player, int numberOfPlayers)
     {
         Notebook notebook = player.getNotebook();
         List<CharacterNames> characterNamesList = new ArrayList<>();
@@ -109,7 +233,9 @@ public class ClueLessServerGameProtocol
                 .withWeapons(weapons)
                 .withCharacterNames(player.getCharacter().getName())
                 .withExtraCardsNames(extraCardsNames)
-                .withNumberOfPlayers(players.size())
+                .withNumberOfPlayers(numberOfPlayers)
+                .withPlayerID(player.getPlayerID())
+                .withReconnectToken(player.getReconnectToken())
                 .build();
     }
 }
@@ -1,6 +1,8 @@
 package edu.jhu.espresso.server.protocol;
 
+import edu.jhu.espresso.server.ClueLessServerApplication;
 import edu.jhu.espresso.server.domain.*;
+import edu.jhu.espresso.server.domain.gameEvents.MoveChoice;
 import edu.jhu.espresso.server.domain.gameEvents.MoveOptions;
 import edu.jhu.espresso.server.domain.gameEvents.Suggestion;
 import edu.jhu.espresso.server.domain.gameEvents.Accusation;
@@ -12,9 +14,11 @@ import edu.jhu.espresso.server.domain.builder.AccusationBuilder;
 import edu.jhu.espresso.server.domain.builder.ServerActivePlayerProtocolOffererBuilder;
 import edu.jhu.espresso.server.domain.builder.SuggestionBuilder;
 import edu.jhu.espresso.server.domain.gamepieces.*;
+import edu.jhu.espresso.server.transport.EncodedMessage;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class ClueLessTurnProtocol
@@ -60,89 +64,128 @@ public class ClueLessTurnProtocol
                 .collect(Collectors.toList());
     }
 
-    public boolean executeTurn()
+    /**
+     * Starts the turn and completes with whether the game goes on once the active player ends it.  The turn is
+     * suspended, holding no thread, whenever it is waiting for the active player's next choice, and resumes on the
+     * game's mailbox when the choice arrives.
+     * **/
+    public CompletableFuture<Boolean> executeTurn()
     {
-
-
-        notifyPlayersOfStatus();
-
-        boolean endTurn = false;
-
         this.playerHasMoved = false;
         this.playerHasSuggested = false;
 
-        while(!endTurn) {
+        return notifyPlayersOfStatus()
+                .thenComposeAsync(ignored -> offerChoices(), game.getMailbox())
+                .thenApply(ignored -> {
+                    ClueLessServerApplication.logMessage("Moving to the next player");
+                    return !game.isOver();
+                });
+    }
 
-            //Update the location so that the suggestion builder works properly.
-            activePlayerLoc = this.game.getGameBoard().getCharacterLocation(this.activePlayer.getCharacter().getName());
+    /**
+     * Awaiting input from the active player, for at most the game's turn length, or from a SeatBot once the seat has
+     * been taken over.
+     * **/
+    private CompletableFuture<Void> offerChoices()
+    {
+        //Update the location so that the suggestion builder works properly.
+        activePlayerLoc = this.game.getGameBoard().getCharacterLocation(this.activePlayer.getCharacter().getName());
 
-            ServerActivePlayerProtocolOfferer gameOptions = this.createProtocolOfferer();
+        ServerActivePlayerProtocolOfferer gameOptions = this.createProtocolOfferer();
 
-            ActivePlayerProtocolSelector activePlayerChoice = activePlayer.writeInstanceAndExpectType(gameOptions, ActivePlayerProtocolSelector.class);
+        return TurnDeadlines.awaitSeat(
+                game,
+                activePlayer,
+                () -> activePlayer.asyncWriteInstanceAndExpectType(gameOptions, ActivePlayerProtocolSelector.class),
+                () -> SeatBot.chooseAction(activePlayer, gameOptions),
+                this::turnTimedOut
+        ).thenComposeAsync(this::applyChoice, game.getMailbox());
+    }
 
-            //Run through and get the move choice, and execute the command in the server.
-            activePlayerChoice.getMoveChoice().ifPresent(moveChoice -> {
-                CharacterNames characterName = activePlayer.getCharacter().getName();
-                game.applyMoveChoice(moveChoice, characterName);
-                game.getGameBoard().setHallwayEmptyByName(activePlayerStartingLoc.getLocationName());
+    /**
+     * Stands in for a silent active player with a choice of nothing, which ends the turn.
+     * **/
+    private CompletableFuture<ActivePlayerProtocolSelector> turnTimedOut()
+    {
+        List<Player> allPlayers = new ArrayList<>(waitingPlayers);
+        allPlayers.add(0, activePlayer);
 
-                ClueLessServerGameProtocol.broadcast(game, characterName.name()  + " moved to " + moveChoice.getMove(), waitingPlayers);
-            });
+        CompletableFuture<Void> timedOut = TurnDeadlines.timeoutPolicy() == TimeoutPolicy.ELIMINATE
+                ? TurnDeadlines.eliminate(game, activePlayer, allPlayers)
+                : ClueLessServerGameProtocol.broadcast(game, activePlayer.getCharacter().getName() + " ran out of time", allPlayers);
 
-            activePlayerChoice.getAccusation().ifPresent(accusation -> new ServerAccusationProtocol(activePlayer, waitingPlayers, accusation, game).execute());
-            activePlayerChoice.getSuggestion().ifPresent(this::launchSuggestionTestimony);
+        return timedOut.thenApply(ignored -> new ActivePlayerProtocolSelector());
+    }
 
-            //Set playerHasMoved or playerHasSuggested
-            if(activePlayerChoice.getMoveChoice().isPresent()){setPlayerHasMoved(true);}
-            if(activePlayerChoice.getSuggestion().isPresent()){setPlayerHasSuggested(true);}
+    private CompletableFuture<Void> applyChoice(ActivePlayerProtocolSelector activePlayerChoice)
+    {
+        CompletableFuture<Void> choiceApplied = CompletableFuture.completedFuture(null);
 
-            //If player has made an accusation, end the current turn.
-            if (activePlayerChoice.getAccusation().isPresent()) {
-                endTurn = true;
-            }
+        //Run through and get the move choice, and execute the command in the server.
+        if(activePlayerChoice.getMoveChoice().isPresent())
+        {
+            MoveChoice moveChoice = activePlayerChoice.getMoveChoice().get();
+            CharacterNames characterName = activePlayer.getCharacter().getName();
+            game.update(() -> game.applyMoveChoice(moveChoice, characterName));
 
-            if (!activePlayerChoice.getMoveChoice().isPresent() && !activePlayerChoice.getSuggestion().isPresent() && !activePlayerChoice.getAccusation().isPresent()){
-                endTurn = true;
-            }
+            choiceApplied = ClueLessServerGameProtocol.broadcast(game, characterName.name()  + " moved to " + moveChoice.getMove(), waitingPlayers);
         }
 
-        System.out.println("Moving to the next player");
-        System.out.println();
+        if(activePlayerChoice.getAccusation().isPresent())
+        {
+            Accusation accusation = activePlayerChoice.getAccusation().get();
+            choiceApplied = choiceApplied.thenComposeAsync(
+                    ignored -> new ServerAccusationProtocol(activePlayer, waitingPlayers, accusation, game).execute(),
+                    game.getMailbox()
+            );
+        }
 
-        return !game.isOver();
-    }
+        if(activePlayerChoice.getSuggestion().isPresent())
+        {
+            Suggestion suggestion = activePlayerChoice.getSuggestion().get();
+            choiceApplied = choiceApplied.thenComposeAsync(
+                    ignored -> launchSuggestionTestimony(suggestion),
+                    game.getMailbox()
+            );
+        }
 
-    private void notifyPlayersOfStatus()
-    {
-        Map<CharacterNames, LocationNames> locationNamesMap = game.getLocations();
-        TurnStart activePlayerTurnStart = new TurnStart(ClueLessProtocolType.ACTIVE_PLAYER, locationNamesMap, "", null);
-        TurnStart waitingPlayerTurnStart = new TurnStart(ClueLessProtocolType.WAITING_PLAYER, locationNamesMap, "", null);
+        //Set playerHasMoved or playerHasSuggested
+        if(activePlayerChoice.getMoveChoice().isPresent()){setPlayerHasMoved(true);}
+        if(activePlayerChoice.getSuggestion().isPresent()){setPlayerHasSuggested(true);}
+
+        //If player has made an accusation, or made no choice at all, end the current turn.
+        boolean endTurn = activePlayerChoice.getAccusation().isPresent() ||
+                (!activePlayerChoice.getMoveChoice().isPresent() && !activePlayerChoice.getSuggestion().isPresent());
 
-        CompletableFuture<TurnStart> activeResponseFuture = activePlayer.asyncWriteInstanceAndExpectType(
-                activePlayerTurnStart,
-                TurnStart.class
+        //A player eliminated along the way may also have ended the game.
+        return choiceApplied.thenComposeAsync(
+                ignored -> endTurn || game.isOver() ? CompletableFuture.<Void>completedFuture(null) : offerChoices(),
+                game.getMailbox()
         );
+    }
 
-        List<CompletableFuture<TurnStart>> waitingResponseFutures = waitingPlayers.stream()
-                .map(handler -> handler.asyncWriteInstanceAndExpectType(waitingPlayerTurnStart, TurnStart.class))
-                .collect(Collectors.toList());
+    private CompletableFuture<Void> notifyPlayersOfStatus()
+    {
+        List<Player> allPlayers = new ArrayList<>(waitingPlayers);
+        allPlayers.add(0, activePlayer);
+
+        Function<Player, EncodedMessage> activePlayerTurnStart =
+                ClueLessServerGameProtocol.turnStarts(game, ClueLessProtocolType.ACTIVE_PLAYER, "", null);
+        Function<Player, EncodedMessage> waitingPlayerTurnStart =
+                ClueLessServerGameProtocol.turnStarts(game, ClueLessProtocolType.WAITING_PLAYER, "", null);
 
-        activeResponseFuture.join();
-        waitingResponseFutures.forEach(CompletableFuture::join);
+        return ClueLessServerGameProtocol.publish(
+                game,
+                allPlayers,
+                player -> (player == activePlayer ? activePlayerTurnStart : waitingPlayerTurnStart).apply(player)
+        );
     }
 
     private MoveOptions determineValidMoveOptions(GameBoard gameBoard)
     {
         MoveOptions moveOptions = new MoveOptions();
 
-        ArrayList<Location> legalMoveLocations = gameBoard.getLegalMoves(activePlayer.getCharacter().getName());
-
-        List<LocationNames> locationNames = legalMoveLocations.stream()
-                .map(Location::getLocationName)
-                .map(LocationNames::fromStringName)
-                .collect(Collectors.toList());
-
-        moveOptions.setValidMoves(locationNames);
+        moveOptions.setValidMoves(gameBoard.getLegalMoveNames(activePlayer.getCharacter().getName()));
 
         moveOptions.setTurnIndicator(ClueLessProtocolType.ACTIVE_PLAYER);
 
@@ -176,16 +219,20 @@ public class ClueLessTurnProtocol
                 .build();
     }
 
-    private void launchSuggestionTestimony(Suggestion suggestion)
+    private CompletableFuture<Void> launchSuggestionTestimony(Suggestion suggestion)
     {
         String character = Optional.ofNullable(suggestion.getCharacter()).map(Enum::name).orElse("");
         String room = Optional.ofNullable(suggestion.getRoomNames()).map(Enum::name).orElse("");
         String weapon = Optional.ofNullable(suggestion.getWeapon()).map(Enum::name).orElse("");
 
+        CompletableFuture<Void> suggestedPlayerMoved = CompletableFuture.completedFuture(null);
         if(suggestion.getCharacter() != null && suggestion.getRoomNames() != null)
         {
-            game.getGameBoard().moveCharacter(suggestion.getCharacter(), Location.fromRoomNames(suggestion.getRoomNames()));
-            ClueLessServerGameProtocol.broadcastSuggestedPlayer(
+            game.update(() -> game.getGameBoard().moveCharacter(
+                    suggestion.getCharacter(),
+                    LocationNames.fromRoomNames(suggestion.getRoomNames())
+            ));
+            suggestedPlayerMoved = ClueLessServerGameProtocol.broadcastSuggestedPlayer(
                     game,
                     suggestion.getCharacter().name() + " was suggested in the " + suggestion.getRoomNames().name(),
                     waitingPlayers,
@@ -196,14 +243,17 @@ public class ClueLessTurnProtocol
         List<Player> allPlayers = new ArrayList<>(waitingPlayers);
         allPlayers.add(activePlayer);
 
-        ClueLessServerGameProtocol.broadcast(
-                game,
-                activePlayer.getCharacter().getName() + " suggested " + character + " in the " + room +
-                        " with the " + weapon,
-                allPlayers
-        );
-
-        new SuggestionTestimonyProtocol(waitingPlayers, activePlayer, suggestion, game).execute();
+        return suggestedPlayerMoved
+                .thenComposeAsync(ignored -> ClueLessServerGameProtocol.broadcast(
+                        game,
+                        activePlayer.getCharacter().getName() + " suggested " + character + " in the " + room +
+                                " with the " + weapon,
+                        allPlayers
+                ), game.getMailbox())
+                .thenComposeAsync(
+                        ignored -> new SuggestionTestimonyProtocol(waitingPlayers, activePlayer, suggestion, game).execute(),
+                        game.getMailbox()
+                );
     }
 
     public boolean isPlayerHasMoved() {
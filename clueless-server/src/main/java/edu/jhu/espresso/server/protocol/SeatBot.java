@@ -0,0 +1,202 @@
+package edu.jhu.espresso.server.protocol;
+
+import edu.jhu.espresso.server.domain.builder.AccusationBuilder;
+import edu.jhu.espresso.server.domain.builder.CaseDetailsBuilder;
+import edu.jhu.espresso.server.domain.builder.SuggestionBuilder;
+import edu.jhu.espresso.server.domain.gameEvents.AccusationStatus;
+import edu.jhu.espresso.server.domain.gameEvents.MoveChoice;
+import edu.jhu.espresso.server.domain.gameEvents.Suggestion;
+import edu.jhu.espresso.server.domain.gameEvents.SuggestionStatus;
+import edu.jhu.espresso.server.domain.gamepieces.Card;
+import edu.jhu.espresso.server.domain.gamepieces.CardSet;
+import edu.jhu.espresso.server.domain.gamepieces.CaseDetails;
+import edu.jhu.espresso.server.domain.gamepieces.CharacterNames;
+import edu.jhu.espresso.server.domain.gamepieces.LocationNames;
+import edu.jhu.espresso.server.domain.gamepieces.Notebook;
+import edu.jhu.espresso.server.domain.gamepieces.Player;
+import edu.jhu.espresso.server.domain.gamepieces.RoomNames;
+import edu.jhu.espresso.server.domain.gamepieces.Weapon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * SeatBot plays a seat whose human has gone, answering the same prompts a client would but straight from the
+ * player's notebook, with no connection in between.  It accuses as soon as its notebook leaves one candidate in each
+ * category, walks into rooms it has not ruled out and suggests unseen cards there, and otherwise wanders to a random
+ * legal square until it finds one, so a game with a bot seat still moves at human speed or faster.  Cards it is shown,
+ * and those a suggestion nobody could disprove rules out, are written into its notebook.
+ * **/
+public final class SeatBot
+{
+    private SeatBot()
+    {
+    }
+
+    public static ActivePlayerProtocolSelector chooseAction(Player seat, ServerActivePlayerProtocolOfferer offer)
+    {
+        ActivePlayerProtocolSelector choice = new ActivePlayerProtocolSelector();
+
+        int unknown = seat.getNotebook().getUnknownCardSet();
+        List<RoomNames> rooms = unseen(unknown, RoomNames.values(), CardSet::of);
+        List<CharacterNames> characters = unseen(unknown, CharacterNames.values(), CardSet::of);
+        List<Weapon> weapons = unseen(unknown, Weapon.values(), CardSet::of);
+
+        if(rooms.size() == 1 && characters.size() == 1 && weapons.size() == 1)
+        {
+            choice.setAccusation(AccusationBuilder.anAccusation()
+                    .withAccusationStatus(AccusationStatus.MAKING_ACCUSATION)
+                    .withRoomNames(rooms.get(0))
+                    .withCharacter(characters.get(0))
+                    .withWeapon(weapons.get(0))
+                    .build());
+            return choice;
+        }
+
+        List<LocationNames> validMoves = offer.getOfferMoveOptions() == null
+                ? new ArrayList<>()
+                : offer.getOfferMoveOptions().getValidMoves();
+        List<LocationNames> unseenRooms = validMoves.stream()
+                .filter(location -> rooms.stream().anyMatch(room -> room.name().equals(location.name())))
+                .collect(Collectors.toList());
+
+        //Walking into a room it has not ruled out beats suggesting in one it has.
+        if(!unseenRooms.isEmpty())
+        {
+            choice.setMoveChoice(moveTo(pick(unseenRooms)));
+            return choice;
+        }
+
+        //Suggesting in a room it has ruled out teaches it little, so it only does that when it cannot walk on.
+        Suggestion offerSuggestion = offer.getOfferSuggestion();
+        if(offerSuggestion != null && (rooms.contains(offerSuggestion.getRoomNames()) || validMoves.isEmpty()))
+        {
+            RoomNames room = offerSuggestion.getRoomNames();
+            CharacterNames character = pick(characters, CharacterNames.values());
+            Weapon weapon = pick(weapons, Weapon.values());
+            CaseDetails caseDetails = CaseDetailsBuilder.aCaseDetails()
+                    .withRoom(room)
+                    .withCharacterNames(character)
+                    .withWeapon(weapon)
+                    .build();
+
+            choice.setSuggestion(SuggestionBuilder.aSuggestion()
+                    .withSuggestionStatus(SuggestionStatus.MAKING_SUGGESTION)
+                    .withRoomNames(room)
+                    .withCharacter(character)
+                    .withWeapon(weapon)
+                    .withCaseDetails(caseDetails)
+                    .build());
+            return choice;
+        }
+
+        if(!validMoves.isEmpty())
+        {
+            choice.setMoveChoice(moveTo(pick(validMoves)));
+        }
+
+        //A choice with nothing in it ends the turn.
+        return choice;
+    }
+
+    /**
+     * Disproves the suggestion with a random matching card from the seat's hand, or reports that it cannot.
+     * **/
+    public static Suggestion disprove(Player seat, Suggestion suggestion)
+    {
+        CaseDetails caseDetails = suggestion.getCaseDetails();
+        return disproveWith(seat.getNotebook().canDisprove(
+                CardSet.of(caseDetails.getRoom(), caseDetails.getCharacterNames(), caseDetails.getWeapon())
+        ));
+    }
+
+    /**
+     * Disproves with a random card of possibleDisproveCards, the CardSet a DisproveTable holds for the seat and the
+     * suggestion, or reports that it cannot when the set is empty.
+     * **/
+    public static Suggestion disproveWith(int possibleDisproveCards)
+    {
+        if(possibleDisproveCards == CardSet.EMPTY)
+        {
+            return SuggestionBuilder.aSuggestion()
+                    .withSuggestionStatus(SuggestionStatus.CANNOT_DISPROVE)
+                    .build();
+        }
+
+        int shownIndex = CardSet.nth(
+                possibleDisproveCards,
+                ThreadLocalRandom.current().nextInt(CardSet.size(possibleDisproveCards))
+        );
+        Card shown = CardSet.card(shownIndex);
+        return SuggestionBuilder.aSuggestion()
+                .withSuggestionStatus(SuggestionStatus.PROVING_SUGGESTION_FALSE)
+                .withResponseValue(shown.getName())
+                .build();
+    }
+
+    /**
+     * Notes a card the seat was shown, so it is never suggested or accused again.
+     * **/
+    public static void recordShownCard(Player seat, String cardName)
+    {
+        int index = CardSet.indexOf(cardName);
+        if(index >= 0)
+        {
+            seat.getNotebook().makeKnownCard(CardSet.card(index));
+        }
+    }
+
+    /**
+     * Notes that nobody could disprove the seat's own suggestion.  A suggested card the seat does not hold must then be
+     * in the case file, so every other card of its kind is ruled out.
+     * **/
+    public static void recordUndisproved(Player seat, Suggestion suggestion)
+    {
+        CaseDetails caseDetails = suggestion.getCaseDetails();
+        ruleOutAllBut(seat.getNotebook(), CardSet.of(caseDetails.getRoom()), CardSet.ROOMS);
+        ruleOutAllBut(seat.getNotebook(), CardSet.of(caseDetails.getCharacterNames()), CardSet.CHARACTERS);
+        ruleOutAllBut(seat.getNotebook(), CardSet.of(caseDetails.getWeapon()), CardSet.WEAPONS);
+    }
+
+    private static void ruleOutAllBut(Notebook notebook, int suggested, int category)
+    {
+        if(notebook.canDisprove(suggested) == CardSet.EMPTY)
+        {
+            notebook.makeKnownCards(category & ~suggested);
+        }
+    }
+
+    private static <E extends Enum<E>> List<E> unseen(int unknown, E[] candidates, ToIntFunction<E> cardOf)
+    {
+        List<E> unseen = new ArrayList<>();
+        for(E candidate : candidates)
+        {
+            if(CardSet.contains(unknown, cardOf.applyAsInt(candidate)))
+            {
+                unseen.add(candidate);
+            }
+        }
+        return unseen;
+    }
+
+    private static MoveChoice moveTo(LocationNames location)
+    {
+        MoveChoice moveChoice = new MoveChoice();
+        moveChoice.setMove(location);
+        return moveChoice;
+    }
+
+    private static <E> E pick(List<E> candidates)
+    {
+        return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+    }
+
+    private static <E> E pick(List<E> preferred, E[] fallback)
+    {
+        return preferred.isEmpty() ? pick(Arrays.asList(fallback)) : pick(preferred);
+    }
+}
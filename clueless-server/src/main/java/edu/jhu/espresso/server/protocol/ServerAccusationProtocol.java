@@ -2,10 +2,14 @@ package edu.jhu.espresso.server.protocol;
 
 import edu.jhu.espresso.server.domain.gameEvents.Accusation;
 import edu.jhu.espresso.server.domain.gamepieces.Card;
+import edu.jhu.espresso.server.domain.gamepieces.CardSet;
 import edu.jhu.espresso.server.domain.Game;
+import edu.jhu.espresso.server.domain.GameResult;
 import edu.jhu.espresso.server.domain.gamepieces.Player;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 public class ServerAccusationProtocol
@@ -27,13 +31,70 @@ public class ServerAccusationProtocol
         this.game = game;
     }
 
-    public void execute()
+    /**
+     * Settles the accusation straight away and completes once everyone has been told the outcome.
+     * **/
+    public CompletableFuture<Void> execute()
     {
-        ArrayList<Card> caseCards = game.getCardPlayer().getCaseFile();
-        List<String> names = caseCards.stream()
-                .map(Card::getName)
+        String caseDetails = describeCaseFile(game.getCardPlayer().getCaseFile());
+
+        List<Player> allPlayers = new ArrayList<>(waitingPlayerHandlers);
+        allPlayers.add(activePlayerHandler);
+
+        int accused = CardSet.of(accusation.getRoomNames(), accusation.getCharacter(), accusation.getWeapon());
+        if(game.getCardPlayer().isCaseFile(accused))
+        {
+            game.finish(GameResult.solved(game.getGameID(), activePlayerHandler.getCharacter().getName(), caseDetails));
+            return ClueLessServerGameProtocol.broadcast(
+                                game,
+                    activePlayerHandler.getCharacter().getName() + " wins! The case details were " + caseDetails,
+                    allPlayers
+            );
+        }
+
+        //Change active status to false.
+        game.update(() -> activePlayerHandler.setActiveStatus(false));
+
+        List<Player> remainingActivePlayers = allPlayers.stream()
+                .filter(Player::getActiveStatus)
                 .collect(Collectors.toList());
 
+        if(remainingActivePlayers.size() == 1)
+        {
+            game.finish(GameResult.lastPlayerStanding(
+                    game.getGameID(),
+                    remainingActivePlayers.get(0).getCharacter().getName(),
+                    caseDetails
+            ));
+        }
+
+        Executor mailbox = game.getMailbox();
+        CompletableFuture<Void> accusationAnnounced = ClueLessServerGameProtocol.broadcast(
+                game,
+                activePlayerHandler.getCharacter().getName() + " has made an incorrect accusation and is no longer active",
+                waitingPlayerHandlers
+        ).thenComposeAsync(ignored -> ClueLessServerGameProtocol.broadcast(
+                game,
+                "That accusation is incorrect. The case details are " + caseDetails,
+                Collections.singletonList(activePlayerHandler)
+        ), mailbox);
+
+        if(remainingActivePlayers.size() == 1)
+        {
+            return accusationAnnounced.thenComposeAsync(ignored -> ClueLessServerGameProtocol.broadcast(
+                    game,
+                    remainingActivePlayers.get(0).getCharacter().getName() + " wins! The case details were " + caseDetails,
+                    allPlayers
+            ), mailbox);
+        }
+        return accusationAnnounced;
+    }
+
+    /**
+     * Spells out the case file as the winning announcement does, e.g. "MRS_PEACOCK in the LIBRARY with the ROPE".
+     * **/
+    static String describeCaseFile(List<Card> caseCards)
+    {
         String roomName = caseCards.stream()
                 .map(Card::getRoomName)
                 .filter(Optional::isPresent)
@@ -55,52 +116,6 @@ public class ServerAccusationProtocol
                 .map(optional -> optional.orElseThrow(() -> new IllegalStateException("No room name found in case file")))
                 .orElseThrow(NoSuchElementException::new).name();
 
-        String caseDetails = characterName + " in the " + roomName + " with the " + weaponName;
-
-        List<Player> allPlayers = new ArrayList<>(waitingPlayerHandlers);
-        allPlayers.add(activePlayerHandler);
-
-        if(names.contains(accusation.getRoomNames().name()) &&
-                names.contains(accusation.getCharacter().name()) &&
-                names.contains(accusation.getWeapon().name()))
-        {
-            ClueLessServerGameProtocol.broadcast(
-                                game,
-                    activePlayerHandler.getCharacter().getName() + " wins! The case details were " + caseDetails,
-                    allPlayers
-            );
-            System.exit(0);
-        }
-        else
-        {
-            ClueLessServerGameProtocol.broadcast(
-                    game,
-                    activePlayerHandler.getCharacter().getName() + " has made an incorrect accusation and is no longer active",
-                    waitingPlayerHandlers
-            );
-
-            ClueLessServerGameProtocol.broadcast(
-                    game,
-                    "That accusation is incorrect. The case details are " + caseDetails,
-                    Collections.singletonList(activePlayerHandler)
-            );
-
-            //Change active status to false.
-            activePlayerHandler.setActiveStatus(false);
-        }
-
-        List<Player> remainingActivePlayers = allPlayers.stream()
-                .filter(Player::getActiveStatus)
-                .collect(Collectors.toList());
-
-        if(remainingActivePlayers.size() == 1)
-        {
-            ClueLessServerGameProtocol.broadcast(
-                    game,
-                    remainingActivePlayers.get(0).getCharacter().getName() + " wins! The case details were " + caseDetails,
-                    allPlayers
-            );
-            System.exit(0);
-        }
+        return characterName + " in the " + roomName + " with the " + weaponName;
     }
 }
@@ -1,22 +1,24 @@
 package edu.jhu.espresso.server.protocol;
 
+import edu.jhu.espresso.server.ClueLessClientHandler;
+import edu.jhu.espresso.server.ClueLessServerApplication;
 import edu.jhu.espresso.server.domain.*;
 import edu.jhu.espresso.server.domain.builder.SuggestionTestimonyResponseBuilder;
 import edu.jhu.espresso.server.domain.gameEvents.Suggestion;
 import edu.jhu.espresso.server.domain.gameEvents.SuggestionStatus;
 import edu.jhu.espresso.server.domain.gamepieces.*;
 
-import edu.jhu.espresso.server.domain.gamepieces.CharacterCard;
-
 import edu.jhu.espresso.server.domain.builder.SuggestionBuilder;
+import edu.jhu.espresso.server.transport.EncodedMessage;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static edu.jhu.espresso.server.domain.gameEvents.SuggestionStatus.CANNOT_DISPROVE;
-import static edu.jhu.espresso.server.domain.gameEvents.SuggestionStatus.PROVING_SUGGESTION_FALSE;
 
 public class SuggestionTestimonyProtocol
 {
@@ -24,7 +26,11 @@ public class SuggestionTestimonyProtocol
     private final Player activePlayer;
     private final Suggestion suggestion;
     private final Game game;
+    private final DisproveTable disproveTable;
+    private final int suggestionIndex;
+    private final int firstDisprover;
     private Player currentWaitingPlayer;
+    private boolean reachedFirstDisprover;
 
     public SuggestionTestimonyProtocol(List<Player> waitingPlayers, Player activePlayer, Suggestion suggestion, Game game)
     {
@@ -33,147 +39,198 @@ public class SuggestionTestimonyProtocol
         this.suggestion = suggestion;
         this.game = game;
         this.currentWaitingPlayer = activePlayer.getNextPlayer();
+
+        CaseDetails caseDetails = suggestion.getCaseDetails();
+        this.disproveTable = game.getCardPlayer().getDisproveTable();
+        this.suggestionIndex = DisproveTable.suggestionIndex(
+                caseDetails.getRoom(),
+                caseDetails.getCharacterNames(),
+                caseDetails.getWeapon()
+        );
+        this.firstDisprover = disproveTable.firstDisprover(activePlayer.getSeatIndex(), suggestionIndex);
     }
 
-    public void execute()
+    /**
+     * Asks each waiting player in turn until one disproves the suggestion, and completes once the active player has
+     * been told the answer.  While a human is deciding, the protocol is only a callback on that player's reply.
+     * Players the DisproveTable shows holding none of the suggested cards are announced as unable to disprove without
+     * being asked, so the walk goes straight to the first seat that can disprove.
+     * **/
+    public CompletableFuture<Void> execute()
     {
-        System.out.println("Server suggestion logic executes");
-        boolean suggestionDisproven = false;
-        int playersAsked = 0;
-
+        ClueLessServerApplication.logMessage("Server suggestion logic executes");
 
-        SuggestionTestimonyResponseBuilder suggestionTestimonyResponseBuilder = SuggestionTestimonyResponseBuilder.aSuggestionTestimonyResponse();
+        return askNextPlayer(0, SuggestionTestimonyResponseBuilder.aSuggestionTestimonyResponse());
+    }
 
-        while(!suggestionDisproven && playersAsked < waitingPlayers.size())
+    private CompletableFuture<Void> askNextPlayer(
+            int playersAsked,
+            SuggestionTestimonyResponseBuilder suggestionTestimonyResponseBuilder
+    ) {
+        if(playersAsked == waitingPlayers.size())
         {
+            if(activePlayer.isBotControlled())
+            {
+                game.update(() -> SeatBot.recordUndisproved(activePlayer, suggestion));
+            }
+            return this.noOneCanDisprove()
+                    .thenRunAsync(() -> tellActivePlayer(suggestionTestimonyResponseBuilder), game.getMailbox());
+        }
 
-            Suggestion response;
-
-            if(this.currentWaitingPlayer.getActiveStatus()){ response = this.activePlayerQuery();}
-
-            else { response = this.inactivePlayerQuery();}
+        CompletableFuture<Suggestion> response;
+        if(!this.holdsDisprovingCard(this.currentWaitingPlayer))
+        {
+            response = CompletableFuture.completedFuture(
+                    SuggestionBuilder.aSuggestion().withSuggestionStatus(CANNOT_DISPROVE).build()
+            );
+        }
+        else if(this.currentWaitingPlayer.getActiveStatus())
+        {
+            response = this.activePlayerQuery();
+        }
+        else
+        {
+            response = CompletableFuture.completedFuture(this.inactivePlayerQuery(this.currentWaitingPlayer));
+        }
 
+        return response.thenComposeAsync(suggestion -> {
             //set a boolean for whether the response is proven false or not.
-            suggestionDisproven = response.getSuggestionStatus() == SuggestionStatus.PROVING_SUGGESTION_FALSE;
+            boolean suggestionDisproven = suggestion.getSuggestionStatus() == SuggestionStatus.PROVING_SUGGESTION_FALSE;
+
+            CompletableFuture<Void> resultAnnounced;
             if(suggestionDisproven)
             {
-                this.playerCanDisprove();
-                suggestionTestimonyResponseBuilder.withResponse(response.getResponseValue());
+                resultAnnounced = this.playerCanDisprove();
+                suggestionTestimonyResponseBuilder.withResponse(suggestion.getResponseValue());
             }
             else
             {
-                this.playerCannotDisprove();
+                resultAnnounced = this.playerCannotDisprove();
             }
-            playersAsked++;
             currentWaitingPlayer = currentWaitingPlayer.getNextPlayer();
-        }
 
-        if(!suggestionDisproven)
+            if(suggestionDisproven)
+            {
+                if(activePlayer.isBotControlled())
+                {
+                    game.update(() -> SeatBot.recordShownCard(activePlayer, suggestion.getResponseValue()));
+                }
+                return resultAnnounced.thenRunAsync(
+                        () -> tellActivePlayer(suggestionTestimonyResponseBuilder),
+                        game.getMailbox()
+                );
+            }
+            return resultAnnounced.thenComposeAsync(
+                    ignored -> askNextPlayer(playersAsked + 1, suggestionTestimonyResponseBuilder),
+                    game.getMailbox()
+            );
+        }, game.getMailbox());
+    }
+
+    /**
+     * Every seat before the first disprover round the table holds none of the suggested cards.  Past it, which the walk
+     * only gets to if that seat let the suggestion stand, the table is read seat by seat.
+     * **/
+    private boolean holdsDisprovingCard(Player waitingPlayer)
+    {
+        if(!reachedFirstDisprover)
         {
-            this.noOneCanDisprove();
+            reachedFirstDisprover = waitingPlayer.getSeatIndex() == firstDisprover;
+            return reachedFirstDisprover;
         }
+        return disproveTable.disprovingCards(waitingPlayer.getSeatIndex(), suggestionIndex) != CardSet.EMPTY;
+    }
 
-        activePlayer.write(suggestionTestimonyResponseBuilder.build());
+    private void tellActivePlayer(SuggestionTestimonyResponseBuilder suggestionTestimonyResponseBuilder)
+    {
+        TurnDeadlines.tell(game, activePlayer, ClueLessClientHandler.encode(suggestionTestimonyResponseBuilder.build()));
     }
 
-    private void broadcastSuggestionResults(Player currentWaitingPlayer, String announcement)
+    private CompletableFuture<Void> broadcastSuggestionResults(Player currentWaitingPlayer, String announcement)
     {
         List<Player> playersToNotify = waitingPlayers.stream()
                 .filter(player -> player != currentWaitingPlayer)
                 .collect(Collectors.toList());
 
-        ClueLessServerGameProtocol.broadcast(
+        return ClueLessServerGameProtocol.broadcast(
                         game,
                 announcement,
                 playersToNotify
         );
     }
 
-    private Suggestion activePlayerQuery(){
-        currentWaitingPlayer.writeInstanceAndExpectType(
-                new TurnStart(ClueLessProtocolType.SUGGESTION, game.getLocations(), "", null),
-                TurnStart.class
-        );
-
-        return currentWaitingPlayer.writeInstanceAndExpectType(
-                suggestion,
-                Suggestion.class
-        );
+    /**
+     * Awaiting input from the current waiting player, for at most the game's turn length, or from a SeatBot once the
+     * seat has been taken over.
+     * **/
+    private CompletableFuture<Suggestion> activePlayerQuery(){
+        List<Player> recipient = Collections.singletonList(currentWaitingPlayer);
+        Function<Player, EncodedMessage> turnStart =
+                ClueLessServerGameProtocol.turnStarts(game, ClueLessProtocolType.SUGGESTION, "", null);
+        Player recipientPlayer = currentWaitingPlayer;
+
+        return ClueLessServerGameProtocol.publish(game, recipient, turnStart)
+                .thenComposeAsync(ignored -> TurnDeadlines.awaitSeat(
+                        game,
+                        recipientPlayer,
+                        () -> recipientPlayer.asyncWriteInstanceAndExpectType(suggestion, Suggestion.class),
+                        () -> this.inactivePlayerQuery(recipientPlayer),
+                        () -> disproveTimedOut(recipientPlayer)
+                ), game.getMailbox());
 
     }
 
-/**
- * inactivePlayerQuery checks whether any of the cards are present in the inactive player's hand.
- * If one card is present, it returns a suggestion response with that type of card.
- * If more than one is present, it randomly selects a card and uses that to respond to the query.
- * **/
-
-    private Suggestion inactivePlayerQuery(){
-
-        SuggestionBuilder inactiveSuggestion = SuggestionBuilder.aSuggestion();
-
-        ArrayList<Card> playerHandCards = this.currentWaitingPlayer.getNotebook().getHandCards();
-        ArrayList<Card> possibleDisproveCards = new ArrayList<>(playerHandCards);
-
-        possibleDisproveCards.retainAll(buildCardsFromCaseDetails(suggestion));
-
-        if (possibleDisproveCards.size() == 0){
-            inactiveSuggestion.withSuggestionStatus(CANNOT_DISPROVE);
-            return inactiveSuggestion.build();
-        }
-
-        else if (possibleDisproveCards.size() == 1) {
-            inactiveSuggestion.withSuggestionStatus(PROVING_SUGGESTION_FALSE);
-            inactiveSuggestion.withResponseValue(possibleDisproveCards.get(0).getName());
-            return inactiveSuggestion.build();
-        }
-
-        else {
-            inactiveSuggestion.withSuggestionStatus(PROVING_SUGGESTION_FALSE);
-            int cardIndex = (int) (Math.random() * (possibleDisproveCards.size() - 1));
-
-            inactiveSuggestion.withResponseValue(possibleDisproveCards.get(cardIndex).getName());
-            return inactiveSuggestion.build();
-        }
+    /**
+     * inactivePlayerQuery answers for an inactive player, whose cards still disprove suggestions, with a random
+     * matching card from their hand.  Bots answer the same way.  The matching cards come from the game's DisproveTable.
+     * **/
+    private Suggestion inactivePlayerQuery(Player disprover){
+        return SeatBot.disproveWith(disproveTable.disprovingCards(disprover.getSeatIndex(), suggestionIndex));
     }
 
-    private ArrayList<Card> buildCardsFromCaseDetails(Suggestion suggestion)
+    /**
+     * Answers for a disprover who ran out of time, according to the server's timeout policy.
+     * **/
+    private CompletableFuture<Suggestion> disproveTimedOut(Player disprover)
     {
-        CaseDetails caseDetails = suggestion.getCaseDetails();
-
-        RoomCard roomCard = new RoomCard(caseDetails.getRoom());
-        WeaponCard weaponCard = new WeaponCard(caseDetails.getWeapon());
-        CharacterCard characterCard = new CharacterCard(caseDetails.getCharacterNames());
+        ClueLessServerApplication.logMessage(disprover.getCharacter().getName() + " ran out of time to disprove");
 
-        return new ArrayList<>(
-                Arrays.asList(
-                        roomCard,
-                        weaponCard,
-                        characterCard
-                )
-        );
+        switch(TurnDeadlines.timeoutPolicy())
+        {
+            case AUTO_DISPROVE:
+                return CompletableFuture.completedFuture(this.inactivePlayerQuery(disprover));
+            case ELIMINATE:
+                List<Player> allPlayers = new ArrayList<>(waitingPlayers);
+                allPlayers.add(activePlayer);
+                return TurnDeadlines.eliminate(game, disprover, allPlayers)
+                        .thenApply(ignored -> this.inactivePlayerQuery(disprover));
+            default:
+                return CompletableFuture.completedFuture(
+                        SuggestionBuilder.aSuggestion().withSuggestionStatus(CANNOT_DISPROVE).build()
+                );
+        }
     }
 
-    private void playerCannotDisprove(){
-        System.out.println("Suggestion cannot be disproven");
-        broadcastSuggestionResults(
+    private CompletableFuture<Void> playerCannotDisprove(){
+        ClueLessServerApplication.logMessage("Suggestion cannot be disproven");
+        return broadcastSuggestionResults(
                 currentWaitingPlayer,
                 currentWaitingPlayer.getCharacter().getName() + " cannot prove the suggestion false"
         );
     }
 
-    private void playerCanDisprove(){
-        System.out.println("Suggestion has been disproven");
-        broadcastSuggestionResults(
+    private CompletableFuture<Void> playerCanDisprove(){
+        ClueLessServerApplication.logMessage("Suggestion has been disproven");
+        return broadcastSuggestionResults(
                 currentWaitingPlayer,
                 currentWaitingPlayer.getCharacter().getName() + " has disproven the suggestion."
         );
     }
 
-    private void noOneCanDisprove(){
+    private CompletableFuture<Void> noOneCanDisprove(){
         List<Player> allPlayers = new ArrayList<>();
         allPlayers.addAll(waitingPlayers);
-        ClueLessServerGameProtocol.broadcast(
+        return ClueLessServerGameProtocol.broadcast(
                 game,
                 "No one is able to disprove " + activePlayer.getCharacter().getName() + "'s suggestion",
                 allPlayers
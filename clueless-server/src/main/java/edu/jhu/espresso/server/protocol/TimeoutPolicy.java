@@ -0,0 +1,17 @@
+package edu.jhu.espresso.server.protocol;
+
+/**
+ * What happens when a player lets a turn or a disprove prompt run out.  END_TURN ends a silent active player's turn
+ * and treats a silent disprover as unable to disprove.  AUTO_DISPROVE also ends the turn, but answers for a silent
+ * disprover with a random card from their hand that disproves the suggestion, if they hold one.  ELIMINATE takes the
+ * silent player out of the game as if they had made a wrong accusation; their cards still answer suggestions.  BOT
+ * hands the silent player's seat to a SeatBot, which answers this prompt and plays every one after it until the player
+ * reclaims the seat.
+ * **/
+public enum TimeoutPolicy
+{
+    END_TURN,
+    AUTO_DISPROVE,
+    ELIMINATE,
+    BOT
+}
@@ -0,0 +1,228 @@
+package edu.jhu.espresso.server.protocol;
+
+import edu.jhu.espresso.server.ClueLessClientHandler;
+import edu.jhu.espresso.server.ClueLessServerApplication;
+import edu.jhu.espresso.server.ClueLessServerConfiguration;
+import edu.jhu.espresso.server.domain.ClueLessProtocolType;
+import edu.jhu.espresso.server.domain.Game;
+import edu.jhu.espresso.server.domain.GameResult;
+import edu.jhu.espresso.server.domain.gameEvents.GameStart;
+import edu.jhu.espresso.server.domain.gamepieces.Player;
+import edu.jhu.espresso.server.execution.HashedWheelTimer;
+import edu.jhu.espresso.server.execution.ServerExecutors;
+import edu.jhu.espresso.server.session.SessionRegistry;
+import edu.jhu.espresso.server.transport.EncodedMessage;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * TurnDeadlines holds a player's reply to the game's turn length.  Whichever comes first, the reply or the deadline,
+ * settles the exchange: if the deadline wins, the expiry handler runs on the game's mailbox and its answer stands in
+ * for the player's, and the request is withdrawn, so a reply that turns up afterwards is dropped by the connection.
+ * A seat whose exchange fails, because its client disconnected or sent something the server cannot read, is handed to
+ * a SeatBot for the rest of the game unless its player reclaims it with the seat's reconnect token.
+ * **/
+final class TurnDeadlines
+{
+    private TurnDeadlines()
+    {
+    }
+
+    static <T> CompletableFuture<T> awaitReply(
+            Game game,
+            CompletableFuture<T> reply,
+            Supplier<CompletableFuture<T>> onExpiry
+    ) {
+        int turnLengthSeconds = game.getGameTimer().getTurnLength();
+        if(turnLengthSeconds <= 0)
+        {
+            return reply;
+        }
+
+        AtomicBoolean settled = new AtomicBoolean();
+        CompletableFuture<T> answer = new CompletableFuture<>();
+
+        HashedWheelTimer.Timeout deadline = ServerExecutors.get().getTimer().newTimeout(
+                () -> game.getMailbox().execute(() -> {
+                    if(settled.compareAndSet(false, true))
+                    {
+                        reply.cancel(false);
+                        onExpiry.get().whenComplete((value, e) -> settle(answer, value, e));
+                    }
+                }),
+                turnLengthSeconds,
+                TimeUnit.SECONDS
+        );
+
+        reply.whenComplete((value, e) -> {
+            if(settled.compareAndSet(false, true))
+            {
+                deadline.cancel();
+                settle(answer, value, e);
+            }
+        });
+
+        return answer;
+    }
+
+    /**
+     * Asks the seat for its answer and waits for it as awaitReply does.  A bot-controlled seat is answered by botAnswer
+     * without anything being sent, a seat whose exchange fails is taken over and answered by botAnswer, and under the
+     * BOT policy so is a seat that runs out of time; under any other policy onExpiry answers for it.
+     * **/
+    static <T> CompletableFuture<T> awaitSeat(
+            Game game,
+            Player seat,
+            Supplier<CompletableFuture<T>> ask,
+            Supplier<T> botAnswer,
+            Supplier<CompletableFuture<T>> onExpiry
+    ) {
+        if(seat.isBotControlled())
+        {
+            return CompletableFuture.completedFuture(botAnswer.get());
+        }
+
+        Supplier<CompletableFuture<T>> expiry = timeoutPolicy() == TimeoutPolicy.BOT
+                ? () -> {
+                    takeOver(game, seat, "ran out of time");
+                    return CompletableFuture.completedFuture(botAnswer.get());
+                }
+                : onExpiry;
+
+        return awaitReply(game, ask.get(), expiry)
+                .handleAsync((value, e) -> {
+                    if(e == null)
+                    {
+                        return value;
+                    }
+                    if(seat.isBotControlled())
+                    {
+                        throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+                    }
+                    takeOver(game, seat, "lost their connection");
+                    return botAnswer.get();
+                }, game.getMailbox());
+    }
+
+    /**
+     * Sends a message the seat does not answer, unless a bot is playing it.  A seat whose connection has closed is
+     * taken over instead.
+     * **/
+    static void tell(Game game, Player seat, EncodedMessage message)
+    {
+        if(seat.isBotControlled())
+        {
+            return;
+        }
+        if(!seat.getClueLessClientHandler().getConnection().isOpen())
+        {
+            takeOver(game, seat, "lost their connection");
+            return;
+        }
+        seat.writeEncoded(message);
+    }
+
+    /**
+     * Hands the seat to a SeatBot and offers it back to its player through the SessionRegistry.  Fails with an
+     * IllegalStateException once no seat in the game is left with a human in it, so a game nobody is playing is
+     * abandoned rather than played out by bots.  Call it on the game's mailbox.
+     * **/
+    static void takeOver(Game game, Player seat, String reason)
+    {
+        if(seat.isBotControlled())
+        {
+            return;
+        }
+        seat.setBotControlled(true);
+        SessionRegistry.get().offerSeat(
+                game.getGameID(),
+                game.getMailbox(),
+                seat,
+                clueLessClientHandler -> handBack(game, seat, clueLessClientHandler)
+        );
+        ClueLessServerApplication.logMessage(() -> seat.getCharacter().getName() + " " + reason + " in game " +
+                game.getGameID() + "; a bot plays the seat until player " + seat.getPlayerID() + " reclaims it");
+
+        if(game.getPlayerList().stream().allMatch(Player::isBotControlled))
+        {
+            throw new IllegalStateException("Every player has left game " + game.getGameID());
+        }
+    }
+
+    /**
+     * Gives a seat back to its player on their new connection.  The connection has seen nothing of the game, so it is
+     * sent the player's hand again, with a fresh reconnect token, and a TurnStart carrying the whole board.  Call it on
+     * the game's mailbox.
+     * **/
+    static void handBack(Game game, Player seat, ClueLessClientHandler clueLessClientHandler)
+    {
+        seat.reclaim(clueLessClientHandler);
+        seat.asyncWriteInstanceAndExpectType(
+                ClueLessServerGameProtocol.gameStart(seat, game.getPlayerList().size()),
+                GameStart.class
+        );
+
+        ClueLessServerGameProtocol.publish(game, Collections.singletonList(seat), ClueLessServerGameProtocol.turnStarts(
+                game,
+                ClueLessProtocolType.INFORMATIONAL,
+                seat.getCharacter().getName() + " is back in game " + game.getGameID(),
+                null
+        ));
+    }
+
+    static TimeoutPolicy timeoutPolicy()
+    {
+        return ClueLessServerConfiguration.active().getTimeoutPolicy();
+    }
+
+    /**
+     * Takes a player who ran out of time out of the game.  If that leaves a single active player, they win.
+     * **/
+    static CompletableFuture<Void> eliminate(Game game, Player player, List<Player> allPlayers)
+    {
+        game.update(() -> player.setActiveStatus(false));
+
+        CompletableFuture<Void> eliminated = ClueLessServerGameProtocol.broadcast(
+                game,
+                player.getCharacter().getName() + " ran out of time and is no longer active",
+                allPlayers
+        );
+
+        List<Player> remainingActivePlayers = allPlayers.stream()
+                .filter(Player::getActiveStatus)
+                .collect(Collectors.toList());
+        if(remainingActivePlayers.size() != 1)
+        {
+            return eliminated;
+        }
+
+        Player winner = remainingActivePlayers.get(0);
+        String caseDetails = ServerAccusationProtocol.describeCaseFile(game.getCardPlayer().getCaseFile());
+        game.finish(GameResult.lastPlayerStanding(game.getGameID(), winner.getCharacter().getName(), caseDetails));
+
+        return eliminated.thenComposeAsync(ignored -> ClueLessServerGameProtocol.broadcast(
+                game,
+                winner.getCharacter().getName() + " wins! The case details were " + caseDetails,
+                allPlayers
+        ), game.getMailbox());
+    }
+
+    private static <T> void settle(CompletableFuture<T> answer, T value, Throwable e)
+    {
+        if(e != null)
+        {
+            answer.completeExceptionally(e);
+        }
+        else
+        {
+            answer.complete(value);
+        }
+    }
+}
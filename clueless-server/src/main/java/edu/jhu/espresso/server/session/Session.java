@@ -0,0 +1,69 @@
+package edu.jhu.espresso.server.session;
+
+import edu.jhu.espresso.server.ClueLessClientHandler;
+
+/**
+ * One connected player as the SessionRegistry sees them.  The player ID is handed out once, when the connection is
+ * first registered, and stays the same across every game the player joins on that connection.
+ * **/
+public final class Session
+{
+    private final int playerID;
+    private final ClueLessClientHandler clueLessClientHandler;
+    private volatile int gameNumber = SessionRegistry.NO_GAME;
+    private boolean waitingForGame;
+
+    Session(int playerID, ClueLessClientHandler clueLessClientHandler)
+    {
+        this.playerID = playerID;
+        this.clueLessClientHandler = clueLessClientHandler;
+    }
+
+    public int getPlayerID()
+    {
+        return playerID;
+    }
+
+    public ClueLessClientHandler getClueLessClientHandler()
+    {
+        return clueLessClientHandler;
+    }
+
+    /**
+     * The game this player is seated in, or SessionRegistry.NO_GAME while they are in the foyer.
+     * **/
+    public int getGameNumber()
+    {
+        return gameNumber;
+    }
+
+    public boolean isInGame()
+    {
+        return gameNumber != SessionRegistry.NO_GAME;
+    }
+
+    void setGameNumber(int gameNumber)
+    {
+        this.gameNumber = gameNumber;
+    }
+
+    /**
+     * True while the player sits in an open lobby or the matchmaking queue.  Guarded by the session's own lock, which
+     * the SessionRegistry holds whenever it places the player.
+     * **/
+    boolean isWaitingForGame()
+    {
+        return waitingForGame;
+    }
+
+    void setWaitingForGame(boolean waitingForGame)
+    {
+        this.waitingForGame = waitingForGame;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Session{playerID=" + playerID + ", gameNumber=" + gameNumber + '}';
+    }
+}
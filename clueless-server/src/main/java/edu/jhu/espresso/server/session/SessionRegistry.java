@@ -0,0 +1,250 @@
+package edu.jhu.espresso.server.session;
+
+import edu.jhu.espresso.server.ClueLessClientHandler;
+import edu.jhu.espresso.server.domain.gamepieces.Player;
+import edu.jhu.espresso.server.transport.ClueLessConnection;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * SessionRegistry is the server-wide index of connected players.  Sessions can be found by player ID, by connection
+ * or by the game they are seated in, and handler numbers, player IDs and game numbers are all allocated here from
+ * atomic counters, so the accept loop, lobbies and game threads can register and look up players at the same time
+ * without a lock.  The views it returns are weakly consistent: admin and metrics code can iterate them while games
+ * are running and never blocks a game thread, but may miss a player who joins or leaves mid-iteration.  Seats a bot
+ * took over when their player left are kept here by the player's ID until the player comes back for them with the
+ * seat's reconnect token or the game ends.  A player is in at most one place at a time: seated in a game, waiting in
+ * a lobby or the matchmaking queue, or free in the foyer.
+ * **/
+public final class SessionRegistry
+{
+    public static final int NO_GAME = -1;
+
+    private static final SessionRegistry INSTANCE = new SessionRegistry();
+
+    private final AtomicInteger nextHandlerNumber = new AtomicInteger();
+    private final AtomicInteger nextPlayerID = new AtomicInteger();
+    private final AtomicInteger nextGameNumber = new AtomicInteger();
+
+    private final Map<Integer, Session> sessionsByPlayerID = new ConcurrentHashMap<>();
+    private final Map<ClueLessConnection, Session> sessionsByConnection = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Session>> sessionsByGame = new ConcurrentHashMap<>();
+    private final Map<Integer, ReclaimableSeat> reclaimableSeats = new ConcurrentHashMap<>();
+
+    SessionRegistry()
+    {
+    }
+
+    public static SessionRegistry get()
+    {
+        return INSTANCE;
+    }
+
+    public int nextHandlerNumber()
+    {
+        return nextHandlerNumber.getAndIncrement();
+    }
+
+    public int nextGameNumber()
+    {
+        return nextGameNumber.getAndIncrement();
+    }
+
+    /**
+     * Returns the session for this handler's connection, creating it with a fresh player ID the first time the
+     * connection is seen.  A player who comes back to the foyer after a game keeps their ID.
+     * **/
+    public Session register(ClueLessClientHandler clueLessClientHandler)
+    {
+        return sessionsByConnection.computeIfAbsent(clueLessClientHandler.getConnection(), connection -> {
+            Session session = new Session(nextPlayerID.getAndIncrement(), clueLessClientHandler);
+            sessionsByPlayerID.put(session.getPlayerID(), session);
+            return session;
+        });
+    }
+
+    /**
+     * Seats the player in a game, registering them first if need be.  A player can only be seated in one game.
+     * **/
+    public Session joinGame(ClueLessClientHandler clueLessClientHandler, int gameNumber)
+    {
+        Session session = register(clueLessClientHandler);
+        synchronized (session)
+        {
+            seat(session, gameNumber);
+        }
+        return session;
+    }
+
+    private void seat(Session session, int gameNumber)
+    {
+        leaveGame(session);
+        session.setWaitingForGame(false);
+        session.setGameNumber(gameNumber);
+        sessionsByGame.compute(gameNumber, (game, seated) -> {
+            Set<Session> sessions = seated == null ? ConcurrentHashMap.newKeySet() : seated;
+            sessions.add(session);
+            return sessions;
+        });
+    }
+
+    /**
+     * Marks the player as waiting for a game, in a lobby or the matchmaking queue.  Returns false if they are already
+     * waiting or seated, so nobody is placed twice.
+     * **/
+    public boolean waitForGame(ClueLessClientHandler clueLessClientHandler)
+    {
+        Session session = register(clueLessClientHandler);
+        synchronized (session)
+        {
+            if(session.isInGame() || session.isWaitingForGame())
+            {
+                return false;
+            }
+            session.setWaitingForGame(true);
+            return true;
+        }
+    }
+
+    /**
+     * Frees a player whose lobby closed without them, so they can choose again.
+     * **/
+    public void stopWaiting(ClueLessClientHandler clueLessClientHandler)
+    {
+        Session session = register(clueLessClientHandler);
+        synchronized (session)
+        {
+            session.setWaitingForGame(false);
+        }
+    }
+
+    public void leaveGame(Session session)
+    {
+        int gameNumber = session.getGameNumber();
+        if(gameNumber == NO_GAME)
+        {
+            return;
+        }
+        session.setGameNumber(NO_GAME);
+        sessionsByGame.computeIfPresent(gameNumber, (game, seated) -> {
+            seated.remove(session);
+            return seated.isEmpty() ? null : seated;
+        });
+    }
+
+    /**
+     * Sends everyone still seated in the game back to the foyer.
+     * **/
+    public void endGame(int gameNumber)
+    {
+        reclaimableSeats.values().removeIf(reclaimableSeat -> reclaimableSeat.gameNumber == gameNumber);
+        Set<Session> seated = sessionsByGame.remove(gameNumber);
+        if(seated != null)
+        {
+            seated.forEach(session -> session.setGameNumber(NO_GAME));
+        }
+    }
+
+    /**
+     * Forgets the connection's session.  Called once the connection is closed; does nothing if it was never registered.
+     * **/
+    public void unregister(ClueLessConnection connection)
+    {
+        Session session = sessionsByConnection.remove(connection);
+        if(session != null)
+        {
+            leaveGame(session);
+            sessionsByPlayerID.remove(session.getPlayerID());
+        }
+    }
+
+    /**
+     * Keeps a seat a bot has taken over so its player can reclaim it.  handBack gives the seat to the player's new
+     * connection; it runs on the game's mailbox.
+     * **/
+    public void offerSeat(int gameNumber, Executor mailbox, Player seat, Consumer<ClueLessClientHandler> handBack)
+    {
+        reclaimableSeats.put(seat.getPlayerID(), new ReclaimableSeat(gameNumber, mailbox, seat, handBack));
+    }
+
+    /**
+     * Hands the seat the player left behind back to them on their new connection and seats the connection in its game.
+     * Returns false if the token is not the seat's, if the player has no seat waiting, either because they never left
+     * one or because its game is over, or if the connection is already seated or waiting for another game.
+     * **/
+    public boolean reclaimSeat(int playerID, long reconnectToken, ClueLessClientHandler clueLessClientHandler)
+    {
+        ReclaimableSeat reclaimableSeat = reclaimableSeats.get(playerID);
+        if(reclaimableSeat == null || reclaimableSeat.seat.getReconnectToken() != reconnectToken)
+        {
+            return false;
+        }
+
+        Session session = register(clueLessClientHandler);
+        synchronized (session)
+        {
+            if(session.isInGame() || session.isWaitingForGame() || !reclaimableSeats.remove(playerID, reclaimableSeat))
+            {
+                return false;
+            }
+            seat(session, reclaimableSeat.gameNumber);
+        }
+        reclaimableSeat.mailbox.execute(() -> reclaimableSeat.handBack.accept(clueLessClientHandler));
+        return true;
+    }
+
+    public Optional<Session> findByPlayerID(int playerID)
+    {
+        return Optional.ofNullable(sessionsByPlayerID.get(playerID));
+    }
+
+    public Optional<Session> findByConnection(ClueLessConnection connection)
+    {
+        return Optional.ofNullable(sessionsByConnection.get(connection));
+    }
+
+    public Collection<Session> getGameSessions(int gameNumber)
+    {
+        Set<Session> seated = sessionsByGame.get(gameNumber);
+        return seated == null ? Collections.emptySet() : Collections.unmodifiableSet(seated);
+    }
+
+    public Collection<Session> getSessions()
+    {
+        return Collections.unmodifiableCollection(sessionsByPlayerID.values());
+    }
+
+    public Set<Integer> getActiveGameNumbers()
+    {
+        return Collections.unmodifiableSet(sessionsByGame.keySet());
+    }
+
+    public int getSessionCount()
+    {
+        return sessionsByPlayerID.size();
+    }
+
+    private static final class ReclaimableSeat
+    {
+        private final int gameNumber;
+        private final Executor mailbox;
+        private final Player seat;
+        private final Consumer<ClueLessClientHandler> handBack;
+
+        private ReclaimableSeat(int gameNumber, Executor mailbox, Player seat, Consumer<ClueLessClientHandler> handBack)
+        {
+            this.gameNumber = gameNumber;
+            this.mailbox = mailbox;
+            this.seat = seat;
+            this.handBack = handBack;
+        }
+    }
+}
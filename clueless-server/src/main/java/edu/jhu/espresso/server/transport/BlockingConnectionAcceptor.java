@@ -0,0 +1,97 @@
+package edu.jhu.espresso.server.transport;
+
+import edu.jhu.espresso.server.ClueLessServerApplication;
+import edu.jhu.espresso.server.codec.WireFormat;
+import edu.jhu.espresso.server.execution.ServerExecutors;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * BlockingConnectionAcceptor accepts sockets on its own thread and reads each client's handshake on the protocol
+ * executor, so a client that connects and then says nothing holds up only itself.  Connections are handed to the
+ * foyer through accept once their handshake has been answered, as NioClueLessServer does.
+ * **/
+public class BlockingConnectionAcceptor implements ClueLessConnectionAcceptor
+{
+    private final ServerSocket serverSocket;
+    private final WireFormat allowedFormat;
+    private final BlockingQueue<ClueLessConnection> acceptedConnections = new LinkedBlockingQueue<>();
+
+    public BlockingConnectionAcceptor(int port, WireFormat allowedFormat)
+    {
+        this.allowedFormat = allowedFormat;
+        try
+        {
+            this.serverSocket = new ServerSocket(port);
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
+        Thread acceptThread = ServerExecutors.get().getConnectionThreadFactory().newThread(this::acceptSockets);
+        acceptThread.setName("clueless-accept");
+        acceptThread.start();
+    }
+
+    @Override
+    public ClueLessConnection accept() throws IOException
+    {
+        try
+        {
+            return acceptedConnections.take();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private void acceptSockets()
+    {
+        while (!serverSocket.isClosed())
+        {
+            try
+            {
+                Socket socket = serverSocket.accept();
+                ServerExecutors.get().getProtocolExecutor().execute(() -> handshake(socket));
+            }
+            catch (IOException e)
+            {
+                if(!serverSocket.isClosed())
+                {
+                    ClueLessServerApplication.logMessage("Failed to accept a connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handshake(Socket socket)
+    {
+        try
+        {
+            acceptedConnections.add(new SocketClueLessConnection(socket, allowedFormat));
+        }
+        catch (IOException e)
+        {
+            ClueLessServerApplication.logMessage("Dropped a connection during its handshake: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        try
+        {
+            serverSocket.close();
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
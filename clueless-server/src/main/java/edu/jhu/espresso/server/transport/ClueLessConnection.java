@@ -0,0 +1,77 @@
+package edu.jhu.espresso.server.transport;
+
+import edu.jhu.espresso.server.codec.WireFormat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * A ClueLessConnection is the wire underneath a ClueLessClientHandler.  It moves whole messages to and from a single
+ * client and hides whether the socket is a blocking one or is driven by a selector.  Messages that need an answer
+ * are sent as requests and any number may be outstanding at once; each response is matched to its request by
+ * correlation ID, so informational messages can be written while a decision is still pending.
+ * **/
+public interface ClueLessConnection
+{
+    /**
+     * Queues an already framed message for the client.  The message may be shared with other connections.
+     * **/
+    void send(EncodedMessage message);
+
+    /**
+     * Sends the message as a request and returns a future for the payload of the client's response to it.  The future
+     * fails if the connection closes first.
+     * **/
+    CompletableFuture<byte[]> request(EncodedMessage message);
+
+    /**
+     * Starts delivering what the client sends.  The foyer calls it only once the connection has been admitted, so a
+     * connection that is turned away never costs a reading thread.  Connections driven by a selector are read from
+     * the start and need do nothing.
+     * **/
+    default void startReading()
+    {
+    }
+
+    /**
+     * Sets where frames the client sends without being asked are delivered.  The handler runs on the connection's
+     * reading thread and must not block.  The frame may be a view of the connection's read buffer, so the handler
+     * decodes it before returning and keeps only getPayload() if it needs the bytes later.  Until a handler is set
+     * such messages are logged and dropped.
+     * **/
+    void setUnsolicitedMessageHandler(Consumer<Frame> handler);
+
+    /**
+     * The payload encoding settled in the connection's handshake.  Response and unsolicited payloads are in this
+     * format.
+     * **/
+    WireFormat getWireFormat();
+
+    /**
+     * The highest update sequence number the client has reported applying, or 0 if it has reported none.
+     * **/
+    long getAcknowledgedSequence();
+
+    /**
+     * The highest board version the client has reported applying, or 0 if it has no board state yet.
+     * **/
+    long getAcknowledgedBoardVersion();
+
+    /**
+     * Moves the acknowledged sequence and board version forward.  Values lower than the current ones are ignored.
+     * **/
+    void recordAcknowledgement(long sequenceNumber, long boardVersion);
+
+    boolean isOpen();
+
+    void close();
+
+    /**
+     * Closes the connection once every message already queued for the client has been written, so a last message
+     * such as a busy notice is not cut off.  Connections that write synchronously can simply close.
+     * **/
+    default void closeAfterFlush()
+    {
+        close();
+    }
+}
@@ -0,0 +1,13 @@
+package edu.jhu.espresso.server.transport;
+
+import java.io.IOException;
+
+public interface ClueLessConnectionAcceptor
+{
+    /**
+     * Blocks until a new client has connected.
+     * **/
+    ClueLessConnection accept() throws IOException;
+
+    void close();
+}
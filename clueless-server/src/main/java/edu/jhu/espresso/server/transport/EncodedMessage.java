@@ -0,0 +1,97 @@
+package edu.jhu.espresso.server.transport;
+
+import edu.jhu.espresso.server.codec.WireFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An EncodedMessage is a message that is serialized and framed at most once per wire format.  The frames are never
+ * modified after they are built, so one instance can be written to any number of connections; each write only takes a
+ * read-only view of the shared frame for the connection's format.  A request only adds its own small header with the
+ * correlation ID in front of the shared payload.
+ * **/
+public final class EncodedMessage
+{
+    private static final WireFormat[] WIRE_FORMATS = WireFormat.values();
+
+    private final Object message;
+    private final AtomicReferenceArray<byte[]> frames = new AtomicReferenceArray<>(WIRE_FORMATS.length);
+
+    private EncodedMessage(Object message)
+    {
+        this.message = message;
+    }
+
+    public static EncodedMessage of(Object message)
+    {
+        return new EncodedMessage(message);
+    }
+
+    /**
+     * Two threads may race to build the same frame; both produce identical bytes, so whichever lands first is kept.
+     * **/
+    private byte[] frame(WireFormat wireFormat)
+    {
+        byte[] frame = frames.get(wireFormat.ordinal());
+        if(frame == null)
+        {
+            frame = FrameCodec.encode(wireFormat.codec().encode(message)).array();
+            if(!frames.compareAndSet(wireFormat.ordinal(), null, frame))
+            {
+                frame = frames.get(wireFormat.ordinal());
+            }
+        }
+        return frame;
+    }
+
+    ByteBuffer frameBuffer(WireFormat wireFormat)
+    {
+        return ByteBuffer.wrap(frame(wireFormat)).asReadOnlyBuffer();
+    }
+
+    /**
+     * The buffers to write, in order, to send this message as a request.
+     * **/
+    ByteBuffer[] requestBuffers(WireFormat wireFormat, int correlationId)
+    {
+        byte[] frame = frame(wireFormat);
+        int payloadLength = frame.length - FrameCodec.HEADER_LENGTH;
+        return new ByteBuffer[] {
+                FrameCodec.encodeCorrelatedHeader(Frame.REQUEST, correlationId, payloadLength),
+                ByteBuffer.wrap(frame, FrameCodec.HEADER_LENGTH, payloadLength).slice().asReadOnlyBuffer()
+        };
+    }
+
+    void writeTo(OutputStream outputStream, WireFormat wireFormat) throws IOException
+    {
+        outputStream.write(frame(wireFormat));
+        outputStream.flush();
+    }
+
+    void writeRequestTo(OutputStream outputStream, WireFormat wireFormat, int correlationId) throws IOException
+    {
+        byte[] frame = frame(wireFormat);
+        int payloadLength = frame.length - FrameCodec.HEADER_LENGTH;
+        outputStream.write(FrameCodec.encodeCorrelatedHeader(Frame.REQUEST, correlationId, payloadLength).array());
+        outputStream.write(frame, FrameCodec.HEADER_LENGTH, payloadLength);
+        outputStream.flush();
+    }
+
+    public Object getMessage()
+    {
+        return message;
+    }
+
+    /**
+     * Renders the message as JSON for log lines.  Only called when logging is switched on.
+     * **/
+    public String payloadAsString()
+    {
+        byte[] frame = frame(WireFormat.JSON);
+        return new String(frame, FrameCodec.HEADER_LENGTH, frame.length - FrameCodec.HEADER_LENGTH, StandardCharsets.UTF_8);
+    }
+}
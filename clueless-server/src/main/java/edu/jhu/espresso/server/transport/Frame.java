@@ -0,0 +1,182 @@
+package edu.jhu.espresso.server.transport;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A Frame is one decoded unit off the wire: its type byte and payload.  MESSAGE frames carry a serialized game
+ * event that needs no answer; ACKNOWLEDGEMENT frames carry the highest update sequence number and board version the
+ * peer has applied; HANDSHAKE frames settle the wire format.  REQUEST frames carry a game event that must be answered
+ * and RESPONSE frames carry the answer; both have a correlation ID ahead of the payload so a response can be matched
+ * to its request however many are outstanding.  The client keeps an identical copy of this class.
+ * **/
+public final class Frame
+{
+    public static final byte MESSAGE = 0;
+    public static final byte ACKNOWLEDGEMENT = 1;
+    public static final byte HANDSHAKE = 2;
+    public static final byte REQUEST = 3;
+    public static final byte RESPONSE = 4;
+
+    public static final int CORRELATION_ID_LENGTH = Integer.BYTES;
+
+    private static final int ACKNOWLEDGEMENT_LENGTH = 2 * Long.BYTES;
+
+    private final byte type;
+    private final int correlationId;
+    private final byte[] payload;
+    private final int payloadOffset;
+    private final int payloadLength;
+
+    public Frame(byte type, byte[] payload)
+    {
+        this(type, 0, payload);
+    }
+
+    public Frame(byte type, int correlationId, byte[] payload)
+    {
+        this(type, correlationId, payload, 0, payload.length);
+    }
+
+    /**
+     * A frame whose payload is a range of a read buffer rather than an array of its own.  It is only valid until the
+     * buffer is read into again; getPayload copies the range out for a frame that has to outlive that.
+     * **/
+    public Frame(byte type, int correlationId, byte[] buffer, int payloadOffset, int payloadLength)
+    {
+        this.type = type;
+        this.correlationId = correlationId;
+        this.payload = buffer;
+        this.payloadOffset = payloadOffset;
+        this.payloadLength = payloadLength;
+    }
+
+    public static Frame request(int correlationId, byte[] payload)
+    {
+        return new Frame(REQUEST, correlationId, payload);
+    }
+
+    public static Frame response(int correlationId, byte[] payload)
+    {
+        return new Frame(RESPONSE, correlationId, payload);
+    }
+
+    /**
+     * Whether frames of this type carry a correlation ID between the header and the payload.
+     * **/
+    public static boolean isCorrelated(byte type)
+    {
+        return type == REQUEST || type == RESPONSE;
+    }
+
+    public static Frame acknowledgement(long sequenceNumber, long boardVersion)
+    {
+        return new Frame(
+                ACKNOWLEDGEMENT,
+                ByteBuffer.allocate(ACKNOWLEDGEMENT_LENGTH).putLong(sequenceNumber).putLong(boardVersion).array()
+        );
+    }
+
+    /**
+     * The first frame in each direction.  The client's carries the wire format it asks for and the server's carries
+     * the one it settled on; every MESSAGE frame after it is encoded in that format.
+     * **/
+    public static Frame handshake(byte wireFormatCode)
+    {
+        return new Frame(HANDSHAKE, new byte[] { wireFormatCode });
+    }
+
+    public byte getType()
+    {
+        return type;
+    }
+
+    /**
+     * The serialized message, without the correlation ID of a request or response.  A frame that is a view of a read
+     * buffer copies its payload out here, so the array returned may be kept.
+     * **/
+    public byte[] getPayload()
+    {
+        if(payloadOffset == 0 && payloadLength == payload.length)
+        {
+            return payload;
+        }
+        return Arrays.copyOfRange(payload, payloadOffset, payloadOffset + payloadLength);
+    }
+
+    /**
+     * The array the payload is held in, for decoding it where it lies.  The payload is the getPayloadLength() bytes
+     * from getPayloadOffset().
+     * **/
+    public byte[] getPayloadBuffer()
+    {
+        return payload;
+    }
+
+    public int getPayloadOffset()
+    {
+        return payloadOffset;
+    }
+
+    public int getPayloadLength()
+    {
+        return payloadLength;
+    }
+
+    public int getCorrelationId()
+    {
+        if(!isCorrelated(type))
+        {
+            throw new IllegalArgumentException("Frame type " + type + " has no correlation ID");
+        }
+        return correlationId;
+    }
+
+    public boolean isAcknowledgement()
+    {
+        return type == ACKNOWLEDGEMENT;
+    }
+
+    public boolean isRequest()
+    {
+        return type == REQUEST;
+    }
+
+    public boolean isResponse()
+    {
+        return type == RESPONSE;
+    }
+
+    public boolean isHandshake()
+    {
+        return type == HANDSHAKE;
+    }
+
+    public byte getWireFormatCode()
+    {
+        if(!isHandshake() || payloadLength != 1)
+        {
+            throw new IllegalArgumentException("Not a handshake frame");
+        }
+        return payload[payloadOffset];
+    }
+
+    public long getAcknowledgedSequence()
+    {
+        return acknowledgementPayload().getLong(0);
+    }
+
+    public long getAcknowledgedBoardVersion()
+    {
+        return acknowledgementPayload().getLong(Long.BYTES);
+    }
+
+    private ByteBuffer acknowledgementPayload()
+    {
+        if(!isAcknowledgement() || payloadLength != ACKNOWLEDGEMENT_LENGTH)
+        {
+            throw new IllegalArgumentException("Not an acknowledgement frame");
+        }
+        return ByteBuffer.wrap(payload, payloadOffset, payloadLength).slice();
+    }
+}
@@ -0,0 +1,291 @@
+package edu.jhu.espresso.server.transport;
+
+import edu.jhu.espresso.server.ClueLessServerApplication;
+import edu.jhu.espresso.server.codec.WireFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * NioClueLessConnection is a non-blocking client connection serviced by an NioEventLoop.  The loop thread cuts
+ * frames straight out of one reusable read buffer and drains the write queue; game threads only ever touch the write
+ * queue and the pending request table.  Acknowledgements and responses are applied on the loop thread as they arrive.
+ * The first frame must be the client's handshake; the connection is only handed on once it has been answered.
+ * **/
+class NioClueLessConnection implements ClueLessConnection
+{
+    private static final int READ_BUFFER_SIZE = 8_192;
+
+    private final SocketChannel channel;
+    private final NioEventLoop eventLoop;
+    private final Queue<ByteBuffer[]> writeQueue = new ConcurrentLinkedQueue<>();
+    private final PendingRequests pendingRequests = new PendingRequests();
+    private final AtomicLong acknowledgedSequence = new AtomicLong();
+    private final AtomicLong acknowledgedBoardVersion = new AtomicLong();
+    private final WireFormat allowedFormat;
+    private final Consumer<NioClueLessConnection> onNegotiated;
+
+    private ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+    private SelectionKey selectionKey;
+    private volatile boolean open = true;
+    private volatile boolean closeWhenFlushed;
+    private volatile WireFormat wireFormat;
+    private volatile Consumer<Frame> unsolicitedMessageHandler = NioClueLessConnection::dropUnsolicited;
+
+    NioClueLessConnection(
+            SocketChannel channel,
+            NioEventLoop eventLoop,
+            WireFormat allowedFormat,
+            Consumer<NioClueLessConnection> onNegotiated
+    ) {
+        this.channel = channel;
+        this.eventLoop = eventLoop;
+        this.allowedFormat = allowedFormat;
+        this.onNegotiated = onNegotiated;
+    }
+
+    void attach(SelectionKey selectionKey)
+    {
+        this.selectionKey = selectionKey;
+    }
+
+    @Override
+    public void send(EncodedMessage message)
+    {
+        if(!open)
+        {
+            throw new IllegalStateException("Connection is closed");
+        }
+        writeQueue.add(new ByteBuffer[] { message.frameBuffer(wireFormat) });
+        eventLoop.execute(this::onWritable);
+    }
+
+    /**
+     * The request's header and the shared payload are queued as one entry, so frames written by other threads can
+     * never land between them.
+     * **/
+    @Override
+    public CompletableFuture<byte[]> request(EncodedMessage message)
+    {
+        CompletableFuture<byte[]> response = new CompletableFuture<>();
+        int correlationId = pendingRequests.open(response);
+        if(!open)
+        {
+            pendingRequests.abandon(correlationId, new IllegalStateException("Connection is closed"));
+            return response;
+        }
+        writeQueue.add(message.requestBuffers(wireFormat, correlationId));
+        eventLoop.execute(this::onWritable);
+        return response;
+    }
+
+    @Override
+    public void closeAfterFlush()
+    {
+        closeWhenFlushed = true;
+        eventLoop.execute(this::onWritable);
+    }
+
+    @Override
+    public void setUnsolicitedMessageHandler(Consumer<Frame> handler)
+    {
+        this.unsolicitedMessageHandler = handler;
+    }
+
+    private static void dropUnsolicited(Frame frame)
+    {
+        ClueLessServerApplication.logMessage(
+                () -> "Dropping unsolicited message of " + frame.getPayloadLength() + " bytes"
+        );
+    }
+
+    @Override
+    public WireFormat getWireFormat()
+    {
+        return wireFormat;
+    }
+
+    @Override
+    public long getAcknowledgedSequence()
+    {
+        return acknowledgedSequence.get();
+    }
+
+    @Override
+    public long getAcknowledgedBoardVersion()
+    {
+        return acknowledgedBoardVersion.get();
+    }
+
+    @Override
+    public void recordAcknowledgement(long sequenceNumber, long boardVersion)
+    {
+        acknowledgedSequence.accumulateAndGet(sequenceNumber, Math::max);
+        acknowledgedBoardVersion.accumulateAndGet(boardVersion, Math::max);
+    }
+
+    @Override
+    public boolean isOpen()
+    {
+        return open;
+    }
+
+    /**
+     * Fails new writes and pending requests straight away from any thread, but leaves the key and the channel to the
+     * event loop, which may be in the middle of reading or writing them.
+     * **/
+    @Override
+    public void close()
+    {
+        if(!open)
+        {
+            return;
+        }
+        open = false;
+        pendingRequests.close();
+        if(eventLoop.inEventLoop())
+        {
+            closeChannel();
+        }
+        else
+        {
+            eventLoop.execute(this::closeChannel);
+        }
+    }
+
+    private void closeChannel()
+    {
+        if(selectionKey != null)
+        {
+            selectionKey.cancel();
+        }
+        try
+        {
+            channel.close();
+        }
+        catch (IOException ignored)
+        {
+        }
+    }
+
+    /**
+     * Called on the event loop thread when the channel has bytes to read.
+     * **/
+    void onReadable()
+    {
+        try
+        {
+            int read = channel.read(readBuffer);
+            if(read < 0)
+            {
+                close();
+                return;
+            }
+        }
+        catch (IOException e)
+        {
+            close();
+            return;
+        }
+
+        readBuffer.flip();
+        try
+        {
+            Frame frame;
+            while ((frame = FrameCodec.nextFrame(readBuffer)) != null)
+            {
+                if(wireFormat == null)
+                {
+                    onHandshake(frame);
+                }
+                else if(frame.isAcknowledgement())
+                {
+                    recordAcknowledgement(frame.getAcknowledgedSequence(), frame.getAcknowledgedBoardVersion());
+                }
+                else if(frame.isResponse())
+                {
+                    pendingRequests.complete(frame);
+                }
+                else
+                {
+                    unsolicitedMessageHandler.accept(frame);
+                }
+            }
+            growReadBufferFor(FrameCodec.pendingFrameSize(readBuffer));
+        }
+        catch (IllegalArgumentException e)
+        {
+            close();
+            return;
+        }
+        readBuffer.compact();
+    }
+
+    private void onHandshake(Frame frame)
+    {
+        wireFormat = WireHandshake.negotiate(frame, allowedFormat);
+        writeQueue.add(new ByteBuffer[] { WireHandshake.reply(wireFormat) });
+        onWritable();
+        onNegotiated.accept(this);
+    }
+
+    /**
+     * A frame larger than the read buffer would never complete, so the buffer is grown to fit it.  The larger buffer
+     * is kept and reused for the rest of the connection.
+     * **/
+    private void growReadBufferFor(int frameSize)
+    {
+        if(frameSize > readBuffer.capacity())
+        {
+            ByteBuffer larger = ByteBuffer.allocate(frameSize);
+            larger.put(readBuffer);
+            larger.flip();
+            readBuffer = larger;
+        }
+    }
+
+    /**
+     * Called on the event loop thread to drain the write queue.  Write interest is only kept while a message is
+     * partially written.
+     * **/
+    void onWritable()
+    {
+        if(selectionKey == null || !selectionKey.isValid())
+        {
+            return;
+        }
+
+        try
+        {
+            ByteBuffer[] head;
+            while ((head = writeQueue.peek()) != null)
+            {
+                channel.write(head);
+                if(head[head.length - 1].hasRemaining())
+                {
+                    selectionKey.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                writeQueue.poll();
+            }
+            if(closeWhenFlushed)
+            {
+                close();
+                return;
+            }
+            selectionKey.interestOps(SelectionKey.OP_READ);
+        }
+        catch (IOException e)
+        {
+            close();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package edu.jhu.espresso.server.transport;
+
+import edu.jhu.espresso.server.ClueLessServerApplication;
+import edu.jhu.espresso.server.codec.WireFormat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * NioClueLessServer accepts and services every client connection on a small, fixed set of NioEventLoops instead of
+ * one blocking thread per socket.  The first loop also watches the listening channel; accepted channels are spread
+ * round-robin across all loops and handed to the foyer through accept once their handshake has been answered.
+ * **/
+public class NioClueLessServer implements ClueLessConnectionAcceptor
+{
+    private final ServerSocketChannel serverChannel;
+    private final NioEventLoop[] eventLoops;
+    private final BlockingQueue<ClueLessConnection> acceptedConnections = new LinkedBlockingQueue<>();
+    private final WireFormat allowedFormat;
+    private int nextEventLoop = 0;
+
+    public NioClueLessServer(int port, int ioThreads, WireFormat allowedFormat)
+    {
+        this.allowedFormat = allowedFormat;
+
+        if(ioThreads < 1)
+        {
+            throw new IllegalArgumentException(ioThreads + " is not a valid number of I/O threads");
+        }
+
+        try
+        {
+            this.serverChannel = ServerSocketChannel.open();
+            this.serverChannel.configureBlocking(false);
+            this.serverChannel.bind(new InetSocketAddress(port));
+
+            this.eventLoops = new NioEventLoop[ioThreads];
+            for(int i = 0; i < ioThreads; i++)
+            {
+                eventLoops[i] = new NioEventLoop("clueless-nio-" + i);
+                eventLoops[i].start();
+            }
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
+
+        eventLoops[0].registerAcceptor(serverChannel, this);
+    }
+
+    @Override
+    public ClueLessConnection accept() throws IOException
+    {
+        try
+        {
+            return acceptedConnections.take();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Called on the first event loop whenever the listening channel has pending connections.
+     * **/
+    void onAcceptable()
+    {
+        try
+        {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null)
+            {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+
+                NioEventLoop eventLoop = eventLoops[nextEventLoop];
+                nextEventLoop = (nextEventLoop + 1) % eventLoops.length;
+
+                NioClueLessConnection connection =
+                        new NioClueLessConnection(channel, eventLoop, allowedFormat, acceptedConnections::add);
+                eventLoop.register(channel, connection);
+            }
+        }
+        catch (IOException e)
+        {
+            ClueLessServerApplication.logMessage("Failed to accept a connection: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        for(NioEventLoop eventLoop : eventLoops)
+        {
+            eventLoop.shutdown();
+        }
+        try
+        {
+            serverChannel.close();
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
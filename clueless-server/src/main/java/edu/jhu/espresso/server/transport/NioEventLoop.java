@@ -0,0 +1,183 @@
+package edu.jhu.espresso.server.transport;
+
+import edu.jhu.espresso.server.ClueLessServerApplication;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * One NioEventLoop owns a Selector and the single thread that services it.  Every channel registered with the loop
+ * is only ever read from, written to and closed on that thread, so connections need no locking of their own.  Other
+ * threads hand work to the loop through execute.  A task or a connection that throws is logged, and the connection
+ * closed, so one bad connection never takes the loop and everyone else on it down.
+ * **/
+class NioEventLoop implements Runnable
+{
+    private final Selector selector;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    NioEventLoop(String name) throws IOException
+    {
+        this.selector = Selector.open();
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+    }
+
+    void start()
+    {
+        thread.start();
+    }
+
+    void execute(Runnable task)
+    {
+        tasks.add(task);
+        if(!inEventLoop())
+        {
+            selector.wakeup();
+        }
+    }
+
+    boolean inEventLoop()
+    {
+        return Thread.currentThread() == thread;
+    }
+
+    void registerAcceptor(ServerSocketChannel serverChannel, NioClueLessServer server)
+    {
+        execute(() -> {
+            try
+            {
+                serverChannel.register(selector, SelectionKey.OP_ACCEPT, server);
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    void register(SocketChannel channel, NioClueLessConnection connection)
+    {
+        execute(() -> {
+            try
+            {
+                connection.attach(channel.register(selector, SelectionKey.OP_READ, connection));
+            }
+            catch (IOException e)
+            {
+                connection.close();
+            }
+        });
+    }
+
+    @Override
+    public void run()
+    {
+        while (running)
+        {
+            try
+            {
+                //Tasks the loop queued for itself never woke the selector, so they must not wait on it.
+                if(tasks.isEmpty())
+                {
+                    selector.select();
+                }
+                else
+                {
+                    selector.selectNow();
+                }
+                runTasks();
+                processSelectedKeys();
+            }
+            catch (IOException | RuntimeException e)
+            {
+                ClueLessServerApplication.logMessage("Selector failure on " + thread.getName() + ": " + e);
+            }
+        }
+
+        try
+        {
+            selector.close();
+        }
+        catch (IOException ignored)
+        {
+        }
+    }
+
+    private void runTasks()
+    {
+        Runnable task;
+        while ((task = tasks.poll()) != null)
+        {
+            try
+            {
+                task.run();
+            }
+            catch (RuntimeException e)
+            {
+                ClueLessServerApplication.logMessage("A task failed on " + thread.getName() + ": " + e);
+            }
+        }
+    }
+
+    private void processSelectedKeys()
+    {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext())
+        {
+            SelectionKey key = keys.next();
+            keys.remove();
+
+            try
+            {
+                processSelectedKey(key);
+            }
+            catch (RuntimeException e)
+            {
+                ClueLessServerApplication.logMessage("A connection failed on " + thread.getName() + ": " + e);
+                if(key.attachment() instanceof NioClueLessConnection)
+                {
+                    ((NioClueLessConnection) key.attachment()).close();
+                }
+            }
+        }
+    }
+
+    private void processSelectedKey(SelectionKey key)
+    {
+        if(!key.isValid())
+        {
+            return;
+        }
+
+        if(key.isAcceptable())
+        {
+            ((NioClueLessServer) key.attachment()).onAcceptable();
+            return;
+        }
+
+        NioClueLessConnection connection = (NioClueLessConnection) key.attachment();
+        if(key.isReadable())
+        {
+            connection.onReadable();
+        }
+        if(key.isValid() && key.isWritable())
+        {
+            connection.onWritable();
+        }
+    }
+
+    void shutdown()
+    {
+        running = false;
+        selector.wakeup();
+    }
+}
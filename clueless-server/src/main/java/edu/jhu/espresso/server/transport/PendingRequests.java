@@ -0,0 +1,76 @@
+package edu.jhu.espresso.server.transport;
+
+import edu.jhu.espresso.server.ClueLessServerApplication;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PendingRequests is one connection's table of requests still waiting on the client.  Each request is given the next
+ * correlation ID and a future; the connection's reader completes the future when a RESPONSE frame with that ID comes
+ * back, in whatever order responses arrive.
+ * **/
+final class PendingRequests
+{
+    private final AtomicInteger nextCorrelationId = new AtomicInteger();
+    private final ConcurrentMap<Integer, CompletableFuture<byte[]>> pending = new ConcurrentHashMap<>();
+    private volatile IllegalStateException closedCause;
+
+    /**
+     * Allocates a correlation ID and the future its response will complete.  The future is registered before the
+     * request is written, so a response can never arrive ahead of it, and it is dropped from the table however it
+     * completes, so a request its caller cancels does not wait on the client for the life of the connection.
+     * **/
+    int open(CompletableFuture<byte[]> response)
+    {
+        int correlationId = nextCorrelationId.incrementAndGet();
+        pending.put(correlationId, response);
+        response.whenComplete((payload, e) -> pending.remove(correlationId, response));
+
+        //A close racing with the put would otherwise leave this future waiting forever.
+        if(closedCause != null && pending.remove(correlationId, response))
+        {
+            response.completeExceptionally(closedCause);
+        }
+        return correlationId;
+    }
+
+    /**
+     * Hands a RESPONSE frame to the request it answers.  Responses nobody is waiting for are logged and dropped.
+     * **/
+    void complete(Frame response)
+    {
+        CompletableFuture<byte[]> request = pending.remove(response.getCorrelationId());
+        if(request == null)
+        {
+            ClueLessServerApplication.logMessage(
+                    () -> "Dropping response to unknown request " + response.getCorrelationId()
+            );
+            return;
+        }
+        request.complete(response.getPayload());
+    }
+
+    /**
+     * Called when the request could not be written, so its slot is not left behind.
+     * **/
+    void abandon(int correlationId, Throwable cause)
+    {
+        CompletableFuture<byte[]> request = pending.remove(correlationId);
+        if(request != null)
+        {
+            request.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Fails every outstanding request and any opened afterwards.  Called once the connection has closed.
+     * **/
+    void close()
+    {
+        closedCause = new IllegalStateException("Connection is closed");
+        pending.keySet().forEach(correlationId -> abandon(correlationId, closedCause));
+    }
+}
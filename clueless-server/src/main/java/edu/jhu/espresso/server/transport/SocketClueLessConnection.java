@@ -0,0 +1,224 @@
+package edu.jhu.espresso.server.transport;
+
+import edu.jhu.espresso.server.ClueLessServerApplication;
+import edu.jhu.espresso.server.codec.WireFormat;
+import edu.jhu.espresso.server.execution.ServerExecutors;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * SocketClueLessConnection is the original one-socket-per-thread transport.  The handshake is read in the constructor,
+ * which the acceptor runs on the protocol executor rather than on its accept thread.  Once the connection has been
+ * admitted a reader thread owns the input stream: it applies acknowledgements, completes pending requests from their
+ * responses and hands anything else to the unsolicited message handler.
+ * **/
+public class SocketClueLessConnection implements ClueLessConnection
+{
+    private static final int HANDSHAKE_TIMEOUT_MILLIS = 5_000;
+    private static final int READ_BUFFER_SIZE = 8_192;
+
+    private final Socket socket;
+    private final DataOutputStream outputStream;
+    private final DataInputStream inputStream;
+    private final AtomicLong acknowledgedSequence = new AtomicLong();
+    private final AtomicLong acknowledgedBoardVersion = new AtomicLong();
+    private final WireFormat wireFormat;
+    private final PendingRequests pendingRequests = new PendingRequests();
+    private final AtomicBoolean reading = new AtomicBoolean();
+    //Only the reading thread touches it; payloads that fit are decoded where they were read.
+    private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+    private volatile Consumer<Frame> unsolicitedMessageHandler = SocketClueLessConnection::dropUnsolicited;
+
+    /**
+     * Reads and answers the client's handshake, blocking for up to HANDSHAKE_TIMEOUT_MILLIS.  The socket is closed if
+     * the handshake fails for any reason.
+     * **/
+    public SocketClueLessConnection(Socket socket, WireFormat allowedFormat) throws IOException
+    {
+        this.socket = socket;
+        try
+        {
+            this.socket.setTcpNoDelay(true);
+            this.outputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            this.inputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.wireFormat = handshake(allowedFormat);
+        }
+        catch (IOException e)
+        {
+            closeQuietly();
+            throw e;
+        }
+        catch (IllegalArgumentException e)
+        {
+            closeQuietly();
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void startReading()
+    {
+        if(reading.compareAndSet(false, true))
+        {
+            ServerExecutors.get().getConnectionThreadFactory().newThread(this::readFrames).start();
+        }
+    }
+
+    private WireFormat handshake(WireFormat allowedFormat) throws IOException
+    {
+        socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+        WireFormat negotiated = WireHandshake.negotiate(FrameCodec.readFrame(inputStream), allowedFormat);
+        outputStream.write(WireHandshake.reply(negotiated).array());
+        outputStream.flush();
+        socket.setSoTimeout(0);
+        return negotiated;
+    }
+
+    @Override
+    public void send(EncodedMessage message)
+    {
+        try
+        {
+            synchronized (outputStream)
+            {
+                message.writeTo(outputStream, wireFormat);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<byte[]> request(EncodedMessage message)
+    {
+        CompletableFuture<byte[]> response = new CompletableFuture<>();
+        int correlationId = pendingRequests.open(response);
+        try
+        {
+            synchronized (outputStream)
+            {
+                message.writeRequestTo(outputStream, wireFormat, correlationId);
+            }
+        }
+        catch (IOException e)
+        {
+            pendingRequests.abandon(correlationId, new IllegalStateException(e));
+        }
+        return response;
+    }
+
+    @Override
+    public void setUnsolicitedMessageHandler(Consumer<Frame> handler)
+    {
+        this.unsolicitedMessageHandler = handler;
+    }
+
+    private void readFrames()
+    {
+        try
+        {
+            while (true)
+            {
+                Frame frame = FrameCodec.readFrame(inputStream, readBuffer);
+                switch (frame.getType())
+                {
+                    case Frame.ACKNOWLEDGEMENT:
+                        recordAcknowledgement(frame.getAcknowledgedSequence(), frame.getAcknowledgedBoardVersion());
+                        break;
+                    case Frame.RESPONSE:
+                        pendingRequests.complete(frame);
+                        break;
+                    default:
+                        unsolicitedMessageHandler.accept(frame);
+                        break;
+                }
+            }
+        }
+        catch (IOException | IllegalArgumentException e)
+        {
+            //The socket was closed or the client broke the framing; either way nothing more can be read.
+        }
+        finally
+        {
+            pendingRequests.close();
+            closeQuietly();
+        }
+    }
+
+    private static void dropUnsolicited(Frame frame)
+    {
+        ClueLessServerApplication.logMessage(
+                () -> "Dropping unsolicited message of " + frame.getPayloadLength() + " bytes"
+        );
+    }
+
+    @Override
+    public WireFormat getWireFormat()
+    {
+        return wireFormat;
+    }
+
+    @Override
+    public long getAcknowledgedSequence()
+    {
+        return acknowledgedSequence.get();
+    }
+
+    @Override
+    public long getAcknowledgedBoardVersion()
+    {
+        return acknowledgedBoardVersion.get();
+    }
+
+    @Override
+    public void recordAcknowledgement(long sequenceNumber, long boardVersion)
+    {
+        acknowledgedSequence.accumulateAndGet(sequenceNumber, Math::max);
+        acknowledgedBoardVersion.accumulateAndGet(boardVersion, Math::max);
+    }
+
+    @Override
+    public boolean isOpen()
+    {
+        return !socket.isClosed();
+    }
+
+    @Override
+    public void close()
+    {
+        try
+        {
+            socket.close();
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
+        finally
+        {
+            pendingRequests.close();
+        }
+    }
+
+    private void closeQuietly()
+    {
+        try
+        {
+            socket.close();
+        }
+        catch (IOException ignored)
+        {
+        }
+    }
+}
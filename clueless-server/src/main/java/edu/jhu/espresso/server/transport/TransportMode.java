@@ -0,0 +1,7 @@
+package edu.jhu.espresso.server.transport;
+
+public enum TransportMode
+{
+    BLOCKING,
+    NIO
+}
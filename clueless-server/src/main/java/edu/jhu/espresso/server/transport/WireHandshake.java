@@ -0,0 +1,31 @@
+package edu.jhu.espresso.server.transport;
+
+import edu.jhu.espresso.server.codec.WireFormat;
+
+import java.nio.ByteBuffer;
+
+/**
+ * WireHandshake settles the wire format of a new connection.  The client's first frame names the format it wants; the
+ * server answers with the format both sides will use from then on.
+ * **/
+final class WireHandshake
+{
+    private WireHandshake()
+    {
+    }
+
+    static WireFormat negotiate(Frame clientHandshake, WireFormat allowedFormat)
+    {
+        if(!clientHandshake.isHandshake())
+        {
+            throw new IllegalArgumentException("Expected a handshake but received frame type " + clientHandshake.getType());
+        }
+        return WireFormat.negotiate(WireFormat.fromCode(clientHandshake.getWireFormatCode()), allowedFormat);
+    }
+
+    static ByteBuffer reply(WireFormat wireFormat)
+    {
+        Frame reply = Frame.handshake(wireFormat.getCode());
+        return FrameCodec.encode(reply.getType(), reply.getPayload());
+    }
+}
@@ -0,0 +1,97 @@
+package edu.jhu.espresso.server;
+
+import edu.jhu.espresso.server.codec.WireFormat;
+import edu.jhu.espresso.server.domain.builder.ClueLessServerConfigurationBuilder;
+import edu.jhu.espresso.server.domain.gamepieces.Player;
+import edu.jhu.espresso.server.transport.Frame;
+import edu.jhu.espresso.server.transport.FrameCodec;
+import edu.jhu.espresso.server.transport.TransportMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The players main seats over the blocking transport have their replies read, so the game's first request is answered
+ * rather than left waiting for its deadline.
+ * **/
+class ClueLessServerApplicationTest
+{
+    private ClueLessServerConfiguration previousConfiguration;
+    private boolean logging;
+    private ClueLessServer clueLessServer;
+    private int port;
+
+    @BeforeEach
+    void startServer() throws IOException
+    {
+        previousConfiguration = ClueLessServerConfiguration.active();
+        logging = ClueLessServerApplication.log;
+        ClueLessServerApplication.log = false;
+
+        try(ServerSocket probe = new ServerSocket(0))
+        {
+            port = probe.getLocalPort();
+        }
+        clueLessServer = new ClueLessServer(ClueLessServerConfigurationBuilder.aClueLessServerConfiguration()
+                .withPort(port)
+                .withTransportMode(TransportMode.BLOCKING)
+                .build());
+    }
+
+    @AfterEach
+    void stopServer()
+    {
+        clueLessServer.close();
+        ClueLessServerConfiguration.activate(previousConfiguration);
+        ClueLessServerApplication.log = logging;
+    }
+
+    @Test
+    void seatedPlayersOnTheBlockingTransportHaveTheirRepliesRead() throws Exception
+    {
+        CompletableFuture<List<Player>> seated = CompletableFuture.supplyAsync(() -> {
+            try
+            {
+                return ClueLessServerApplication.seatPlayers(clueLessServer, 1);
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        try(Socket socket = new Socket("localhost", port))
+        {
+            socket.setSoTimeout(5_000);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            FrameCodec.writeFrame(out, Frame.handshake(WireFormat.JSON.getCode()));
+            out.flush();
+            assertTrue(FrameCodec.readFrame(in).isHandshake());
+
+            Player player = seated.get(5, TimeUnit.SECONDS).get(0);
+            CompletableFuture<String> reply = player.asyncWriteInstanceAndExpectType("Are you there?", String.class);
+
+            Frame request = FrameCodec.readFrame(in);
+            assertTrue(request.isRequest());
+            FrameCodec.writeFrame(out, Frame.response(request.getCorrelationId(), request.getPayload()));
+            out.flush();
+
+            assertEquals("Are you there?", reply.get(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package edu.jhu.espresso.server;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * The timing loop shared by the benchmarks under src/test.  Every result is written to a volatile sink so the JIT
+ * cannot drop the work, and allocation is read from the current thread's counter, so an operation must not hand its
+ * work to another thread.
+ * **/
+public final class Microbenchmark
+{
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static volatile Object sink;
+
+    public interface Operation
+    {
+        Object run() throws Exception;
+    }
+
+    private Microbenchmark()
+    {
+    }
+
+    /**
+     * Returns the nanoseconds taken by a single call, for timing the first call on a cold class.
+     * **/
+    public static long once(Operation operation) throws Exception
+    {
+        long start = System.nanoTime();
+        sink = operation.run();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Runs the operation once for warm-up and again to measure, both times the given number of iterations.
+     * **/
+    public static Cost measure(Operation operation, int iterations) throws Exception
+    {
+        run(operation, iterations);
+        return run(operation, iterations);
+    }
+
+    private static Cost run(Operation operation, int iterations) throws Exception
+    {
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for(int i = 0; i < iterations; i++)
+        {
+            sink = operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Cost(elapsed / (double) iterations, allocated / iterations);
+    }
+
+    /**
+     * The mean time and heap allocation of one operation.  Primitive results are boxed on their way to the sink, which
+     * accounts for the few bytes some operations show.
+     * **/
+    public static final class Cost
+    {
+        private final double nanosPerOperation;
+        private final long bytesPerOperation;
+
+        private Cost(double nanosPerOperation, long bytesPerOperation)
+        {
+            this.nanosPerOperation = nanosPerOperation;
+            this.bytesPerOperation = bytesPerOperation;
+        }
+
+        public double getNanosPerOperation()
+        {
+            return nanosPerOperation;
+        }
+
+        public long getBytesPerOperation()
+        {
+            return bytesPerOperation;
+        }
+    }
+}
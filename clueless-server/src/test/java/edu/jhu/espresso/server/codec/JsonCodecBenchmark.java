@@ -0,0 +1,162 @@
+package edu.jhu.espresso.server.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.jhu.espresso.server.Microbenchmark;
+import edu.jhu.espresso.server.domain.ClueLessProtocolType;
+import edu.jhu.espresso.server.domain.TurnStart;
+import edu.jhu.espresso.server.domain.builder.AccusationBuilder;
+import edu.jhu.espresso.server.domain.builder.CaseDetailsBuilder;
+import edu.jhu.espresso.server.domain.builder.GameStartBuilder;
+import edu.jhu.espresso.server.domain.builder.SuggestionBuilder;
+import edu.jhu.espresso.server.domain.builder.SuggestionTestimonyResponseBuilder;
+import edu.jhu.espresso.server.domain.builder.TurnStartBuilder;
+import edu.jhu.espresso.server.domain.gameEvents.AccusationStatus;
+import edu.jhu.espresso.server.domain.gameEvents.MoveChoice;
+import edu.jhu.espresso.server.domain.gameEvents.MoveOptions;
+import edu.jhu.espresso.server.domain.gameEvents.Suggestion;
+import edu.jhu.espresso.server.domain.gameEvents.SuggestionStatus;
+import edu.jhu.espresso.server.domain.gamepieces.CharacterNames;
+import edu.jhu.espresso.server.domain.gamepieces.LocationNames;
+import edu.jhu.espresso.server.domain.gamepieces.RoomNames;
+import edu.jhu.espresso.server.domain.gamepieces.Weapon;
+import edu.jhu.espresso.server.protocol.ActivePlayerProtocolSelector;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares the reflective ObjectMapper path with the streaming JSON codecs, and with the binary format for reference,
+ * per message class.  For each it reports the first call on a cold class, then the steady-state time and heap
+ * allocation per encode and per decode.  It is not a test and is not run by the build; run it with
+ *
+ *     mvn test-compile
+ *     java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *         edu.jhu.espresso.server.codec.JsonCodecBenchmark [iterations]
+ * **/
+public final class JsonCodecBenchmark
+{
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private JsonCodecBenchmark()
+    {
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        Map<String, Object> messages = new LinkedHashMap<>();
+        messages.put("TurnStart", turnStart());
+        messages.put("GameStart", GameStartBuilder.aGameStart()
+                .withRoomNamesList(Arrays.asList(RoomNames.HALL, RoomNames.LOUNGE))
+                .withWeapons(Arrays.asList(Weapon.REVOLVER))
+                .withCharacterNamesList(Arrays.asList(CharacterNames.MRS_WHITE))
+                .withExtraCardsNames(Arrays.asList("STUDY", "MR_GREEN"))
+                .withCharacterNames(CharacterNames.MR_GREEN)
+                .withNumberOfPlayers(4)
+                .build());
+        messages.put("Suggestion", suggestion());
+        messages.put("Accusation", AccusationBuilder.anAccusation()
+                .withAccusationStatus(AccusationStatus.OFFER_ACCUSATION)
+                .withValidCharacters(Arrays.asList("MISS_SCARLET", "COLONEL_MUSTARD", "MRS_WHITE", "MR_GREEN"))
+                .withValidRooms(Arrays.asList("KITCHEN", "HALL", "BALLROOM", "CONSERVATORY", "STUDY"))
+                .withValidWeapons(Arrays.asList("REVOLVER", "DAGGER", "LEAD_PIPE", "ROPE"))
+                .build());
+        messages.put("MoveOptions", moveOptions());
+        messages.put("ActivePlayerProtocolSelector", selector());
+        messages.put("SuggestionTestimonyResponse", SuggestionTestimonyResponseBuilder.aSuggestionTestimonyResponse()
+                .withResponse("LEAD_PIPE")
+                .build());
+
+        MessageCodec json = WireFormat.JSON.codec();
+        MessageCodec binary = WireFormat.BINARY.codec();
+
+        System.out.printf("%-30s %-12s %12s %12s %12s %12s %12s%n",
+                "message", "path", "cold enc us", "enc ns/op", "enc B/op", "dec ns/op", "dec B/op");
+
+        for(Map.Entry<String, Object> entry : messages.entrySet())
+        {
+            Object message = entry.getValue();
+            Class<?> type = message.getClass();
+
+            //The server's selector has Optional getters, so every JSON path decodes the client's form of it.
+            byte[] jsonPayload = json.encode(message);
+            byte[] binaryPayload = binary.encode(message);
+
+            report(entry.getKey(), "ObjectMapper", iterations,
+                    () -> OBJECT_MAPPER.writeValueAsBytes(message),
+                    () -> OBJECT_MAPPER.readValue(jsonPayload, type));
+            report(entry.getKey(), "streaming", iterations,
+                    () -> json.encode(message),
+                    () -> json.decode(jsonPayload, type));
+            report(entry.getKey(), "binary", iterations,
+                    () -> binary.encode(message),
+                    () -> binary.decode(binaryPayload, type));
+        }
+    }
+
+    private static void report(
+            String message,
+            String path,
+            int iterations,
+            Microbenchmark.Operation encode,
+            Microbenchmark.Operation decode
+    ) throws Exception {
+        long coldNanos = Microbenchmark.once(encode);
+        Microbenchmark.Cost encodeCost = Microbenchmark.measure(encode, iterations);
+        Microbenchmark.Cost decodeCost = Microbenchmark.measure(decode, iterations);
+
+        System.out.printf("%-30s %-12s %12.1f %12.1f %12d %12.1f %12d%n", message, path, coldNanos / 1_000.0,
+                encodeCost.getNanosPerOperation(), encodeCost.getBytesPerOperation(),
+                decodeCost.getNanosPerOperation(), decodeCost.getBytesPerOperation());
+    }
+
+    private static TurnStart turnStart()
+    {
+        Map<CharacterNames, LocationNames> locations = new EnumMap<>(CharacterNames.class);
+        locations.put(CharacterNames.MISS_SCARLET, LocationNames.H2);
+        locations.put(CharacterNames.PROFESSOR_PLUM, LocationNames.CONSERVATORY);
+        return TurnStartBuilder.aTurnStart()
+                .withClueLessProtocolType(ClueLessProtocolType.WAITING_PLAYER)
+                .withLocationNamesMap(locations)
+                .withAnnouncement("Miss Scarlet moved to hallway 2")
+                .withSequenceNumber(42)
+                .withBoardVersion(17)
+                .build();
+    }
+
+    private static Suggestion suggestion()
+    {
+        return SuggestionBuilder.aSuggestion()
+                .withSuggestionStatus(SuggestionStatus.MAKING_SUGGESTION)
+                .withWeapon(Weapon.CANDLESTICK)
+                .withRoomNames(RoomNames.BALLROOM)
+                .withCharacter(CharacterNames.COLONEL_MUSTARD)
+                .withCaseDetails(CaseDetailsBuilder.aCaseDetails()
+                        .withWeapon(Weapon.ROPE)
+                        .withRoom(RoomNames.LIBRARY)
+                        .withCharacterNames(CharacterNames.MRS_PEACOCK)
+                        .build())
+                .build();
+    }
+
+    private static MoveOptions moveOptions()
+    {
+        MoveOptions moveOptions = new MoveOptions();
+        moveOptions.setValidMoves(Arrays.asList(LocationNames.KITCHEN, LocationNames.H3, LocationNames.H12));
+        moveOptions.setTurnIndicator(ClueLessProtocolType.ACTIVE_PLAYER);
+        return moveOptions;
+    }
+
+    private static ActivePlayerProtocolSelector selector()
+    {
+        MoveChoice moveChoice = new MoveChoice();
+        moveChoice.setMove(LocationNames.H4);
+        ActivePlayerProtocolSelector selector = new ActivePlayerProtocolSelector();
+        selector.setMoveChoice(moveChoice);
+        selector.setSuggestion(suggestion());
+        return selector;
+    }
+}
@@ -0,0 +1,368 @@
+package edu.jhu.espresso.server.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.jhu.espresso.server.domain.ClueLessProtocolType;
+import edu.jhu.espresso.server.domain.TurnStart;
+import edu.jhu.espresso.server.domain.builder.AccusationBuilder;
+import edu.jhu.espresso.server.domain.builder.CaseDetailsBuilder;
+import edu.jhu.espresso.server.domain.builder.GameStartBuilder;
+import edu.jhu.espresso.server.domain.builder.SuggestionBuilder;
+import edu.jhu.espresso.server.domain.builder.SuggestionTestimonyResponseBuilder;
+import edu.jhu.espresso.server.domain.builder.TurnStartBuilder;
+import edu.jhu.espresso.server.domain.gameEvents.Accusation;
+import edu.jhu.espresso.server.domain.gameEvents.AccusationStatus;
+import edu.jhu.espresso.server.domain.gameEvents.GameStart;
+import edu.jhu.espresso.server.domain.gameEvents.GameState;
+import edu.jhu.espresso.server.domain.gameEvents.MoveChoice;
+import edu.jhu.espresso.server.domain.gameEvents.MoveOptions;
+import edu.jhu.espresso.server.domain.gameEvents.NewGame;
+import edu.jhu.espresso.server.domain.gameEvents.SeatClaim;
+import edu.jhu.espresso.server.domain.gameEvents.ServerBusy;
+import edu.jhu.espresso.server.domain.gameEvents.Suggestion;
+import edu.jhu.espresso.server.domain.gameEvents.SuggestionStatus;
+import edu.jhu.espresso.server.domain.gameEvents.SuggestionTestimonyResponse;
+import edu.jhu.espresso.server.domain.gameEvents.TableSizeChoice;
+import edu.jhu.espresso.server.domain.gamepieces.CaseDetails;
+import edu.jhu.espresso.server.domain.gamepieces.CharacterNames;
+import edu.jhu.espresso.server.domain.gamepieces.LocationNames;
+import edu.jhu.espresso.server.domain.gamepieces.RoomNames;
+import edu.jhu.espresso.server.domain.gamepieces.Weapon;
+import edu.jhu.espresso.server.protocol.ActivePlayerProtocolSelector;
+import edu.jhu.espresso.server.protocol.ServerActivePlayerProtocolOfferer;
+import edu.jhu.espresso.server.transport.Frame;
+import edu.jhu.espresso.server.transport.FrameCodec;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every message class that crosses the wire must survive a round trip through every wire format.  Messages are compared
+ * through their JSON trees, which is what the client saw before the binary format existed.  List fields that the
+ * binary format carries as sets are filled in wire-table order, since that is the order they decode in.  GameTimer
+ * never crosses the wire and has no codec.
+ * **/
+class WireFormatRoundTripTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final CaseDetails caseDetails = CaseDetailsBuilder.aCaseDetails()
+            .withWeapon(Weapon.ROPE)
+            .withRoom(RoomNames.LIBRARY)
+            .withCharacterNames(CharacterNames.MRS_PEACOCK)
+            .build();
+
+    private final Suggestion suggestion = SuggestionBuilder.aSuggestion()
+            .withSuggestionStatus(SuggestionStatus.PROVING_SUGGESTION_FALSE)
+            .withWeapon(Weapon.CANDLESTICK)
+            .withRoomNames(RoomNames.BALLROOM)
+            .withCharacter(CharacterNames.COLONEL_MUSTARD)
+            .withCaseDetails(caseDetails)
+            .withValidCharacters(Arrays.asList("MISS_SCARLET", "MR_GREEN", "PROFESSOR_PLUM"))
+            .withValidWeapons(Arrays.asList("REVOLVER", "WRENCH"))
+            .withResponseValue("BALLROOM")
+            .build();
+
+    private final Accusation accusation = AccusationBuilder.anAccusation()
+            .withAccusationStatus(AccusationStatus.MAKING_ACCUSATION)
+            .withWeapon(Weapon.DAGGER)
+            .withRoomNames(RoomNames.STUDY)
+            .withCharacter(CharacterNames.MRS_WHITE)
+            .withValidCharacters(Arrays.asList("COLONEL_MUSTARD", "MRS_WHITE"))
+            .withValidRooms(Arrays.asList("KITCHEN", "HALL", "STUDY"))
+            .withValidWeapons(Arrays.asList("DAGGER", "LEAD_PIPE"))
+            .withCaseDetails(caseDetails)
+            .build();
+
+    private MoveOptions moveOptions()
+    {
+        MoveOptions moveOptions = new MoveOptions();
+        moveOptions.setValidMoves(Arrays.asList(LocationNames.KITCHEN, LocationNames.H3, LocationNames.H12));
+        moveOptions.setTurnIndicator(ClueLessProtocolType.ACTIVE_PLAYER);
+        moveOptions.setHandlerNumber(7);
+        return moveOptions;
+    }
+
+    private MoveChoice moveChoice()
+    {
+        MoveChoice moveChoice = new MoveChoice();
+        moveChoice.setMove(LocationNames.H4);
+        return moveChoice;
+    }
+
+    private void assertRoundTrip(Object message, Class<?> type)
+    {
+        for(WireFormat wireFormat : WireFormat.values())
+        {
+            Object decoded = wireFormat.codec().decode(wireFormat.codec().encode(message), type);
+            assertEquals(OBJECT_MAPPER.valueToTree(message), OBJECT_MAPPER.valueToTree(decoded), wireFormat.name());
+        }
+        assertStreamedJsonMatchesObjectMapper(message);
+    }
+
+    /**
+     * A peer that still binds reflectively must see exactly the JSON it always has.
+     * **/
+    private void assertStreamedJsonMatchesObjectMapper(Object message)
+    {
+        try
+        {
+            assertEquals(
+                    OBJECT_MAPPER.readTree(OBJECT_MAPPER.writeValueAsBytes(message)),
+                    OBJECT_MAPPER.readTree(WireFormat.JSON.codec().encode(message))
+            );
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void caseDetailsRoundTrips()
+    {
+        assertRoundTrip(caseDetails, CaseDetails.class);
+    }
+
+    @Test
+    void turnStartRoundTrips()
+    {
+        Map<CharacterNames, LocationNames> locations = new EnumMap<>(CharacterNames.class);
+        locations.put(CharacterNames.MISS_SCARLET, LocationNames.H2);
+        locations.put(CharacterNames.PROFESSOR_PLUM, LocationNames.CONSERVATORY);
+
+        TurnStart turnStart = TurnStartBuilder.aTurnStart()
+                .withClueLessProtocolType(ClueLessProtocolType.WAITING_PLAYER)
+                .withLocationNamesMap(locations)
+                .withAnnouncement("Miss Scarlet moved to hallway 2")
+                .withCharacterMovedFromSuggestion(CharacterNames.PROFESSOR_PLUM)
+                .withSequenceNumber(42)
+                .withEchoRequested(false)
+                .withBoardVersion(17)
+                .build();
+
+        assertRoundTrip(turnStart, TurnStart.class);
+    }
+
+    @Test
+    void gameStartRoundTrips()
+    {
+        GameStart gameStart = GameStartBuilder.aGameStart()
+                .withRoomNamesList(Arrays.asList(RoomNames.HALL, RoomNames.LOUNGE))
+                .withWeapons(Arrays.asList(Weapon.REVOLVER, Weapon.ROPE))
+                .withCharacterNamesList(Arrays.asList(CharacterNames.MRS_WHITE))
+                .withExtraCardsNames(Arrays.asList("STUDY", "MR_GREEN", "WRENCH"))
+                .withCharacterNames(CharacterNames.MR_GREEN)
+                .withNumberOfPlayers(4)
+                .withPlayerID(17)
+                .withReconnectToken(-6_917_529_027_641_081_856L)
+                .build();
+
+        assertRoundTrip(gameStart, GameStart.class);
+    }
+
+    @Test
+    void suggestionRoundTrips()
+    {
+        assertRoundTrip(suggestion, Suggestion.class);
+        assertRoundTrip(SuggestionBuilder.aSuggestion().withSuggestionStatus(SuggestionStatus.CANNOT_DISPROVE).build(), Suggestion.class);
+    }
+
+    @Test
+    void accusationRoundTrips()
+    {
+        assertRoundTrip(accusation, Accusation.class);
+    }
+
+    @Test
+    void moveOptionsAndChoiceRoundTrip()
+    {
+        assertRoundTrip(moveOptions(), MoveOptions.class);
+        assertRoundTrip(moveChoice(), MoveChoice.class);
+    }
+
+    @Test
+    void protocolOffererRoundTrips()
+    {
+        assertRoundTrip(new ServerActivePlayerProtocolOfferer(moveOptions(), suggestion, null), ServerActivePlayerProtocolOfferer.class);
+    }
+
+    /**
+     * The server's selector getters return Optionals, so its JSON is compared against the plain objects the client
+     * sends rather than against ObjectMapper's view of the server class.
+     * **/
+    @Test
+    void protocolSelectorRoundTrips() throws Exception
+    {
+        ActivePlayerProtocolSelector selector = new ActivePlayerProtocolSelector();
+        selector.setMoveChoice(moveChoice());
+        selector.setAccusation(accusation);
+
+        Map<String, Object> clientSelector = new LinkedHashMap<>();
+        clientSelector.put("moveChoice", moveChoice());
+        clientSelector.put("suggestion", null);
+        clientSelector.put("accusation", accusation);
+
+        assertEquals(
+                OBJECT_MAPPER.readTree(OBJECT_MAPPER.writeValueAsBytes(clientSelector)),
+                OBJECT_MAPPER.readTree(WireFormat.JSON.codec().encode(selector))
+        );
+
+        for(WireFormat wireFormat : WireFormat.values())
+        {
+            ActivePlayerProtocolSelector decoded = wireFormat.codec()
+                    .decode(wireFormat.codec().encode(selector), ActivePlayerProtocolSelector.class);
+
+            assertEquals(
+                    OBJECT_MAPPER.valueToTree(selector.getMoveChoice().get()),
+                    OBJECT_MAPPER.valueToTree(decoded.getMoveChoice().get()),
+                    wireFormat.name()
+            );
+            assertFalse(decoded.getSuggestion().isPresent(), wireFormat.name());
+            assertEquals(
+                    OBJECT_MAPPER.valueToTree(selector.getAccusation().get()),
+                    OBJECT_MAPPER.valueToTree(decoded.getAccusation().get()),
+                    wireFormat.name()
+            );
+        }
+    }
+
+    @Test
+    void suggestionTestimonyResponseRoundTrips()
+    {
+        SuggestionTestimonyResponse response = SuggestionTestimonyResponseBuilder.aSuggestionTestimonyResponse()
+                .withResponse("LEAD_PIPE")
+                .build();
+
+        assertRoundTrip(response, SuggestionTestimonyResponse.class);
+    }
+
+    @Test
+    void gameStateRoundTrips()
+    {
+        GameState gameState = new GameState();
+        gameState.setHallways(Arrays.asList("H1", "H7"));
+        Map<CharacterNames, RoomNames> positions = new EnumMap<>(CharacterNames.class);
+        positions.put(CharacterNames.MRS_PEACOCK, RoomNames.DINING_ROOM);
+        gameState.setCharacterPositions(positions);
+
+        assertRoundTrip(gameState, GameState.class);
+    }
+
+    @Test
+    void newGameRoundTrips()
+    {
+        NewGame newGame = new NewGame();
+        newGame.setPlayerIds(Arrays.asList("0", "1", "2"));
+        newGame.setGameId("lobby-3");
+
+        assertRoundTrip(newGame, NewGame.class);
+    }
+
+    @Test
+    void serverBusyRoundTrips()
+    {
+        ServerBusy serverBusy = new ServerBusy();
+        serverBusy.setReason("The server has reached its connection limit");
+        serverBusy.setRetryAfterSeconds(5);
+
+        assertRoundTrip(serverBusy, ServerBusy.class);
+        assertTrue(((BinaryMessageCodec) WireFormat.BINARY.codec()).hasBinaryCodec(ServerBusy.class));
+    }
+
+    @Test
+    void seatClaimRoundTrips()
+    {
+        SeatClaim seatClaim = new SeatClaim();
+        seatClaim.setPlayerID(17);
+        seatClaim.setReconnectToken(-6_917_529_027_641_081_856L);
+
+        assertRoundTrip(seatClaim, SeatClaim.class);
+        assertTrue(((BinaryMessageCodec) WireFormat.BINARY.codec()).hasBinaryCodec(SeatClaim.class));
+    }
+
+    @Test
+    void tableSizeChoiceRoundTrips()
+    {
+        TableSizeChoice tableSizeChoice = new TableSizeChoice();
+        tableSizeChoice.setMinTableSize(3);
+        tableSizeChoice.setMaxTableSize(6);
+        tableSizeChoice.setTableSize(4);
+
+        assertRoundTrip(tableSizeChoice, TableSizeChoice.class);
+        assertTrue(((BinaryMessageCodec) WireFormat.BINARY.codec()).hasBinaryCodec(TableSizeChoice.class));
+    }
+
+    @Test
+    void binaryIsSmallerThanJson()
+    {
+        byte[] json = WireFormat.JSON.codec().encode(accusation);
+        byte[] binary = WireFormat.BINARY.codec().encode(accusation);
+
+        assertTrue(binary.length * 4 < json.length, binary.length + " binary bytes against " + json.length + " JSON bytes");
+    }
+
+    @Test
+    void truncatedBinaryPayloadIsRejected()
+    {
+        byte[] binary = WireFormat.BINARY.codec().encode(accusation);
+        byte[] truncated = Arrays.copyOf(binary, binary.length - 3);
+
+        assertThrows(IllegalArgumentException.class, () -> WireFormat.BINARY.codec().decode(truncated, Accusation.class));
+    }
+
+    @Test
+    void framesAreDecodedWhereTheyWereRead()
+    {
+        for(WireFormat wireFormat : WireFormat.values())
+        {
+            byte[] first = wireFormat.codec().encode(accusation);
+            byte[] second = wireFormat.codec().encode(suggestion);
+            ByteBuffer readBuffer = ByteBuffer.allocate(1024);
+            readBuffer.put(FrameCodec.encode(Frame.ACKNOWLEDGEMENT, Frame.acknowledgement(7, 3).getPayload()));
+            readBuffer.put(FrameCodec.encodeCorrelatedHeader(Frame.RESPONSE, 42, first.length)).put(first);
+            readBuffer.put(FrameCodec.encode(second));
+            readBuffer.flip();
+
+            Frame acknowledgement = FrameCodec.nextFrame(readBuffer);
+            assertEquals(7, acknowledgement.getAcknowledgedSequence());
+            assertEquals(3, acknowledgement.getAcknowledgedBoardVersion());
+
+            Frame response = FrameCodec.nextFrame(readBuffer);
+            assertSame(readBuffer.array(), response.getPayloadBuffer());
+            assertEquals(42, response.getCorrelationId());
+            assertArrayEquals(first, response.getPayload());
+
+            Frame message = FrameCodec.nextFrame(readBuffer);
+            assertSame(readBuffer.array(), message.getPayloadBuffer());
+            Suggestion decoded = wireFormat.codec().decode(
+                    message.getPayloadBuffer(),
+                    message.getPayloadOffset(),
+                    message.getPayloadLength(),
+                    Suggestion.class
+            );
+            assertEquals(OBJECT_MAPPER.valueToTree(suggestion), OBJECT_MAPPER.valueToTree(decoded), wireFormat.name());
+            assertNull(FrameCodec.nextFrame(readBuffer));
+        }
+    }
+
+    @Test
+    void negotiationSettlesOnTheLessCompactFormat()
+    {
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(WireFormat.BINARY, WireFormat.JSON));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(WireFormat.JSON, WireFormat.BINARY));
+        assertEquals(WireFormat.BINARY, WireFormat.negotiate(WireFormat.BINARY, WireFormat.BINARY));
+    }
+}
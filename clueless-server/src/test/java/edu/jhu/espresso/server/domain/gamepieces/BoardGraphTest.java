@@ -0,0 +1,233 @@
+package edu.jhu.espresso.server.domain.gamepieces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The BoardGraph's legal moves agree with the rule GameBoard used to apply to its Location objects: a location's
+ * declared destinations, less any hallway somebody is standing in.
+ * **/
+class BoardGraphTest
+{
+    private static final List<LocationNames> HALLWAYS = new ArrayList<>();
+
+    static
+    {
+        for(int i = 1; i < 13; i++)
+        {
+            HALLWAYS.add(LocationNames.fromStringName("H" + i));
+        }
+    }
+
+    private final BoardGraph boardGraph = BoardGraph.standard();
+
+    @Test
+    void legalMovesMatchTheLocationsForEveryHallwayOccupancy()
+    {
+        for(int occupancy = 0; occupancy < 1 << HALLWAYS.size(); occupancy++)
+        {
+            Set<LocationNames> occupiedHallways = EnumSet.noneOf(LocationNames.class);
+            for(int hallway = 0; hallway < HALLWAYS.size(); hallway++)
+            {
+                if((occupancy & 1 << hallway) != 0)
+                {
+                    occupiedHallways.add(HALLWAYS.get(hallway));
+                }
+            }
+            long occupied = mask(occupiedHallways);
+
+            for(LocationNames from : LocationNames.values())
+            {
+                assertEquals(
+                        objectGraphMoves(Location.fromLocationName(from), occupiedHallways),
+                        BoardGraph.toLocationNames(boardGraph.legalMoves(from, occupied)),
+                        from + " with " + occupiedHallways + " occupied"
+                );
+            }
+        }
+    }
+
+    @Test
+    void occupiedRoomsAndHomeSquaresNeverBlockAMove()
+    {
+        long everyRoomAndHomeSquare = ~boardGraph.getHallways() & mask(EnumSet.allOf(LocationNames.class));
+        for(LocationNames from : LocationNames.values())
+        {
+            assertEquals(boardGraph.neighbours(from), boardGraph.legalMoves(from, everyRoomAndHomeSquare), from.name());
+        }
+    }
+
+    @Test
+    void secretPassagesAreOpenWhenEveryHallwayIsFull()
+    {
+        long allHallways = boardGraph.getHallways();
+        assertEquals(HALLWAYS.size(), Long.bitCount(allHallways));
+
+        assertSecretPassage(LocationNames.LOUNGE, LocationNames.CONSERVATORY, allHallways);
+        assertSecretPassage(LocationNames.CONSERVATORY, LocationNames.LOUNGE, allHallways);
+        assertSecretPassage(LocationNames.STUDY, LocationNames.KITCHEN, allHallways);
+        assertSecretPassage(LocationNames.KITCHEN, LocationNames.STUDY, allHallways);
+        for(LocationNames room : Arrays.asList(
+                LocationNames.HALL,
+                LocationNames.LIBRARY,
+                LocationNames.BILLIARD_ROOM,
+                LocationNames.DINING_ROOM,
+                LocationNames.BALLROOM
+        )) {
+            assertEquals(0, boardGraph.legalMoves(room, allHallways), room.name());
+        }
+    }
+
+    @Test
+    void homeSquaresLeadOnlyToTheirHallwayAndNothingLeadsBack()
+    {
+        for(CharacterNames characterNames : CharacterNames.values())
+        {
+            HomeSquare homeSquare = new HomeSquare(characterNames);
+            LocationNames home = LocationNames.fromStringName(homeSquare.getLocationName());
+            long hallway = BoardGraph.bit(LocationNames.fromStringName(homeSquare.getAdjacentHallway()));
+
+            assertFalse(boardGraph.isHallway(home));
+            assertEquals(hallway, boardGraph.legalMoves(home, 0));
+            assertEquals(0, boardGraph.legalMoves(home, hallway));
+
+            for(LocationNames from : LocationNames.values())
+            {
+                assertEquals(0, boardGraph.neighbours(from) & BoardGraph.bit(home), from + " leads to " + home);
+            }
+        }
+    }
+
+    @Test
+    void gameBoardMatchesItsOwnSquaresThroughAGame()
+    {
+        SplittableRandom random = new SplittableRandom(21);
+        List<LocationNames> rooms = new ArrayList<>();
+        for(RoomNames roomNames : RoomNames.values())
+        {
+            rooms.add(LocationNames.fromRoomNames(roomNames));
+        }
+
+        for(int game = 0; game < 50; game++)
+        {
+            GameBoard gameBoard = new GameBoard();
+            for(int turn = 0; turn < 200; turn++)
+            {
+                CharacterNames mover = CharacterNames.values()[random.nextInt(CharacterNames.values().length)];
+                List<LocationNames> moves = gameBoard.getLegalMoveNames(mover);
+                if(random.nextInt(5) == 0)
+                {
+                    //A suggestion pulls its character into the suggester's room from wherever they stand.
+                    gameBoard.moveCharacter(mover, rooms.get(random.nextInt(rooms.size())));
+                }
+                else if(!moves.isEmpty())
+                {
+                    gameBoard.moveCharacter(mover, moves.get(random.nextInt(moves.size())));
+                }
+                assertBoardAgrees(gameBoard);
+            }
+        }
+    }
+
+    @Test
+    void hallwayIsFreedWhenItsOccupantLeaves()
+    {
+        GameBoard gameBoard = new GameBoard();
+        gameBoard.moveCharacter(CharacterNames.MISS_SCARLET, LocationNames.H2);
+        assertTrue(gameBoard.isOccupied(LocationNames.H2));
+        assertFalse(gameBoard.getLegalMoveNames(CharacterNames.COLONEL_MUSTARD).contains(LocationNames.H2));
+        gameBoard.moveCharacter(CharacterNames.COLONEL_MUSTARD, LocationNames.H9);
+        assertFalse(gameBoard.getLegalMoveNames(CharacterNames.COLONEL_MUSTARD).contains(LocationNames.H2));
+
+        gameBoard.moveCharacter(CharacterNames.MISS_SCARLET, LocationNames.LIBRARY);
+        assertFalse(gameBoard.isOccupied(LocationNames.H2));
+        gameBoard.moveCharacter(CharacterNames.COLONEL_MUSTARD, LocationNames.LOUNGE);
+        assertTrue(gameBoard.getLegalMoveNames(CharacterNames.COLONEL_MUSTARD).contains(LocationNames.H2));
+        assertBoardAgrees(gameBoard);
+    }
+
+    /**
+     * Every character's moves from the mask agree with the old rule applied to the board's own squares, whose
+     * hallways are marked full as characters come and go, and with the rule applied to where characters stand.
+     * **/
+    private static void assertBoardAgrees(GameBoard gameBoard)
+    {
+        Set<LocationNames> occupiedHallways = EnumSet.noneOf(LocationNames.class);
+        for(LocationNames standing : gameBoard.getLocationMappingNames().values())
+        {
+            if(HALLWAYS.contains(standing))
+            {
+                occupiedHallways.add(standing);
+            }
+        }
+
+        for(CharacterNames characterNames : CharacterNames.values())
+        {
+            List<LocationNames> moves = gameBoard.getLegalMoveNames(characterNames);
+            Location standing = gameBoard.getCharacterLocation(characterNames);
+
+            assertEquals(objectGraphMoves(gameBoard, standing), moves, characterNames + " on " + standing);
+            assertEquals(objectGraphMoves(standing, occupiedHallways), moves, characterNames + " on " + standing);
+        }
+    }
+
+    /**
+     * The rule GameBoard.getLegalMoves applied before the BoardGraph, over the board's own Location objects.
+     * **/
+    private static List<LocationNames> objectGraphMoves(GameBoard gameBoard, Location from)
+    {
+        List<LocationNames> moves = new ArrayList<>();
+        for(String destination : from.getPossibleDestinations())
+        {
+            Location square = gameBoard.getLocation(LocationNames.fromStringName(destination));
+            if(!(square instanceof Hallway) || !square.isFull())
+            {
+                moves.add(LocationNames.fromStringName(destination));
+            }
+        }
+        Collections.sort(moves);
+        return moves;
+    }
+
+    private static List<LocationNames> objectGraphMoves(Location from, Set<LocationNames> occupiedHallways)
+    {
+        List<LocationNames> moves = new ArrayList<>();
+        for(String destination : from.getPossibleDestinations())
+        {
+            LocationNames locationNames = LocationNames.fromStringName(destination);
+            boolean hallway = Location.fromLocationName(locationNames) instanceof Hallway;
+            if(!hallway || !occupiedHallways.contains(locationNames))
+            {
+                moves.add(locationNames);
+            }
+        }
+        Collections.sort(moves);
+        return moves;
+    }
+
+    private void assertSecretPassage(LocationNames from, LocationNames to, long occupied)
+    {
+        assertEquals(BoardGraph.bit(to), boardGraph.legalMoves(from, occupied), from + " to " + to);
+    }
+
+    private static long mask(Set<LocationNames> locations)
+    {
+        long mask = 0;
+        for(LocationNames location : locations)
+        {
+            mask |= BoardGraph.bit(location);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,75 @@
+package edu.jhu.espresso.server.domain.gamepieces;
+
+import edu.jhu.espresso.server.Microbenchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares the card queries a game makes most, written against ArrayLists of Card as they were and against CardSets
+ * as they are now: checking a suggestion against a hand, checking an accusation against the case file, and counting
+ * the cards a notebook has not ruled out.  For each it reports the steady-state time and heap allocation per query.
+ * It is not a test and is not run by the build; run it with
+ *
+ *     mvn test-compile
+ *     java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *         edu.jhu.espresso.server.domain.gamepieces.CardSetBenchmark [iterations]
+ * **/
+public final class CardSetBenchmark
+{
+    private CardSetBenchmark()
+    {
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        ArrayList<Card> hand = new ArrayList<>(Arrays.asList(
+                new RoomCard(RoomNames.LIBRARY),
+                new CharacterCard(CharacterNames.MR_GREEN),
+                new WeaponCard(Weapon.ROPE)
+        ));
+        ArrayList<Card> known = new ArrayList<>(Arrays.asList(
+                new RoomCard(RoomNames.HALL),
+                new WeaponCard(Weapon.DAGGER)
+        ));
+        ArrayList<Card> caseFile = new ArrayList<>(Arrays.asList(hand.get(0), hand.get(1), known.get(1)));
+        ArrayList<Card> suggestion = new ArrayList<>(Arrays.asList(hand.get(0), known.get(0), hand.get(2)));
+        ArrayList<Card> deck = CardSet.toCards(CardSet.ALL);
+
+        int handSet = CardSet.of(hand);
+        int knownSet = CardSet.of(known);
+        int caseFileSet = CardSet.of(caseFile);
+        int suggestionSet = CardSet.of(suggestion);
+
+        System.out.printf("%-24s %-12s %12s %12s%n", "query", "cards", "ns/op", "B/op");
+
+        report("disprove suggestion", "ArrayList", iterations, () -> {
+            ArrayList<Card> disproving = new ArrayList<>(suggestion);
+            disproving.retainAll(hand);
+            return disproving;
+        });
+        report("disprove suggestion", "CardSet", iterations, () -> suggestionSet & handSet);
+
+        report("confirm accusation", "ArrayList", iterations, () -> suggestion.containsAll(caseFile));
+        report("confirm accusation", "CardSet", iterations, () -> CardSet.contains(suggestionSet, caseFileSet));
+
+        report("count unknown", "ArrayList", iterations, () -> {
+            List<Card> unknown = new ArrayList<>(deck);
+            unknown.removeAll(hand);
+            unknown.removeAll(known);
+            return unknown.size();
+        });
+        report("count unknown", "CardSet", iterations, () -> CardSet.size(CardSet.ALL & ~(handSet | knownSet)));
+    }
+
+    private static void report(String query, String cards, int iterations, Microbenchmark.Operation operation)
+            throws Exception
+    {
+        Microbenchmark.Cost cost = Microbenchmark.measure(operation, iterations);
+        System.out.printf("%-24s %-12s %12.1f %12d%n",
+                query, cards, cost.getNanosPerOperation(), cost.getBytesPerOperation());
+    }
+}
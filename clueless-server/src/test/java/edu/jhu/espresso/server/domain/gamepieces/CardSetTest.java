@@ -0,0 +1,150 @@
+package edu.jhu.espresso.server.domain.gamepieces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every card owns exactly one bit of a CardSet, in its category's range, and a set expands back into the cards it was
+ * built from.
+ * **/
+class CardSetTest
+{
+    @Test
+    void everyCardOwnsOneBitInItsCategory()
+    {
+        int seen = CardSet.EMPTY;
+        for(RoomNames roomNames : RoomNames.values())
+        {
+            seen = claimBit(seen, CardSet.of(roomNames), CardSet.ROOMS);
+            assertEquals(Optional.of(roomNames), CardSet.card(CardSet.indexOf(roomNames)).getRoomName());
+        }
+        for(CharacterNames characterNames : CharacterNames.values())
+        {
+            seen = claimBit(seen, CardSet.of(characterNames), CardSet.CHARACTERS);
+            assertEquals(
+                    Optional.of(characterNames),
+                    CardSet.card(CardSet.indexOf(characterNames)).getCharacterName()
+            );
+        }
+        for(Weapon weapon : Weapon.values())
+        {
+            seen = claimBit(seen, CardSet.of(weapon), CardSet.WEAPONS);
+            assertEquals(Optional.of(weapon), CardSet.card(CardSet.indexOf(weapon)).getWeapon());
+        }
+
+        assertEquals(CardSet.ALL, seen);
+        assertEquals(CardSet.SIZE, CardSet.size(CardSet.ALL));
+        assertEquals(CardSet.EMPTY, CardSet.ROOMS & CardSet.CHARACTERS);
+        assertEquals(CardSet.EMPTY, CardSet.CHARACTERS & CardSet.WEAPONS);
+        assertEquals(CardSet.EMPTY, CardSet.ROOMS & CardSet.WEAPONS);
+    }
+
+    @Test
+    void cardsMapToTheBitTheyAreStoredAt()
+    {
+        for(int index = 0; index < CardSet.SIZE; index++)
+        {
+            Card card = CardSet.card(index);
+            assertEquals(index, card.getCardIndex());
+            assertEquals(1 << index, CardSet.of(card));
+            assertEquals(index, CardSet.indexOf(card.getName()));
+        }
+        assertEquals(-1, CardSet.indexOf("NOT_A_CARD"));
+    }
+
+    @Test
+    void newCardsMapToTheSameBitsAsTheSharedOnes()
+    {
+        List<Card> cards = new ArrayList<>();
+        for(RoomNames roomNames : RoomNames.values())
+        {
+            cards.add(new RoomCard(roomNames));
+        }
+        for(CharacterNames characterNames : CharacterNames.values())
+        {
+            cards.add(new CharacterCard(characterNames));
+        }
+        for(Weapon weapon : Weapon.values())
+        {
+            cards.add(new WeaponCard(weapon));
+        }
+
+        assertEquals(CardSet.ALL, CardSet.of(cards));
+        for(Card card : cards)
+        {
+            Card shared = CardSet.card(card.getCardIndex());
+            assertEquals(shared.getName(), card.getName());
+            assertEquals(CardSet.of(shared), CardSet.of(card));
+        }
+    }
+
+    @Test
+    void setsExpandBackIntoTheirCards()
+    {
+        assertTrue(CardSet.toCards(CardSet.EMPTY).isEmpty());
+
+        List<Card> all = CardSet.toCards(CardSet.ALL);
+        assertEquals(CardSet.SIZE, all.size());
+        for(int index = 0; index < CardSet.SIZE; index++)
+        {
+            assertSame(CardSet.card(index), all.get(index));
+        }
+
+        SplittableRandom random = new SplittableRandom(23);
+        for(int trial = 0; trial < 1_000; trial++)
+        {
+            int set = random.nextInt(CardSet.ALL + 1);
+            ArrayList<Card> cards = CardSet.toCards(set);
+
+            assertEquals(set, CardSet.of(cards));
+            assertEquals(Integer.bitCount(set), CardSet.size(set));
+            assertEquals(CardSet.size(set), cards.size());
+            for(int n = 0; n < cards.size(); n++)
+            {
+                assertEquals(cards.get(n).getCardIndex(), CardSet.nth(set, n));
+            }
+            int size = cards.size();
+            assertThrows(IndexOutOfBoundsException.class, () -> CardSet.nth(set, size));
+        }
+    }
+
+    @Test
+    void suggestionHoldsOneCardOfEachCategory()
+    {
+        int suggestion = CardSet.of(RoomNames.LIBRARY, CharacterNames.MR_GREEN, Weapon.ROPE);
+
+        assertEquals(3, CardSet.size(suggestion));
+        assertEquals(1, CardSet.size(suggestion & CardSet.ROOMS));
+        assertEquals(1, CardSet.size(suggestion & CardSet.CHARACTERS));
+        assertEquals(1, CardSet.size(suggestion & CardSet.WEAPONS));
+        assertTrue(CardSet.contains(suggestion, CardSet.of(Weapon.ROPE)));
+        assertFalse(CardSet.contains(suggestion, CardSet.of(Weapon.ROPE) | CardSet.of(Weapon.DAGGER)));
+        assertEquals(
+                suggestion,
+                CardSet.of(Arrays.asList(
+                        new RoomCard(RoomNames.LIBRARY),
+                        new CharacterCard(CharacterNames.MR_GREEN),
+                        new WeaponCard(Weapon.ROPE)
+                ))
+        );
+    }
+
+    private static int claimBit(int seen, int bit, int category)
+    {
+        assertEquals(1, CardSet.size(bit));
+        assertEquals(bit, bit & category);
+        assertEquals(CardSet.EMPTY, seen & bit, "Two cards share a bit");
+        return seen | bit;
+    }
+}
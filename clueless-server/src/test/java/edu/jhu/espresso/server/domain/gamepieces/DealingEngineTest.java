@@ -0,0 +1,104 @@
+package edu.jhu.espresso.server.domain.gamepieces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A seed fixes the whole deal, and every deal splits the 21 cards into a case file of one card per category, hands of
+ * the same size and the common cards, with no card in two places.
+ * **/
+class DealingEngineTest
+{
+    private static final int SEEDS = 2_000;
+
+    @Test
+    void sameSeedDealsTheSameGame()
+    {
+        for(long seed = 0; seed < SEEDS; seed++)
+        {
+            for(int players = 3; players <= 6; players++)
+            {
+                int cardsPerPlayer = cardsPerPlayer(players);
+                DealingEngine first = new DealingEngine(seed);
+                DealingEngine second = new DealingEngine(seed);
+                int[] firstHands = new int[players];
+                int[] secondHands = new int[players];
+
+                assertEquals(first.getCaseFile(), second.getCaseFile());
+                assertEquals(first.deal(cardsPerPlayer, firstHands), second.deal(cardsPerPlayer, secondHands));
+                assertArrayEquals(firstHands, secondHands);
+                assertEquals(seed, first.getSeed());
+            }
+        }
+    }
+
+    @Test
+    void differentGamesOfARunDealDifferently()
+    {
+        Set<Integer> caseFiles = new HashSet<>();
+        for(int gameID = 0; gameID < SEEDS; gameID++)
+        {
+            caseFiles.add(new DealingEngine(DealingEngine.seedForGame(42, gameID)).getCaseFile());
+        }
+        //There are 324 case files; two thousand games should come close to using them all.
+        assertTrue(caseFiles.size() > 300, caseFiles.size() + " distinct case files");
+    }
+
+    @Test
+    void caseFileHoldsOneCardOfEachCategory()
+    {
+        for(long seed = 0; seed < SEEDS; seed++)
+        {
+            int caseFile = new DealingEngine(seed).getCaseFile();
+
+            assertEquals(3, CardSet.size(caseFile));
+            assertEquals(1, CardSet.size(caseFile & CardSet.ROOMS));
+            assertEquals(1, CardSet.size(caseFile & CardSet.CHARACTERS));
+            assertEquals(1, CardSet.size(caseFile & CardSet.WEAPONS));
+        }
+    }
+
+    @Test
+    void everyCardIsDealtExactlyOnce()
+    {
+        for(long seed = 0; seed < SEEDS; seed++)
+        {
+            for(int players = 3; players <= 6; players++)
+            {
+                int cardsPerPlayer = cardsPerPlayer(players);
+                DealingEngine dealingEngine = new DealingEngine(seed);
+                int[] hands = new int[players];
+                int commonCards = dealingEngine.deal(cardsPerPlayer, hands);
+
+                int dealt = dealingEngine.getCaseFile();
+                dealt = claim(dealt, commonCards);
+                for(int hand : hands)
+                {
+                    assertEquals(cardsPerPlayer, CardSet.size(hand), Arrays.toString(hands));
+                    dealt = claim(dealt, hand);
+                }
+
+                assertEquals(CardSet.SIZE - 3 - cardsPerPlayer * players, CardSet.size(commonCards));
+                assertEquals(CardSet.ALL, dealt);
+            }
+        }
+    }
+
+    private static int claim(int dealt, int cards)
+    {
+        assertEquals(CardSet.EMPTY, dealt & cards, "A card was dealt twice");
+        return dealt | cards;
+    }
+
+    private static int cardsPerPlayer(int players)
+    {
+        return new int[]{ 0, 0, 0, 6, 4, 3, 3 }[players];
+    }
+}
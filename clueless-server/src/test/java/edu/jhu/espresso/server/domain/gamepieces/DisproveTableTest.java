@@ -0,0 +1,114 @@
+package edu.jhu.espresso.server.domain.gamepieces;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the DisproveTable against the answer worked out by hand, searching every hand in turn order, for all 324
+ * suggestions from every seat of games of three to six players.
+ * **/
+class DisproveTableTest
+{
+    private static final int SEEDS = 200;
+
+    @Test
+    void everySuggestionHasItsOwnIndex()
+    {
+        List<Integer> seen = new ArrayList<>();
+        for(RoomNames roomNames : RoomNames.values())
+        {
+            for(CharacterNames characterNames : CharacterNames.values())
+            {
+                for(Weapon weapon : Weapon.values())
+                {
+                    int suggestion = DisproveTable.suggestionIndex(roomNames, characterNames, weapon);
+                    assertEquals(seen.size(), suggestion);
+                    assertEquals(
+                            CardSet.of(roomNames, characterNames, weapon),
+                            DisproveTable.suggestionCards(suggestion)
+                    );
+                    seen.add(suggestion);
+                }
+            }
+        }
+        assertEquals(324, DisproveTable.SUGGESTIONS);
+        assertEquals(DisproveTable.SUGGESTIONS, seen.size());
+    }
+
+    @Test
+    void tableMatchesSearchingEveryHand()
+    {
+        for(long seed = 0; seed < SEEDS; seed++)
+        {
+            for(int players = 3; players <= 6; players++)
+            {
+                int[] hands = new int[players];
+                new DealingEngine(seed).deal(cardsPerPlayer(players), hands);
+                DisproveTable disproveTable = new DisproveTable(hands);
+                assertEquals(players, disproveTable.getSeats());
+
+                for(RoomNames roomNames : RoomNames.values())
+                {
+                    for(CharacterNames characterNames : CharacterNames.values())
+                    {
+                        for(Weapon weapon : Weapon.values())
+                        {
+                            checkSuggestion(disproveTable, hands, roomNames, characterNames, weapon);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void checkSuggestion(
+            DisproveTable disproveTable,
+            int[] hands,
+            RoomNames roomNames,
+            CharacterNames characterNames,
+            Weapon weapon
+    ) {
+        int suggestion = DisproveTable.suggestionIndex(roomNames, characterNames, weapon);
+        List<Card> suggested = new ArrayList<>();
+        suggested.add(new RoomCard(roomNames));
+        suggested.add(new CharacterCard(characterNames));
+        suggested.add(new WeaponCard(weapon));
+
+        for(int seat = 0; seat < hands.length; seat++)
+        {
+            List<Card> disproving = new ArrayList<>();
+            for(Card card : suggested)
+            {
+                if(CardSet.toCards(hands[seat]).stream().anyMatch(held -> held.getName().equals(card.getName())))
+                {
+                    disproving.add(card);
+                }
+            }
+            assertEquals(CardSet.of(disproving), disproveTable.disprovingCards(seat, suggestion));
+        }
+
+        for(int asker = 0; asker < hands.length; asker++)
+        {
+            int expected = DisproveTable.NO_DISPROVER;
+            for(int step = 1; step < hands.length && expected == DisproveTable.NO_DISPROVER; step++)
+            {
+                int seat = (asker + step) % hands.length;
+                if(disproveTable.disprovingCards(seat, suggestion) != CardSet.EMPTY)
+                {
+                    expected = seat;
+                }
+            }
+            assertEquals(expected, disproveTable.firstDisprover(asker, suggestion), roomNames + " " + characterNames +
+                    " " + weapon + " asked by seat " + asker);
+        }
+    }
+
+    private static int cardsPerPlayer(int players)
+    {
+        return new int[]{ 0, 0, 0, 6, 4, 3, 3 }[players];
+    }
+}
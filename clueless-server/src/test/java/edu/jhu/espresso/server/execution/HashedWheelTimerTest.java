@@ -0,0 +1,173 @@
+package edu.jhu.espresso.server.execution;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Deadlines fire in order, no earlier than asked and never once cancelled, however many turns of the wheel they are
+ * away and however late they reach the timer thread.
+ * **/
+class HashedWheelTimerTest
+{
+    private static final long TICK_MILLIS = 5;
+    private static final int TICKS_PER_WHEEL = 4;
+
+    private HashedWheelTimer timer;
+
+    @AfterEach
+    void stopTimer()
+    {
+        if(timer != null)
+        {
+            timer.stop();
+        }
+    }
+
+    @Test
+    void deadlinesFireInOrder() throws InterruptedException
+    {
+        timer = startTimer(Thread::new);
+        List<Integer> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch allFired = new CountDownLatch(5);
+
+        for(int delay : new int[]{ 90, 10, 50, 30, 70 })
+        {
+            timer.newTimeout(() -> {
+                fired.add(delay);
+                allFired.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(allFired.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(10, 30, 50, 70, 90), fired);
+        assertEquals(0, timer.getPendingTimeouts());
+    }
+
+    @Test
+    void deadlineCancelledBeforeItReachesTheWheelNeverFires() throws InterruptedException
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        timer = startTimer(stalledUntil(release));
+        CountDownLatch fired = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(fired::countDown, 0, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(0, timer.getPendingTimeouts());
+
+        release.countDown();
+        assertFalse(fired.await(20 * TICK_MILLIS, TimeUnit.MILLISECONDS));
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    void deadlineCancelledOnTheWheelNeverFires() throws InterruptedException
+    {
+        timer = startTimer(Thread::new);
+        CountDownLatch fired = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(fired::countDown, 40 * TICK_MILLIS, TimeUnit.MILLISECONDS);
+        TimeUnit.MILLISECONDS.sleep(4 * TICK_MILLIS);
+        assertTrue(timeout.cancel());
+
+        assertFalse(fired.await(60 * TICK_MILLIS, TimeUnit.MILLISECONDS));
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, timer.getPendingTimeouts());
+    }
+
+    @Test
+    void deadlineSeveralTurnsOfTheWheelAwayWaitsForItsRound() throws InterruptedException
+    {
+        timer = startTimer(Thread::new);
+        long delayMillis = 5 * TICKS_PER_WHEEL * TICK_MILLIS + 2;
+        CountDownLatch fired = new CountDownLatch(1);
+        long[] firedAfterNanos = new long[1];
+
+        long start = System.nanoTime();
+        timer.newTimeout(() -> {
+            firedAfterNanos[0] = System.nanoTime() - start;
+            fired.countDown();
+        }, delayMillis, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(
+                firedAfterNanos[0] >= TimeUnit.MILLISECONDS.toNanos(delayMillis),
+                "Fired after " + TimeUnit.NANOSECONDS.toMillis(firedAfterNanos[0]) + "ms"
+        );
+    }
+
+    @Test
+    void deadlineAlreadyDueWhenTheTimerTakesItFiresOnTheNextTick() throws InterruptedException
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        timer = startTimer(stalledUntil(release));
+        CountDownLatch fired = new CountDownLatch(2);
+
+        timer.newTimeout(fired::countDown, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        TimeUnit.MILLISECONDS.sleep(3 * TICKS_PER_WHEEL * TICK_MILLIS);
+        timer.newTimeout(fired::countDown, 0, TimeUnit.MILLISECONDS);
+        release.countDown();
+
+        assertTrue(fired.await(20 * TICK_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals(0, timer.getPendingTimeouts());
+    }
+
+    @Test
+    void deadlineAddedByAFiringTaskStillFires() throws InterruptedException
+    {
+        timer = startTimer(Thread::new);
+        CountDownLatch fired = new CountDownLatch(1);
+
+        timer.newTimeout(
+                () -> timer.newTimeout(fired::countDown, 0, TimeUnit.MILLISECONDS),
+                TICK_MILLIS,
+                TimeUnit.MILLISECONDS
+        );
+
+        assertTrue(fired.await(20 * TICK_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    private static HashedWheelTimer startTimer(ThreadFactory threadFactory)
+    {
+        return new HashedWheelTimer(
+                runnable -> {
+                    Thread thread = threadFactory.newThread(runnable);
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                TICK_MILLIS,
+                TimeUnit.MILLISECONDS,
+                TICKS_PER_WHEEL
+        );
+    }
+
+    /**
+     * A timer thread that does nothing until released, standing in for one that has fallen behind.
+     * **/
+    private static ThreadFactory stalledUntil(CountDownLatch release)
+    {
+        return runnable -> new Thread(() -> {
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException e)
+            {
+                return;
+            }
+            runnable.run();
+        });
+    }
+}
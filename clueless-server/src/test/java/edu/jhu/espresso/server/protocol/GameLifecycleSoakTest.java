@@ -0,0 +1,247 @@
+package edu.jhu.espresso.server.protocol;
+
+import edu.jhu.espresso.server.ClueLessClientHandler;
+import edu.jhu.espresso.server.ClueLessServerApplication;
+import edu.jhu.espresso.server.codec.WireFormat;
+import edu.jhu.espresso.server.domain.Game;
+import edu.jhu.espresso.server.domain.GameResult;
+import edu.jhu.espresso.server.domain.builder.AccusationBuilder;
+import edu.jhu.espresso.server.domain.gameEvents.AccusationStatus;
+import edu.jhu.espresso.server.domain.gamepieces.Card;
+import edu.jhu.espresso.server.domain.gamepieces.Character;
+import edu.jhu.espresso.server.domain.gamepieces.CharacterNames;
+import edu.jhu.espresso.server.domain.gamepieces.Player;
+import edu.jhu.espresso.server.transport.ClueLessConnection;
+import edu.jhu.espresso.server.transport.EncodedMessage;
+import edu.jhu.espresso.server.transport.Frame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plays thousands of complete games back to back in one JVM.  Every game must end with a result rather than stopping
+ * the JVM, give back all of its players' connections and leave nothing behind, so the heap after the last game is no
+ * bigger than after the first few hundred.
+ * **/
+class GameLifecycleSoakTest
+{
+    private static final int WARM_UP_GAMES = 500;
+    private static final int SOAK_GAMES = 3_000;
+    private static final long ALLOWED_HEAP_GROWTH_BYTES = 8L * 1024 * 1024;
+
+    private boolean logging;
+
+    @BeforeEach
+    void silenceLogging()
+    {
+        logging = ClueLessServerApplication.log;
+        ClueLessServerApplication.log = false;
+    }
+
+    @AfterEach
+    void restoreLogging()
+    {
+        ClueLessServerApplication.log = logging;
+    }
+
+    @Test
+    void heapStaysFlatAcrossCompletedGames()
+    {
+        for(int gameID = 0; gameID < WARM_UP_GAMES; gameID++)
+        {
+            playOneGame(gameID);
+        }
+        long heapAfterWarmUp = usedHeapAfterGc();
+
+        for(int gameID = WARM_UP_GAMES; gameID < SOAK_GAMES; gameID++)
+        {
+            playOneGame(gameID);
+        }
+        long heapAfterSoak = usedHeapAfterGc();
+
+        assertTrue(
+                heapAfterSoak - heapAfterWarmUp < ALLOWED_HEAP_GROWTH_BYTES,
+                "Heap grew by " + (heapAfterSoak - heapAfterWarmUp) + " bytes over " +
+                        (SOAK_GAMES - WARM_UP_GAMES) + " games"
+        );
+    }
+
+    @Test
+    void abandonedGameStillReleasesEveryConnection()
+    {
+        List<ScriptedConnection> connections = new ArrayList<>();
+        ArrayList<Player> players = players(0, message -> {
+            throw new IllegalStateException("Connection is closed");
+        }, connections);
+        Game game = new Game(0, players);
+
+        GameResult result = new ClueLessServerGameProtocol(players, game).playGame();
+
+        assertEquals(GameResult.Outcome.ABANDONED, result.getOutcome());
+        connections.forEach(connection -> assertFalse(connection.isOpen()));
+    }
+
+    private void playOneGame(int gameID)
+    {
+        List<ScriptedConnection> connections = new ArrayList<>();
+        Game[] game = new Game[1];
+        ArrayList<Player> players = players(gameID, message -> answer(message, game[0]), connections);
+        game[0] = new Game(gameID, players);
+
+        List<ClueLessClientHandler> released = new ArrayList<>();
+        GameResult result = new ClueLessServerGameProtocol(players, game[0], released::add).playGame();
+
+        assertEquals(GameResult.Outcome.SOLVED, result.getOutcome());
+        assertEquals(Optional.of(players.get(0).getCharacter().getName()), result.getWinner());
+        assertEquals(players.size(), released.size());
+        assertNull(game[0].getGameBoard());
+        assertNull(game[0].getCardPlayer());
+        released.forEach(ClueLessClientHandler::close);
+        connections.forEach(connection -> assertFalse(connection.isOpen()));
+    }
+
+    /**
+     * Echoes every broadcast, and has the first player accuse the case file correctly on their first turn.
+     * **/
+    private static Object answer(Object message, Game game)
+    {
+        if(!(message instanceof ServerActivePlayerProtocolOfferer))
+        {
+            return message;
+        }
+
+        AccusationBuilder accusation = AccusationBuilder.anAccusation()
+                .withAccusationStatus(AccusationStatus.MAKING_ACCUSATION);
+        for(Card card : game.getCardPlayer().getCaseFile())
+        {
+            card.getRoomName().ifPresent(accusation::withRoomNames);
+            card.getCharacterName().ifPresent(accusation::withCharacter);
+            card.getWeapon().ifPresent(accusation::withWeapon);
+        }
+
+        ActivePlayerProtocolSelector selector = new ActivePlayerProtocolSelector();
+        selector.setAccusation(accusation.build());
+        return selector;
+    }
+
+    private static ArrayList<Player> players(
+            int gameID,
+            Function<Object, Object> answers,
+            List<ScriptedConnection> connections
+    ) {
+        List<CharacterNames> characterNames = new ArrayList<>(Arrays.asList(CharacterNames.values()));
+        characterNames.sort(Comparator.comparingInt(CharacterNames::getOrderNumber));
+
+        ArrayList<Player> players = new ArrayList<>();
+        for(int i = 0; i < 3; i++)
+        {
+            ScriptedConnection connection = new ScriptedConnection(answers);
+            connections.add(connection);
+            players.add(new Player(
+                    gameID,
+                    i,
+                    new Character(characterNames.get(i)),
+                    new ClueLessClientHandler(connection)
+            ));
+        }
+        return players;
+    }
+
+    private static long usedHeapAfterGc()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for(int i = 0; i < 3; i++)
+        {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * A connection whose client answers every request at once with whatever the script returns.
+     * **/
+    private static final class ScriptedConnection implements ClueLessConnection
+    {
+        private final Function<Object, Object> answers;
+        private volatile boolean open = true;
+
+        private ScriptedConnection(Function<Object, Object> answers)
+        {
+            this.answers = answers;
+        }
+
+        @Override
+        public void send(EncodedMessage message)
+        {
+        }
+
+        @Override
+        public CompletableFuture<byte[]> request(EncodedMessage message)
+        {
+            CompletableFuture<byte[]> response = new CompletableFuture<>();
+            try
+            {
+                response.complete(getWireFormat().codec().encode(answers.apply(message.getMessage())));
+            }
+            catch (RuntimeException e)
+            {
+                response.completeExceptionally(e);
+            }
+            return response;
+        }
+
+        @Override
+        public void setUnsolicitedMessageHandler(Consumer<Frame> handler)
+        {
+        }
+
+        @Override
+        public WireFormat getWireFormat()
+        {
+            return WireFormat.BINARY;
+        }
+
+        @Override
+        public long getAcknowledgedSequence()
+        {
+            return 0;
+        }
+
+        @Override
+        public long getAcknowledgedBoardVersion()
+        {
+            return 0;
+        }
+
+        @Override
+        public void recordAcknowledgement(long sequenceNumber, long boardVersion)
+        {
+        }
+
+        @Override
+        public boolean isOpen()
+        {
+            return open;
+        }
+
+        @Override
+        public void close()
+        {
+            open = false;
+        }
+    }
+}
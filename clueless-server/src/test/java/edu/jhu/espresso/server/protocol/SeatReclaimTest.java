@@ -0,0 +1,206 @@
+package edu.jhu.espresso.server.protocol;
+
+import edu.jhu.espresso.server.ClueLessClientHandler;
+import edu.jhu.espresso.server.ClueLessServerApplication;
+import edu.jhu.espresso.server.codec.WireFormat;
+import edu.jhu.espresso.server.domain.Game;
+import edu.jhu.espresso.server.domain.TurnStart;
+import edu.jhu.espresso.server.domain.gameEvents.GameStart;
+import edu.jhu.espresso.server.domain.gamepieces.Character;
+import edu.jhu.espresso.server.domain.gamepieces.CharacterNames;
+import edu.jhu.espresso.server.domain.gamepieces.Player;
+import edu.jhu.espresso.server.session.SessionRegistry;
+import edu.jhu.espresso.server.transport.ClueLessConnection;
+import edu.jhu.espresso.server.transport.EncodedMessage;
+import edu.jhu.espresso.server.transport.Frame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A seat taken over by a bot goes back to its player only with the seat's reconnect token, and the new connection is
+ * sent the player's hand and the whole board.
+ * **/
+class SeatReclaimTest
+{
+    private static final int FIRST_PLAYER_ID = 900_000;
+
+    private final SessionRegistry sessionRegistry = SessionRegistry.get();
+    private boolean logging;
+    private Game game;
+    private ArrayList<Player> players;
+
+    @BeforeEach
+    void dealGame()
+    {
+        logging = ClueLessServerApplication.log;
+        ClueLessServerApplication.log = false;
+
+        List<CharacterNames> characterNames = new ArrayList<>(Arrays.asList(CharacterNames.values()));
+        characterNames.sort(Comparator.comparingInt(CharacterNames::getOrderNumber));
+
+        int gameNumber = sessionRegistry.nextGameNumber();
+        players = new ArrayList<>();
+        for(int i = 0; i < 3; i++)
+        {
+            players.add(new Player(
+                    gameNumber,
+                    FIRST_PLAYER_ID + gameNumber * 10 + i,
+                    new Character(characterNames.get(i)),
+                    new ClueLessClientHandler(new RecordingConnection())
+            ));
+        }
+        game = new Game(gameNumber, players);
+        onMailbox(() -> game.update(() -> game.getCardPlayer().dealCards(players)));
+    }
+
+    @AfterEach
+    void endGame()
+    {
+        sessionRegistry.endGame(game.getGameID());
+        ClueLessServerApplication.log = logging;
+    }
+
+    @Test
+    void seatGoesBackOnlyWithItsToken()
+    {
+        Player seat = players.get(1);
+        long token = seat.getReconnectToken();
+        onMailbox(() -> TurnDeadlines.takeOver(game, seat, "lost their connection"));
+        assertTrue(seat.isBotControlled());
+
+        RecordingConnection connection = new RecordingConnection();
+        ClueLessClientHandler handler = new ClueLessClientHandler(connection);
+
+        assertFalse(sessionRegistry.reclaimSeat(seat.getPlayerID(), token + 1, handler));
+        assertTrue(seat.isBotControlled());
+
+        assertTrue(sessionRegistry.reclaimSeat(seat.getPlayerID(), token, handler));
+        onMailbox(() -> {});
+
+        assertFalse(seat.isBotControlled());
+        assertSame(handler, seat.getClueLessClientHandler());
+        assertNotEquals(token, seat.getReconnectToken());
+        assertEquals(game.getGameID(), sessionRegistry.register(handler).getGameNumber());
+
+        GameStart gameStart = connection.first(GameStart.class);
+        assertEquals(seat.getPlayerID(), gameStart.getPlayerID());
+        assertEquals(seat.getReconnectToken(), gameStart.getReconnectToken());
+        assertEquals(
+                seat.getNotebook().getHandCards().size(),
+                gameStart.getRoomNamesList().size() + gameStart.getWeapons().size() + gameStart.getCharacterNamesList().size()
+        );
+
+        TurnStart snapshot = connection.first(TurnStart.class);
+        assertEquals(CharacterNames.values().length, snapshot.getLocationNamesMap().size());
+
+        ClueLessClientHandler latecomer = new ClueLessClientHandler(new RecordingConnection());
+        assertFalse(sessionRegistry.reclaimSeat(seat.getPlayerID(), token, latecomer));
+        assertFalse(sessionRegistry.reclaimSeat(seat.getPlayerID(), seat.getReconnectToken(), latecomer));
+    }
+
+    @Test
+    void playerWaitingForAnotherGameCannotReclaim()
+    {
+        Player seat = players.get(2);
+        onMailbox(() -> TurnDeadlines.takeOver(game, seat, "lost their connection"));
+
+        ClueLessClientHandler handler = new ClueLessClientHandler(new RecordingConnection());
+        assertTrue(sessionRegistry.waitForGame(handler));
+
+        assertFalse(sessionRegistry.reclaimSeat(seat.getPlayerID(), seat.getReconnectToken(), handler));
+        assertTrue(seat.isBotControlled());
+
+        sessionRegistry.stopWaiting(handler);
+        assertTrue(sessionRegistry.reclaimSeat(seat.getPlayerID(), seat.getReconnectToken(), handler));
+        assertFalse(sessionRegistry.waitForGame(handler));
+    }
+
+    private void onMailbox(Runnable runnable)
+    {
+        CompletableFuture.runAsync(runnable, game.getMailbox()).join();
+    }
+
+    /**
+     * A connection that keeps everything written to it and echoes every request.
+     * **/
+    private static final class RecordingConnection implements ClueLessConnection
+    {
+        private final List<Object> written = new CopyOnWriteArrayList<>();
+
+        <T> T first(Class<T> type)
+        {
+            return written.stream()
+                    .filter(type::isInstance)
+                    .map(type::cast)
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("No " + type.getSimpleName() + " was written"));
+        }
+
+        @Override
+        public void send(EncodedMessage message)
+        {
+            written.add(message.getMessage());
+        }
+
+        @Override
+        public CompletableFuture<byte[]> request(EncodedMessage message)
+        {
+            written.add(message.getMessage());
+            return CompletableFuture.completedFuture(getWireFormat().codec().encode(message.getMessage()));
+        }
+
+        @Override
+        public void setUnsolicitedMessageHandler(Consumer<Frame> handler)
+        {
+        }
+
+        @Override
+        public WireFormat getWireFormat()
+        {
+            return WireFormat.BINARY;
+        }
+
+        @Override
+        public long getAcknowledgedSequence()
+        {
+            return 0;
+        }
+
+        @Override
+        public long getAcknowledgedBoardVersion()
+        {
+            return 0;
+        }
+
+        @Override
+        public void recordAcknowledgement(long sequenceNumber, long boardVersion)
+        {
+        }
+
+        @Override
+        public boolean isOpen()
+        {
+            return true;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}